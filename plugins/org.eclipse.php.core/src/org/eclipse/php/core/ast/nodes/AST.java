@@ -1188,8 +1188,7 @@ public class AST {
 		if (reader == null) {
 			throw new IllegalArgumentException();
 		}
-		this.lexer.yyreset(reader);
-		this.lexer.resetCommentList();
+		this.lexer.reset(reader);
 		this.parser.setScanner(this.lexer);
 	}
 
@@ -27,6 +27,8 @@ import org.eclipse.dltk.core.ModelException;
 import org.eclipse.jface.text.Document;
 import org.eclipse.php.core.PHPVersion;
 import org.eclipse.php.core.project.ProjectOptions;
+import org.eclipse.php.internal.core.ast.scanner.TokenStream;
+import org.eclipse.php.internal.core.ast.scanner.TokenStreamCache;
 import org.eclipse.php.internal.core.ast.util.Util;
 
 import java_cup.runtime.Scanner;
@@ -50,6 +52,8 @@ public class ASTParser {
 	 */
 	private final AST ast;
 	private final ISourceModule sourceModule;
+	private char[] source;
+	private TokenStream tokenStream;
 
 	private ASTParser(Reader reader, PHPVersion phpVersion, boolean useASPTags, boolean useShortTags)
 			throws IOException {
@@ -153,6 +157,7 @@ public class ASTParser {
 	public void setSource(char[] source) throws IOException {
 		final CharArrayReader charArrayReader = new CharArrayReader(source);
 		setSource(charArrayReader);
+		this.source = source;
 	}
 
 	/**
@@ -162,6 +167,7 @@ public class ASTParser {
 	 */
 	public void setSource(Reader source) throws IOException {
 		this.ast.setSource(source);
+		this.source = null;
 	}
 
 	/**
@@ -171,7 +177,21 @@ public class ASTParser {
 	 * @throws ModelException
 	 */
 	public void setSource(ISourceModule sourceModule) throws IOException, ModelException {
-		this.ast.setSource(new CharArrayReader(sourceModule.getSourceAsCharArray()));
+		setSource(sourceModule.getSourceAsCharArray());
+	}
+
+	/**
+	 * Sets the tokens recorded by the compiler AST parser, replayed instead of
+	 * lexing the source if they were recorded from the same source. Otherwise
+	 * the tokens recorded for the source module of this parser, if any, are
+	 * replayed.
+	 * 
+	 * @param tokenStream
+	 *            recorded tokens, or <code>null</code>
+	 * @see org.eclipse.php.internal.core.compiler.ast.parser.AbstractPHPSourceParser#getTokenStream()
+	 */
+	public void setTokenStream(TokenStream tokenStream) {
+		this.tokenStream = tokenStream;
 	}
 
 	/**
@@ -190,7 +210,7 @@ public class ASTParser {
 
 		progressMonitor.beginTask("Creating Abstract Syntax Tree for source...", //$NON-NLS-1$
 				3);
-		final Scanner lexer = this.ast.lexer();
+		final Scanner lexer = getLexer();
 		final lr_parser phpParser = this.ast.parser();
 		progressMonitor.worked(1);
 		phpParser.setScanner(lexer);
@@ -218,4 +238,21 @@ public class ASTParser {
 		return p;
 	}
 
+	/**
+	 * Returns the lexer of the AST, or a lexer replaying the tokens recorded
+	 * for the source by the compiler AST parser.
+	 */
+	private Scanner getLexer() {
+		if (source != null) {
+			TokenStream tokens = tokenStream;
+			if (tokens == null && sourceModule != null) {
+				tokens = TokenStreamCache.INSTANCE.get(sourceModule);
+			}
+			if (tokens != null && tokens.matches(ast.lexer(), source, ast.useASPTags(), ast.useShortTags())) {
+				return tokens.createLexer(ast);
+			}
+		}
+		return this.ast.lexer();
+	}
+
 }
@@ -0,0 +1,316 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.ast.nodes;
+
+import java.io.CharArrayReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.dltk.core.ISourceModule;
+
+import java_cup.runtime.Symbol;
+
+/**
+ * Updates a {@link Program} after a change of its source, by reparsing only
+ * the smallest function or type body enclosing the change.
+ * <p>
+ * The body is parsed alone, in a new AST with the grammar of the program's
+ * AST. The program is then copied to that AST, and the nodes of the new body
+ * replace the statements of the previous body in the copy. Nodes following the
+ * body are moved, and the nodes enclosing it are resized. When the change isn't
+ * enclosed by a body, or the body doesn't parse on its own without errors, the
+ * program must be parsed again.
+ * </p>
+ * <p>
+ * The recorded program and its AST are only read: each reparse returns a new
+ * program, which may be published while the previous one is still in use.
+ * </p>
+ * <p>
+ * The copy takes a time and memory linear in the size of the program, as
+ * nodes can't be shared between two programs: each node has a single parent
+ * and belongs to a single AST. Nothing outside the changed body is lexed or
+ * parsed again though, so a reparse remains cheaper than a full parse of the
+ * program.
+ * </p>
+ */
+public class ASTReparser {
+
+	private static final char[] PHP_TAG = "<?php ".toCharArray(); //$NON-NLS-1$
+
+	private Program program;
+	private char[] source;
+
+	/**
+	 * Records a program parsed from the given source, to reparse it on the next
+	 * changes. Protected programs and programs with syntax errors are never
+	 * reparsed.
+	 *
+	 * @param program
+	 *            parsed program, or <code>null</code> to forget the last one
+	 * @param source
+	 *            source of the program
+	 */
+	public void reset(Program program, char[] source) {
+		if (program != null && (program.getFlags() & ASTNode.PROTECT) == 0 && !hasErrors(program)) {
+			this.program = program;
+			this.source = source;
+		} else {
+			this.program = null;
+			this.source = null;
+		}
+	}
+
+	/**
+	 * Returns a copy of the last recorded program updated to the given source,
+	 * or <code>null</code> if it must be parsed again. The copy is recorded for
+	 * the next changes.
+	 *
+	 * @param newSource
+	 *            new source of the program
+	 */
+	public Program reparse(char[] newSource) {
+		if (program == null) {
+			return null;
+		}
+		int oldLength = source.length;
+		int newLength = newSource.length;
+		int max = Math.min(oldLength, newLength);
+		int start = 0;
+		while (start < max && source[start] == newSource[start]) {
+			start++;
+		}
+		if (start == oldLength && start == newLength) {
+			return program;
+		}
+		int suffix = 0;
+		while (suffix < max - start && source[oldLength - 1 - suffix] == newSource[newLength - 1 - suffix]) {
+			suffix++;
+		}
+		int end = oldLength - suffix;
+
+		// Tries the smallest body first
+		List<Block> bodies = new ArrayList<>();
+		collectBodies(program, start, end, bodies);
+		for (int i = bodies.size() - 1; i >= 0; i--) {
+			Program reparsed = reparse(bodies.get(i), i, newSource, newLength - oldLength);
+			if (reparsed != null) {
+				program = reparsed;
+				source = newSource;
+				return reparsed;
+			}
+		}
+		program = null;
+		source = null;
+		return null;
+	}
+
+	/**
+	 * Collects the function and type bodies strictly enclosing the given
+	 * range, from the outermost to the innermost one.
+	 */
+	private static void collectBodies(ASTNode node, int start, int end, List<Block> bodies) {
+		ASTNode next = null;
+		for (ASTNode child : children(node)) {
+			if (child.getStart() < start && end < child.getEnd()) {
+				next = child;
+				if (getPrefix(child) != null) {
+					bodies.add((Block) child);
+				}
+				break;
+			}
+			if (next == null && child.getStart() <= start && end <= child.getEnd()) {
+				next = child;
+			}
+		}
+		if (next != null) {
+			collectBodies(next, start, end, bodies);
+		}
+	}
+
+	/**
+	 * Returns the source preceding the given body to parse it on its own, or
+	 * <code>null</code> if it's not a reparsed body.
+	 */
+	private static char[] getPrefix(ASTNode node) {
+		if (!(node instanceof Block) || !((Block) node).isCurly()) {
+			return null;
+		}
+		ASTNode parent = node.getParent();
+		String prefix;
+		if (parent instanceof FunctionDeclaration) {
+			// A curly block is a statement
+			return PHP_TAG;
+		} else if (parent instanceof TraitDeclaration) {
+			prefix = "trait A "; //$NON-NLS-1$
+		} else if (parent instanceof ClassDeclaration) {
+			prefix = "class A "; //$NON-NLS-1$
+		} else if (parent instanceof InterfaceDeclaration) {
+			prefix = "interface A "; //$NON-NLS-1$
+		} else if (parent instanceof EnumDeclaration) {
+			prefix = "enum A "; //$NON-NLS-1$
+		} else {
+			return null;
+		}
+		return (new String(PHP_TAG) + prefix).toCharArray();
+	}
+
+	/**
+	 * Returns a copy of the program where the given body, the <i>depth</i>-th
+	 * body enclosing the change, is parsed again, or <code>null</code> if it
+	 * doesn't parse on its own.
+	 */
+	private Program reparse(Block body, int depth, char[] newSource, int delta) {
+		AST oldAST = program.getAST();
+		int start = body.getStart();
+		int end = body.getEnd();
+		char[] prefix = getPrefix(body);
+		char[] fragment = new char[prefix.length + end + delta - start];
+		System.arraycopy(prefix, 0, fragment, 0, prefix.length);
+		System.arraycopy(newSource, start, fragment, prefix.length, end + delta - start);
+
+		// The lexer and parser of the recorded AST may be in use by its readers
+		AST ast;
+		Program parsed;
+		try {
+			ast = new AST(new CharArrayReader(fragment), oldAST.apiLevel(), oldAST.useASPTags(),
+					oldAST.useShortTags());
+			ast.setDefaultNodeFlag(ASTNode.ORIGINAL);
+			Symbol symbol = ast.parser().parse();
+			if (symbol == null || !(symbol.value instanceof Program)) {
+				return null;
+			}
+			parsed = (Program) symbol.value;
+		} catch (Exception e) {
+			return null;
+		}
+		if (parsed.statements().size() != 1) {
+			return null;
+		}
+		Statement statement = parsed.statements().get(0);
+		Block newBody = statement instanceof TypeDeclaration ? ((TypeDeclaration) statement).getBody()
+				: statement instanceof Block ? (Block) statement : null;
+		int shift = start - prefix.length;
+		if (newBody == null || newBody.getStart() + shift != start || newBody.getEnd() + shift != end + delta
+				|| hasErrors(newBody)) {
+			return null;
+		}
+
+		Program copy = ASTNode.copySubtree(ast, program);
+		ast.setDefaultNodeFlag(0);
+		List<Block> bodies = new ArrayList<>();
+		collectBodies(copy, start, end, bodies);
+		body = bodies.get(depth);
+
+		List<Statement> statements = new ArrayList<>(newBody.statements());
+		List<Comment> comments = new ArrayList<>(parsed.comments());
+		newBody.statements().clear();
+		parsed.comments().clear();
+		for (Statement newStatement : statements) {
+			move(newStatement, shift);
+		}
+		for (Comment comment : comments) {
+			move(comment, shift);
+		}
+
+		// Splices the new statements and comments
+		body.statements().clear();
+		resize(copy, start, end, delta);
+		body.statements().addAll(statements);
+		List<Comment> programComments = copy.comments();
+		int index = 0;
+		while (index < programComments.size() && programComments.get(index).getEnd() <= start) {
+			index++;
+		}
+		while (index < programComments.size() && programComments.get(index).getStart() < end) {
+			programComments.remove(index);
+		}
+		for (int i = index; i < programComments.size(); i++) {
+			move(programComments.get(i), delta);
+		}
+		programComments.addAll(index, comments);
+
+		ISourceModule sourceModule = program.getSourceModule();
+		copy.setSourceModule(sourceModule);
+		if (sourceModule != null && oldAST.hasResolvedBindings()) {
+			ast.setFlag(AST.RESOLVED_BINDINGS);
+			ast.setBindingResolver(new DefaultBindingResolver(sourceModule, sourceModule.getOwner()));
+		}
+		ast.setOriginalModificationCount(ast.modificationCount());
+		return copy;
+	}
+
+	/**
+	 * Moves the nodes after the changed range, and resizes the nodes enclosing
+	 * it.
+	 */
+	private static void resize(ASTNode node, int start, int end, int delta) {
+		if (node.getEnd() <= start) {
+			return;
+		}
+		if (node.getStart() >= end) {
+			move(node, delta);
+			return;
+		}
+		node.setSourceRange(node.getStart(), node.getLength() + delta);
+		for (ASTNode child : children(node)) {
+			resize(child, start, end, delta);
+		}
+	}
+
+	private static void move(ASTNode node, int delta) {
+		node.setSourceRange(node.getStart() + delta, node.getLength());
+		if (node instanceof TraitAlias) {
+			TraitAlias alias = (TraitAlias) node;
+			alias.setModifierOffset(alias.getModifierOffset() + delta);
+		}
+		for (ASTNode child : children(node)) {
+			move(child, delta);
+		}
+	}
+
+	private static boolean hasErrors(ASTNode node) {
+		if (node instanceof ASTError || (node.getFlags() & ASTNode.MALFORMED) != 0) {
+			return true;
+		}
+		for (ASTNode child : children(node)) {
+			if (hasErrors(child)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the child nodes of the given node, except the comments of a
+	 * program.
+	 */
+	private static List<ASTNode> children(ASTNode node) {
+		List<ASTNode> children = new ArrayList<>();
+		for (StructuralPropertyDescriptor property : node.structuralPropertiesForType()) {
+			if (property == Program.COMMENTS_PROPERTY) {
+				continue;
+			}
+			if (property instanceof ChildPropertyDescriptor) {
+				ASTNode child = (ASTNode) node.getStructuralProperty(property);
+				if (child != null) {
+					children.add(child);
+				}
+			} else if (property instanceof ChildListPropertyDescriptor) {
+				for (Object child : (List<?>) node.getStructuralProperty(property)) {
+					children.add((ASTNode) child);
+				}
+			}
+		}
+		return children;
+	}
+}
@@ -17,7 +17,6 @@ import java.util.*;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.dltk.ast.Modifiers;
 import org.eclipse.dltk.core.*;
 import org.eclipse.dltk.evaluation.types.MultiTypeType;
@@ -26,6 +25,7 @@ import org.eclipse.dltk.ti.types.IEvaluatedType;
 import org.eclipse.php.core.compiler.IPHPModifiers;
 import org.eclipse.php.core.compiler.PHPFlags;
 import org.eclipse.php.internal.core.PHPCoreConstants;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
 import org.eclipse.php.internal.core.typeinference.PHPClassType;
 import org.eclipse.php.internal.core.typeinference.PHPModelUtils;
 import org.eclipse.php.internal.core.typeinference.evaluators.PHPTraitType;
@@ -693,7 +693,7 @@ public class TypeBinding implements ITypeBinding {
 
 				ITypeHierarchy supertypeHierarchy = hierarchy.get(type);
 				if (supertypeHierarchy == null) {
-					supertypeHierarchy = type.newSupertypeHierarchy(new NullProgressMonitor());
+					supertypeHierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
 					hierarchy.put(type, supertypeHierarchy);
 				}
 				IModelElement[] otherElements = otherType.getPHPElements();
@@ -954,7 +954,7 @@ public class TypeBinding implements ITypeBinding {
 
 					ITypeHierarchy supertypeHierarchy = hierarchy.get(type);
 					if (supertypeHierarchy == null) {
-						supertypeHierarchy = type.newSupertypeHierarchy(new NullProgressMonitor());
+						supertypeHierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
 						hierarchy.put(type, supertypeHierarchy);
 					}
 					IType trait = getTrait(type, isMethod, classMemberName);
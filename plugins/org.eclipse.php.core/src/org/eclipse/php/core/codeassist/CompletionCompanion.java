@@ -41,6 +41,7 @@ import org.eclipse.php.internal.core.documentModel.parser.PHPRegionContext;
 import org.eclipse.php.internal.core.documentModel.parser.regions.IPHPScriptRegion;
 import org.eclipse.php.internal.core.documentModel.parser.regions.PHPRegionTypes;
 import org.eclipse.php.internal.core.documentModel.partitioner.PHPPartitionTypes;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
 import org.eclipse.php.internal.core.util.text.PHPTextSequenceUtilities;
 import org.eclipse.php.internal.core.util.text.TextSequence;
 import org.eclipse.wst.sse.core.StructuredModelManager;
@@ -394,7 +395,7 @@ public class CompletionCompanion {
 	 * @return right hand type(s) for the expression that encloses current
 	 *         offset
 	 */
-	public IType[] getLeftHandType(ICompletionContext context) {
+	public synchronized IType[] getLeftHandType(ICompletionContext context) {
 		AbstractCompletionContext aContext = (AbstractCompletionContext) context;
 		if (!rhTypesCache.containsKey(offset)) {
 			TextSequence statementText = aContext.getStatementText();
@@ -420,7 +421,7 @@ public class CompletionCompanion {
 		return rhTypesCache.get(offset);
 	}
 
-	public IType[] getLeftHandType(ICompletionContext context, boolean isType) {
+	public synchronized IType[] getLeftHandType(ICompletionContext context, boolean isType) {
 		AbstractCompletionContext aContext = (AbstractCompletionContext) context;
 		if (!rhTypesCache.containsKey(offset)) {
 			TextSequence statementText = aContext.getStatementText();
@@ -434,12 +435,13 @@ public class CompletionCompanion {
 	 * 
 	 * @throws ModelException
 	 */
-	public ITypeHierarchy getSuperTypeHierarchy(IType type, IProgressMonitor monitor) throws ModelException {
+	public synchronized ITypeHierarchy getSuperTypeHierarchy(IType type, IProgressMonitor monitor)
+			throws ModelException {
 		if (!PHPToolkitUtil.isFromPHPProject(type)) {
 			return new FakeTypeHierarchy();
 		}
 		if (!superHierarchyCache.containsKey(type)) {
-			superHierarchyCache.put(type, type.newSupertypeHierarchy(monitor));
+			superHierarchyCache.put(type, SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, monitor));
 		}
 		return superHierarchyCache.get(type);
 	}
@@ -20,7 +20,7 @@ public interface PHPCoreConstants {
 	/**
 	 * Increase this value to force rebuilding PHP projects during startup
 	 */
-	String STRUCTURE_VERSION = "21"; //$NON-NLS-1$
+	String STRUCTURE_VERSION = "22"; //$NON-NLS-1$
 	String STRUCTURE_VERSION_PREFERENCE = "pdt.structure.version"; //$NON-NLS-1$
 
 	String LANGUAGE_LIBRARY_VERSION = "6"; //$NON-NLS-1$
@@ -236,6 +236,36 @@ public interface PHPCoreConstants {
 	 */
 	String CODEASSIST_ASYNC = "contentAssistAsync"; //$NON-NLS-1$
 
+	/**
+	 * Whether the completion strategies are applied concurrently
+	 */
+	String CODEASSIST_PARALLEL = "contentAssistParallel"; //$NON-NLS-1$
+
+	/**
+	 * Time in milliseconds to wait for concurrently applied completion
+	 * strategies, <code>0</code> to wait for all of them
+	 */
+	String CODEASSIST_PARALLEL_TIMEOUT = "contentAssistParallelTimeout"; //$NON-NLS-1$
+
+	/**
+	 * Number of threads parsing the files ahead of a full build,
+	 * <code>0</code> for the number of processors, <code>1</code> to parse
+	 * them one by one
+	 */
+	String BUILD_PARSER_THREADS = "buildParserThreads"; //$NON-NLS-1$
+
+	/**
+	 * Whether the tokens lexed for the compiler AST of a working copy are
+	 * reused to parse its DOM AST
+	 */
+	String SHARED_TOKEN_STREAM = "sharedTokenStream"; //$NON-NLS-1$
+
+	/**
+	 * Whether the DOM AST of the edited file is copied and updated on reconcile,
+	 * by reparsing only the function or type body that changed
+	 */
+	String INCREMENTAL_RECONCILE = "incrementalReconcile"; //$NON-NLS-1$
+
 	/**
 	 * PHP Task Marker
 	 */
@@ -29,9 +29,15 @@ import org.eclipse.dltk.internal.core.search.ProjectIndexerManager;
 import org.eclipse.php.core.PHPToolkitUtil;
 import org.eclipse.php.core.libfolders.LibraryFolderManager;
 import org.eclipse.php.core.validation.IProblemPreferences;
+import org.eclipse.php.internal.core.ast.scanner.TokenStreamCache;
+import org.eclipse.php.internal.core.compiler.ast.parser.LexerPool;
+import org.eclipse.php.internal.core.filenetwork.IncludeGraph;
 import org.eclipse.php.internal.core.includepath.IncludePathManager;
 import org.eclipse.php.internal.core.language.LanguageModelInitializer;
+import org.eclipse.php.internal.core.model.PHPNameIndex;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
 import org.eclipse.php.internal.core.project.PHPNature;
+import org.eclipse.php.internal.core.typeinference.GoalResultCache;
 import org.eclipse.php.internal.core.util.ProjectBackwardCompatibilityUtil;
 import org.osgi.framework.BundleContext;
 import org.osgi.service.prefs.BackingStoreException;
@@ -311,6 +317,13 @@ public class PHPCorePlugin extends Plugin {
 		}
 		shutdownListeners.clear();
 
+		PHPNameIndex.INSTANCE.shutdown();
+		SharedTypeCache.INSTANCE.shutdown();
+		GoalResultCache.INSTANCE.shutdown();
+		TokenStreamCache.INSTANCE.shutdown();
+		LexerPool.INSTANCE.shutdown();
+		IncludeGraph.INSTANCE.shutdown();
+
 		super.stop(context);
 
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(projectConvertListener);
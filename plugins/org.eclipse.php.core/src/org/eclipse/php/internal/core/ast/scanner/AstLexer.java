@@ -56,6 +56,17 @@ public interface AstLexer extends Scanner {
 	 */
 	public void yyreset(java.io.Reader reader) throws java.io.IOException;
 
+	/**
+	 * Resets the scanner to read from a new input stream, like
+	 * {@link #yyreset(java.io.Reader)}, and drops the state left by the
+	 * previous input (comments, nested states and heredoc ids), so the scanner
+	 * can be reused.
+	 * 
+	 * @param reader
+	 *            the new input stream
+	 */
+	public void reset(java.io.Reader reader) throws java.io.IOException;
+
 	/**
 	 * Returns the current lexical state.
 	 */
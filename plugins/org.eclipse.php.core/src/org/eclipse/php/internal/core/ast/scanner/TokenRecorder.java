@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.ast.scanner;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.compiler.ast.nodes.Comment;
+import org.eclipse.php.core.compiler.ast.nodes.PHPDocBlock;
+
+import java_cup.runtime.Symbol;
+
+/**
+ * Compiler AST lexer wrapper recording the tokens it returns into a
+ * {@link TokenStream}.
+ */
+public class TokenRecorder implements AstLexer {
+
+	private final AstLexer lexer;
+	private int[] tokens = new int[1024 * TokenStream.TOKEN_SIZE];
+	private Object[] values = new Object[1024];
+	private int count;
+
+	/**
+	 * @param lexer
+	 *            compiler AST lexer
+	 */
+	public TokenRecorder(AstLexer lexer) {
+		this.lexer = lexer;
+	}
+
+	@Override
+	public Symbol next_token() throws Exception {
+		Symbol symbol = lexer.next_token();
+		if (count == values.length) {
+			tokens = Arrays.copyOf(tokens, tokens.length * 2);
+			values = Arrays.copyOf(values, values.length * 2);
+		}
+		int i = count * TokenStream.TOKEN_SIZE;
+		tokens[i] = symbol.sym;
+		tokens[i + 1] = symbol.left;
+		tokens[i + 2] = symbol.right;
+		tokens[i + 3] = lexer.getCurrentLine();
+		values[count++] = symbol.value;
+		return symbol;
+	}
+
+	/**
+	 * Returns the recorded tokens, or <code>null</code> if the parser didn't
+	 * read the whole source.
+	 *
+	 * @param source
+	 *            lexed source, copied
+	 * @param useAspTags
+	 *            whether the lexer used ASP tags as PHP tags
+	 * @param useShortTags
+	 *            whether the lexer allowed short tags
+	 */
+	public TokenStream getTokenStream(char[] source, boolean useAspTags, boolean useShortTags) {
+		// The end of file is 0 in the symbols of all the versions
+		if (count == 0 || tokens[(count - 1) * TokenStream.TOKEN_SIZE] != 0) {
+			return null;
+		}
+		String[] strings = new String[count];
+		for (int i = 0; i < count; i++) {
+			Object value = values[i];
+			if (value instanceof String || value == null) {
+				strings[i] = (String) value;
+			} else {
+				// Values added by the compiler lexer to the token text
+				int left = tokens[i * TokenStream.TOKEN_SIZE + 1];
+				int right = tokens[i * TokenStream.TOKEN_SIZE + 2];
+				strings[i] = new String(source, left, right - left);
+			}
+		}
+
+		List<?> commentList = lexer.getCommentList();
+		int[] comments = new int[commentList.size() * TokenStream.COMMENT_SIZE];
+		int length = 0;
+		for (Object object : commentList) {
+			Comment comment = (Comment) object;
+			int type = comment.getCommentType();
+			if (comment instanceof PHPDocBlock) {
+				// Unterminated PHPDoc blocks aren't reported by the DOM lexer
+				int end = comment.sourceEnd();
+				if (end < 5 || end > source.length || source[end - 2] != '*' || source[end - 1] != '/') {
+					continue;
+				}
+				type = Comment.TYPE_PHPDOC;
+			}
+			comments[length++] = comment.sourceStart();
+			comments[length++] = comment.sourceEnd();
+			comments[length++] = type;
+		}
+
+		return new TokenStream(lexer.getClass(), lexer.getPHPVersion(), source.clone(), useAspTags, useShortTags,
+				Arrays.copyOf(tokens, count * TokenStream.TOKEN_SIZE), strings, Arrays.copyOf(comments, length));
+	}
+
+	@Override
+	public void resetCommentList() {
+		lexer.resetCommentList();
+	}
+
+	@Override
+	public List<?> getCommentList() {
+		return lexer.getCommentList();
+	}
+
+	@Override
+	public void setUseAspTagsAsPHP(boolean useAspTagsAsPhp) {
+		lexer.setUseAspTagsAsPHP(useAspTagsAsPhp);
+	}
+
+	@Override
+	public void setUseShortTags(boolean useShortTags) {
+		lexer.setUseShortTags(useShortTags);
+	}
+
+	@Override
+	public int getCurrentLine() {
+		return lexer.getCurrentLine();
+	}
+
+	@Override
+	public int getLength() {
+		return lexer.getLength();
+	}
+
+	@Override
+	public void yyclose() throws IOException {
+		lexer.yyclose();
+	}
+
+	@Override
+	public void yyreset(Reader reader) throws IOException {
+		lexer.yyreset(reader);
+		count = 0;
+	}
+
+	@Override
+	public void reset(Reader reader) throws IOException {
+		lexer.reset(reader);
+		count = 0;
+	}
+
+	@Override
+	public int yystate() {
+		return lexer.yystate();
+	}
+
+	@Override
+	public void yybegin(int newState) {
+		lexer.yybegin(newState);
+	}
+
+	@Override
+	public String yytext() {
+		return lexer.yytext();
+	}
+
+	@Override
+	public char yycharat(int pos) {
+		return lexer.yycharat(pos);
+	}
+
+	@Override
+	public int yylength() {
+		return lexer.yylength();
+	}
+
+	@Override
+	public void setInScriptingState() {
+		lexer.setInScriptingState();
+	}
+
+	@Override
+	public PHPVersion getPHPVersion() {
+		return lexer.getPHPVersion();
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.ast.scanner;
+
+import java.util.Arrays;
+
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.ast.nodes.AST;
+
+/**
+ * Tokens and comments of a PHP source, recorded by a {@link TokenRecorder}
+ * while the compiler AST was parsed, and replayed to the DOM AST parser, so
+ * the source is lexed once for both ASTs.
+ *
+ * Both grammars share the terminals of the version's {@link AstLexer}, and the
+ * compiler lexer only adds values to some of them (PHPDoc blocks and heredoc
+ * indentations), which are dropped. Comments are recorded by range and type,
+ * as the DOM lexer reports them.
+ */
+public final class TokenStream {
+
+	/**
+	 * Number of ints recorded per token: symbol, left, right and line.
+	 */
+	static final int TOKEN_SIZE = 4;
+	/**
+	 * Number of ints recorded per comment: start, end and type.
+	 */
+	static final int COMMENT_SIZE = 3;
+
+	private final Class<?> lexerClass;
+	final PHPVersion phpVersion;
+	private final char[] source;
+	private final boolean useAspTags;
+	private final boolean useShortTags;
+	final int[] tokens;
+	final String[] values;
+	final int[] comments;
+
+	TokenStream(Class<?> lexerClass, PHPVersion phpVersion, char[] source, boolean useAspTags, boolean useShortTags,
+			int[] tokens, String[] values, int[] comments) {
+		this.lexerClass = lexerClass;
+		this.phpVersion = phpVersion;
+		this.source = source;
+		this.useAspTags = useAspTags;
+		this.useShortTags = useShortTags;
+		this.tokens = tokens;
+		this.values = values;
+		this.comments = comments;
+	}
+
+	/**
+	 * Returns whether these tokens can be replayed instead of lexing the
+	 * given source with the given lexer.
+	 *
+	 * @param lexer
+	 *            DOM lexer
+	 * @param source
+	 *            source to lex
+	 * @param useAspTags
+	 *            whether ASP tags are used as PHP tags
+	 * @param useShortTags
+	 *            whether short tags are allowed
+	 */
+	public boolean matches(AstLexer lexer, char[] source, boolean useAspTags, boolean useShortTags) {
+		// The compiler lexers extend the DOM lexer of their version
+		return lexer.getClass().isAssignableFrom(lexerClass) && this.useAspTags == useAspTags
+				&& this.useShortTags == useShortTags && isRecordedFrom(source);
+	}
+
+	/**
+	 * Returns whether these tokens were recorded from the given source.
+	 */
+	boolean isRecordedFrom(char[] source) {
+		return Arrays.equals(this.source, source);
+	}
+
+	/**
+	 * Creates a lexer replaying these tokens to the DOM AST parser.
+	 *
+	 * @param ast
+	 *            AST owning the comments
+	 */
+	public AstLexer createLexer(AST ast) {
+		return new TokenStreamLexer(this, ast);
+	}
+
+	/**
+	 * Returns the number of tokens, including the end of file.
+	 */
+	public int size() {
+		return values.length;
+	}
+}
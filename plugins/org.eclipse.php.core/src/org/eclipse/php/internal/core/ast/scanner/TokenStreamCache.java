@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.ast.scanner;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.php.internal.core.PHPCoreConstants;
+import org.eclipse.php.internal.core.PHPCorePlugin;
+
+/**
+ * Token streams of the last parsed working copies, recorded while their
+ * compiler AST is parsed on reconcile and replayed when the editor parses
+ * their DOM AST, see {@link PHPCoreConstants#SHARED_TOKEN_STREAM}.
+ *
+ * A stream is only replayed for the exact source it was recorded from, so
+ * the cache doesn't listen to the changes. It keeps the streams of a few
+ * working copies, the least recently parsed ones are dropped first.
+ */
+public enum TokenStreamCache {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	private static final int MAX_ENTRIES = 8;
+
+	private final Map<ISourceModule, TokenStream> streams = new LinkedHashMap<ISourceModule, TokenStream>(16, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<ISourceModule, TokenStream> eldest) {
+			return size() > MAX_ENTRIES;
+		}
+	};
+
+	/**
+	 * Returns whether the tokens of the given element should be recorded
+	 * when it's parsed: it's an open working copy, and the shared token
+	 * streams are enabled.
+	 */
+	public boolean isRecorded(IModelElement element) {
+		return element instanceof ISourceModule && ((ISourceModule) element).isWorkingCopy()
+				&& Platform.getPreferencesService().getBoolean(PHPCorePlugin.ID,
+						PHPCoreConstants.SHARED_TOKEN_STREAM, false, null);
+	}
+
+	/**
+	 * Keeps the tokens of the given source module.
+	 *
+	 * @param module
+	 *            source module
+	 * @param tokens
+	 *            tokens of its last parsed source, or <code>null</code> to
+	 *            drop the previous ones
+	 */
+	public synchronized void put(ISourceModule module, TokenStream tokens) {
+		if (tokens != null) {
+			streams.put(module, tokens);
+		} else {
+			streams.remove(module);
+		}
+	}
+
+	/**
+	 * Returns the tokens of the last parsed source of the given source module,
+	 * or <code>null</code>.
+	 */
+	public synchronized TokenStream get(ISourceModule module) {
+		return streams.get(module);
+	}
+
+	/**
+	 * Drops all the token streams.
+	 */
+	public synchronized void shutdown() {
+		streams.clear();
+	}
+}
@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.ast.scanner;
+
+import java.io.CharArrayReader;
+import java.io.CharArrayWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.ast.nodes.AST;
+import org.eclipse.php.core.ast.nodes.Comment;
+
+import java_cup.runtime.Symbol;
+
+/**
+ * Lexer replaying a {@link TokenStream} to the DOM AST parser.
+ * 
+ * Resetting it to the recorded source replays the tokens from the start.
+ * Resetting it to any other source hands over to the lexer of the AST.
+ */
+class TokenStreamLexer implements AstLexer {
+
+	private final TokenStream tokens;
+	private final AST ast;
+	private final LinkedList<Object> commentList = new LinkedList<>();
+	private int next;
+	/**
+	 * Lexer of the AST once reset to another source, <code>null</code> while
+	 * replaying
+	 */
+	private AstLexer lexer;
+
+	TokenStreamLexer(TokenStream tokens, AST ast) {
+		this.tokens = tokens;
+		this.ast = ast;
+		addComments();
+	}
+
+	private void addComments() {
+		int[] comments = tokens.comments;
+		for (int i = 0; i < comments.length; i += TokenStream.COMMENT_SIZE) {
+			commentList.add(new Comment(comments[i], comments[i + 1], ast, comments[i + 2]));
+		}
+	}
+
+	/**
+	 * Reads the given source, and replays the tokens from the start if they
+	 * were recorded from it. Otherwise hands the source over to the lexer of
+	 * the AST.
+	 * 
+	 * @return whether the tokens are replayed
+	 */
+	private boolean rewind(Reader reader, boolean resetLexer) throws IOException {
+		CharArrayWriter writer = new CharArrayWriter();
+		char[] buffer = new char[4096];
+		int read;
+		while ((read = reader.read(buffer)) != -1) {
+			writer.write(buffer, 0, read);
+		}
+		char[] source = writer.toCharArray();
+		if (tokens.isRecordedFrom(source)) {
+			lexer = null;
+			next = 0;
+			return true;
+		}
+		lexer = ast.lexer();
+		if (resetLexer) {
+			lexer.reset(new CharArrayReader(source));
+		} else {
+			lexer.yyreset(new CharArrayReader(source));
+		}
+		return false;
+	}
+
+	@Override
+	public Symbol next_token() throws Exception {
+		if (lexer != null) {
+			return lexer.next_token();
+		}
+		// The last token is the end of file
+		int index = Math.min(next, tokens.values.length - 1);
+		if (next < tokens.values.length) {
+			next++;
+		}
+		int i = index * TokenStream.TOKEN_SIZE;
+		// Symbols are modified by the parser, so they aren't shared
+		return new Symbol(tokens.tokens[i], tokens.tokens[i + 1], tokens.tokens[i + 2], tokens.values[index]);
+	}
+
+	@Override
+	public void resetCommentList() {
+		if (lexer != null) {
+			lexer.resetCommentList();
+		} else {
+			commentList.clear();
+		}
+	}
+
+	@Override
+	public List<?> getCommentList() {
+		return lexer != null ? lexer.getCommentList() : commentList;
+	}
+
+	@Override
+	public void setUseAspTagsAsPHP(boolean useAspTagsAsPhp) {
+		// The tokens were recorded with the options of the AST
+		ast.lexer().setUseAspTagsAsPHP(useAspTagsAsPhp);
+	}
+
+	@Override
+	public void setUseShortTags(boolean useShortTags) {
+		ast.lexer().setUseShortTags(useShortTags);
+	}
+
+	@Override
+	public int getCurrentLine() {
+		if (lexer != null) {
+			return lexer.getCurrentLine();
+		}
+		return next > 0 ? tokens.tokens[(next - 1) * TokenStream.TOKEN_SIZE + 3] : 0;
+	}
+
+	@Override
+	public int getLength() {
+		if (lexer != null) {
+			return lexer.getLength();
+		}
+		int count = tokens.values.length;
+		return count > 0 ? tokens.tokens[(count - 1) * TokenStream.TOKEN_SIZE + 2] : 0;
+	}
+
+	@Override
+	public void yyclose() throws IOException {
+		if (lexer != null) {
+			lexer.yyclose();
+		}
+	}
+
+	@Override
+	public void yyreset(Reader reader) throws IOException {
+		// Like the generated lexers, the comments are kept
+		rewind(reader, false);
+	}
+
+	@Override
+	public void reset(Reader reader) throws IOException {
+		commentList.clear();
+		if (rewind(reader, true)) {
+			addComments();
+		}
+	}
+
+	@Override
+	public int yystate() {
+		return lexer != null ? lexer.yystate() : 0;
+	}
+
+	@Override
+	public void yybegin(int newState) {
+		if (lexer != null) {
+			lexer.yybegin(newState);
+		}
+	}
+
+	@Override
+	public String yytext() {
+		if (lexer != null) {
+			return lexer.yytext();
+		}
+		String value = next > 0 ? tokens.values[next - 1] : null;
+		return value != null ? value : ""; //$NON-NLS-1$
+	}
+
+	@Override
+	public char yycharat(int pos) {
+		return lexer != null ? lexer.yycharat(pos) : yytext().charAt(pos);
+	}
+
+	@Override
+	public int yylength() {
+		return lexer != null ? lexer.yylength() : yytext().length();
+	}
+
+	@Override
+	public void setInScriptingState() {
+		if (lexer != null) {
+			lexer.setInScriptingState();
+		}
+	}
+
+	@Override
+	public PHPVersion getPHPVersion() {
+		return tokens.phpVersion;
+	}
+}
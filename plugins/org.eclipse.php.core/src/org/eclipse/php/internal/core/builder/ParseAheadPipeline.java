@@ -0,0 +1,208 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.builder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.php.internal.core.PHPCorePlugin;
+
+/**
+ * Processes a list of items ahead of a consumer, on a bounded number of
+ * threads, so the builder gets the ASTs of the files it is going to build
+ * without parsing them itself.
+ *
+ * Items are processed in the order of the list, at most <code>window</code>
+ * items ahead of the last item taken, so a slow consumer holds a bounded
+ * number of results. The consumer takes the results one by one, in its own
+ * order, and consumes them on its own thread, so its output doesn't depend on
+ * the number of threads. Whenever the consumer asks for an item, the items
+ * before it are dropped and the window moves past it: a consumer following a
+ * different order doesn't get stuck on results it never asks for, and gets
+ * <code>null</code> for the items that weren't processed ahead, to process
+ * them itself.
+ *
+ * @param <T>
+ *            item type
+ * @param <R>
+ *            result type
+ */
+public class ParseAheadPipeline<T, R> {
+
+	private class ItemJob extends Job {
+
+		private final T item;
+		private volatile R result;
+
+		ItemJob(T item) {
+			super(name);
+			this.item = item;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			try {
+				result = task.apply(item);
+			} catch (Exception e) {
+				// Left to the consumer, which reports it in context
+				if (PHPCorePlugin.isDebugMode) {
+					PHPCorePlugin.log(e);
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private final String name;
+	private final List<T> items;
+	private final Function<T, R> task;
+	private final int window;
+	private final JobGroup group;
+	private final Map<T, Integer> indexes;
+	private final ItemJob[] jobs;
+
+	/**
+	 * First item that can still be taken.
+	 */
+	private int first;
+	/**
+	 * Next item to schedule.
+	 */
+	private int next;
+
+	private int hits;
+	private int misses;
+
+	/**
+	 * Creates a pipeline and starts processing the first items.
+	 *
+	 * @param name
+	 *            name of the jobs
+	 * @param items
+	 *            items, in the expected order of the consumer
+	 * @param task
+	 *            processing of an item, called concurrently. It returns
+	 *            <code>null</code> or throws an exception for the items left
+	 *            to the consumer.
+	 * @param threads
+	 *            maximum number of threads
+	 * @param window
+	 *            maximum number of items processed ahead of the consumer
+	 */
+	@SuppressWarnings("unchecked")
+	public ParseAheadPipeline(String name, List<T> items, Function<T, R> task, int threads, int window) {
+		this.name = name;
+		this.items = items;
+		this.task = task;
+		this.window = Math.max(1, window);
+		this.group = new JobGroup(name, Math.max(1, threads), 0);
+		this.indexes = new HashMap<>(items.size() * 4 / 3 + 1);
+		for (int i = 0; i < items.size(); i++) {
+			indexes.putIfAbsent(items.get(i), i);
+		}
+		this.jobs = new ParseAheadPipeline.ItemJob[items.size()];
+		fill();
+	}
+
+	/**
+	 * Returns the result of the given item, waiting for it if it's being
+	 * processed, or <code>null</code> if it wasn't processed ahead.
+	 *
+	 * @param item
+	 *            item
+	 */
+	public R take(T item) {
+		Integer index = indexes.get(item);
+		if (index == null || index < first) {
+			misses++;
+			return null;
+		}
+		ItemJob job = null;
+		for (; first <= index && first < next; first++) {
+			if (first == index) {
+				job = jobs[first];
+			} else {
+				jobs[first].cancel();
+			}
+			jobs[first] = null;
+		}
+		first = index + 1;
+		next = Math.max(next, first);
+		// Keeps the threads busy while waiting
+		fill();
+		if (job == null) {
+			misses++;
+			return null;
+		}
+		try {
+			job.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			misses++;
+			return null;
+		}
+		R result = job.result;
+		if (result == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return result;
+	}
+
+	/**
+	 * Stops processing the items. Items being processed are left to finish in
+	 * the background, and their results are dropped.
+	 */
+	public void cancel() {
+		group.cancel();
+		for (int i = first; i < next; i++) {
+			jobs[i] = null;
+		}
+		first = next = items.size();
+	}
+
+	/**
+	 * Returns the number of items taken from this pipeline with a result.
+	 */
+	public int getHits() {
+		return hits;
+	}
+
+	/**
+	 * Returns the number of items asked for without a result.
+	 */
+	public int getMisses() {
+		return misses;
+	}
+
+	private void fill() {
+		for (; next < items.size() && next - first < window; next++) {
+			ItemJob job = new ItemJob(items.get(next));
+			job.setJobGroup(group);
+			jobs[next] = job;
+			job.schedule();
+		}
+	}
+}
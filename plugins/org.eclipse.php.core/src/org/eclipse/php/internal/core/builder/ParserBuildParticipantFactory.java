@@ -14,36 +14,49 @@
  *******************************************************************************/
 package org.eclipse.php.internal.core.builder;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExecutableExtension;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.dltk.ast.declarations.ModuleDeclaration;
 import org.eclipse.dltk.ast.parser.IModuleDeclaration;
 import org.eclipse.dltk.ast.parser.ISourceParser;
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.compiler.problem.ProblemCollector;
-import org.eclipse.dltk.core.DLTKLanguageManager;
-import org.eclipse.dltk.core.IModelElement;
-import org.eclipse.dltk.core.IScriptProject;
+import org.eclipse.dltk.core.*;
 import org.eclipse.dltk.core.ISourceModuleInfoCache.ISourceModuleInfo;
-import org.eclipse.dltk.core.SourceParserUtil;
 import org.eclipse.dltk.core.builder.AbstractBuildParticipantType;
 import org.eclipse.dltk.core.builder.IBuildContext;
 import org.eclipse.dltk.core.builder.IBuildParticipant;
+import org.eclipse.dltk.core.builder.IBuildParticipantExtension;
 import org.eclipse.dltk.core.builder.IScriptBuilder;
 import org.eclipse.dltk.internal.core.ModelManager;
 import org.eclipse.php.core.libfolders.LibraryFolderManager;
+import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.PHPCoreConstants;
+import org.eclipse.php.internal.core.PHPCorePlugin;
 
 public class ParserBuildParticipantFactory extends AbstractBuildParticipantType implements IExecutableExtension {
 
 	protected static final String IN_LIBRARY_FOLDER = "IN_LIBRARY_FOLDER"; //$NON-NLS-1$
 
+	private static final String TRACE_CATEGORY = "build"; //$NON-NLS-1$
+
+	/**
+	 * Number of files parsed ahead of the builder, per thread
+	 */
+	private static final int WINDOW_PER_THREAD = 4;
+
 	@Override
 	public IBuildParticipant createBuildParticipant(IScriptProject project) throws CoreException {
 		if (natureId != null) {
 			final ISourceParser parser = DLTKLanguageManager.getSourceParser(natureId);
 			if (parser != null) {
-				return new ParserBuildParticipant(parser);
+				return new ParserBuildParticipant(project, parser);
 			}
 		}
 		return null;
@@ -57,14 +70,98 @@ public class ParserBuildParticipantFactory extends AbstractBuildParticipantType
 		natureId = config.getAttribute("nature"); //$NON-NLS-1$
 	}
 
-	private static class ParserBuildParticipant implements IBuildParticipant {
+	private static class ParseResult {
+
+		final IModuleDeclaration moduleDeclaration;
+		final ProblemCollector problemCollector;
+
+		ParseResult(IModuleDeclaration moduleDeclaration, ProblemCollector problemCollector) {
+			this.moduleDeclaration = moduleDeclaration;
+			this.problemCollector = problemCollector;
+		}
+	}
+
+	private static class ParserBuildParticipant implements IBuildParticipant, IBuildParticipantExtension {
 
+		private final IScriptProject project;
 		private final ISourceParser parser;
+		private ParseAheadPipeline<ISourceModule, ParseResult> pipeline;
 
-		public ParserBuildParticipant(ISourceParser parser) {
+		public ParserBuildParticipant(IScriptProject project, ISourceParser parser) {
+			this.project = project;
 			this.parser = parser;
 		}
 
+		@Override
+		public boolean beginBuild(int buildType) {
+			// The files of an incremental build aren't known in advance
+			if (buildType == IScriptBuilder.FULL_BUILD) {
+				int threads = Platform.getPreferencesService().getInt(PHPCorePlugin.ID,
+						PHPCoreConstants.BUILD_PARSER_THREADS, 0, null);
+				if (threads <= 0) {
+					threads = Runtime.getRuntime().availableProcessors();
+				}
+				if (threads > 1) {
+					try {
+						List<ISourceModule> modules = getSourceModules();
+						if (modules.size() > 1) {
+							pipeline = new ParseAheadPipeline<>(ParserBuildParticipant.class.getSimpleName(), modules,
+									this::parse, threads, threads * WINDOW_PER_THREAD);
+						}
+					} catch (ModelException e) {
+						Logger.logException(e);
+					}
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public void endBuild(IProgressMonitor monitor) {
+			if (pipeline != null) {
+				pipeline.cancel();
+				if (Logger.isTracing(TRACE_CATEGORY)) {
+					Logger.trace(TRACE_CATEGORY, project.getElementName() + ": " + pipeline.getHits() //$NON-NLS-1$
+							+ " files parsed ahead, " + pipeline.getMisses() + " parsed by the builder"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				pipeline = null;
+			}
+		}
+
+		/**
+		 * Returns the source modules built by a full build, in the order of
+		 * the builder.
+		 */
+		private List<ISourceModule> getSourceModules() throws ModelException {
+			List<ISourceModule> modules = new ArrayList<>();
+			LibraryFolderManager libraryFolders = LibraryFolderManager.getInstance();
+			for (IProjectFragment fragment : project.getProjectFragments()) {
+				if (fragment.isExternal() || fragment.isArchive() || fragment.getKind() != IProjectFragment.K_SOURCE
+						|| !project.equals(fragment.getScriptProject())) {
+					continue;
+				}
+				for (IModelElement child : fragment.getChildren()) {
+					if (child instanceof IScriptFolder) {
+						for (ISourceModule module : ((IScriptFolder) child).getSourceModules()) {
+							if (!libraryFolders.isInLibraryFolder(module.getResource())) {
+								modules.add(module);
+							}
+						}
+					}
+				}
+			}
+			return modules;
+		}
+
+		/**
+		 * Parses the given source module, called concurrently by the pipeline.
+		 */
+		private ParseResult parse(ISourceModule module) {
+			ProblemCollector problemCollector = new ProblemCollector();
+			IModuleDeclaration moduleDeclaration = parser.parse((IModuleSource) module, problemCollector);
+			return moduleDeclaration != null ? new ParseResult(moduleDeclaration, problemCollector) : null;
+		}
+
 		@Override
 		public void build(IBuildContext context) throws CoreException {
 			IModelElement element = context.getModelElement();
@@ -96,10 +193,18 @@ public class ParserBuildParticipantFactory extends AbstractBuildParticipantType
 				}
 			}
 
-			// create problem collector
-			final ProblemCollector problemCollector = new ProblemCollector();
-			// parse
-			moduleDeclaration = parser.parse((IModuleSource) context.getSourceModule(), problemCollector);
+			final ProblemCollector problemCollector;
+			// take AST parsed ahead, if any
+			ParseResult result = pipeline != null ? pipeline.take(context.getSourceModule()) : null;
+			if (result != null) {
+				problemCollector = result.problemCollector;
+				moduleDeclaration = result.moduleDeclaration;
+			} else {
+				// create problem collector
+				problemCollector = new ProblemCollector();
+				// parse
+				moduleDeclaration = parser.parse((IModuleSource) context.getSourceModule(), problemCollector);
+			}
 			// put result to the cache
 			SourceParserUtil.putModuleToCache(cacheEntry, moduleDeclaration, problemCollector);
 			// report errors to the build context
@@ -0,0 +1,260 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.codeassist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.dltk.compiler.env.IModuleSource;
+import org.eclipse.dltk.core.*;
+import org.eclipse.php.core.codeassist.ICompletionReporter;
+import org.eclipse.php.core.codeassist.ICompletionStrategy;
+import org.eclipse.php.internal.core.PHPCorePlugin;
+
+/**
+ * Runs completion strategies concurrently, on a bounded number of threads.
+ *
+ * Every strategy reports into its own recorder. The recorded proposals are
+ * replayed to the target reporter by the calling thread, in the order of the
+ * strategies, as soon as a strategy and all the ones before it are done, so
+ * the result is the same as if the strategies were applied one after the
+ * other. Strategies that are not done when the time budget runs out are left
+ * to finish in the background, and their proposals are dropped.
+ */
+public class CompletionStrategyRunner {
+
+	private static final int MAX_THREADS = Runtime.getRuntime().availableProcessors();
+
+	/**
+	 * Records the proposals reported by a strategy, to replay them later.
+	 */
+	private static class RecordingReporter implements ICompletionReporter {
+
+		private final IModuleSource module;
+		private final List<Consumer<ICompletionReporter>> reports = new ArrayList<>();
+
+		RecordingReporter(IModuleSource module) {
+			this.module = module;
+		}
+
+		void replay(ICompletionReporter reporter) {
+			for (Consumer<ICompletionReporter> report : reports) {
+				report.accept(reporter);
+			}
+		}
+
+		@Override
+		public void reportResource(IModelElement model, IPath relative, String suffix, ISourceRange replaceRange) {
+			reports.add(r -> r.reportResource(model, relative, suffix, replaceRange));
+		}
+
+		@Override
+		public void reportType(IType type, String suffix, ISourceRange replaceRange) {
+			reports.add(r -> r.reportType(type, suffix, replaceRange));
+		}
+
+		@Override
+		public void reportType(IType type, String suffix, ISourceRange replaceRange, Object extraInfo) {
+			reports.add(r -> r.reportType(type, suffix, replaceRange, extraInfo));
+		}
+
+		@Override
+		public void reportType(IType type, String suffix, ISourceRange replaceRange, Object extraInfo,
+				int subRelevance) {
+			reports.add(r -> r.reportType(type, suffix, replaceRange, extraInfo, subRelevance));
+		}
+
+		@Override
+		public void reportType(IType type, String prefix, String suffix, ISourceRange replaceRange, Object extraInfo,
+				int subRelevance) {
+			reports.add(r -> r.reportType(type, prefix, suffix, replaceRange, extraInfo, subRelevance));
+		}
+
+		@Deprecated
+		@Override
+		public void reportMethod(IMethod method, String suffix, ISourceRange replaceRange) {
+			reports.add(r -> r.reportMethod(method, suffix, replaceRange));
+		}
+
+		@Override
+		public void reportMethod(IMethod method, String suffix, ISourceRange replaceRange, Object extraInfo) {
+			reports.add(r -> r.reportMethod(method, suffix, replaceRange, extraInfo));
+		}
+
+		@Override
+		public void reportMethod(IMethod method, String suffix, ISourceRange replaceRange, Object extraInfo,
+				int subRelevance) {
+			reports.add(r -> r.reportMethod(method, suffix, replaceRange, extraInfo, subRelevance));
+		}
+
+		@Override
+		public void reportMethod(IMethod method, String prefix, String suffix, ISourceRange replaceRange,
+				Object extraInfo, int subRelevance) {
+			reports.add(r -> r.reportMethod(method, prefix, suffix, replaceRange, extraInfo, subRelevance));
+		}
+
+		@Override
+		public void reportField(IField field, String suffix, ISourceRange replaceRange, boolean removeDollar,
+				int subRelevance, Object extraInfo) {
+			reports.add(r -> r.reportField(field, suffix, replaceRange, removeDollar, subRelevance, extraInfo));
+		}
+
+		@Override
+		public void reportField(IField field, String suffix, ISourceRange replaceRange, boolean removeDollar) {
+			reports.add(r -> r.reportField(field, suffix, replaceRange, removeDollar));
+		}
+
+		@Override
+		public void reportField(IField field, String prefix, String suffix, ISourceRange replaceRange,
+				int subRelevance, Object extraInfo) {
+			reports.add(r -> r.reportField(field, prefix, suffix, replaceRange, subRelevance, extraInfo));
+		}
+
+		@Override
+		public void reportKeyword(String keyword, String suffix, ISourceRange replaceRange) {
+			reports.add(r -> r.reportKeyword(keyword, suffix, replaceRange));
+		}
+
+		@Override
+		public void reportKeyword(String keyword, String suffix, ISourceRange replaceRange, int subRelevance) {
+			reports.add(r -> r.reportKeyword(keyword, suffix, replaceRange, subRelevance));
+		}
+
+		@Override
+		public IModuleSource getModule() {
+			return module;
+		}
+	}
+
+	private class StrategyJob extends Job {
+
+		private final int index;
+		private final ICompletionStrategy strategy;
+		private final RecordingReporter reporter;
+		private volatile long start;
+		private volatile long time = -1;
+
+		StrategyJob(int index, ICompletionStrategy strategy, IModuleSource module) {
+			super(strategy.getClass().getName());
+			this.index = index;
+			this.strategy = strategy;
+			this.reporter = new RecordingReporter(module);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			start = System.nanoTime();
+			try {
+				strategy.apply(reporter);
+			} catch (Exception e) {
+				PHPCorePlugin.log(e);
+			} finally {
+				time = System.nanoTime() - start;
+				done.add(this);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private final BlockingQueue<StrategyJob> done = new LinkedBlockingQueue<>();
+
+	/**
+	 * Applies the given strategies, which must be initialized already.
+	 *
+	 * @param strategies
+	 *            strategies to apply, in the order of their proposals
+	 * @param reporter
+	 *            reporter receiving the proposals
+	 * @param timeout
+	 *            time budget in milliseconds, or <code>0</code> to wait for all
+	 *            the strategies
+	 * @param times
+	 *            map receiving the time spent by each strategy in
+	 *            nanoseconds, by strategy class name. Strategies that ran out
+	 *            of time are reported with the time they ran so far.
+	 */
+	public void run(List<ICompletionStrategy> strategies, ICompletionReporter reporter, long timeout,
+			Map<String, Long> times) {
+		int count = strategies.size();
+		if (count == 0) {
+			return;
+		}
+		JobGroup group = new JobGroup(CompletionStrategyRunner.class.getSimpleName(), Math.min(MAX_THREADS, count),
+				count);
+		StrategyJob[] jobs = new StrategyJob[count];
+		for (int i = 0; i < count; i++) {
+			jobs[i] = new StrategyJob(i, strategies.get(i), reporter.getModule());
+			jobs[i].setJobGroup(group);
+			jobs[i].schedule();
+		}
+
+		boolean[] finished = new boolean[count];
+		int next = 0;
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout);
+		try {
+			while (next < count) {
+				StrategyJob job;
+				if (timeout > 0) {
+					job = done.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+				} else {
+					job = done.take();
+				}
+				if (job == null) {
+					break;
+				}
+				finished[job.index] = true;
+				// Proposals of the first strategies are passed on without
+				// waiting for the slower ones
+				while (next < count && finished[next]) {
+					jobs[next++].reporter.replay(reporter);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		StrategyJob job;
+		while ((job = done.poll()) != null) {
+			finished[job.index] = true;
+		}
+		for (int i = next; i < count; i++) {
+			if (finished[i]) {
+				jobs[i].reporter.replay(reporter);
+			} else {
+				// Not interrupted, the index might not cope with it
+				jobs[i].cancel();
+			}
+		}
+
+		for (StrategyJob strategyJob : jobs) {
+			long time = strategyJob.time;
+			if (time < 0) {
+				long start = strategyJob.start;
+				time = start != 0 ? System.nanoTime() - start : 0;
+			}
+			times.merge(strategyJob.getName(), time, Long::sum);
+		}
+	}
+}
@@ -15,16 +15,21 @@
 package org.eclipse.php.internal.core.codeassist;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.preferences.IPreferencesService;
 import org.eclipse.dltk.codeassist.ScriptCompletionEngine;
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.core.*;
 import org.eclipse.php.core.codeassist.*;
 import org.eclipse.php.core.compiler.PHPFlags;
 import org.eclipse.php.core.compiler.ast.nodes.NamespaceReference;
+import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.PHPCoreConstants;
 import org.eclipse.php.internal.core.PHPCorePlugin;
 import org.eclipse.php.internal.core.codeassist.contexts.CompletionContextResolver;
 import org.eclipse.php.internal.core.codeassist.strategies.CompletionStrategyFactory;
@@ -39,6 +44,8 @@ import org.eclipse.php.internal.core.typeinference.PHPModelUtils;
  */
 public class PHPCompletionEngine extends ScriptCompletionEngine implements ICompletionReporter {
 
+	private static final String TRACE_CATEGORY = "codeassist"; //$NON-NLS-1$
+
 	private int relevanceKeyword;
 	private int relevanceMethod;
 	private int relevanceClass;
@@ -46,6 +53,7 @@ public class PHPCompletionEngine extends ScriptCompletionEngine implements IComp
 	private int relevanceConst;
 	private Map<? super Object, Object> processedElements = new HashMap<>();
 	private Set<? super Object> processedPaths = new HashSet<>();
+	private Map<String, Long> strategyTimes = new LinkedHashMap<>();
 	private Set<IField> processedFields = new TreeSet<>(new Comparator<IField>() {
 		@Override
 		public int compare(IField f1, IField f2) {
@@ -106,6 +114,12 @@ public class PHPCompletionEngine extends ScriptCompletionEngine implements IComp
 			org.eclipse.dltk.core.ISourceModule sourceModule = (org.eclipse.dltk.core.ISourceModule) module
 					.getModelElement();
 
+			IPreferencesService preferences = Platform.getPreferencesService();
+			boolean parallel = preferences.getBoolean(PHPCorePlugin.ID, PHPCoreConstants.CODEASSIST_PARALLEL, false,
+					null);
+			List<ICompletionStrategy> parallelStrategies = new ArrayList<>();
+			strategyTimes.clear();
+
 			for (ICompletionContextResolver resolver : contextResolvers) {
 				ICompletionContext[] contexts = resolver.resolve(sourceModule, position, requestor, companion);
 
@@ -116,22 +130,49 @@ public class PHPCompletionEngine extends ScriptCompletionEngine implements IComp
 						if (ArrayUtils.isNotEmpty(strategies)) {
 							for (ICompletionStrategy strategy : strategies) {
 								strategy.init(companion);
+								if (parallel) {
+									parallelStrategies.add(strategy);
+									continue;
+								}
+								long start = System.nanoTime();
 								try {
 									strategy.apply(this);
 								} catch (Exception e) {
 									PHPCorePlugin.log(e);
 								}
+								strategyTimes.merge(strategy.getClass().getName(), System.nanoTime() - start,
+										Long::sum);
 							}
 						}
 					}
 				}
 			}
+
+			if (parallel) {
+				new CompletionStrategyRunner().run(parallelStrategies, this, preferences.getInt(PHPCorePlugin.ID,
+						PHPCoreConstants.CODEASSIST_PARALLEL_TIMEOUT, 1000, null), strategyTimes);
+			}
+			if (Logger.isTracing(TRACE_CATEGORY)) {
+				for (Map.Entry<String, Long> entry : strategyTimes.entrySet()) {
+					Logger.trace(TRACE_CATEGORY, entry.getKey() + ": " //$NON-NLS-1$
+							+ TimeUnit.NANOSECONDS.toMillis(entry.getValue()) + " ms"); //$NON-NLS-1$
+				}
+			}
 		} finally {
 			processedElements.clear();
 			processedPaths.clear();
 		}
 	}
 
+	/**
+	 * Returns the time spent by the strategies of the last completion, in
+	 * nanoseconds, by strategy class name. The times are also traced with the
+	 * <code>codeassist</code> trace filter category.
+	 */
+	public Map<String, Long> getStrategyTimes() {
+		return Collections.unmodifiableMap(strategyTimes);
+	}
+
 	@Override
 	public void reportField(IField field, String suffix, ISourceRange replaceRange, boolean removeDollar) {
 		reportField(field, suffix, replaceRange, removeDollar, 0, null);
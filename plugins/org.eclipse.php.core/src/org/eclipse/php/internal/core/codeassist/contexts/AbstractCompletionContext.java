@@ -438,7 +438,7 @@ public abstract class AbstractCompletionContext implements ICompletionContext {
 		return null;
 	}
 
-	private void calculateNames() throws BadLocationException {
+	private synchronized void calculateNames() throws BadLocationException {
 		if (namesCalculated) {
 			return;
 		}
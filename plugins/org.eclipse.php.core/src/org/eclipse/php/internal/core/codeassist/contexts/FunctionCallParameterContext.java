@@ -147,7 +147,7 @@ public class FunctionCallParameterContext extends StatementContext {
 		return false;
 	}
 
-	public IMethod[] getMethod() {
+	public synchronized IMethod[] getMethod() {
 		if (method == null) {
 			try {
 				method = resolveMethod();
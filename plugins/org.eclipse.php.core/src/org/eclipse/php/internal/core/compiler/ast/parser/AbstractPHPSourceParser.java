@@ -23,13 +23,23 @@ import org.eclipse.dltk.ast.parser.ISourceParser;
 import org.eclipse.dltk.compiler.env.IModuleSource;
 import org.eclipse.dltk.compiler.problem.IProblemReporter;
 import org.eclipse.dltk.core.IBuffer;
+import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IOpenable;
+import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.internal.core.BufferManager;
 import org.eclipse.php.core.project.ProjectOptions;
 import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.ast.scanner.AstLexer;
+import org.eclipse.php.internal.core.ast.scanner.TokenRecorder;
+import org.eclipse.php.internal.core.ast.scanner.TokenStream;
+import org.eclipse.php.internal.core.ast.scanner.TokenStreamCache;
 
 public abstract class AbstractPHPSourceParser extends AbstractSourceParser implements ISourceParser {
 	private String fileName;
+	private char[] recordedSource;
+	private boolean useAspTags;
+	private boolean useShortTags;
+	private TokenStream tokenStream;
 
 	public AbstractPHPSourceParser(String fileName) {
 		this.fileName = fileName;
@@ -43,19 +53,25 @@ public abstract class AbstractPHPSourceParser extends AbstractSourceParser imple
 	public IModuleDeclaration parse(IModuleSource input, IProblemReporter reporter) {
 		try {
 
-			Reader reader = null;
+			char[] contents = null;
 			if (input instanceof IOpenable) {
 				IBuffer buffer = BufferManager.getDefaultBufferManager().getBuffer((IOpenable) input);
 				if (buffer != null) {
-					reader = new CharArrayReader(buffer.getCharacters());
+					contents = buffer.getCharacters();
 				}
 			}
-			if (reader == null) {
-				reader = new CharArrayReader(input.getContentsAsCharArray());
+			if (contents == null) {
+				contents = input.getContentsAsCharArray();
 			}
-			return parse(reader, reporter,
-					ProjectOptions.isSupportingASPTags(input.getModelElement().getScriptProject().getProject()),
-					ProjectOptions.useShortTags(input.getModelElement().getScriptProject().getProject()));
+			IModelElement element = input.getModelElement();
+			boolean record = TokenStreamCache.INSTANCE.isRecorded(element);
+			IModuleDeclaration moduleDeclaration = parse(contents, reporter,
+					ProjectOptions.isSupportingASPTags(element.getScriptProject().getProject()),
+					ProjectOptions.useShortTags(element.getScriptProject().getProject()), record);
+			if (record) {
+				TokenStreamCache.INSTANCE.put((ISourceModule) element, tokenStream);
+			}
+			return moduleDeclaration;
 		} catch (Exception e) {
 			Logger.logException(e);
 			// XXX: add recovery
@@ -64,11 +80,52 @@ public abstract class AbstractPHPSourceParser extends AbstractSourceParser imple
 
 	}
 
+	/**
+	 * Parses the given source, optionally recording its tokens, so they can
+	 * be replayed to the DOM AST parser (see {@link #getTokenStream()}).
+	 *
+	 * @param source
+	 *            source to parse
+	 * @param reporter
+	 *            problem reporter
+	 * @param isSupportingASPTags
+	 *            whether ASP tags are used as PHP tags
+	 * @param useShortTags
+	 *            whether short tags are allowed
+	 * @param recordTokens
+	 *            whether the tokens are recorded
+	 */
+	public IModuleDeclaration parse(char[] source, IProblemReporter reporter, boolean isSupportingASPTags,
+			boolean useShortTags, boolean recordTokens) throws Exception {
+		tokenStream = null;
+		recordedSource = recordTokens ? source : null;
+		this.useAspTags = isSupportingASPTags;
+		this.useShortTags = useShortTags;
+		try {
+			return parse(new CharArrayReader(source), reporter, isSupportingASPTags, useShortTags);
+		} finally {
+			recordedSource = null;
+		}
+	}
+
+	/**
+	 * Returns the tokens recorded by the last parse, or <code>null</code> if
+	 * they weren't recorded or the source couldn't be parsed.
+	 */
+	public TokenStream getTokenStream() {
+		return tokenStream;
+	}
+
 	public abstract IModuleDeclaration parse(Reader in, IProblemReporter reporter, boolean isSupportingASPTags,
 			boolean useShortTags) throws Exception;
 
 	protected IModuleDeclaration parse(AbstractASTParser parser) {
 		parser.setFileName(fileName);
+		TokenRecorder recorder = null;
+		if (recordedSource != null) {
+			recorder = new TokenRecorder((AstLexer) parser.getScanner());
+			parser.setScanner(recorder);
+		}
 		try {
 			parser.parse();
 		} catch (Exception e) {
@@ -76,6 +133,9 @@ public abstract class AbstractPHPSourceParser extends AbstractSourceParser imple
 			// XXX: add recovery
 			return new ModuleDeclaration(0);
 		}
+		if (recorder != null) {
+			tokenStream = recorder.getTokenStream(recordedSource, useAspTags, useShortTags);
+		}
 		return parser.getModuleDeclaration();
 	}
 
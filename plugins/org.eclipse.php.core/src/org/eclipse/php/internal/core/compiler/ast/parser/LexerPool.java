@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.compiler.ast.parser;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.eclipse.php.internal.core.ast.scanner.AstLexer;
+
+/**
+ * Compiler AST lexers released by the last parses, reused by the next ones of
+ * the same PHP version instead of allocating new lexers and their buffers.
+ *
+ * A lexer is reset with {@link AstLexer#reset(Reader)} when it's taken from
+ * the pool and when it's released, so it never keeps the state or the source
+ * of a previous parse. The pool keeps at most one lexer per processor and per
+ * lexer class, the other released lexers are dropped.
+ */
+public enum LexerPool {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	private static final char[] EMPTY = new char[0];
+
+	private final int maxSize = Runtime.getRuntime().availableProcessors();
+	private final Map<Class<?>, BlockingQueue<AstLexer>> lexers = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns a lexer of the given class reading the given input, reusing a
+	 * released lexer if any.
+	 *
+	 * @param type
+	 *            lexer class
+	 * @param factory
+	 *            creates a new lexer reading the given input
+	 * @param in
+	 *            input
+	 */
+	public <L extends AstLexer> L acquire(Class<L> type, Function<Reader, L> factory, Reader in) throws IOException {
+		BlockingQueue<AstLexer> queue = lexers.get(type);
+		AstLexer lexer = queue != null ? queue.poll() : null;
+		if (lexer == null) {
+			return factory.apply(in);
+		}
+		lexer.reset(in);
+		return type.cast(lexer);
+	}
+
+	/**
+	 * Gives back a lexer once its parse is over. The lexer mustn't be used
+	 * after that.
+	 *
+	 * @param lexer
+	 *            lexer returned by {@link #acquire(Class, Function, Reader)}
+	 */
+	public void release(AstLexer lexer) {
+		try {
+			// Drops the source and the comments of the parse
+			lexer.reset(new CharArrayReader(EMPTY));
+		} catch (IOException e) {
+			return;
+		}
+		lexers.computeIfAbsent(lexer.getClass(), type -> new ArrayBlockingQueue<>(maxSize)).offer(lexer);
+	}
+
+	/**
+	 * Drops all the released lexers.
+	 */
+	public void shutdown() {
+		lexers.clear();
+	}
+}
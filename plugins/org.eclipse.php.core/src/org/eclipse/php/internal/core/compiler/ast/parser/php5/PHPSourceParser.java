@@ -18,6 +18,7 @@ import java.io.Reader;
 import org.eclipse.dltk.ast.parser.IModuleDeclaration;
 import org.eclipse.dltk.compiler.problem.IProblemReporter;
 import org.eclipse.php.internal.core.compiler.ast.parser.AbstractPHPSourceParser;
+import org.eclipse.php.internal.core.compiler.ast.parser.LexerPool;
 
 public class PHPSourceParser extends AbstractPHPSourceParser {
 
@@ -32,12 +33,16 @@ public class PHPSourceParser extends AbstractPHPSourceParser {
 	@Override
 	public IModuleDeclaration parse(Reader in, IProblemReporter reporter, boolean isSupportingASPTags,
 			boolean useShortTags) throws Exception {
-		CompilerAstLexer lexer = new CompilerAstLexer(in);
-		lexer.setUseAspTagsAsPHP(isSupportingASPTags);
-		lexer.setUseShortTags(useShortTags);
-		CompilerAstParser parser = new CompilerAstParser(lexer);
-		parser.setProblemReporter(reporter);
+		CompilerAstLexer lexer = LexerPool.INSTANCE.acquire(CompilerAstLexer.class, CompilerAstLexer::new, in);
+		try {
+			lexer.setUseAspTagsAsPHP(isSupportingASPTags);
+			lexer.setUseShortTags(useShortTags);
+			CompilerAstParser parser = new CompilerAstParser(lexer);
+			parser.setProblemReporter(reporter);
 
-		return parse(parser);
+			return parse(parser);
+		} finally {
+			LexerPool.INSTANCE.release(lexer);
+		}
 	}
 }
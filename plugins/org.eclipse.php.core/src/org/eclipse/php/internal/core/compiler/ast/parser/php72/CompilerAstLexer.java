@@ -31,6 +31,12 @@ public class CompilerAstLexer extends org.eclipse.php.internal.core.ast.scanner.
 		super(in);
 	}
 
+	@Override
+	public void reset(java.io.Reader reader) throws java.io.IOException {
+		super.reset(reader);
+		latestDocBlock = null;
+	}
+
 	@Override
 	protected void handleVarComment() {
 		String content = yytext();
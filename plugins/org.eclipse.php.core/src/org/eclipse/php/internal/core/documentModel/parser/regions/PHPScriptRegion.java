@@ -15,7 +15,6 @@ package org.eclipse.php.internal.core.documentModel.parser.regions;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ListIterator;
 
 import org.eclipse.dltk.annotations.NonNull;
 import org.eclipse.jface.text.BadLocationException;
@@ -26,7 +25,6 @@ import org.eclipse.php.internal.core.documentModel.parser.AbstractPHPLexer;
 import org.eclipse.php.internal.core.documentModel.parser.PHPLexerFactory;
 import org.eclipse.php.internal.core.documentModel.parser.Scanner.LexerState;
 import org.eclipse.php.internal.core.documentModel.partitioner.PHPPartitionTypes;
-import org.eclipse.wst.sse.core.internal.parser.ContextRegion;
 import org.eclipse.wst.sse.core.internal.parser.ForeignRegion;
 import org.eclipse.wst.sse.core.internal.provisional.events.StructuredDocumentEvent;
 import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
@@ -45,6 +43,10 @@ import org.eclipse.wst.xml.core.internal.Logger;
 public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 
 	private static final String PHP_SCRIPT = "PHP Script"; //$NON-NLS-1$
+	// maximal length relexed after a change before giving up and fully
+	// re-parsing, when the new tokens don't get back in sync with the previous
+	// ones
+	private static final int MAX_RELEXED_LENGTH = 4096;
 	@NonNull
 	private static final ITextRegion[] EMPTY_REGION = new ITextRegion[0];
 	private PHPTokenContainer tokensContainer = new PHPTokenContainer();
@@ -165,6 +167,64 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 		return false;
 	}
 
+	/**
+	 * Returns whether the given lexer state can be restored to resume lexing:
+	 * the heredoc/nowdoc ids are only kept by the states of heredoc/nowdoc
+	 * sections, not by the states of the variables they embed.
+	 */
+	private boolean isRestorable(LexerState state) {
+		for (int heredocState : heredocStates) {
+			if (state.getTopState() == heredocState) {
+				return true;
+			}
+		}
+		for (int heredocState : heredocStates) {
+			if (state.isSubstateOf(heredocState)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns whether the state recorded for the given token is the lexer state
+	 * before it. The lexer reads PHPDoc comments ahead, all the tokens of a
+	 * PHPDoc comment are recorded with the state before its content.
+	 */
+	private static boolean hasOwnState(ITextRegion token) {
+		String type = token.getType();
+		return !PHPPartitionTypes.isPHPDocState(type) || PHPPartitionTypes.isPHPDocStartRegion(type);
+	}
+
+	/**
+	 * Returns whether lexing the given previous token and the next ones again
+	 * would give them back: the lexer is at its start, in the state recorded
+	 * for it, and the new tokens wouldn't change its type or length.
+	 * 
+	 * @param oldToken
+	 *            previous token starting where the lexer is
+	 * @param state
+	 *            state of the lexer
+	 * @param lexer
+	 *            lexer
+	 * @param newContainer
+	 *            tokens already relexed
+	 */
+	private boolean isSynchronized(ITextRegion oldToken, LexerState state, AbstractPHPLexer lexer,
+			PHPTokenContainer newContainer) throws BadLocationException {
+		// whitespaces may be appended to the previous token
+		if (oldToken.getType() == PHPRegionTypes.WHITESPACE || !hasOwnState(oldToken)
+				|| (lexer.bufferedTokens != null && !lexer.bufferedTokens.isEmpty()) || !isRestorable(state)
+				|| PHPTokenContainer.deprecatedKeywordAfter(newContainer.getLastToken().getType())) {
+			return false;
+		}
+		ITextRegion previousToken = tokensContainer.getPreviousToken(oldToken);
+		if (previousToken != null && PHPTokenContainer.deprecatedKeywordAfter(previousToken.getType())) {
+			return false;
+		}
+		return state.equals(tokensContainer.getState(oldToken.getStart()));
+	}
+
 	/**
 	 * @see IPHPScriptRegion#isPHPQuotesState(int)
 	 */
@@ -223,37 +283,32 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 			if (offset < 4) {
 				return null;
 			}
-			// checks for odd quotes
-			final String deletedText = lengthToReplace == 0 ? "" //$NON-NLS-1$
-					: flatnode.getParentDocument().get(requestStart, lengthToReplace);
 			final int length = changes.length();
-			if (startQuoted(deletedText) || startQuoted(changes)) {
-				return null;
-			}
 
 			synchronized (tokensContainer) {
 				// get the region to re-parse
 				ITextRegion tokenStart = tokensContainer.getToken(offset == 0 ? 0 : offset - 1);
-				ITextRegion tokenEnd = tokensContainer.getToken(offset + lengthToReplace);
 
 				// make sure, region to re-parse doesn't start with unknown
-				// token
-				while (PHPRegionTypes.UNKNOWN_TOKEN.equals(tokenStart.getType()) && (tokenStart.getStart() > 0)) {
+				// token, nor inside a PHPDoc comment
+				while ((PHPRegionTypes.UNKNOWN_TOKEN.equals(tokenStart.getType()) || !hasOwnState(tokenStart))
+						&& (tokenStart.getStart() > 0)) {
 					tokenStart = tokensContainer.getToken(tokenStart.getStart() - 1);
 				}
 
 				int newTokenOffset = tokenStart.getStart();
+				final LexerState startState = tokensContainer.getState(newTokenOffset);
+				assert startState != null;
 
-				if (isHeredocState(newTokenOffset)) {
+				if (!isRestorable(startState)) {
 					// https://bugs.eclipse.org/bugs/show_bug.cgi?id=498525
-					// Fully re-parse when we're in a heredoc/nowdoc section.
+					// Fully re-parse when we're in a variable embedded in a
+					// heredoc/nowdoc section: the lexer state doesn't keep
+					// the heredoc/nowdoc ids in this case.
 					// NB: it's much easier and safer to use the lexer state to
 					// determine if we're in a heredoc/nowdoc section,
 					// using PHPRegionTypes make us depend on how each PHP
 					// lexer version analyzes the heredoc/nowdoc content.
-					// In the same way, PHPPartitionTypes.isPhpQuotesState(type)
-					// cannot be used here because it's not exclusive to
-					// heredoc/nowdoc sections.
 					return null;
 				}
 				if (isMaybeStartingNewHeredocSection(tokenStart)) {
@@ -267,16 +322,9 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 					return null;
 				}
 
-				// make sure, region to re-parse doesn't end with unknown token
-				while (PHPRegionTypes.UNKNOWN_TOKEN.equals(tokenEnd.getType())
-						&& (tokensContainer.getLastToken() != tokenEnd)) {
-					tokenEnd = tokensContainer.getToken(tokenEnd.getEnd());
-				}
-
 				boolean shouldDeprecatedKeyword = false;
-				int previousIndex = tokensContainer.phpTokens.indexOf(tokenStart) - 1;
-				if (previousIndex >= 0) {
-					ITextRegion previousRegion = tokensContainer.phpTokens.get(previousIndex);
+				ITextRegion previousRegion = tokensContainer.getPreviousToken(tokenStart);
+				if (previousRegion != null) {
 					if (PHPTokenContainer.deprecatedKeywordAfter(previousRegion.getType())) {
 						shouldDeprecatedKeyword = true;
 					}
@@ -287,17 +335,18 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 					}
 				}
 
-				// get start and end states
-				final LexerState startState = tokensContainer.getState(newTokenOffset);
-				final LexerState endState = tokensContainer.getState(tokenEnd.getEnd());
-
-				assert startState != null && endState != null;
-
 				final PHPTokenContainer newContainer = new PHPTokenContainer();
 				final AbstractPHPLexer phpLexer = getPHPLexer(
 						new DocumentReader(flatnode, changes, requestStart, lengthToReplace, newTokenOffset),
 						startState, phpVersion);
 
+				// relex until the new tokens are back in sync with the
+				// previous ones: after the change, at the start of a previous
+				// token, with the same lexer state
+				final int size = length - lengthToReplace;
+				final int toOffset = offset + length;
+				final int lastEnd = tokensContainer.getLastToken().getEnd();
+				ITextRegion tokenEnd = null;
 				LexerState state = startState;
 				try {
 					String yylex = phpLexer.getNextToken();
@@ -305,20 +354,36 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 						yylex = PHPRegionTypes.PHP_LABEL;
 					}
 					int yylength;
-					final int toOffset = offset + length;
-					while (yylex != null && newTokenOffset <= toOffset && yylex != PHPRegionTypes.PHP_CLOSETAG) {
+					while (yylex != null && yylex != PHPRegionTypes.PHP_CLOSETAG) {
+						if (newTokenOffset >= toOffset) {
+							final ITextRegion oldToken = tokensContainer.getToken(newTokenOffset - size);
+							if (oldToken.getStart() == newTokenOffset - size
+									&& isSynchronized(oldToken, state, phpLexer, newContainer)) {
+								tokenEnd = tokensContainer.getPreviousToken(oldToken);
+								break;
+							}
+							if (newTokenOffset - toOffset > MAX_RELEXED_LENGTH) {
+								return null;
+							}
+						}
 						yylength = phpLexer.getLength();
 						newContainer.addLast(yylex, newTokenOffset, yylength, yylength, state);
 						newTokenOffset += yylength;
 						state = phpLexer.createLexicalStateMemento();
 						yylex = phpLexer.getNextToken();
 					}
-					if (yylex == PHPRegionTypes.WHITESPACE) {
-						yylength = phpLexer.getLength();
-						newContainer.adjustWhitespace(yylex, newTokenOffset, yylength, yylength, state);
+					if (tokenEnd == null) {
+						// the end of the script was reached, it must end
+						// with the same lexer state
+						if (yylex != null || newTokenOffset != lastEnd + size
+								|| !state.equals(tokensContainer.getState(lastEnd))) {
+							return null;
+						}
+						tokenEnd = tokensContainer.getLastToken();
 					}
 				} catch (IOException e) {
 					Logger.logException(e);
+					return null;
 				}
 
 				// if the fast reparser couldn't lex - - reparse all
@@ -326,39 +391,11 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 					return null;
 				}
 
-				// if the two streams end with the same lexer state -
-				// 1. replace the regions
-				// 2. adjust next regions start location
-				// 3. update state changes
-				final int size = length - lengthToReplace;
-				final int end = newContainer.getLastToken().getEnd();
-
-				if ((state != null && !state.equals(endState)) || tokenEnd.getEnd() + size != end) {
-					return null;
-				}
-
-				// 1. replace the regions
-				final ListIterator<ContextRegion> oldIterator = tokensContainer.removeTokensSubList(tokenStart,
-						tokenEnd);
-
-				ContextRegion[] newTokens = newContainer.getPHPTokens(); // now,
-																			// add
-				// the new
-				// ones
-				for (int i = 0; i < newTokens.length; i++) {
-					oldIterator.add(newTokens[i]);
-				}
-
-				// 2. adjust next regions start location
-				while (oldIterator.hasNext()) {
-					final ITextRegion adjust = oldIterator.next();
-					adjust.adjustStart(size);
-				}
-
-				// 3. update state changes
-				tokensContainer.updateStateChanges(newContainer, tokenStart.getStart(), end);
+				// replace the regions, adjust next regions start location and
+				// update state changes
+				tokensContainer.replaceTokens(tokenStart, tokenEnd, newContainer, size);
 				updatedTokensStart = tokenStart.getStart();
-				updatedTokensEnd = end;
+				updatedTokensEnd = newTokenOffset;
 				isFullReparsed = false;
 			}
 
@@ -454,22 +491,6 @@ public class PHPScriptRegion extends ForeignRegion implements IPHPScriptRegion {
 		return false;
 	}
 
-	private boolean startQuoted(final String text) {
-		final int length = text.length();
-		if (length == 0) {
-			return false;
-		}
-
-		boolean isOdd = false;
-		for (int index = 0; index < length; index++) {
-			final char charAt = text.charAt(index);
-			if (charAt == '"' || charAt == '\'') {
-				isOdd = !isOdd;
-			}
-		}
-		return isOdd;
-	}
-
 	/**
 	 * Performing a fully parse process to php script
 	 * 
@@ -13,7 +13,10 @@
  *******************************************************************************/
 package org.eclipse.php.internal.core.documentModel.parser.regions;
 
-import java.util.*;
+import java.util.Arrays;
+import java.util.ListIterator;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import org.eclipse.dltk.annotations.NonNull;
 import org.eclipse.dltk.annotations.Nullable;
@@ -27,36 +30,49 @@ import org.eclipse.wst.sse.core.internal.provisional.text.ITextRegion;
 /**
  * Description: Holds the tokens extracted from the script
  * 
+ * The tokens and the lexer state changes are kept in arrays, sorted by offset,
+ * so they are found by binary search. Queries only take a read lock, writers
+ * additionally synchronize on the container, so a writer can read the tokens
+ * while relexing a region without blocking the readers, until it replaces the
+ * relexed tokens.
+ * 
  * @author Roy, 2007
  */
 public class PHPTokenContainer implements Cloneable {
 
+	private static final ContextRegion[] NO_TOKENS = new ContextRegion[0];
+	private static final LexerStateChange[] NO_CHANGES = new LexerStateChange[0];
+
 	// holds PHP tokens
-	protected final LinkedList<ContextRegion> phpTokens = new LinkedList<>(); // of
-	// ITextRegion
+	protected ContextRegion[] phpTokens = NO_TOKENS;
+	protected int tokensCount;
 
 	// holds the location and state, where the lexical analyzer state was
 	// changed
-	protected final LinkedList<LexerStateChange> lexerStateChanges = new LinkedList<>(); // of
-	// LexerStateChanged
+	protected LexerStateChange[] lexerStateChanges = NO_CHANGES;
+	protected int changesCount;
 
-	// holds the iterator for the php tokens linked list
-	// this iterator follows the localization principle
-	// i.e. the user usually works in the same area of the document
-	protected ListIterator<ContextRegion> tokensIterator = null;
+	// true while the list of php tokens is constructed
+	private boolean inCreation;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Lock readLock = lock.readLock();
+	private final Lock writeLock = lock.writeLock();
 
 	// https://bugs.eclipse.org/bugs/show_bug.cgi?id=464489
 	// workaround for bug 464489
 	@Override
 	public Object clone() {
 		PHPTokenContainer clone = new PHPTokenContainer();
-		clone.getModelForCreation();
-		clone.reset();
-
-		clone.phpTokens.addAll(phpTokens);
-		clone.lexerStateChanges.addAll(lexerStateChanges);
-
-		clone.releaseModelFromCreation();
+		readLock.lock();
+		try {
+			clone.phpTokens = Arrays.copyOf(phpTokens, tokensCount);
+			clone.tokensCount = tokensCount;
+			clone.lexerStateChanges = Arrays.copyOf(lexerStateChanges, changesCount);
+			clone.changesCount = changesCount;
+		} finally {
+			readLock.unlock();
+		}
 		return clone;
 	}
 
@@ -68,93 +84,112 @@ public class PHPTokenContainer implements Cloneable {
 	 * @throws BadLocationException
 	 *             - if the offset is out of bound
 	 */
-	@SuppressWarnings("null")
 	@NonNull
-	public synchronized ITextRegion getToken(int offset) throws BadLocationException {
-		assert tokensIterator != null;
-		if (phpTokens.isEmpty()) {
-			throw new BadLocationException("offset " + offset + " cannot be contained in an empty region"); //$NON-NLS-1$ //$NON-NLS-2$
-		}
-
-		// we have at least one region...
-		checkBadLocation(offset);
-
-		// smart searching
-		ITextRegion result = tokensIterator.hasNext() ? tokensIterator.next() : tokensIterator.previous();
-		assert result != null && result.getLength() > 0;
-
-		if (isInside(result, offset)) {
-			return result;
-		}
-
-		if (offset >= result.getEnd()) { // if the offset is
-											// beyond - go fetch
-			// from next
-			while (tokensIterator.hasNext() && !isInside(result, offset)) {
-				result = tokensIterator.next();
-				assert result != null && result.getLength() > 0;
-			}
-		} else { // else go fetch from previous
-			while (tokensIterator.hasPrevious() && !isInside(result, offset)) {
-				result = tokensIterator.previous();
-				assert result != null && result.getLength() > 0;
-			}
-			// moves the iterator to the next one
-			if (tokensIterator.hasNext()) {
-				tokensIterator.next();
-			}
+	public ITextRegion getToken(int offset) throws BadLocationException {
+		readLock.lock();
+		try {
+			return phpTokens[getTokenIndex(offset)];
+		} finally {
+			readLock.unlock();
 		}
-
-		assert isInside(result, offset) || offset == getLastToken().getEnd();
-		return result;
 	}
 
 	@SuppressWarnings("null")
 	@NonNull
-	public synchronized ITextRegion[] getTokens(final int offset, final int length) throws BadLocationException {
+	public ITextRegion[] getTokens(final int offset, final int length) throws BadLocationException {
 		if (length < 0) {
 			throw new BadLocationException("length " + length + " cannot be < 0"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
-		List<ITextRegion> result = new ArrayList<>(); // list of
-		// ITextRegion
+		readLock.lock();
+		try {
+			if (tokensCount == 0) {
+				return new ITextRegion[0];
+			}
+			int from = getTokenIndex(offset);
+			int to = from + 1;
+			while (to < tokensCount && phpTokens[to - 1].getEnd() < offset + length) {
+				to++;
+			}
+			return Arrays.copyOfRange(phpTokens, from, to, ITextRegion[].class);
+		} finally {
+			readLock.unlock();
+		}
+	}
 
-		ITextRegion token = phpTokens.isEmpty() ? null : getToken(offset);
-		if (token != null) {
-			result.add(token);
+	/**
+	 * Returns the token preceding the given token, or <code>null</code> if it's
+	 * the first one.
+	 * 
+	 * @param token
+	 *            token of this container
+	 */
+	public @Nullable ITextRegion getPreviousToken(ITextRegion token) throws BadLocationException {
+		readLock.lock();
+		try {
+			int index = getTokenIndex(token.getStart());
+			return index > 0 ? phpTokens[index - 1] : null;
+		} finally {
+			readLock.unlock();
 		}
+	}
 
-		while (tokensIterator.hasNext() && token != null && token.getEnd() < offset + length) {
-			token = tokensIterator.next();
-			assert token != null;
-			result.add(token);
+	/**
+	 * Returns the index of the token containing the given offset, or of the
+	 * last token for the end offset.
+	 */
+	private int getTokenIndex(int offset) throws BadLocationException {
+		assert !inCreation;
+		if (tokensCount == 0) {
+			throw new BadLocationException("offset " + offset + " cannot be contained in an empty region"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
+		// we have at least one region...
+		checkBadLocation(offset);
 
-		return result.toArray(new ITextRegion[result.size()]);
+		int low = 0;
+		int high = tokensCount - 1;
+		while (low < high) {
+			int middle = (low + high + 1) >>> 1;
+			if (phpTokens[middle].getStart() <= offset) {
+				low = middle;
+			} else {
+				high = middle - 1;
+			}
+		}
+		assert phpTokens[low].getLength() > 0;
+		return low;
 	}
 
-	private final boolean isInside(ITextRegion region, int offset) {
-		return region != null && region.getStart() <= offset && offset < region.getEnd();
+	/**
+	 * Returns the index of the last state change at or before the given
+	 * offset, or <code>-1</code>.
+	 */
+	private int getChangeIndex(int offset) {
+		int low = 0;
+		int high = changesCount - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			if (lexerStateChanges[middle].getOffset() <= offset) {
+				low = middle + 1;
+			} else {
+				high = middle - 1;
+			}
+		}
+		return high;
 	}
 
 	/**
 	 * @param offset
 	 * @return the lexer state at the given offset
 	 */
-	public synchronized @Nullable LexerState getState(int offset) {
-		Iterator<LexerStateChange> iter = lexerStateChanges.iterator();
-		assert iter.hasNext();
-
-		LexerStateChange element = iter.next();
-		LexerState lastState = null;
-
-		while (offset >= element.getOffset()) {
-			lastState = element.state;
-			if (!iter.hasNext()) {
-				return lastState;
-			}
-			element = iter.next();
+	public @Nullable LexerState getState(int offset) {
+		readLock.lock();
+		try {
+			assert changesCount > 0;
+			int index = getChangeIndex(offset);
+			return index >= 0 ? lexerStateChanges[index].state : null;
+		} finally {
+			readLock.unlock();
 		}
-		return lastState;
 	}
 
 	/**
@@ -164,14 +199,9 @@ public class PHPTokenContainer implements Cloneable {
 	 */
 	@SuppressWarnings("null")
 	@NonNull
-	public synchronized String getPartitionType(int offset) throws BadLocationException {
+	public String getPartitionType(int offset) throws BadLocationException {
 		ITextRegion token = getToken(offset);
 		assert token != null;
-		// while (PHPRegionTypes.PHPDOC_TODO.equals(token.getType()) &&
-		// token.getStart() - 1 >= 0) {
-		// token = getToken(token.getStart() - 1);
-		// assert token != null;
-		// }
 		final String type = token.getType();
 		final String partitionType = PHPPartitionTypes.getPartitionType(type);
 		assert partitionType != null;
@@ -179,81 +209,105 @@ public class PHPTokenContainer implements Cloneable {
 	}
 
 	/**
-	 * Updates the container with the new states
+	 * Replaces the given tokens by the tokens of the given container, and
+	 * moves the next tokens. The state changes of the replaced tokens are
+	 * replaced by the ones of the container.
 	 * 
+	 * @param tokenStart
+	 *            first replaced token
+	 * @param tokenEnd
+	 *            last replaced token
 	 * @param newContainer
-	 * @param fromOffset
-	 * @param toOffset
-	 * @param size
+	 *            relexed tokens, starting at the offset of the first replaced
+	 *            token
+	 * @param delta
+	 *            length difference of the new tokens
 	 */
-	public synchronized void updateStateChanges(PHPTokenContainer newContainer, int fromOffset, int toOffset) {
-		if (newContainer.lexerStateChanges.size() < 2) {
-			return;
-		}
-
-		// remove
-		final ListIterator<LexerStateChange> oldIterator = removeOldChanges(fromOffset, toOffset);
-
-		// add
-		final Iterator<LexerStateChange> newIterator = newContainer.lexerStateChanges.iterator();
-		newIterator.next(); // ignore the first state change (it is identical to
-		// the original one)
+	public synchronized void replaceTokens(ITextRegion tokenStart, ITextRegion tokenEnd,
+			PHPTokenContainer newContainer, int delta) throws BadLocationException {
+		writeLock.lock();
+		try {
+			int from = getTokenIndex(tokenStart.getStart());
+			int to = getTokenIndex(tokenEnd.getStart()) + 1;
+			assert phpTokens[from] == tokenStart && phpTokens[to - 1] == tokenEnd;
+
+			// the state changes of the replaced tokens
+			int changesFrom = getChangeIndex(tokenStart.getStart() - 1) + 1;
+			int changesTo = getChangeIndex(tokenEnd.getStart()) + 1;
+			// the state of the next token
+			ContextRegion next = to < tokensCount ? phpTokens[to] : null;
+			LexerState nextState = next != null ? lexerStateChanges[changesTo - 1].state : null;
+			boolean nextChanges = next != null && changesTo < changesCount
+					&& lexerStateChanges[changesTo].firstRegion == next;
+			if (nextChanges) {
+				nextState = lexerStateChanges[changesTo].state;
+			}
 
-		// goto the previous before adding
-		setIterator(oldIterator, fromOffset, toOffset);
+			// 1. replace the regions
+			ContextRegion[] newTokens = newContainer.phpTokens;
+			int newCount = newContainer.tokensCount;
+			phpTokens = replace(phpTokens, tokensCount, from, to, newTokens, newCount);
+			tokensCount += newCount - (to - from);
 
-		while (newIterator.hasNext()) {
-			oldIterator.add(newIterator.next());
-		}
-	}
-
-	private void setIterator(ListIterator<LexerStateChange> oldIterator, int fromOffset, int toOffset) {
-		if (oldIterator.nextIndex() != 1) {
-			oldIterator.previous();
-		} else {
-			return;
-		}
+			// 2. adjust next regions start location
+			for (int i = from + newCount; i < tokensCount; i++) {
+				phpTokens[i].adjustStart(delta);
+			}
 
-		LexerStateChange next = oldIterator.next();
-		int offset = next.getOffset();
-		if (offset > fromOffset) {
-			oldIterator.previous();
+			// 3. update state changes, the first new one is dropped when it
+			// doesn't change the previous state
+			LexerStateChange[] newChanges = newContainer.lexerStateChanges;
+			int first = 0;
+			if (changesFrom > 0 && newContainer.changesCount > 0
+					&& lexerStateChanges[changesFrom - 1].state.equals(newChanges[0].state)) {
+				first = 1;
+			}
+			newChanges = Arrays.copyOfRange(newChanges, first, newContainer.changesCount);
+			lexerStateChanges = replace(lexerStateChanges, changesCount, changesFrom, changesTo, newChanges,
+					newChanges.length);
+			changesCount += newChanges.length - (changesTo - changesFrom);
+
+			// the next token changes the state only if it differs from the
+			// last new one
+			if (next != null) {
+				int index = changesFrom + newChanges.length;
+				boolean changes = !lexerStateChanges[index - 1].state.equals(nextState);
+				if (nextChanges && !changes) {
+					lexerStateChanges = replace(lexerStateChanges, changesCount, index, index + 1, NO_CHANGES, 0);
+					changesCount--;
+				} else if (!nextChanges && changes) {
+					lexerStateChanges = replace(lexerStateChanges, changesCount, index, index,
+							new LexerStateChange[] { new LexerStateChange(nextState, next) }, 1);
+					changesCount++;
+				}
+			}
+		} finally {
+			writeLock.unlock();
 		}
-
 	}
 
-	public synchronized ListIterator<ContextRegion> removeTokensSubList(ITextRegion tokenStart, ITextRegion tokenEnd) {
-		assert tokenStart != null;
-
-		// go to the start region
-		ITextRegion region = null;
-		;
-		try {
-			region = getToken(tokenStart.getStart());
-		} catch (BadLocationException e) {
-			assert false;
+	/**
+	 * Replaces the elements <code>[from, to[</code> of the given array.
+	 */
+	private static <T> T[] replace(T[] array, int count, int from, int to, T[] elements, int length) {
+		int newCount = count + length - (to - from);
+		T[] result = array;
+		if (newCount > array.length) {
+			result = Arrays.copyOf(array, Math.max(newCount, array.length * 3 / 2 + 1));
 		}
-		assert region == tokenStart;
-
-		tokensIterator.remove();
-
-		// if it the start and the end are equal - remove and exit
-		if (tokenStart != tokenEnd) {
-			// remove to the end
-			do {
-				region = tokensIterator.next();
-				tokensIterator.remove();
-			} while (tokensIterator.hasNext() && region != tokenEnd);
+		System.arraycopy(array, to, result, from + length, count - to);
+		System.arraycopy(elements, 0, result, from, length);
+		for (int i = newCount; i < count; i++) {
+			result[i] = null;
 		}
-
-		return tokensIterator;
+		return result;
 	}
 
 	/**
 	 * One must call getModelForWrite() in order to construct the list of php tokens
 	 */
 	public synchronized void getModelForCreation() {
-		tokensIterator = null;
+		inCreation = true;
 	}
 
 	/**
@@ -261,7 +315,7 @@ public class PHPTokenContainer implements Cloneable {
 	 * tokens
 	 */
 	public synchronized void releaseModelFromCreation() {
-		tokensIterator = phpTokens.listIterator();
+		inCreation = false;
 	}
 
 	/**
@@ -269,43 +323,60 @@ public class PHPTokenContainer implements Cloneable {
 	 * first token in the wanted offset
 	 * 
 	 * @param offset
-	 * @param length
 	 * @return
 	 * @throws BadLocationException
 	 */
-	public synchronized ListIterator<ContextRegion> getPHPTokensIterator(final int offset) throws BadLocationException {
-		// fast results for empty lists
-		if (phpTokens.isEmpty()) {
-			return tokensIterator;
+	public ListIterator<ContextRegion> getPHPTokensIterator(final int offset) throws BadLocationException {
+		readLock.lock();
+		try {
+			// fast results for empty lists
+			if (tokensCount == 0) {
+				return Arrays.<ContextRegion> asList().listIterator();
+			}
+			int index = getTokenIndex(offset);
+			return Arrays.asList(Arrays.copyOf(phpTokens, tokensCount)).listIterator(index);
+		} finally {
+			readLock.unlock();
 		}
-		checkBadLocation(offset);
-
-		// set the token iterator to the right place
-		getToken(offset);
-
-		return tokensIterator;
 	}
 
 	/**
 	 * @return the whole tokens as an array
 	 */
-	public synchronized ContextRegion[] getPHPTokens() {
-		return phpTokens.toArray(new ContextRegion[phpTokens.size()]);
+	public ContextRegion[] getPHPTokens() {
+		readLock.lock();
+		try {
+			return Arrays.copyOf(phpTokens, tokensCount);
+		} finally {
+			readLock.unlock();
+		}
 	}
 
 	/**
 	 * Clears the containers
 	 */
 	public synchronized void reset() {
-		this.phpTokens.clear();
-		this.lexerStateChanges.clear();
+		writeLock.lock();
+		try {
+			phpTokens = NO_TOKENS;
+			tokensCount = 0;
+			lexerStateChanges = NO_CHANGES;
+			changesCount = 0;
+		} finally {
+			writeLock.unlock();
+		}
 	}
 
 	/**
 	 * @return true for empty container
 	 */
-	public synchronized boolean isEmpty() {
-		return this.phpTokens.isEmpty();
+	public boolean isEmpty() {
+		readLock.lock();
+		try {
+			return tokensCount == 0;
+		} finally {
+			readLock.unlock();
+		}
 	}
 
 	/**
@@ -315,44 +386,59 @@ public class PHPTokenContainer implements Cloneable {
 	 * @param lexerState
 	 */
 	public synchronized void addLast(String yylex, int start, int yylengthLength, int yylength, LexerState lexerState) {
-		assert (phpTokens.size() == 0 || getLastToken().getEnd() == start) && tokensIterator == null;
+		writeLock.lock();
+		try {
+			assert (tokensCount == 0 || getLastToken().getEnd() == start);
+
+			if (tokensCount > 0) {
+				ContextRegion lastContextRegion = phpTokens[tokensCount - 1];
+				if (deprecatedKeywordAfter(lastContextRegion.getType())) {
+					if (isKeyword(yylex)) {
+						yylex = PHPRegionTypes.PHP_LABEL;
+					}
+				}
+			}
+			// if state was change - we add a new token and add state
+			if (changesCount == 0 || !getLastChange().state.equals(lexerState)) {
+				int textLength = yylengthLength;
+				if (yylex == AbstractPHPLexer.WHITESPACE) {
+					textLength = 0;
+				} else if (yylex == AbstractPHPLexer.PHP_CURLY_OPEN || yylex == AbstractPHPLexer.PHP_CURLY_CLOSE) {
+					textLength = 1;
+				}
 
-		if (phpTokens.size() > 0) {
-			ContextRegion lastContextRegion = phpTokens.get(phpTokens.size() - 1);
-			if (deprecatedKeywordAfter(lastContextRegion.getType())) {
-				if (isKeyword(yylex)) {
-					yylex = PHPRegionTypes.PHP_LABEL;
+				final ContextRegion contextRegion = new ContextRegion(yylex, start, textLength, yylength);
+				addToken(contextRegion);
+				if (changesCount == lexerStateChanges.length) {
+					lexerStateChanges = Arrays.copyOf(lexerStateChanges, changesCount * 3 / 2 + 16);
 				}
+				lexerStateChanges[changesCount++] = new LexerStateChange(lexerState, contextRegion);
+				return;
 			}
-		}
-		// if state was change - we add a new token and add state
-		if (lexerStateChanges.size() == 0 || !getLastChange().state.equals(lexerState)) {
-			int textLength = yylengthLength;
+
+			assert tokensCount > 0;
+			// if we can only adjust the previous token size
 			if (yylex == AbstractPHPLexer.WHITESPACE) {
-				textLength = 0;
-			} else if (yylex == AbstractPHPLexer.PHP_CURLY_OPEN || yylex == AbstractPHPLexer.PHP_CURLY_CLOSE) {
-				textLength = 1;
+				final ITextRegion last = getLastToken();
+				last.adjustLength(yylength);
+			} else { // else - add as a new token
+				int textLength = yylengthLength;
+				if (yylex == AbstractPHPLexer.PHP_CURLY_OPEN || yylex == AbstractPHPLexer.PHP_CURLY_CLOSE) {
+					textLength = 1;
+				}
+				final ContextRegion contextRegion = new ContextRegion(yylex, start, textLength, yylength);
+				addToken(contextRegion);
 			}
-
-			final ContextRegion contextRegion = new ContextRegion(yylex, start, textLength, yylength);
-			phpTokens.addLast(contextRegion);
-			lexerStateChanges.addLast(new LexerStateChange(lexerState, contextRegion));
-			return;
+		} finally {
+			writeLock.unlock();
 		}
+	}
 
-		assert phpTokens.size() > 0;
-		// if we can only adjust the previous token size
-		if (yylex == AbstractPHPLexer.WHITESPACE) {
-			final ITextRegion last = phpTokens.getLast();
-			last.adjustLength(yylength);
-		} else { // else - add as a new token
-			int textLength = yylengthLength;
-			if (yylex == AbstractPHPLexer.PHP_CURLY_OPEN || yylex == AbstractPHPLexer.PHP_CURLY_CLOSE) {
-				textLength = 1;
-			}
-			final ContextRegion contextRegion = new ContextRegion(yylex, start, textLength, yylength);
-			phpTokens.addLast(contextRegion);
+	private void addToken(ContextRegion contextRegion) {
+		if (tokensCount == phpTokens.length) {
+			phpTokens = Arrays.copyOf(phpTokens, tokensCount * 3 / 2 + 16);
 		}
+		phpTokens[tokensCount++] = contextRegion;
 	}
 
 	/**
@@ -392,12 +478,17 @@ public class PHPTokenContainer implements Cloneable {
 	 */
 	public synchronized void adjustWhitespace(String yylex, int start, int yylengthLength, int yylength,
 			Object lexerState) {
-		assert (phpTokens.size() == 0 || getLastToken().getEnd() == start) && tokensIterator == null;
+		writeLock.lock();
+		try {
+			assert (tokensCount == 0 || getLastToken().getEnd() == start);
 
-		// if state was change - we add a new token and add state
-		if (lexerStateChanges.size() != 0 && getLastChange().state.equals(lexerState)) {
-			final ITextRegion last = phpTokens.getLast();
-			last.adjustLength(yylength);
+			// if state was change - we add a new token and add state
+			if (changesCount != 0 && getLastChange().state.equals(lexerState)) {
+				final ITextRegion last = getLastToken();
+				last.adjustLength(yylength);
+			}
+		} finally {
+			writeLock.unlock();
 		}
 	}
 
@@ -446,35 +537,28 @@ public class PHPTokenContainer implements Cloneable {
 	 * @param offset
 	 * @throws BadLocationException
 	 */
-	protected synchronized final void checkBadLocation(int offset) throws BadLocationException {
+	protected final void checkBadLocation(int offset) throws BadLocationException {
 		ITextRegion lastRegion = getLastToken();
 		if (offset < 0 || lastRegion.getEnd() < offset) {
 			throw new BadLocationException("offset " + offset + " is out of [0, " + lastRegion.getEnd() + "]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		}
 	}
 
-	protected synchronized final ITextRegion getLastToken() {
-		return phpTokens.getLast();
-	}
-
-	protected synchronized LexerStateChange getLastChange() {
-		return lexerStateChanges.getLast();
+	protected final ITextRegion getLastToken() {
+		readLock.lock();
+		try {
+			return phpTokens[tokensCount - 1];
+		} finally {
+			readLock.unlock();
+		}
 	}
 
-	protected synchronized final ListIterator<LexerStateChange> removeOldChanges(int fromOffset, int toOffset) {
-		final ListIterator<LexerStateChange> iterator = (ListIterator<LexerStateChange>) lexerStateChanges.iterator();
-
-		LexerStateChange element = iterator.next();
-		while (element.getOffset() <= toOffset) {
-			if (element.getOffset() > fromOffset && element.getOffset() <= toOffset) {
-				iterator.remove();
-			}
-			if (!iterator.hasNext()) {
-				return iterator;
-			}
-			element = iterator.next();
+	protected LexerStateChange getLastChange() {
+		readLock.lock();
+		try {
+			return lexerStateChanges[changesCount - 1];
+		} finally {
+			readLock.unlock();
 		}
-
-		return iterator;
 	}
 }
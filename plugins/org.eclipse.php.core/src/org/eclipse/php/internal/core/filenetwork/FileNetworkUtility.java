@@ -14,23 +14,16 @@
 package org.eclipse.php.internal.core.filenetwork;
 
 import java.util.*;
+import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.dltk.core.*;
-import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
-import org.eclipse.dltk.core.search.IDLTKSearchScope;
-import org.eclipse.dltk.core.search.SearchEngine;
 import org.eclipse.dltk.internal.core.ExternalSourceModule;
 import org.eclipse.dltk.internal.core.ModelManager;
-import org.eclipse.php.internal.core.Logger;
-import org.eclipse.php.internal.core.PHPLanguageToolkit;
 import org.eclipse.php.internal.core.filenetwork.ReferenceTree.Node;
 import org.eclipse.php.internal.core.language.LanguageModelInitializer;
-import org.eclipse.php.internal.core.model.IncludeField;
-import org.eclipse.php.internal.core.model.PHPModelAccess;
 import org.eclipse.php.internal.core.util.PHPSearchEngine;
 import org.eclipse.php.internal.core.util.PHPSearchEngine.IncludedFileResult;
 import org.eclipse.php.internal.core.util.PHPSearchEngine.IncludedPharFileResult;
@@ -93,102 +86,87 @@ public class FileNetworkUtility {
 
 		Node root = new Node(file);
 
-		internalBuildReferencingFilesTree(root, processedFiles, new HashMap<IModelElement, IField[]>(), monitor);
+		internalBuildReferencingFilesTree(root, processedFiles, monitor);
 
 		return new ReferenceTree(root);
 	}
 
-	private static IDLTKSearchScope createSearchScope(ISourceModule file) {
+	/**
+	 * Returns the script projects and project fragments containing the files
+	 * that may include the given source module.
+	 */
+	private static List<IModelElement> getReferencingContainers(ISourceModule file) {
+		List<IModelElement> containers = new ArrayList<>();
 		if (LanguageModelInitializer.isLanguageModelElement(file)) {
-			return null;
+			return containers;
 		}
 		if (file instanceof ExternalSourceModule) {
 			try {
 				IProjectFragment fileFragment = ((ExternalSourceModule) file).getProjectFragment();
-				List<IModelElement> scopeElements = new LinkedList<>();
-				scopeElements.add(fileFragment);
+				containers.add(fileFragment);
 
 				IScriptProject[] scriptProjects = ModelManager.getModelManager().getModel().getScriptProjects();
 				for (IScriptProject scriptProject : scriptProjects) {
 					for (IProjectFragment fragment : scriptProject.getProjectFragments()) {
 						if (fragment.equals(fileFragment)) {
-							scopeElements.add(scriptProject);
+							containers.add(scriptProject);
 						}
 					}
 				}
-				return SearchEngine.createSearchScope(scopeElements.toArray(new IModelElement[scopeElements.size()]),
-						IDLTKSearchScope.SOURCES, PHPLanguageToolkit.getDefault());
 			} catch (ModelException e) {
-				return null;
+				containers.clear();
 			}
+			return containers;
 		}
 
 		IScriptProject scriptProject = file.getScriptProject();
 		IProject[] referencingProjects = scriptProject.getProject().getReferencingProjects();
-		ArrayList<IScriptProject> scopeProjects = new ArrayList<>();
-		scopeProjects.add(scriptProject);
+		containers.add(scriptProject);
 		for (IProject referencingProject : referencingProjects) {
 			if (referencingProject.isAccessible()) {
-				scopeProjects.add(DLTKCore.create(referencingProject));
+				containers.add(DLTKCore.create(referencingProject));
 			}
 		}
-		return SearchEngine.createSearchScope(scopeProjects.toArray(new IScriptProject[scopeProjects.size()]),
-				IDLTKSearchScope.SOURCES, PHPLanguageToolkit.getDefault());
+		return containers;
 	}
 
 	private static void internalBuildReferencingFilesTree(Node root, Set<ISourceModule> processedFiles,
-			Map<IModelElement, IField[]> includesCache, IProgressMonitor monitor) {
+			IProgressMonitor monitor) {
 
 		if (monitor != null && monitor.isCanceled()) {
 			return;
 		}
 
 		ISourceModule file = root.getFile();
-		IDLTKSearchScope scope = createSearchScope(file);
-		if (scope == null) {
-			return;
-		}
-
-		IModelElement parentElement = (file instanceof ExternalSourceModule)
-				? ((ExternalSourceModule) file).getProjectFragment()
-				: file.getScriptProject();
-
-		IField[] includes = includesCache.get(parentElement);
-		if (includes == null) {
-			includes = PHPModelAccess.getDefault().findIncludes(null, MatchRule.PREFIX, scope, monitor);
-			includesCache.put(parentElement, includes);
-		}
-
-		for (IField include : includes) {
-			String filePath = ((IncludeField) include).getFilePath();
-			String lastSegment = filePath;
-			int i = Math.max(filePath.lastIndexOf('/'), filePath.lastIndexOf('\\'));
-			if (i > 0) {
-				lastSegment = lastSegment.substring(i + 1);
-			}
-			if (!lastSegment.equals(file.getElementName())) {
-				continue;
-			}
-
-			// Candidate that includes the original source module:
-			ISourceModule referencingFile = include.getSourceModule();
-
-			// Try to resolve include:
-			ISourceModule testFile = findSourceModule(referencingFile, filePath);
-
-			// If this is the correct include (that means that included file is
-			// the original file):
-			if (file.equals(testFile) && !processedFiles.contains(referencingFile)) {
-				processedFiles.add(referencingFile);
-				Node node = new Node(referencingFile);
-				root.addChild(node);
+		for (IModelElement container : getReferencingContainers(file)) {
+			// Candidates that include the original source module:
+			Map<ISourceModule, List<String>> including = IncludeGraph.INSTANCE.getIncluding(container,
+					file.getElementName(), monitor);
+			for (Entry<ISourceModule, List<String>> entry : including.entrySet()) {
+				ISourceModule referencingFile = entry.getKey();
+				if (processedFiles.contains(referencingFile)) {
+					continue;
+				}
+				for (String filePath : entry.getValue()) {
+					// Try to resolve include:
+					ISourceModule testFile = findSourceModule(referencingFile, filePath);
+
+					// If this is the correct include (that means that included
+					// file is the original file):
+					if (file.equals(testFile)) {
+						processedFiles.add(referencingFile);
+						Node node = new Node(referencingFile);
+						root.addChild(node);
+						break;
+					}
+				}
 			}
 		}
 
 		Collection<Node> children = root.getChildren();
 		if (children != null) {
 			for (Node child : children) {
-				internalBuildReferencingFilesTree(child, processedFiles, includesCache, monitor);
+				internalBuildReferencingFilesTree(child, processedFiles, monitor);
 			}
 		}
 	}
@@ -229,29 +207,23 @@ public class FileNetworkUtility {
 		Node root;
 		if (cachedTrees == null || (root = cachedTrees.get(file)) == null) {
 			root = new Node(file);
-			try {
-				internalBuildReferencedFilesTree(root, processedFiles, cachedTrees, monitor);
-			} catch (CoreException e) {
-				Logger.logException(e);
-			}
+			internalBuildReferencedFilesTree(root, processedFiles, cachedTrees, monitor);
 		}
 		return new ReferenceTree(root);
 	}
 
 	private static void internalBuildReferencedFilesTree(final Node root, Set<ISourceModule> processedFiles,
-			Map<ISourceModule, Node> cachedTrees, IProgressMonitor monitor) throws CoreException {
+			Map<ISourceModule, Node> cachedTrees, IProgressMonitor monitor) {
 
 		ISourceModule sourceModule = root.getFile();
-		IField[] includes = PHPModelAccess.getDefault().findIncludes(null, MatchRule.PREFIX,
-				SearchEngine.createSearchScope(sourceModule), monitor);
+		String[] includes = IncludeGraph.INSTANCE.getIncludes(sourceModule, monitor);
 
 		if (includes.length == 0) {
 			return;
 		}
 
 		List<Node> nodesToBuild = new LinkedList<>();
-		for (IField include : includes) {
-			String filePath = ((IncludeField) include).getFilePath();
+		for (String filePath : includes) {
 			ISourceModule testFile = findSourceModule(sourceModule, filePath);
 			if (testFile != null && !processedFiles.contains(testFile)) {
 				processedFiles.add(testFile);
@@ -280,11 +252,29 @@ public class FileNetworkUtility {
 		}
 	}
 
+	/**
+	 * Resolves an include path the way PHP does, see {@link PHPSearchEngine}.
+	 * Resolutions are cached by the {@link IncludeGraph}.
+	 * 
+	 * @param from
+	 *            including source module
+	 * @param path
+	 *            included path
+	 * @return the included source module, or <code>null</code> if the path
+	 *         can't be resolved
+	 */
 	public static ISourceModule findSourceModule(ISourceModule from, String path) {
-		return findSourceModule(from, path, null);
+		return IncludeGraph.INSTANCE.resolve(from, path);
 	}
 
 	public static ISourceModule findSourceModule(ISourceModule from, String path, Set<String> exclusiveFiles) {
+		if (exclusiveFiles == null) {
+			return findSourceModule(from, path);
+		}
+		return resolveSourceModule(from, path, exclusiveFiles);
+	}
+
+	static ISourceModule resolveSourceModule(ISourceModule from, String path, Set<String> exclusiveFiles) {
 		ISourceModule sourceModule = null;
 
 		IProject currentProject = from.getScriptProject().getProject();
@@ -0,0 +1,506 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.filenetwork;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.core.*;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.PHPLanguageToolkit;
+import org.eclipse.php.internal.core.includepath.IIncludepathListener;
+import org.eclipse.php.internal.core.includepath.IncludePathManager;
+import org.eclipse.php.internal.core.model.IncludeField;
+import org.eclipse.php.internal.core.model.PHPModelAccess;
+
+/**
+ * Workspace wide graph of the include statements of PHP files, used by
+ * {@link FileNetworkUtility} to build reference trees without querying the
+ * index and resolving every include again.
+ *
+ * The graph keeps the paths included by each file (forward edges) and, for
+ * each script project or external project fragment, the files including a
+ * path by the last segment of the path (reverse edges). Include resolutions
+ * are cached by including folder and path, including the paths resolving to
+ * no file.
+ *
+ * The edges of a file are dropped when the file changes, and read again from
+ * the index on the next query. Resolutions are dropped when a file with the
+ * last segment of their path is added or removed. Everything is dropped when
+ * a project, its build path or its include path changes. Edges are not cached
+ * while the DLTK indexer has pending jobs.
+ *
+ * The index is never queried under the lock of the graph, which the change
+ * listeners take too: the results are swapped in afterwards, if no file
+ * changed meanwhile.
+ */
+public enum IncludeGraph {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	private static final String TRACE_CATEGORY = "includeGraph"; //$NON-NLS-1$
+
+	private static final String[] NO_INCLUDES = new String[0];
+
+	/**
+	 * Reverse edges of the files of a script project or of an external
+	 * project fragment.
+	 */
+	private static class Container {
+
+		/**
+		 * <code>true</code> if the edges were read while the index was
+		 * ready.
+		 */
+		final boolean complete;
+
+		/**
+		 * Included paths, by including file.
+		 */
+		final Map<ISourceModule, String[]> includes = new HashMap<>();
+
+		/**
+		 * Including files, by last segment of the included path.
+		 */
+		final Map<String, Set<ISourceModule>> including = new HashMap<>();
+
+		/**
+		 * Files changed since the edges were read.
+		 */
+		final Set<ISourceModule> changed = new HashSet<>();
+
+		Container(boolean complete) {
+			this.complete = complete;
+		}
+
+		void add(ISourceModule module, String[] paths) {
+			if (paths.length == 0) {
+				return;
+			}
+			includes.put(module, paths);
+			for (String path : paths) {
+				including.computeIfAbsent(getLastSegment(path), k -> new HashSet<>()).add(module);
+			}
+		}
+
+		void remove(ISourceModule module) {
+			String[] paths = includes.remove(module);
+			if (paths == null) {
+				return;
+			}
+			for (String path : paths) {
+				String name = getLastSegment(path);
+				Set<ISourceModule> modules = including.get(name);
+				if (modules != null) {
+					modules.remove(module);
+					if (modules.isEmpty()) {
+						including.remove(name);
+					}
+				}
+			}
+		}
+	}
+
+	private class ChangeListener implements IResourceChangeListener, IElementChangedListener, IIncludepathListener {
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IResourceDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			synchronized (IncludeGraph.this) {
+				visitResource(delta);
+			}
+		}
+
+		private void visitResource(IResourceDelta delta) {
+			IResource resource = delta.getResource();
+			switch (resource.getType()) {
+			case IResource.FILE:
+				if (delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED) {
+					modificationCount++;
+					resolutions.remove(resource.getName());
+					changed((IFile) resource);
+				} else if ((delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+					modificationCount++;
+					changed((IFile) resource);
+				}
+				return;
+			case IResource.PROJECT:
+				if (delta.getKind() != IResourceDelta.CHANGED
+						|| (delta.getFlags() & (IResourceDelta.OPEN | IResourceDelta.DESCRIPTION)) != 0) {
+					clear();
+					return;
+				}
+				break;
+			default:
+				break;
+			}
+			for (IResourceDelta child : delta.getAffectedChildren()) {
+				visitResource(child);
+			}
+		}
+
+		private void changed(IFile file) {
+			IModelElement element = DLTKCore.create(file);
+			if (!(element instanceof ISourceModule)) {
+				return;
+			}
+			ISourceModule module = (ISourceModule) element;
+			includes.remove(module);
+			Container container = containers.get(module.getScriptProject());
+			if (container != null) {
+				container.remove(module);
+				container.changed.add(module);
+			}
+		}
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			synchronized (IncludeGraph.this) {
+				visit(event.getDelta());
+			}
+		}
+
+		private void visit(IModelElementDelta delta) {
+			if ((delta.getFlags() & (IModelElementDelta.F_BUILDPATH_CHANGED | IModelElementDelta.F_ADDED_TO_BUILDPATH
+					| IModelElementDelta.F_REMOVED_FROM_BUILDPATH
+					| IModelElementDelta.F_RESOLVED_BUILDPATH_CHANGED)) != 0) {
+				clear();
+				return;
+			}
+			if (delta.getElement().getElementType() < IModelElement.PROJECT_FRAGMENT) {
+				for (IModelElementDelta child : delta.getAffectedChildren()) {
+					visit(child);
+				}
+			}
+		}
+
+		@Override
+		public void refresh(IProject project) {
+			synchronized (IncludeGraph.this) {
+				clear();
+			}
+		}
+	}
+
+	/**
+	 * Resolved files, by last segment of the included path and resolution key.
+	 * A <code>null</code> file is a path resolving to no file.
+	 */
+	private final Map<String, Map<String, ISourceModule>> resolutions = new HashMap<>();
+
+	/**
+	 * Included paths, by including file.
+	 */
+	private final Map<ISourceModule, String[]> includes = new HashMap<>();
+
+	/**
+	 * Reverse edges, by script project or external project fragment.
+	 */
+	private final Map<IModelElement, Container> containers = new HashMap<>();
+
+	private long modificationCount;
+	private ChangeListener listener;
+
+	private final AtomicLong resolutionHits = new AtomicLong();
+	private final AtomicLong resolutionMisses = new AtomicLong();
+	private final AtomicLong edgeHits = new AtomicLong();
+	private final AtomicLong edgeMisses = new AtomicLong();
+
+	/**
+	 * Returns the source module included by the given path from the given
+	 * source module.
+	 *
+	 * @param from
+	 *            including source module
+	 * @param path
+	 *            included path
+	 * @return the included source module, or <code>null</code> if the path
+	 *         can't be resolved
+	 * @see FileNetworkUtility#findSourceModule(ISourceModule, String)
+	 */
+	public ISourceModule resolve(ISourceModule from, String path) {
+		String name = getLastSegment(path);
+		String key = from.getScriptProject().getElementName() + '\0' + from.getParent().getPath() + '\0' + path;
+		long count;
+		synchronized (this) {
+			startup();
+			count = modificationCount;
+			Map<String, ISourceModule> entries = resolutions.get(name);
+			if (entries != null && entries.containsKey(key)) {
+				resolutionHits.incrementAndGet();
+				return entries.get(key);
+			}
+		}
+		resolutionMisses.incrementAndGet();
+		ISourceModule sourceModule = FileNetworkUtility.resolveSourceModule(from, path, null);
+		synchronized (this) {
+			// Dropped if a file was added or removed meanwhile
+			if (count == modificationCount) {
+				resolutions.computeIfAbsent(name, k -> new HashMap<>()).put(key, sourceModule);
+			}
+		}
+		return sourceModule;
+	}
+
+	/**
+	 * Returns the paths included by the given source module.
+	 *
+	 * @param sourceModule
+	 *            source module
+	 * @param monitor
+	 *            progress monitor used to query the index
+	 */
+	public String[] getIncludes(ISourceModule sourceModule, IProgressMonitor monitor) {
+		boolean cacheable = isIndexReady();
+		long count = 0;
+		if (cacheable) {
+			synchronized (this) {
+				startup();
+				count = modificationCount;
+				String[] paths = includes.get(sourceModule);
+				if (paths != null) {
+					edgeHits.incrementAndGet();
+					return paths;
+				}
+			}
+		}
+		edgeMisses.incrementAndGet();
+		String[] paths = queryIncludes(SearchEngine.createSearchScope(sourceModule), monitor)
+				.getOrDefault(sourceModule, NO_INCLUDES);
+		if (cacheable) {
+			synchronized (this) {
+				if (count == modificationCount) {
+					includes.put(sourceModule, paths);
+				}
+			}
+		}
+		return paths;
+	}
+
+	/**
+	 * Returns the source modules of the given container including a path
+	 * whose last segment is the given file name, with the paths they include.
+	 *
+	 * @param container
+	 *            script project or external project fragment
+	 * @param fileName
+	 *            name of the included file
+	 * @param monitor
+	 *            progress monitor used to query the index
+	 * @return the included paths with the given last segment, by including
+	 *         source module
+	 */
+	public Map<ISourceModule, List<String>> getIncluding(IModelElement container, String fileName,
+			IProgressMonitor monitor) {
+		boolean cacheable = isIndexReady();
+		long count;
+		Container entry;
+		Set<ISourceModule> changed = null;
+		synchronized (this) {
+			startup();
+			count = modificationCount;
+			entry = containers.get(container);
+			if (entry != null && (entry.complete || !cacheable)) {
+				if (!cacheable || entry.changed.isEmpty()) {
+					edgeHits.incrementAndGet();
+					return getIncluding(entry, fileName);
+				}
+				changed = new HashSet<>(entry.changed);
+			}
+		}
+		if (changed != null) {
+			// The edges of the changed files are read without the lock too,
+			// and swapped in if no file changed meanwhile
+			Map<ISourceModule, String[]> updated = queryIncludes(changed, monitor);
+			synchronized (this) {
+				if (monitor != null && monitor.isCanceled()) {
+					return getIncluding(entry, fileName);
+				}
+				if (count == modificationCount && containers.get(container) == entry) {
+					update(entry, updated);
+					edgeHits.incrementAndGet();
+					return getIncluding(entry, fileName);
+				}
+			}
+		}
+		edgeMisses.incrementAndGet();
+		// Not read under the lock, so a slow query doesn't block the others
+		entry = new Container(cacheable);
+		for (Map.Entry<ISourceModule, String[]> e : queryIncludes(
+				SearchEngine.createSearchScope(new IModelElement[] { container }, IDLTKSearchScope.SOURCES,
+						PHPLanguageToolkit.getDefault()),
+				monitor).entrySet()) {
+			entry.add(e.getKey(), e.getValue());
+		}
+		if (monitor != null && monitor.isCanceled()) {
+			return getIncluding(entry, fileName);
+		}
+		synchronized (this) {
+			// Dropped if a file changed meanwhile. Incomplete edges are still
+			// shared until the index is ready.
+			if (count == modificationCount) {
+				containers.put(container, entry);
+				if (cacheable) {
+					includes.putAll(entry.includes);
+				}
+			}
+			return getIncluding(entry, fileName);
+		}
+	}
+
+	private static Map<ISourceModule, List<String>> getIncluding(Container entry, String fileName) {
+		Map<ISourceModule, List<String>> result = new LinkedHashMap<>();
+		Set<ISourceModule> modules = entry.including.get(fileName);
+		if (modules == null) {
+			return result;
+		}
+		for (ISourceModule module : modules) {
+			List<String> paths = new ArrayList<>(1);
+			for (String path : entry.includes.get(module)) {
+				if (fileName.equals(getLastSegment(path))) {
+					paths.add(path);
+				}
+			}
+			result.put(module, paths);
+		}
+		return result;
+	}
+
+	/**
+	 * Sets the edges of the files changed since the edges of the container
+	 * were read. Must be called under the lock.
+	 *
+	 * @param updated
+	 *            edges read by {@link #queryIncludes(Set, IProgressMonitor)}
+	 */
+	private void update(Container entry, Map<ISourceModule, String[]> updated) {
+		for (Map.Entry<ISourceModule, String[]> e : updated.entrySet()) {
+			// Already set by another query otherwise
+			if (entry.changed.remove(e.getKey())) {
+				entry.add(e.getKey(), e.getValue());
+				includes.put(e.getKey(), e.getValue());
+			}
+		}
+		// Removed files
+		entry.changed.clear();
+	}
+
+	/**
+	 * Returns the paths included by the given files which still exist, by
+	 * file.
+	 */
+	private static Map<ISourceModule, String[]> queryIncludes(Set<ISourceModule> modules,
+			IProgressMonitor monitor) {
+		Map<ISourceModule, String[]> result = new HashMap<>();
+		for (ISourceModule module : modules) {
+			if (module.exists()) {
+				result.put(module, queryIncludes(SearchEngine.createSearchScope(module), monitor)
+						.getOrDefault(module, NO_INCLUDES));
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the paths included by the files of the given scope, by file.
+	 */
+	private static Map<ISourceModule, String[]> queryIncludes(IDLTKSearchScope scope, IProgressMonitor monitor) {
+		Map<ISourceModule, List<String>> paths = new LinkedHashMap<>();
+		for (IField include : PHPModelAccess.getDefault().findIncludes(null, MatchRule.PREFIX, scope, monitor)) {
+			paths.computeIfAbsent(include.getSourceModule(), k -> new ArrayList<>())
+					.add(((IncludeField) include).getFilePath());
+		}
+		Map<ISourceModule, String[]> result = new LinkedHashMap<>();
+		for (Map.Entry<ISourceModule, List<String>> e : paths.entrySet()) {
+			result.put(e.getKey(), e.getValue().toArray(new String[e.getValue().size()]));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the last segment of an include path.
+	 */
+	static String getLastSegment(String path) {
+		int i = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+		return i > 0 ? path.substring(i + 1) : path;
+	}
+
+	/**
+	 * Edges are read from the DLTK index, so they aren't cached while the index
+	 * is being updated.
+	 */
+	private static boolean isIndexReady() {
+		return ModelManager.getModelManager().getIndexManager().awaitingJobsCount() == 0;
+	}
+
+	private void clear() {
+		modificationCount++;
+		resolutions.clear();
+		includes.clear();
+		containers.clear();
+	}
+
+	private void startup() {
+		if (listener == null) {
+			listener = new ChangeListener();
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+			DLTKCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+			IncludePathManager.getInstance().registerIncludepathListener(listener);
+		}
+	}
+
+	/**
+	 * Shuts down this graph.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			if (listener != null) {
+				ResourcesPlugin.getWorkspace().removeResourceChangeListener(listener);
+				DLTKCore.removeElementChangedListener(listener);
+				IncludePathManager.getInstance().unregisterIncludepathListener(listener);
+				listener = null;
+			}
+			clear();
+		}
+		if (Logger.isTracing(TRACE_CATEGORY)) {
+			Logger.trace(TRACE_CATEGORY, "Resolutions: " + resolutionHits + " hits, " + resolutionMisses //$NON-NLS-1$ //$NON-NLS-2$
+					+ " misses; edges: " + edgeHits + " hits, " + edgeMisses + " misses"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Returns the number of include resolutions found in the graph.
+	 */
+	public long getResolutionHits() {
+		return resolutionHits.get();
+	}
+
+	/**
+	 * Returns the number of include resolutions computed.
+	 */
+	public long getResolutionMisses() {
+		return resolutionMisses.get();
+	}
+}
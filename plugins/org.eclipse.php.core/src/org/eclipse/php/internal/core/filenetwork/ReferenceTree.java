@@ -14,6 +14,7 @@
 package org.eclipse.php.internal.core.filenetwork;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -28,6 +29,7 @@ public class ReferenceTree implements IFileHierarchyInfo {
 
 	final private Node root;
 	final private boolean isLanguageModel;
+	private Set<ISourceModule> files;
 
 	public ReferenceTree(Node root) {
 		assert root != null;
@@ -55,7 +57,21 @@ public class ReferenceTree implements IFileHierarchyInfo {
 		if (isLanguageModel) {
 			return true;
 		}
-		return root.find(sourceModule);
+		if (sourceModule == null) {
+			return false;
+		}
+		return getFiles().contains(sourceModule);
+	}
+
+	/**
+	 * Returns the files of the tree, collected on the first lookup.
+	 */
+	private synchronized Set<ISourceModule> getFiles() {
+		if (files == null) {
+			files = new HashSet<>();
+			root.collect(files);
+		}
+		return files;
 	}
 
 	public static class Node {
@@ -100,6 +116,14 @@ public class ReferenceTree implements IFileHierarchyInfo {
 			return false;
 		}
 
+		private void collect(Set<ISourceModule> files) {
+			if (files.add(file) && children != null) {
+				for (Node child : children) {
+					child.collect(files);
+				}
+			}
+		}
+
 		private void toString(StringBuilder buf, int tabs) {
 			String fileName = file.getPath().toString();
 
@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.index;
+
+/**
+ * Compact encoding of the metadata and PHPDoc info stored with the index
+ * entries, see {@link PHPIndexingVisitor} for the encoding and
+ * {@link PHPElementResolver} for the decoding of the entries.
+ *
+ * PHPDoc info is encoded as flags ({@link #DOC_DEPRECATED}), the return type
+ * names and the variable type.
+ *
+ * The index stores strings, so the encoded data is a string as well: a version
+ * char, followed by variable length integers (7 bits per char, the 8th bit
+ * marking a continuation) and length prefixed strings. Values never need to be
+ * escaped, and all the chars stay outside of the surrogate range, so they
+ * survive the UTF-8 conversion of the index storage.
+ *
+ * Strings not starting with the version char were written by an older PDT
+ * version (or by an indexing extension) and use the former delimited format.
+ */
+public class IndexMetadata {
+
+	/**
+	 * Current version of the encoding, also used as the first char of the
+	 * encoded data.
+	 */
+	public static final char VERSION = 1;
+
+	/**
+	 * PHPDoc info flag of deprecated elements.
+	 */
+	public static final int DOC_DEPRECATED = 1;
+
+	private static final int CONTINUATION = 0x80;
+	private static final int MASK = 0x7F;
+
+	private final StringBuilder buf = new StringBuilder();
+
+	/**
+	 * Starts new metadata.
+	 */
+	public IndexMetadata() {
+		buf.append(VERSION);
+	}
+
+	/**
+	 * Appends an unsigned integer.
+	 */
+	public IndexMetadata append(int value) {
+		while ((value & ~MASK) != 0) {
+			buf.append((char) ((value & MASK) | CONTINUATION));
+			value >>>= 7;
+		}
+		buf.append((char) value);
+		return this;
+	}
+
+	/**
+	 * Appends a string, which may be <code>null</code>.
+	 */
+	public IndexMetadata append(String value) {
+		if (value == null) {
+			return append(0);
+		}
+		append(value.length() + 1);
+		buf.append(value);
+		return this;
+	}
+
+	/**
+	 * Appends an array of strings, which may be <code>null</code>.
+	 */
+	public IndexMetadata append(String[] values) {
+		if (values == null) {
+			return append(0);
+		}
+		append(values.length);
+		for (String value : values) {
+			append(value);
+		}
+		return this;
+	}
+
+	@Override
+	public String toString() {
+		return buf.toString();
+	}
+
+	/**
+	 * Returns whether the given metadata uses this encoding.
+	 */
+	public static boolean isEncoded(String metadata) {
+		return metadata != null && metadata.length() > 0 && metadata.charAt(0) == VERSION;
+	}
+
+	/**
+	 * Reads encoded metadata in the order it was written.
+	 */
+	public static class Reader {
+
+		private final String data;
+		private int position;
+
+		/**
+		 * @param data
+		 *            encoded metadata, see {@link IndexMetadata#isEncoded(String)}
+		 */
+		public Reader(String data) {
+			this(data, 1);
+		}
+
+		/**
+		 * @param data
+		 *            encoded metadata
+		 * @param position
+		 *            position of the next value, see {@link #getPosition()}
+		 */
+		public Reader(String data, int position) {
+			this.data = data;
+			this.position = position;
+		}
+
+		public int getPosition() {
+			return position;
+		}
+
+		public boolean hasNext() {
+			return position < data.length();
+		}
+
+		public int readInt() {
+			int value = 0;
+			int shift = 0;
+			char c;
+			do {
+				c = data.charAt(position++);
+				value |= (c & MASK) << shift;
+				shift += 7;
+			} while ((c & CONTINUATION) != 0);
+			return value;
+		}
+
+		public String readString() {
+			int length = readInt() - 1;
+			if (length < 0) {
+				return null;
+			}
+			String value = data.substring(position, position + length);
+			position += length;
+			return value;
+		}
+
+		/**
+		 * Reads a type or class name. Names repeat across many index entries,
+		 * so they are interned.
+		 */
+		public String readName() {
+			String value = readString();
+			return value != null ? value.intern() : null;
+		}
+
+		/**
+		 * Reads an array of type or class names.
+		 */
+		public String[] readNames() {
+			int length = readInt();
+			String[] values = new String[length];
+			for (int i = 0; i < length; i++) {
+				values[i] = readName();
+			}
+			return values;
+		}
+
+		/**
+		 * Skips a string.
+		 */
+		public void skipString() {
+			int length = readInt() - 1;
+			if (length > 0) {
+				position += length;
+			}
+		}
+
+		/**
+		 * Skips an array of strings.
+		 */
+		public void skipStrings() {
+			for (int length = readInt(); length > 0; length--) {
+				skipString();
+			}
+		}
+	}
+}
@@ -35,6 +35,7 @@ public class PHPElementResolver implements IElementResolver {
 	private static final char SEPARATOR_CHAR = ',';
 	private static final char RETURN_TYPE_CHAR = ':';
 	private static final String[] EMPTY = new String[0];
+	private static final IParameter[] NO_PARAMETERS = new IParameter[0];
 
 	@Override
 	public IModelElement resolve(int elementType, int flags, int offset, int length, int nameOffset, int nameLength,
@@ -42,9 +43,14 @@ public class PHPElementResolver implements IElementResolver {
 			ISourceModule sourceModule) {
 
 		int occurrenceCount = 1;
+		IndexMetadata.Reader reader = null;
 		String metadataToDecode = null;
 
-		if (metadata != null) {
+		if (IndexMetadata.isEncoded(metadata)) {
+			reader = new IndexMetadata.Reader(metadata);
+			occurrenceCount = reader.readInt();
+		} else if (metadata != null) {
+			// Written by an older version, until the project is reindexed
 			String[] split = StringUtils.split(metadata, SPLIT_CHAR);
 			if (split.length >= 1) {
 				try {
@@ -79,7 +85,9 @@ public class PHPElementResolver implements IElementResolver {
 
 		switch (elementType) {
 		case IModelElement.PACKAGE_DECLARATION:
-			if (metadataToDecode != null) {
+			if (reader != null) {
+				superClassNames = decodeSuperClasses(reader);
+			} else if (metadataToDecode != null) {
 				superClassNames = StringUtils.split(metadataToDecode, SEPARATOR_CHAR);
 			}
 			// a namespace cannot have a nested namespace otherwise
@@ -95,13 +103,21 @@ public class PHPElementResolver implements IElementResolver {
 					superClassNames, doc, occurrenceCount);
 
 		case IModelElement.TYPE:
-			if (metadataToDecode != null) {
+			if (reader != null) {
+				superClassNames = decodeSuperClasses(reader);
+			} else if (metadataToDecode != null) {
 				superClassNames = StringUtils.split(metadataToDecode, SEPARATOR_CHAR);
 			}
 			return new IndexType(parentElement, elementName, flags, offset, length, nameOffset, nameLength,
 					superClassNames, doc, 1);
 
 		case IModelElement.METHOD:
+			if (reader != null) {
+				String returnType = reader.hasNext() ? reader.readName() : null;
+				// Parameters are only decoded when asked for
+				return new IndexMethod(parentElement, elementName, returnType, flags, offset, length, nameOffset,
+						nameLength, metadata, reader.getPosition(), doc, 1);
+			}
 			String[] parameters = EMPTY;
 			String returnType = null;
 			if (metadataToDecode != null && metadataToDecode.length() > 1) {
@@ -123,14 +139,14 @@ public class PHPElementResolver implements IElementResolver {
 				}
 			}
 			return new IndexMethod(parentElement, elementName, returnType, flags, offset, length, nameOffset,
-					nameLength, parameters, doc, 1);
+					nameLength, decodeParameters(parameters), doc, 1);
 
 		case IModelElement.FIELD:
 			return new IndexField(parentElement, elementName, flags, offset, length, nameOffset, nameLength, doc, 1);
 
 		case IModelElement.IMPORT_DECLARATION:
 			// XXX: replace with import declaration element
-			return new IncludeField(parentElement, metadataToDecode);
+			return new IncludeField(parentElement, reader != null ? reader.readString() : metadataToDecode);
 
 		default:
 			Logger.log(Logger.WARNING,
@@ -139,10 +155,115 @@ public class PHPElementResolver implements IElementResolver {
 		return null;
 	}
 
+	private static String[] decodeSuperClasses(IndexMetadata.Reader reader) {
+		if (!reader.hasNext()) {
+			return null;
+		}
+		String[] superClassNames = reader.readNames();
+		return superClassNames.length > 0 ? superClassNames : null;
+	}
+
+	private static IParameter[] decodeParameters(String metadata, int position) {
+		IndexMetadata.Reader reader = new IndexMetadata.Reader(metadata, position);
+		if (!reader.hasNext()) {
+			return NO_PARAMETERS;
+		}
+		IParameter[] parameters = new IParameter[reader.readInt()];
+		for (int i = 0; i < parameters.length; i++) {
+			String type = reader.readName();
+			String name = reader.readString();
+			String defaultValue = reader.readString();
+			parameters[i] = new MethodParameterInfo(name, type, defaultValue, reader.readInt());
+		}
+		return parameters;
+	}
+
+	/*
+	 * Decodes the parameters written by an older version.
+	 */
+	private static IParameter[] decodeParameters(String[] parameterNames) {
+		IParameter[] parameters = new IParameter[parameterNames.length];
+		for (int i = 0; i < parameterNames.length; i++) {
+			String[] values = parameterNames[i].split("\\" //$NON-NLS-1$
+					+ PHPIndexingVisitor.PARAMETER_SEPERATOR);
+			if (values.length == 1) {
+				parameters[i] = new MethodParameterInfo(values[0]);
+			} else {
+				String type = values[0];
+				if (PHPIndexingVisitor.NULL_VALUE.equals(type)) {
+					type = null;
+				}
+				if (type != null) {
+					type = type.replace(Constants.DOT, Constants.TYPE_SEPARATOR_CHAR);
+				}
+				String param = values[1];
+
+				String defaultValue = values[2];
+				if (PHPIndexingVisitor.NULL_VALUE.equals(defaultValue)) {
+					defaultValue = null;
+				}
+				if (defaultValue != null) {
+					// we need to decode all problematic characters
+					defaultValue = PHPIndexingVisitor.decodeValue(defaultValue);
+				}
+				int modifiers = 0;
+				if (values.length == 4) {
+					try {
+						modifiers = Integer.parseInt(values[3]);
+					} catch (NumberFormatException e) {
+						// should never happen
+						Logger.logException(e);
+					}
+				}
+				parameters[i] = new MethodParameterInfo(param, type, defaultValue, modifiers);
+			}
+		}
+		return parameters;
+	}
+
+	private static String[] decodeReturnTypes(String doc) {
+		if (IndexMetadata.isEncoded(doc)) {
+			IndexMetadata.Reader reader = new IndexMetadata.Reader(doc);
+			reader.readInt();
+			String[] returnTypes = reader.readNames();
+			return returnTypes.length > 0 ? returnTypes : null;
+		}
+		Map<String, String> info = decodeDocInfo(doc);
+		if (info != null) {
+			String types = info.get("r"); //$NON-NLS-1$
+			if (types != null) {
+				String[] returnTypes = types.split(","); //$NON-NLS-1$
+				for (int i = 0; i < returnTypes.length; i++) {
+					returnTypes[i] = returnTypes[i].replaceAll("~", ","); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				return returnTypes;
+			}
+		}
+		return null;
+	}
+
+	private static String decodeVarType(String doc) {
+		if (IndexMetadata.isEncoded(doc)) {
+			IndexMetadata.Reader reader = new IndexMetadata.Reader(doc);
+			reader.readInt();
+			reader.skipStrings();
+			return reader.readName();
+		}
+		Map<String, String> info = decodeDocInfo(doc);
+		if (info != null) {
+			String types = info.get("v"); //$NON-NLS-1$
+			if (types != null) {
+				types = types.replace(Constants.DOT, Constants.TYPE_SEPARATOR_CHAR);
+				return types;
+			}
+		}
+		return null;
+	}
+
 	/**
-	 * See
+	 * Decodes PHPDoc info written by an older version, see
 	 * {@link PHPIndexingVisitor#encodeDocInfo(org.eclipse.dltk.ast.declarations.Declaration)}
-	 * for the encoding routine
+	 * for the current encoding routine
 	 * 
 	 * @param doc
 	 *            String representation of encoded PHPDoc info
@@ -217,15 +338,7 @@ public class PHPElementResolver implements IElementResolver {
 
 		@Override
 		public String getType() throws ModelException {
-			Map<String, String> info = decodeDocInfo(doc);
-			if (info != null) {
-				String types = info.get("v"); //$NON-NLS-1$
-				if (types != null) {
-					types = types.replace(Constants.DOT, Constants.TYPE_SEPARATOR_CHAR);
-					return types;
-				}
-			}
-			return null;
+			return decodeVarType(doc);
 		}
 	}
 
@@ -235,61 +348,34 @@ public class PHPElementResolver implements IElementResolver {
 		private ISourceRange sourceRange;
 		private ISourceRange nameRange;
 		private String returnType;
-		private IParameter[] parameters;
+		private volatile IParameter[] parameters;
+		private String metadata;
+		private int parametersPosition;
 		private String doc;
 
 		public IndexMethod(ModelElement parent, String name, String returnType, int flags, int offset, int length,
-				int nameOffset, int nameLength, String[] parameterNames, String doc, int occurrenceCount) {
+				int nameOffset, int nameLength, IParameter[] parameters, String doc, int occurrenceCount) {
 
 			super(parent, name);
 			this.returnType = returnType;
 			this.flags = flags;
 			this.sourceRange = new SourceRange(offset, length);
 			this.nameRange = new SourceRange(nameOffset, nameLength);
-			// MethodParameterInfo
-			this.parameters = new IParameter[0];
-			if (parameterNames != null) {
-				this.parameters = new IParameter[parameterNames.length];
-				for (int i = 0; i < parameterNames.length; i++) {
-					String[] values = parameterNames[i].split("\\" //$NON-NLS-1$
-							+ PHPIndexingVisitor.PARAMETER_SEPERATOR);
-					if (values.length == 1) {
-						this.parameters[i] = new MethodParameterInfo(values[0]);
-					} else {
-						String type = values[0];
-						if (PHPIndexingVisitor.NULL_VALUE.equals(type)) {
-							type = null;
-						}
-						if (type != null) {
-							type = type.replace(Constants.DOT, Constants.TYPE_SEPARATOR_CHAR);
-						}
-						String param = values[1];
-
-						String defaultValue = values[2];
-						if (PHPIndexingVisitor.NULL_VALUE.equals(defaultValue)) {
-							defaultValue = null;
-						}
-						if (defaultValue != null) {
-							// we need to decode all problematic characters
-							defaultValue = PHPIndexingVisitor.decodeValue(defaultValue);
-						}
-						int modifiers = 0;
-						if (values.length == 4) {
-							try {
-								modifiers = Integer.parseInt(values[3]);
-							} catch (NumberFormatException e) {
-								// should never happen
-								Logger.logException(e);
-							}
-						}
-						this.parameters[i] = new MethodParameterInfo(param, type, defaultValue, modifiers);
-					}
-				}
-			}
+			this.parameters = parameters;
 			this.doc = doc;
 			this.occurrenceCount = occurrenceCount;
 		}
 
+		public IndexMethod(ModelElement parent, String name, String returnType, int flags, int offset, int length,
+				int nameOffset, int nameLength, String metadata, int parametersPosition, String doc,
+				int occurrenceCount) {
+
+			this(parent, name, returnType, flags, offset, length, nameOffset, nameLength, (IParameter[]) null, doc,
+					occurrenceCount);
+			this.metadata = metadata;
+			this.parametersPosition = parametersPosition;
+		}
+
 		@Override
 		public int getFlags() throws ModelException {
 			return flags;
@@ -307,12 +393,17 @@ public class PHPElementResolver implements IElementResolver {
 
 		@Override
 		public IParameter[] getParameters() throws ModelException {
-			return parameters;
+			IParameter[] result = parameters;
+			if (result == null) {
+				result = decodeParameters(metadata, parametersPosition);
+				parameters = result;
+			}
+			return result;
 		}
 
 		@Override
 		public String[] getParameterNames() throws ModelException {
-			return SourceMethodUtils.getParameterNames(parameters);
+			return SourceMethodUtils.getParameterNames(getParameters());
 		}
 
 		@Override
@@ -330,18 +421,7 @@ public class PHPElementResolver implements IElementResolver {
 			if (returnType != null) {
 				return new String[] { returnType };
 			}
-			Map<String, String> info = decodeDocInfo(doc);
-			if (info != null) {
-				String types = info.get("r"); //$NON-NLS-1$
-				if (types != null) {
-					String[] returnTypes = types.split(","); //$NON-NLS-1$
-					for (int i = 0; i < returnTypes.length; i++) {
-						returnTypes[i] = returnTypes[i].replaceAll("~", ","); //$NON-NLS-1$ //$NON-NLS-2$
-					}
-					return returnTypes;
-				}
-			}
-			return null;
+			return decodeReturnTypes(doc);
 		}
 
 		@Override
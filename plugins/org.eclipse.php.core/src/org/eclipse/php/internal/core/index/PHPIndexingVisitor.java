@@ -14,7 +14,6 @@
 package org.eclipse.php.internal.core.index;
 
 import java.util.*;
-import java.util.Map.Entry;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -200,63 +199,63 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 	}
 
 	/**
-	 * See {@link PHPElementResolver#decodeDocInfo(String)} for the decoding
-	 * routine.
+	 * See {@link PHPElementResolver} for the decoding routine.
 	 * 
 	 * @param declaration
 	 *            Declaration ASTNode
-	 * @return decoded PHPDoc info, or <code>null</code> if there's no PHPDoc
+	 * @return encoded PHPDoc info, or <code>null</code> if there's no PHPDoc
 	 *         info to store.
 	 */
 	protected static String encodeDocInfo(Declaration declaration) {
 		if (declaration instanceof IPHPDocAwareDeclaration) {
 			PHPDocBlock docBlock = ((IPHPDocAwareDeclaration) declaration).getPHPDoc();
 			if (docBlock != null) {
-				Map<String, String> info = new HashMap<>();
+				boolean deprecated = false;
+				String[] returnTypes = null;
+				String varType = null;
 				for (PHPDocTag tag : docBlock.getTags()) {
 					if (tag.getTagKind() == TagKind.DEPRECATED) {
-						info.put("d", null); //$NON-NLS-1$
+						deprecated = true;
 					} else if (tag.getTagKind() == TagKind.RETURN) {
-						StringBuilder buf = new StringBuilder();
-						for (TypeReference ref : tag.getTypeReferences()) {
-							String type = ref.getName().replaceAll(",", "~"); //$NON-NLS-1$ //$NON-NLS-2$
-							if (buf.length() > 0) {
-								buf.append(',');
-							}
-							buf.append(type);
+						List<TypeReference> references = tag.getTypeReferences();
+						returnTypes = new String[references.size()];
+						for (int i = 0; i < returnTypes.length; i++) {
+							returnTypes[i] = references.get(i).getName();
 						}
-						info.put("r", buf.toString()); //$NON-NLS-1$
 					} else if (tag.getTagKind() == TagKind.VAR) {
 						if (tag.getTypeReferences().size() > 0) {
-							String typeNames = PHPModelUtils.appendTypeReferenceNames(tag.getTypeReferences());
-							typeNames = typeNames.replace(Constants.TYPE_SEPARATOR_CHAR, Constants.DOT);
-
-							info.put("v", typeNames); //$NON-NLS-1$
+							varType = PHPModelUtils.appendTypeReferenceNames(tag.getTypeReferences());
 						}
 					}
 				}
-				return encodeDocInfo(info);
+				return encodeDocInfo(deprecated, returnTypes, varType);
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * @param info
+	 *            PHPDoc info: "d" key if deprecated, "r" key with the return
+	 *            type, "v" key with the variable type
+	 * @return encoded PHPDoc info, or <code>null</code> if there's no PHPDoc
+	 *         info to store.
+	 */
 	protected static String encodeDocInfo(Map<String, String> info) {
 		if (info == null) {
 			return null;
 		}
+		String returnType = info.get("r"); //$NON-NLS-1$
+		return encodeDocInfo(info.containsKey("d"), returnType != null ? new String[] { returnType } : null, //$NON-NLS-1$
+				info.get("v")); //$NON-NLS-1$
+	}
 
-		StringBuilder buf = new StringBuilder();
-		for (Entry<String, String> e : info.entrySet()) {
-			if (buf.length() > 0) {
-				buf.append(';');
-			}
-			buf.append(e.getKey());
-			if (e.getValue() != null) {
-				buf.append(':').append(e.getValue());
-			}
+	private static String encodeDocInfo(boolean deprecated, String[] returnTypes, String varType) {
+		if (!deprecated && returnTypes == null && varType == null) {
+			return null;
 		}
-		return buf.length() > 0 ? buf.toString() : null;
+		return new IndexMetadata().append(deprecated ? IndexMetadata.DOC_DEPRECATED : 0).append(returnTypes)
+				.append(varType).toString();
 	}
 
 	@Override
@@ -366,13 +365,13 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 
 		modifiers = markAsDeprecated(modifiers, method);
 
-		StringBuilder metadata = new StringBuilder();
-		metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-		metadata.append(QUALIFIER_SEPERATOR);
+		IndexMetadata metadata = new IndexMetadata()
+				.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
+		String returnTypeName = null;
 		if (method instanceof PHPMethodDeclaration) {
 			TypeReference returnType = ((PHPMethodDeclaration) method).getReturnType();
 			if (returnType != null) {
-				metadata.append(returnType.getName());
+				returnTypeName = returnType.getName();
 				modifiers |= IPHPModifiers.AccReturn;
 
 				if (returnType instanceof FullyQualifiedReference) {
@@ -382,50 +381,39 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 				}
 			}
 		}
-		metadata.append(RETURN_TYPE_SEPERATOR);
+		metadata.append(returnTypeName);
 
 		List<Argument> arguments = method.getArguments();
 		if (arguments != null) {
-			Iterator<Argument> i = arguments.iterator();
-			while (i.hasNext()) {
-				Argument arg = i.next();
-
-				String type = NULL_VALUE;
+			metadata.append(arguments.size());
+			for (Argument arg : arguments) {
+				String type = null;
 				if (arg instanceof FormalParameter) {
 					FormalParameter fp = (FormalParameter) arg;
 					if (fp.getParameterType() != null) {
-						if (fp.getParameterType().getName() != null) {
-							type = fp.getParameterType().getName();
-						}
+						type = fp.getParameterType().getName();
 					}
 					if (fp.isVariadic()) {
 						modifiers |= IPHPModifiers.AccVariadic;
 					}
 				}
-				if (type == NULL_VALUE && doc != null) {
+				if (type == null && doc != null) {
 					type = getParamType(doc, arg.getName(), type);
 				}
 
-				metadata.append(type);
-				metadata.append(PARAMETER_SEPERATOR);
-				metadata.append(arg.getName());
-				metadata.append(PARAMETER_SEPERATOR);
-				String defaultValue = NULL_VALUE;
+				String defaultValue = null;
 				if (arg.getInitialization() != null) {
 					if (arg.getInitialization() instanceof UnaryOperation) {
 						UnaryOperation initialization = (UnaryOperation) arg.getInitialization();
 						if (initialization.getExpr() instanceof Literal) {
 							Literal scalar = (Literal) initialization.getExpr();
 							defaultValue = initialization.getOperator() + scalar.getValue();
-							// we need to encode all problematic characters
-							defaultValue = encodeValue(defaultValue);
 						} else {
 							defaultValue = DEFAULT_VALUE;
 						}
 					} else if (arg.getInitialization() instanceof Literal) {
 						Literal scalar = (Literal) arg.getInitialization();
-						// we need to encode all problematic characters
-						defaultValue = encodeValue(scalar.getValue());
+						defaultValue = scalar.getValue();
 					} else if (arg.getInitialization() instanceof ArrayCreation) {
 						ArrayCreation arrayCreation = (ArrayCreation) arg.getInitialization();
 						if (arrayCreation.getElements().isEmpty()) {
@@ -437,7 +425,6 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 						defaultValue = DEFAULT_VALUE;
 					}
 				}
-				metadata.append(defaultValue);
 				int paramModifiers = 0;
 
 				if (arg instanceof FormalParameter) {
@@ -452,14 +439,7 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 					paramModifiers |= IPHPModifiers.AccReference;
 				}
 
-				if (paramModifiers != 0) {
-					metadata.append(PARAMETER_SEPERATOR);
-					metadata.append(String.valueOf(paramModifiers));
-				}
-
-				if (i.hasNext()) {
-					metadata.append(","); //$NON-NLS-1$
-				}
+				metadata.append(type).append(arg.getName()).append(defaultValue).append(paramModifiers);
 			}
 		}
 
@@ -504,8 +484,7 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 		if (docBlock != null) {
 			for (PHPDocTag tag : docBlock.getTags(TagKind.PARAM)) {
 				if (tag.isValidParamTag() && tag.getVariableReference().getName().equals(paramName)) {
-					String typeNames = tag.getSingleTypeReference().getName();
-					result = typeNames.replace(Constants.TYPE_SEPARATOR_CHAR, Constants.DOT);
+					result = tag.getSingleTypeReference().getName();
 					break;
 				}
 			}
@@ -531,9 +510,8 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 			fCurrentQualifierCounts.put(fCurrentQualifier, count);
 
 			modifiers = markAsDeprecated(modifiers, type);
-			StringBuilder metadata = new StringBuilder();
-			metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-			metadata.append(QUALIFIER_SEPERATOR);
+			IndexMetadata metadata = new IndexMetadata()
+					.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
 			modifyDeclaration(type,
 					new DeclarationInfo(IModelElement.PACKAGE_DECLARATION, modifiers, type.sourceStart(),
 							type.sourceEnd() - type.sourceStart(), type.getNameStart(),
@@ -564,7 +542,6 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 			fCurrentParent = type.getName();
 
 			String[] superClasses = processSuperClasses(type);
-			StringBuilder metadata = new StringBuilder();
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=448895
 			// See also PHPElementResolver#resolve().
 			// A type name can first be used inside a global namespace and after
@@ -590,14 +567,9 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 					fglobalNSQualifiers.add(type.getName());
 				}
 			}
-			metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-			metadata.append(QUALIFIER_SEPERATOR);
-			for (int i = 0; i < superClasses.length; ++i) {
-				metadata.append(superClasses[i]);
-				if (i < superClasses.length - 1) {
-					metadata.append(","); //$NON-NLS-1$
-				}
-			}
+			IndexMetadata metadata = new IndexMetadata()
+					.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1)
+					.append(superClasses);
 			modifiers = markAsDeprecated(modifiers, type);
 			modifyDeclaration(type, new DeclarationInfo(IModelElement.TYPE, modifiers, type.sourceStart(),
 					type.sourceEnd() - type.sourceStart(), type.getNameStart(), type.getNameEnd() - type.getNameStart(),
@@ -695,9 +667,8 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 						Map<String, String> info = new HashMap<>();
 						info.put("v", split[0]); //$NON-NLS-1$
 
-						StringBuilder metadata = new StringBuilder();
-						metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-						metadata.append(QUALIFIER_SEPERATOR);
+						IndexMetadata metadata = new IndexMetadata()
+								.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
 
 						modifyDeclaration(null,
 								new DeclarationInfo(IModelElement.FIELD, Modifiers.AccPublic, offset, length, offset,
@@ -729,9 +700,8 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 						Map<String, String> info = new HashMap<>();
 						info.put("r", split[0]); //$NON-NLS-1$
 
-						StringBuilder metadata = new StringBuilder();
-						metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-						metadata.append(QUALIFIER_SEPERATOR);
+						IndexMetadata metadata = new IndexMetadata()
+								.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
 
 						modifyDeclaration(null,
 								new DeclarationInfo(IModelElement.METHOD, methodModifiers, offset, length, offset,
@@ -788,9 +758,8 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 		// This is variable declaration:
 		int modifiers = markAsDeprecated(decl.getModifiers(), decl);
 
-		StringBuilder metadata = new StringBuilder();
-		metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-		metadata.append(QUALIFIER_SEPERATOR);
+		IndexMetadata metadata = new IndexMetadata()
+				.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
 
 		modifyDeclaration(decl, new DeclarationInfo(IModelElement.FIELD, modifiers, decl.sourceStart(),
 				decl.sourceEnd() - decl.sourceStart(), decl.getNameStart(), decl.getNameEnd() - decl.getNameStart(),
@@ -847,12 +816,9 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 			if (idx != -1) {
 				lastSegment = lastSegment.substring(idx + 1);
 			}
-			StringBuilder metadata = new StringBuilder();
 			// Fake occurrenceCount, because we do always need one
 			// when metadata != null to make PhpElementResolver#resolve() happy
-			metadata.append(1);
-			metadata.append(QUALIFIER_SEPERATOR);
-			metadata.append(fullPath);
+			IndexMetadata metadata = new IndexMetadata().append(1).append(fullPath);
 			modifyDeclaration(include, new DeclarationInfo(IModelElement.IMPORT_DECLARATION, 0, include.sourceStart(),
 					include.sourceEnd() - include.sourceStart(), filePath.sourceStart(),
 					filePath.sourceEnd() - filePath.sourceStart(), lastSegment, metadata.toString(), null, null, null));
@@ -871,9 +837,8 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 		ConstantReference constantName = declaration.getConstantName();
 		int offset = constantName.sourceStart();
 		int length = constantName.sourceEnd() - constantName.sourceStart();
-		StringBuilder metadata = new StringBuilder();
-		metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-		metadata.append(QUALIFIER_SEPERATOR);
+		IndexMetadata metadata = new IndexMetadata()
+				.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
 		modifyDeclaration(declaration,
 				new DeclarationInfo(IModelElement.FIELD, modifiers, offset, length, offset, length,
 						ASTUtils.stripQuotes(constantName.getName()), metadata.toString(), encodeDocInfo(declaration),
@@ -898,9 +863,8 @@ public class PHPIndexingVisitor extends PHPIndexingVisitorExtension {
 					int modifiers = Modifiers.AccPublic;
 					int offset = var.sourceStart();
 					int length = var.sourceEnd() - offset;
-					StringBuilder metadata = new StringBuilder();
-					metadata.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
-					metadata.append(QUALIFIER_SEPERATOR);
+					IndexMetadata metadata = new IndexMetadata()
+							.append(fCurrentQualifier != null ? fCurrentQualifierCounts.get(fCurrentQualifier) : 1);
 					modifyDeclaration(assignment,
 							new DeclarationInfo(IModelElement.FIELD, modifiers, offset, length, offset, length,
 									'$' + var.getName(), metadata.toString(), null, fCurrentQualifier, fCurrentParent));
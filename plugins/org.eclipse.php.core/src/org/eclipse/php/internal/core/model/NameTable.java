@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Immutable table of element names, answering exact, prefix and camel-case
+ * queries with binary searches over sorted arrays.
+ *
+ * Names are compared case-insensitively, as PHP names are. Camel-case queries
+ * are matched against the humps of the names: the first letter and the upper
+ * case letters, so <code>NPE</code> finds <code>NullPointerException</code>.
+ *
+ * Every value belongs to an owner (a source module), so the values of the
+ * changed owners can be replaced with {@link #update(Set, NameTable)}, which
+ * merges the tables in linear time instead of sorting all the names again.
+ *
+ * @param <T>
+ *            value type
+ */
+public final class NameTable<T> {
+
+	/**
+	 * Kind of name match.
+	 */
+	public enum Match {
+		EXACT, PREFIX, CAMEL_CASE
+	}
+
+	private static final class Item<T> {
+
+		final String key;
+		final String humps;
+		final Object owner;
+		final T value;
+
+		Item(String key, String humps, Object owner, T value) {
+			this.key = key;
+			this.humps = humps;
+			this.owner = owner;
+			this.value = value;
+		}
+	}
+
+	@SuppressWarnings("rawtypes")
+	private static final Comparator<Item> BY_NAME = (i1, i2) -> i1.key.compareTo(i2.key);
+	@SuppressWarnings("rawtypes")
+	private static final Comparator<Item> BY_HUMPS = (i1, i2) -> i1.humps.compareTo(i2.humps);
+
+	/**
+	 * Estimated size of an item with its array slots, without the strings.
+	 */
+	private static final int ITEM_SIZE = 32;
+
+	/**
+	 * Collects the values of a new table.
+	 */
+	public static final class Builder<T> {
+
+		private final List<Item<T>> items = new ArrayList<>();
+
+		/**
+		 * Adds a value.
+		 *
+		 * @param name
+		 *            element name
+		 * @param owner
+		 *            owner of the value, see {@link NameTable#update(Set, NameTable)}
+		 * @param value
+		 *            value
+		 */
+		public Builder<T> add(String name, Object owner, T value) {
+			String key = name.toLowerCase();
+			if (key.equals(name)) {
+				key = name;
+			}
+			items.add(new Item<>(key, getHumps(name), owner, value));
+			return this;
+		}
+
+		public NameTable<T> build() {
+			@SuppressWarnings("unchecked")
+			Item<T>[] byName = items.toArray(new Item[items.size()]);
+			Arrays.sort(byName, BY_NAME);
+			return new NameTable<>(byName);
+		}
+	}
+
+	private final Item<T>[] byName;
+	private final Item<T>[] byHumps;
+	private final long memoryUsage;
+
+	private NameTable(Item<T>[] byName) {
+		this.byName = byName;
+		int count = 0;
+		long memoryUsage = 0;
+		for (Item<T> item : byName) {
+			memoryUsage += ITEM_SIZE + getSize(item.key) + getSize(item.humps);
+			if (item.humps.length() > 0) {
+				count++;
+			}
+		}
+		this.memoryUsage = memoryUsage;
+		@SuppressWarnings("unchecked")
+		Item<T>[] byHumps = new Item[count];
+		count = 0;
+		for (Item<T> item : byName) {
+			if (item.humps.length() > 0) {
+				byHumps[count++] = item;
+			}
+		}
+		// Stable, so equal humps stay sorted by name
+		Arrays.sort(byHumps, BY_HUMPS);
+		this.byHumps = byHumps;
+	}
+
+	/**
+	 * Returns an empty table.
+	 */
+	public static <T> NameTable<T> empty() {
+		return new Builder<T>().build();
+	}
+
+	/**
+	 * Returns a table with the values of the given owners replaced by the
+	 * values of the given table.
+	 *
+	 * @param owners
+	 *            owners whose values are removed
+	 * @param added
+	 *            values to add
+	 */
+	public NameTable<T> update(Set<?> owners, NameTable<T> added) {
+		@SuppressWarnings("unchecked")
+		Item<T>[] merged = new Item[byName.length + added.byName.length];
+		int count = 0;
+		int j = 0;
+		for (Item<T> item : byName) {
+			if (owners.contains(item.owner)) {
+				continue;
+			}
+			while (j < added.byName.length && BY_NAME.compare(added.byName[j], item) < 0) {
+				merged[count++] = added.byName[j++];
+			}
+			merged[count++] = item;
+		}
+		while (j < added.byName.length) {
+			merged[count++] = added.byName[j++];
+		}
+		return new NameTable<>(count == merged.length ? merged : Arrays.copyOf(merged, count));
+	}
+
+	/**
+	 * Passes the values matching the given name to the given consumer, sorted
+	 * by name.
+	 *
+	 * @param match
+	 *            kind of match
+	 * @param name
+	 *            name, prefix or humps to match. An empty prefix matches all
+	 *            the names.
+	 * @param consumer
+	 *            consumer of the values
+	 */
+	public void find(Match match, String name, Consumer<? super T> consumer) {
+		switch (match) {
+		case EXACT:
+			String key = name.toLowerCase();
+			for (int i = lowerBound(byName, key, false); i < byName.length && byName[i].key.equals(key); i++) {
+				consumer.accept(byName[i].value);
+			}
+			break;
+		case PREFIX:
+			String prefix = name.toLowerCase();
+			for (int i = lowerBound(byName, prefix, false); i < byName.length
+					&& byName[i].key.startsWith(prefix); i++) {
+				consumer.accept(byName[i].value);
+			}
+			break;
+		case CAMEL_CASE:
+			for (int i = lowerBound(byHumps, name, true); i < byHumps.length
+					&& byHumps[i].humps.startsWith(name); i++) {
+				consumer.accept(byHumps[i].value);
+			}
+			break;
+		}
+	}
+
+	/**
+	 * Returns the number of values.
+	 */
+	public int size() {
+		return byName.length;
+	}
+
+	/**
+	 * Returns the estimated memory used by this table, in bytes, excluding the
+	 * values and the owners.
+	 */
+	public long getMemoryUsage() {
+		return memoryUsage;
+	}
+
+	/**
+	 * Returns the humps of the given name: its first letter, upper cased, and
+	 * its other upper case letters.
+	 */
+	public static String getHumps(String name) {
+		StringBuilder humps = null;
+		for (int i = 0; i < name.length(); i++) {
+			char c = name.charAt(i);
+			if (i == 0 && Character.isLetter(c)) {
+				c = Character.toUpperCase(c);
+			} else if (!Character.isUpperCase(c)) {
+				continue;
+			}
+			if (humps == null) {
+				humps = new StringBuilder(4);
+			}
+			humps.append(c);
+		}
+		return humps != null ? humps.toString() : ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Estimated size of a string, as stored by a Java 8 VM.
+	 */
+	static long getSize(String string) {
+		return 40 + 2L * string.length();
+	}
+
+	private static int lowerBound(Item<?>[] items, String key, boolean humps) {
+		int low = 0;
+		int high = items.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			String value = humps ? items[mid].humps : items[mid].key;
+			if (value.compareTo(key) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+}
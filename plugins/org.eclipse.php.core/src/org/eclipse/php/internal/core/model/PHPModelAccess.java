@@ -89,6 +89,36 @@ public class PHPModelAccess extends ModelAccess {
 		return result;
 	}
 
+	/**
+	 * Answers the queries from the resident {@link PHPNameIndex} when possible.
+	 */
+	@Override
+	protected <T extends IModelElement> boolean findElements(int elementType, String qualifier, String name,
+			MatchRule matchRule, int trueFlags, int falseFlags, IDLTKSearchScope scope, Collection<T> result,
+			IProgressMonitor monitor) {
+		if (PHPNameIndex.INSTANCE.find(elementType, qualifier, name, null, matchRule, trueFlags, falseFlags, scope,
+				result)) {
+			return true;
+		}
+		return super.findElements(elementType, qualifier, name, matchRule, trueFlags, falseFlags, scope, result,
+				monitor);
+	}
+
+	/**
+	 * Answers the queries from the resident {@link PHPNameIndex} when possible.
+	 */
+	@Override
+	protected <T extends IModelElement> boolean findElements(int elementType, String qualifier, String name,
+			String parent, MatchRule matchRule, int trueFlags, int falseFlags, IDLTKSearchScope scope,
+			Collection<T> result, IProgressMonitor monitor) {
+		if (PHPNameIndex.INSTANCE.find(elementType, qualifier, name, parent, matchRule, trueFlags, falseFlags, scope,
+				result)) {
+			return true;
+		}
+		return super.findElements(elementType, qualifier, name, parent, matchRule, trueFlags, falseFlags, scope,
+				result, monitor);
+	}
+
 	protected <T extends IModelElement> boolean findFileElements(int elementType, String name, MatchRule matchRule,
 			int trueFlags, int falseFlags, IDLTKSearchScope scope, final Collection<T> result,
 			IProgressMonitor monitor) {
@@ -0,0 +1,458 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.model;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.dltk.core.*;
+import org.eclipse.dltk.core.index2.search.ISearchEngine;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.SearchFor;
+import org.eclipse.dltk.core.index2.search.ModelAccess;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.php.core.compiler.PHPFlags;
+import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.PHPCoreConstants;
+import org.eclipse.php.internal.core.index.PHPElementResolver;
+import org.eclipse.php.internal.core.language.PHPLanguageToolkit;
+
+/**
+ * Resident index of the names of the types, namespaces, functions and
+ * constants, answering the exact, prefix and camel-case queries of
+ * {@link PHPModelAccess} (mostly issued by code assist) from memory.
+ *
+ * The index is loaded from the DLTK index by a background job, on the first
+ * query, and the entries of the changed source modules are reloaded once the
+ * DLTK indexer is done with them. Until then, and for the queries it can't
+ * answer exactly, the DLTK index is queried instead. The index is dropped if
+ * it exceeds its memory budget.
+ */
+public enum PHPNameIndex {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	/**
+	 * Family of the job updating the index.
+	 */
+	public static final Object FAMILY = INSTANCE;
+
+	private static final String TRACE_CATEGORY = "nameIndex"; //$NON-NLS-1$
+
+	/**
+	 * Number of changed source modules above which the whole index is
+	 * reloaded.
+	 */
+	private static final int MAX_CHANGED_MODULES = 200;
+
+	/**
+	 * Memory budget of the index, in bytes.
+	 */
+	private static final long MAX_MEMORY = Runtime.getRuntime().maxMemory() / 10;
+
+	/**
+	 * Estimated size of an entry, without its strings.
+	 */
+	private static final int ENTRY_SIZE = 64;
+
+	private static final int TYPES = 0;
+	private static final int NAMESPACES = 1;
+	private static final int FUNCTIONS = 2;
+	private static final int CONSTANTS = 3;
+	private static final int KINDS = 4;
+
+	/**
+	 * Index entry, as reported by the DLTK index.
+	 */
+	private static class Entry {
+
+		final int elementType;
+		final int flags;
+		final int offset;
+		final int length;
+		final int nameOffset;
+		final int nameLength;
+		final String elementName;
+		final String metadata;
+		final String doc;
+		final String qualifier;
+		final String parent;
+		final ISourceModule sourceModule;
+
+		Entry(int elementType, int flags, int offset, int length, int nameOffset, int nameLength, String elementName,
+				String metadata, String doc, String qualifier, String parent, ISourceModule sourceModule) {
+			this.elementType = elementType;
+			this.flags = flags;
+			this.offset = offset;
+			this.length = length;
+			this.nameOffset = nameOffset;
+			this.nameLength = nameLength;
+			this.elementName = elementName;
+			this.metadata = metadata;
+			this.doc = doc;
+			this.qualifier = qualifier;
+			this.parent = parent;
+			this.sourceModule = sourceModule;
+		}
+
+		long getMemoryUsage() {
+			long size = ENTRY_SIZE;
+			if (metadata != null) {
+				size += NameTable.getSize(metadata);
+			}
+			if (doc != null) {
+				size += NameTable.getSize(doc);
+			}
+			return size;
+		}
+	}
+
+	private class UpdateJob extends Job {
+
+		UpdateJob() {
+			super("Updating PHP name index"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		public boolean belongsTo(Object family) {
+			return family == FAMILY;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (ModelManager.getModelManager().getIndexManager().awaitingJobsCount() > 0) {
+				// The DLTK index isn't up to date yet
+				schedule(500);
+				return Status.OK_STATUS;
+			}
+			Set<ISourceModule> modules;
+			boolean all;
+			synchronized (PHPNameIndex.this) {
+				if (listener == null) {
+					return Status.OK_STATUS;
+				}
+				modules = changed;
+				all = reload;
+				changed = new HashSet<>();
+				reload = false;
+				updating = true;
+			}
+			long start = System.nanoTime();
+			try {
+				if (all) {
+					load(SearchEngine.createWorkspaceScope(PHPLanguageToolkit.getDefault()), null, monitor);
+				} else if (!modules.isEmpty()) {
+					load(SearchEngine.createSearchScope(modules.toArray(new IModelElement[modules.size()]),
+							PHPLanguageToolkit.getDefault()), modules, monitor);
+				}
+			} catch (RuntimeException e) {
+				Logger.logException(e);
+				synchronized (PHPNameIndex.this) {
+					// Start over with the next change
+					tables = null;
+					reload = true;
+				}
+			} finally {
+				synchronized (PHPNameIndex.this) {
+					updating = false;
+				}
+			}
+			if (Logger.isTracing(TRACE_CATEGORY)) {
+				String loaded = all ? "workspace" : modules.size() + " modules"; //$NON-NLS-1$ //$NON-NLS-2$
+				Logger.trace(TRACE_CATEGORY, "Loaded " + loaded + " in " + (System.nanoTime() - start) / 1000000 //$NON-NLS-1$ //$NON-NLS-2$
+						+ " ms, " + size() + " entries, " + getMemoryUsage() + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private class ChangeListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			synchronized (PHPNameIndex.this) {
+				if (!reload) {
+					visit(event.getDelta());
+					if (changed.size() > MAX_CHANGED_MODULES) {
+						reload = true;
+						changed.clear();
+					}
+				}
+				if (reload || !changed.isEmpty()) {
+					job.schedule(200);
+				}
+			}
+		}
+
+		private void visit(IModelElementDelta delta) {
+			IModelElement element = delta.getElement();
+			switch (element.getElementType()) {
+			case IModelElement.SOURCE_MODULE:
+				if (delta.getKind() != IModelElementDelta.CHANGED || (delta.getFlags()
+						& (IModelElementDelta.F_CONTENT | IModelElementDelta.F_FINE_GRAINED)) != 0) {
+					changed.add((ISourceModule) element);
+				}
+				return;
+			case IModelElement.SCRIPT_MODEL:
+				break;
+			default:
+				if (delta.getKind() != IModelElementDelta.CHANGED || (delta.getFlags() & (IModelElementDelta.F_OPENED
+						| IModelElementDelta.F_CLOSED | IModelElementDelta.F_BUILDPATH_CHANGED
+						| IModelElementDelta.F_ADDED_TO_BUILDPATH | IModelElementDelta.F_REMOVED_FROM_BUILDPATH
+						| IModelElementDelta.F_RESOLVED_BUILDPATH_CHANGED)) != 0) {
+					// Added or removed folders, projects and libraries are
+					// reloaded along with the rest
+					reload = true;
+					return;
+				}
+				break;
+			}
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				visit(child);
+				if (reload) {
+					return;
+				}
+			}
+		}
+	}
+
+	private final UpdateJob job = new UpdateJob();
+	private IElementChangedListener listener;
+	private Set<ISourceModule> changed = new HashSet<>();
+	private boolean reload;
+	private boolean updating;
+	private boolean dropped;
+
+	/**
+	 * Tables by kind, <code>null</code> until the index is loaded.
+	 */
+	private volatile NameTable<Entry>[] tables;
+
+	/**
+	 * Finds the elements matching the given query, if the index can answer it.
+	 * Like the DLTK index, a <code>null</code> or empty parent matches any
+	 * parent, and any other parent only matches the elements declared with it.
+	 *
+	 * @return <code>false</code> if the query has to be answered by the DLTK
+	 *         index
+	 */
+	<T extends IModelElement> boolean find(int elementType, String qualifier, String name, String parent,
+			MatchRule matchRule, int trueFlags, int falseFlags, IDLTKSearchScope scope, Collection<T> result) {
+		int kind = getKind(elementType, parent, trueFlags);
+		if (kind < 0 || (qualifier != null && qualifier.isEmpty()) || Integer.bitCount(trueFlags) > 1) {
+			return false;
+		}
+		NameTable.Match match;
+		switch (matchRule) {
+		case EXACT:
+			if (name == null) {
+				return false;
+			}
+			match = NameTable.Match.EXACT;
+			break;
+		case PREFIX:
+			match = NameTable.Match.PREFIX;
+			break;
+		case CAMEL_CASE:
+			if (name == null || !isHumps(name)) {
+				return false;
+			}
+			match = NameTable.Match.CAMEL_CASE;
+			break;
+		default:
+			return false;
+		}
+		NameTable<Entry>[] tables = getTables();
+		if (tables == null) {
+			return false;
+		}
+
+		PHPElementResolver resolver = new PHPElementResolver();
+		tables[kind].find(match, name != null ? name : "", entry -> { //$NON-NLS-1$
+			if (qualifier != null && !qualifier.equalsIgnoreCase(entry.qualifier)) {
+				return;
+			}
+			if (parent != null && !parent.isEmpty() && !parent.equals(entry.parent)) {
+				return;
+			}
+			if ((trueFlags != 0 && (entry.flags & trueFlags) == 0) || (entry.flags & falseFlags) != 0) {
+				return;
+			}
+			if (!scope.encloses(entry.sourceModule)) {
+				return;
+			}
+			@SuppressWarnings("unchecked")
+			T element = (T) resolver.resolve(entry.elementType, entry.flags, entry.offset, entry.length,
+					entry.nameOffset, entry.nameLength, entry.elementName, entry.metadata, entry.doc,
+					entry.qualifier, entry.parent, entry.sourceModule);
+			if (element != null) {
+				result.add(element);
+			}
+		});
+		return true;
+	}
+
+	/**
+	 * Returns the estimated memory used by the index, in bytes.
+	 */
+	public long getMemoryUsage() {
+		NameTable<Entry>[] current = tables;
+		if (current == null) {
+			return 0;
+		}
+		long memoryUsage = 0;
+		for (NameTable<Entry> table : current) {
+			memoryUsage += table.getMemoryUsage();
+			long[] entries = new long[1];
+			table.find(NameTable.Match.PREFIX, "", entry -> entries[0] += entry.getMemoryUsage()); //$NON-NLS-1$
+			memoryUsage += entries[0];
+		}
+		return memoryUsage;
+	}
+
+	/**
+	 * Shuts down this index.
+	 */
+	public void shutdown() {
+		synchronized (this) {
+			if (listener != null) {
+				DLTKCore.removeElementChangedListener(listener);
+				listener = null;
+			}
+			changed.clear();
+			tables = null;
+		}
+		job.cancel();
+	}
+
+	private synchronized NameTable<Entry>[] getTables() {
+		if (dropped) {
+			return null;
+		}
+		if (listener == null) {
+			// Register first, so no change is missed while the index is loaded
+			listener = new ChangeListener();
+			DLTKCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+			reload = true;
+			job.schedule();
+		}
+		return reload || updating || !changed.isEmpty() ? null : tables;
+	}
+
+	private void load(IDLTKSearchScope scope, Set<ISourceModule> modules, IProgressMonitor monitor) {
+		@SuppressWarnings("unchecked")
+		NameTable.Builder<Entry>[] builders = new NameTable.Builder[KINDS];
+		for (int kind = 0; kind < KINDS; kind++) {
+			builders[kind] = new NameTable.Builder<>();
+		}
+		ISearchEngine searchEngine = ModelAccess.getSearchEngine(PHPLanguageToolkit.getDefault());
+		if (searchEngine == null) {
+			return;
+		}
+		ISearchRequestor requestor = (elementType, flags, offset, length, nameOffset, nameLength, elementName,
+				metadata, doc, qualifier, parent, sourceModule, isReference) -> {
+			int kind = getKind(elementType, parent, flags);
+			if (kind >= 0 && elementName != null) {
+				builders[kind].add(elementName, sourceModule, new Entry(elementType, flags, offset, length,
+						nameOffset, nameLength, elementName, metadata, doc, qualifier, parent, sourceModule));
+			}
+		};
+		for (int elementType : new int[] { IModelElement.TYPE, IModelElement.PACKAGE_DECLARATION,
+				IModelElement.METHOD }) {
+			searchEngine.search(elementType, null, null, 0, 0, 0, SearchFor.DECLARATIONS, MatchRule.PREFIX, scope,
+					requestor, monitor);
+		}
+		searchEngine.search(IModelElement.FIELD, null, null, PHPFlags.AccConstant, 0, 0, SearchFor.DECLARATIONS,
+				MatchRule.PREFIX, scope, requestor, monitor);
+
+		synchronized (this) {
+			if (listener == null) {
+				return;
+			}
+			NameTable<Entry>[] current = tables;
+			@SuppressWarnings("unchecked")
+			NameTable<Entry>[] updated = new NameTable[KINDS];
+			for (int kind = 0; kind < KINDS; kind++) {
+				NameTable<Entry> table = builders[kind].build();
+				updated[kind] = modules == null || current == null ? table : current[kind].update(modules, table);
+			}
+			tables = updated;
+			if (getMemoryUsage() > MAX_MEMORY) {
+				Logger.log(Logger.WARNING, "PHP name index exceeds its memory budget, the DLTK index is used instead"); //$NON-NLS-1$
+				tables = null;
+				dropped = true;
+			}
+		}
+	}
+
+	/**
+	 * Returns the table kind of the given elements, or <code>-1</code> if they
+	 * aren't indexed.
+	 */
+	private static int getKind(int elementType, String parent, int flags) {
+		switch (elementType) {
+		case IModelElement.TYPE:
+			return TYPES;
+		case IModelElement.PACKAGE_DECLARATION:
+			return NAMESPACES;
+		case IModelElement.METHOD:
+			return PHPCoreConstants.FILE_PARENT.equals(parent) ? FUNCTIONS : -1;
+		case IModelElement.FIELD:
+			return PHPCoreConstants.FILE_PARENT.equals(parent) && (flags & PHPFlags.AccConstant) != 0 ? CONSTANTS
+					: -1;
+		default:
+			return -1;
+		}
+	}
+
+	/**
+	 * Only humps (upper case letters) are matched the same way as the DLTK
+	 * index does.
+	 */
+	private static boolean isHumps(String name) {
+		for (int i = 0; i < name.length(); i++) {
+			if (!Character.isUpperCase(name.charAt(i))) {
+				return false;
+			}
+		}
+		return name.length() > 0;
+	}
+
+	private static int size(NameTable<?>[] tables) {
+		int size = 0;
+		for (NameTable<?> table : tables) {
+			size += table.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Returns the number of indexed names, or <code>-1</code> if the index
+	 * isn't loaded.
+	 */
+	public int size() {
+		NameTable<Entry>[] current = tables;
+		return current != null ? size(current) : -1;
+	}
+}
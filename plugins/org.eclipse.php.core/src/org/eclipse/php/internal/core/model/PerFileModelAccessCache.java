@@ -84,7 +84,7 @@ public class PerFileModelAccessCache implements IModelAccessCache {
 		}
 		ITypeHierarchy hierarchy = hierarchyCache.get(type);
 		if (hierarchy == null) {
-			hierarchy = type.newSupertypeHierarchy(monitor);
+			hierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, monitor);
 			hierarchyCache.put(type, hierarchy);
 		}
 		return hierarchy;
@@ -225,10 +225,8 @@ public class PerFileModelAccessCache implements IModelAccessCache {
 		if (!this.sourceModule.equals(sourceModule)) {
 			// Invoke a new search, since we only cache for the original file in
 			// this class:
-			IScriptProject scriptProject = sourceModule.getScriptProject();
-			IDLTKSearchScope scope = SearchEngine.createSearchScope(scriptProject);
 			types = Arrays.asList(
-					PHPModelAccess.getDefault().findTypes(namespaceName, typeName, MatchRule.EXACT, 0, 0, scope, null));
+					SharedTypeCache.INSTANCE.getTypes(sourceModule.getScriptProject(), namespaceName, typeName));
 
 		} else {
 			typeName = typeName.toLowerCase();
@@ -249,11 +247,8 @@ public class PerFileModelAccessCache implements IModelAccessCache {
 			key.append(typeName);
 			final String searchFor = key.toString();
 			if (!allTypesCache.containsKey(searchFor)) {
-				IScriptProject scriptProject = sourceModule.getScriptProject();
-				IDLTKSearchScope scope = SearchEngine.createSearchScope(scriptProject);
-
-				allTypesCache.put(searchFor, Arrays.asList(PHPModelAccess.getDefault().findTypes(namespaceName,
-						typeName, MatchRule.EXACT, 0, 0, scope, null)));
+				allTypesCache.put(searchFor, Arrays.asList(
+						SharedTypeCache.INSTANCE.getTypes(sourceModule.getScriptProject(), namespaceName, typeName)));
 			}
 
 			types = allTypesCache.get(searchFor);
@@ -346,11 +341,8 @@ public class PerFileModelAccessCache implements IModelAccessCache {
 
 			final String searchFor = key.toString();
 			if (!allTraitsCache.containsKey(searchFor)) {
-				IScriptProject scriptProject = sourceModule.getScriptProject();
-				IDLTKSearchScope scope = SearchEngine.createSearchScope(scriptProject);
-
-				allTraitsCache.put(searchFor, Arrays.asList(PHPModelAccess.getDefault().findTraits(namespaceName,
-						typeName, MatchRule.EXACT, 0, 0, scope, null)));
+				allTraitsCache.put(searchFor, Arrays.asList(
+						SharedTypeCache.INSTANCE.getTraits(sourceModule.getScriptProject(), namespaceName, typeName)));
 			}
 
 			types = allTraitsCache.get(searchFor);
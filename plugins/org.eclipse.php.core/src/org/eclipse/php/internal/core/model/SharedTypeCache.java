@@ -0,0 +1,427 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.model;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.dltk.core.*;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.dltk.internal.core.ModelManager;
+import org.eclipse.php.internal.core.Logger;
+
+/**
+ * Workspace wide cache of super type hierarchies and type lookups, shared by
+ * the per file caches of the type inference, the completion companions and
+ * the bindings, so the hierarchies of the common base classes are computed
+ * once instead of once per operation.
+ *
+ * Hierarchies are cached by type, which includes the file declaring it, and
+ * are dropped by DLTK as soon as a delta affects them (see
+ * {@link ITypeHierarchyChangedListener}). Type lookups are cached by project
+ * and fully qualified name, and are dropped when a file declaring a type of
+ * that name, or one of the found types, changes. Both caches are bounded, the
+ * least recently used entries are dropped first.
+ */
+public enum SharedTypeCache {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	private static final String TRACE_CATEGORY = "typeCache"; //$NON-NLS-1$
+
+	private static final int MAX_HIERARCHIES = 128;
+	private static final int MAX_LOOKUPS = 4096;
+
+	private class HierarchyEntry implements ITypeHierarchyChangedListener {
+
+		final IType type;
+		final ITypeHierarchy hierarchy;
+
+		HierarchyEntry(IType type, ITypeHierarchy hierarchy) {
+			this.type = type;
+			this.hierarchy = hierarchy;
+			hierarchy.addTypeHierarchyChangedListener(this);
+		}
+
+		@Override
+		public void typeHierarchyChanged(ITypeHierarchy typeHierarchy) {
+			synchronized (SharedTypeCache.this) {
+				if (hierarchies.get(type) == this) {
+					hierarchies.remove(type);
+				}
+			}
+			dispose();
+		}
+
+		void dispose() {
+			hierarchy.removeTypeHierarchyChangedListener(this);
+		}
+	}
+
+	private static class LookupEntry {
+
+		final String name;
+		final IType[] types;
+
+		LookupEntry(String name, IType[] types) {
+			this.name = name;
+			this.types = types;
+		}
+	}
+
+	private class ChangeListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			synchronized (SharedTypeCache.this) {
+				modificationCount++;
+				if (!lookups.isEmpty()) {
+					visit(event.getDelta());
+				}
+			}
+		}
+
+		private void visit(IModelElementDelta delta) {
+			IModelElement element = delta.getElement();
+			switch (element.getElementType()) {
+			case IModelElement.SOURCE_MODULE:
+				changed.add((ISourceModule) element);
+				return;
+			case IModelElement.SCRIPT_MODEL:
+				break;
+			default:
+				if (delta.getKind() != IModelElementDelta.CHANGED || (delta.getFlags() & (IModelElementDelta.F_OPENED
+						| IModelElementDelta.F_CLOSED | IModelElementDelta.F_BUILDPATH_CHANGED
+						| IModelElementDelta.F_ADDED_TO_BUILDPATH | IModelElementDelta.F_REMOVED_FROM_BUILDPATH
+						| IModelElementDelta.F_RESOLVED_BUILDPATH_CHANGED)) != 0) {
+					lookups.clear();
+					changed.clear();
+					return;
+				}
+				break;
+			}
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				visit(child);
+			}
+		}
+	}
+
+	/**
+	 * Hierarchies dropped from the cache, released outside of the lock.
+	 */
+	private final List<HierarchyEntry> evicted = new ArrayList<>();
+
+	private final Map<IType, HierarchyEntry> hierarchies = new LinkedHashMap<IType, HierarchyEntry>(16, 0.75f,
+			true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<IType, HierarchyEntry> eldest) {
+			if (size() > MAX_HIERARCHIES) {
+				evicted.add(eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	private final Map<String, LookupEntry> lookups = new LinkedHashMap<String, LookupEntry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, LookupEntry> eldest) {
+			return size() > MAX_LOOKUPS;
+		}
+	};
+
+	/**
+	 * Source modules changed since the last lookup.
+	 */
+	private final Set<ISourceModule> changed = new HashSet<>();
+	private long modificationCount;
+	private IElementChangedListener listener;
+
+	private final AtomicLong hierarchyHits = new AtomicLong();
+	private final AtomicLong hierarchyMisses = new AtomicLong();
+	private final AtomicLong lookupHits = new AtomicLong();
+	private final AtomicLong lookupMisses = new AtomicLong();
+
+	/**
+	 * Returns the super type hierarchy of the given type.
+	 *
+	 * @param type
+	 *            the type
+	 * @param monitor
+	 *            progress monitor used to compute the hierarchy, if it isn't
+	 *            cached
+	 */
+	public ITypeHierarchy getSuperTypeHierarchy(IType type, IProgressMonitor monitor) throws ModelException {
+		synchronized (this) {
+			HierarchyEntry entry = hierarchies.get(type);
+			if (entry != null) {
+				if (entry.hierarchy.exists()) {
+					hierarchyHits.incrementAndGet();
+					return entry.hierarchy;
+				}
+				hierarchies.remove(type);
+				evicted.add(entry);
+			}
+		}
+		hierarchyMisses.incrementAndGet();
+		// Not computed under the lock, so a slow hierarchy doesn't block the
+		// others
+		ITypeHierarchy hierarchy = type.newSupertypeHierarchy(monitor);
+		if (monitor != null && monitor.isCanceled()) {
+			return hierarchy;
+		}
+		HierarchyEntry entry = new HierarchyEntry(type, hierarchy);
+		List<HierarchyEntry> released;
+		synchronized (this) {
+			HierarchyEntry previous = hierarchies.put(type, entry);
+			if (previous != null) {
+				evicted.add(previous);
+			}
+			released = new ArrayList<>(evicted);
+			evicted.clear();
+		}
+		for (HierarchyEntry e : released) {
+			e.dispose();
+		}
+		return hierarchy;
+	}
+
+	/**
+	 * Returns the types (classes, interfaces and namespaces, not traits) with
+	 * the given name declared in the given project or its build path.
+	 *
+	 * @param project
+	 *            the project
+	 * @param namespaceName
+	 *            namespace name, or <code>null</code> for any namespace
+	 * @param typeName
+	 *            type name
+	 */
+	public IType[] getTypes(IScriptProject project, String namespaceName, String typeName) {
+		return lookup(project, namespaceName, typeName, false);
+	}
+
+	/**
+	 * Returns the traits with the given name declared in the given project or
+	 * its build path.
+	 *
+	 * @param project
+	 *            the project
+	 * @param namespaceName
+	 *            namespace name, or <code>null</code> for any namespace
+	 * @param traitName
+	 *            trait name
+	 */
+	public IType[] getTraits(IScriptProject project, String namespaceName, String traitName) {
+		return lookup(project, namespaceName, traitName, true);
+	}
+
+	private IType[] lookup(IScriptProject project, String namespaceName, String typeName, boolean traits) {
+		String name = typeName.toLowerCase();
+		StringBuilder key = new StringBuilder();
+		key.append(project.getElementName()).append('\0').append(traits ? 't' : 'c').append('\0');
+		if (namespaceName != null) {
+			key.append('\\');
+			String namespace = namespaceName;
+			if (namespace.startsWith("\\") || namespace.startsWith("/")) { //$NON-NLS-1$ //$NON-NLS-2$
+				namespace = namespace.substring(1);
+			}
+			key.append(namespace.toLowerCase());
+		}
+		key.append('\0').append(name);
+
+		boolean cacheable = isIndexReady();
+		long count = 0;
+		if (cacheable) {
+			Set<ISourceModule> modules;
+			synchronized (this) {
+				startup();
+				modules = invalidateChanged();
+			}
+			// Reading the types of the changed modules may open them, so it
+			// isn't done under the lock
+			Set<String> names = getTypeNames(modules);
+			synchronized (this) {
+				invalidateNames(names);
+				count = modificationCount;
+				LookupEntry entry = lookups.get(key.toString());
+				if (entry != null) {
+					lookupHits.incrementAndGet();
+					return entry.types;
+				}
+			}
+		}
+		lookupMisses.incrementAndGet();
+		IType[] types;
+		if (traits) {
+			types = PHPModelAccess.getDefault().findTraits(namespaceName, typeName, MatchRule.EXACT, 0, 0,
+					SearchEngine.createSearchScope(project), null);
+		} else {
+			types = PHPModelAccess.getDefault().findTypes(namespaceName, typeName, MatchRule.EXACT, 0, 0,
+					SearchEngine.createSearchScope(project), null);
+		}
+		if (cacheable) {
+			synchronized (this) {
+				// Dropped if the model changed meanwhile
+				if (count == modificationCount) {
+					lookups.put(key.toString(), new LookupEntry(name, types));
+				}
+			}
+		}
+		return types;
+	}
+
+	/**
+	 * Lookups are answered by the DLTK index, so they aren't cached while the
+	 * index is being updated.
+	 */
+	private static boolean isIndexReady() {
+		return ModelManager.getModelManager().getIndexManager().awaitingJobsCount() == 0;
+	}
+
+	/**
+	 * Drops the lookups which found a type of a changed source module, and
+	 * returns the changed source modules. Must be called under the lock.
+	 */
+	private Set<ISourceModule> invalidateChanged() {
+		if (changed.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<ISourceModule> modules = new HashSet<>(changed);
+		changed.clear();
+		lookups.values().removeIf(entry -> contains(entry.types, modules));
+		return modules;
+	}
+
+	/**
+	 * Drops the lookups for a name declared by a changed source module, all
+	 * of them if the names are unknown. Must be called under the lock.
+	 *
+	 * @param names
+	 *            names returned by {@link #getTypeNames(Set)}
+	 */
+	private void invalidateNames(Set<String> names) {
+		if (names == null) {
+			lookups.clear();
+		} else if (!names.isEmpty()) {
+			lookups.values().removeIf(entry -> names.contains(entry.name));
+		}
+	}
+
+	/**
+	 * Returns the lower case names of the types declared by the given source
+	 * modules, or <code>null</code> if they can't be read.
+	 */
+	private static Set<String> getTypeNames(Set<ISourceModule> modules) {
+		if (modules.isEmpty()) {
+			return Collections.emptySet();
+		}
+		Set<String> names = new HashSet<>();
+		for (ISourceModule module : modules) {
+			if (module.exists()) {
+				try {
+					collectTypeNames(module.getTypes(), names);
+				} catch (ModelException e) {
+					Logger.logException(e);
+					return null;
+				}
+			}
+		}
+		return names;
+	}
+
+	private static void collectTypeNames(IType[] types, Set<String> names) throws ModelException {
+		for (IType type : types) {
+			names.add(type.getElementName().toLowerCase());
+			// Namespaces contain the other types
+			collectTypeNames(type.getTypes(), names);
+		}
+	}
+
+	private static boolean contains(IType[] types, Set<ISourceModule> modules) {
+		for (IType type : types) {
+			if (modules.contains(type.getSourceModule())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void startup() {
+		if (listener == null) {
+			listener = new ChangeListener();
+			DLTKCore.addElementChangedListener(listener, ElementChangedEvent.POST_CHANGE);
+		}
+	}
+
+	/**
+	 * Shuts down this cache.
+	 */
+	public void shutdown() {
+		List<HierarchyEntry> entries;
+		synchronized (this) {
+			if (listener != null) {
+				DLTKCore.removeElementChangedListener(listener);
+				listener = null;
+			}
+			entries = new ArrayList<>(hierarchies.values());
+			hierarchies.clear();
+			lookups.clear();
+			changed.clear();
+		}
+		for (HierarchyEntry entry : entries) {
+			entry.dispose();
+		}
+		if (Logger.isTracing(TRACE_CATEGORY)) {
+			Logger.trace(TRACE_CATEGORY, "Hierarchies: " + hierarchyHits + " hits, " + hierarchyMisses //$NON-NLS-1$ //$NON-NLS-2$
+					+ " misses; lookups: " + lookupHits + " hits, " + lookupMisses + " misses"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Returns the number of hierarchies found in the cache.
+	 */
+	public long getHierarchyHits() {
+		return hierarchyHits.get();
+	}
+
+	/**
+	 * Returns the number of hierarchies computed.
+	 */
+	public long getHierarchyMisses() {
+		return hierarchyMisses.get();
+	}
+
+	/**
+	 * Returns the number of type lookups found in the cache.
+	 */
+	public long getLookupHits() {
+		return lookupHits.get();
+	}
+
+	/**
+	 * Returns the number of type lookups queried from the index.
+	 */
+	public long getLookupMisses() {
+		return lookupMisses.get();
+	}
+}
@@ -67,6 +67,11 @@ public class CorePreferenceConstants {
 		node.putBoolean(PHPCoreConstants.CODEASSIST_SHOW_STRICT_OPTIONS, false);
 		node.putBoolean(PHPCoreConstants.CODEASSIST_AUTOACTIVATION, true);
 		node.putBoolean(PHPCoreConstants.CODEASSIST_ASYNC, true);
+		node.putBoolean(PHPCoreConstants.CODEASSIST_PARALLEL, false);
+		node.putInt(PHPCoreConstants.CODEASSIST_PARALLEL_TIMEOUT, 1000);
+		node.putInt(PHPCoreConstants.BUILD_PARSER_THREADS, 0);
+		node.putBoolean(PHPCoreConstants.SHARED_TOKEN_STREAM, false);
+		node.putBoolean(PHPCoreConstants.INCREMENTAL_RECONCILE, false);
 		node.putInt(PHPCoreConstants.CODEASSIST_AUTOACTIVATION_DELAY, 200);
 	}
 
@@ -18,6 +18,7 @@ import org.eclipse.dltk.core.*;
 import org.eclipse.dltk.internal.core.ModelElement;
 import org.eclipse.php.core.compiler.PHPFlags;
 import org.eclipse.php.internal.core.PHPCorePlugin;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
 
 public class FakeConstructor extends FakeMethod {
 	/**
@@ -78,7 +79,7 @@ public class FakeConstructor extends FakeMethod {
 
 			// try to find constructor in super classes
 			if (constructors[0] == null) {
-				ITypeHierarchy newSupertypeHierarchy = type.newSupertypeHierarchy(null);
+				ITypeHierarchy newSupertypeHierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
 				IType[] allSuperclasses = newSupertypeHierarchy.getAllSuperclasses(type);
 				if (ArrayUtils.isNotEmpty(allSuperclasses)) {
 					for (IType superClass : allSuperclasses) {
@@ -0,0 +1,336 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.core.typeinference;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.dltk.core.*;
+import org.eclipse.dltk.ti.goals.IGoal;
+import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
+import org.eclipse.php.internal.core.typeinference.goals.AbstractMethodReturnTypeGoal;
+import org.eclipse.php.internal.core.typeinference.goals.ClassVariableDeclarationGoal;
+import org.eclipse.php.internal.core.typeinference.goals.MethodElementReturnTypeGoal;
+import org.eclipse.php.internal.core.typeinference.goals.phpdoc.PHPDocMethodReturnTypeGoal;
+
+/**
+ * Results of the goals evaluated by {@link PHPCachedTypeInferencer}, kept
+ * across inferencer instances, so the return types and the field types of the
+ * (mostly library) classes aren't evaluated again by every hover, completion
+ * or highlighting.
+ *
+ * Only the goals on already resolved types are cached, by the types and the
+ * member name rather than by their context, see {@link #createKey(IGoal)}.
+ * Every result records the source modules it was evaluated from, and is
+ * dropped as soon as one of them changes (including unsaved changes of the
+ * working copies). Adding or removing files or changing the build path drops
+ * all the results. The cache is bounded, the least recently used results are
+ * dropped first.
+ */
+public enum GoalResultCache {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	private static final String TRACE_CATEGORY = "goalCache"; //$NON-NLS-1$
+
+	private static final int MAX_ENTRIES = 8192;
+
+	/**
+	 * Context independent key of a goal.
+	 */
+	public static final class Key {
+
+		private final Class<?> goalClass;
+		private final IType[] types;
+		private final String name;
+		private final String[] argNames;
+		private final int hashCode;
+
+		Key(Class<?> goalClass, IType[] types, String name, String[] argNames) {
+			this.goalClass = goalClass;
+			this.types = types;
+			this.name = name;
+			this.argNames = argNames;
+			this.hashCode = Objects.hash(goalClass, Arrays.hashCode(types), name, Arrays.hashCode(argNames));
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return goalClass == other.goalClass && name.equals(other.name) && Arrays.equals(types, other.types)
+					&& Arrays.equals(argNames, other.argNames);
+		}
+	}
+
+	/**
+	 * Cached goal result.
+	 */
+	public static final class Entry {
+
+		private final Object result;
+		private final Set<ISourceModule> dependencies;
+
+		Entry(Object result, Set<ISourceModule> dependencies) {
+			this.result = result;
+			this.dependencies = dependencies;
+		}
+
+		public Object getResult() {
+			return result;
+		}
+
+		/**
+		 * Returns the source modules the result was evaluated from.
+		 */
+		public Set<ISourceModule> getDependencies() {
+			return dependencies;
+		}
+	}
+
+	private class ChangeListener implements IElementChangedListener {
+
+		@Override
+		public void elementChanged(ElementChangedEvent event) {
+			synchronized (GoalResultCache.this) {
+				modificationCount++;
+				if (!entries.isEmpty()) {
+					visit(event.getDelta());
+				}
+			}
+		}
+
+		private void visit(IModelElementDelta delta) {
+			IModelElement element = delta.getElement();
+			switch (element.getElementType()) {
+			case IModelElement.SOURCE_MODULE:
+				if (delta.getKind() == IModelElementDelta.CHANGED) {
+					invalidate((ISourceModule) element);
+				} else {
+					// Results don't record the modules they didn't find
+					clear();
+				}
+				return;
+			case IModelElement.SCRIPT_MODEL:
+				break;
+			default:
+				if (delta.getKind() != IModelElementDelta.CHANGED || (delta.getFlags() & (IModelElementDelta.F_OPENED
+						| IModelElementDelta.F_CLOSED | IModelElementDelta.F_BUILDPATH_CHANGED
+						| IModelElementDelta.F_ADDED_TO_BUILDPATH | IModelElementDelta.F_REMOVED_FROM_BUILDPATH
+						| IModelElementDelta.F_RESOLVED_BUILDPATH_CHANGED)) != 0) {
+					clear();
+					return;
+				}
+				break;
+			}
+			for (IModelElementDelta child : delta.getAffectedChildren()) {
+				visit(child);
+			}
+		}
+	}
+
+	private final Map<Key, Entry> entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			if (size() > MAX_ENTRIES) {
+				unregister(eldest.getKey(), eldest.getValue());
+				return true;
+			}
+			return false;
+		}
+	};
+
+	/**
+	 * Keys of the results by the source modules they depend on.
+	 */
+	private final Map<ISourceModule, Set<Key>> dependents = new HashMap<>();
+	private long modificationCount;
+	private IElementChangedListener listener;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Returns the key of the given goal, or <code>null</code> if its result
+	 * depends on its context and can't be cached.
+	 */
+	public static Key createKey(IGoal goal) {
+		Class<?> goalClass = goal.getClass();
+		if (goalClass == MethodElementReturnTypeGoal.class || goalClass == PHPDocMethodReturnTypeGoal.class) {
+			AbstractMethodReturnTypeGoal typedGoal = (AbstractMethodReturnTypeGoal) goal;
+			// Functions are looked up from the context
+			IType[] types = typedGoal.getTypes();
+			if (types == null || types.length == 0) {
+				return null;
+			}
+			return new Key(goalClass, types, typedGoal.getMethodName(), typedGoal.getArgNames());
+		}
+		if (goalClass == ClassVariableDeclarationGoal.class) {
+			ClassVariableDeclarationGoal typedGoal = (ClassVariableDeclarationGoal) goal;
+			IType[] types = typedGoal.getTypes();
+			if (types == null || types.length == 0) {
+				return null;
+			}
+			return new Key(goalClass, types, typedGoal.getVariableName(), null);
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the cached result of the given goal, or <code>null</code>.
+	 */
+	public synchronized Entry get(Key key) {
+		Entry entry = entries.get(key);
+		if (entry != null) {
+			hits.incrementAndGet();
+		} else {
+			misses.incrementAndGet();
+		}
+		return entry;
+	}
+
+	/**
+	 * Returns a counter of the model changes, to pass to
+	 * {@link #put(Key, Object, Set, long)}.
+	 */
+	public synchronized long getModificationCount() {
+		startup();
+		return modificationCount;
+	}
+
+	/**
+	 * Caches the result of a goal.
+	 *
+	 * @param key
+	 *            goal key
+	 * @param result
+	 *            goal result
+	 * @param dependencies
+	 *            source modules the result was evaluated from. The modules of
+	 *            the goal types and of their super types are added.
+	 * @param modificationCount
+	 *            modification counter read before the evaluation started, the
+	 *            result is dropped if the model changed since
+	 */
+	public void put(Key key, Object result, Set<ISourceModule> dependencies, long modificationCount) {
+		Set<ISourceModule> modules = new HashSet<>(dependencies);
+		try {
+			for (IType type : key.types) {
+				for (IType superType : SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null).getAllTypes()) {
+					modules.add(superType.getSourceModule());
+				}
+			}
+		} catch (ModelException e) {
+			Logger.logException(e);
+			return;
+		}
+		modules.remove(null);
+		synchronized (this) {
+			if (modificationCount != this.modificationCount) {
+				return;
+			}
+			Entry entry = new Entry(result, modules);
+			Entry previous = entries.put(key, entry);
+			if (previous != null) {
+				unregister(key, previous);
+			}
+			for (ISourceModule module : modules) {
+				Set<Key> keys = dependents.get(module);
+				if (keys == null) {
+					keys = new HashSet<>();
+					dependents.put(module, keys);
+				}
+				keys.add(key);
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of goals found in the cache.
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of cacheable goals not found in the cache.
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Shuts down this cache.
+	 */
+	public synchronized void shutdown() {
+		if (listener != null) {
+			DLTKCore.removeElementChangedListener(listener);
+			listener = null;
+		}
+		clear();
+		if (Logger.isTracing(TRACE_CATEGORY)) {
+			Logger.trace(TRACE_CATEGORY, "Goal results: " + hits + " hits, " + misses + " misses"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	private void startup() {
+		if (listener == null) {
+			listener = new ChangeListener();
+			DLTKCore.addElementChangedListener(listener,
+					ElementChangedEvent.POST_CHANGE | ElementChangedEvent.POST_RECONCILE);
+		}
+	}
+
+	private void invalidate(ISourceModule module) {
+		Set<Key> keys = dependents.remove(module);
+		if (keys == null) {
+			return;
+		}
+		for (Key key : keys) {
+			Entry entry = entries.remove(key);
+			if (entry != null) {
+				unregister(key, entry);
+			}
+		}
+	}
+
+	private void unregister(Key key, Entry entry) {
+		for (ISourceModule module : entry.dependencies) {
+			Set<Key> keys = dependents.get(module);
+			if (keys != null && keys.remove(key) && keys.isEmpty()) {
+				dependents.remove(module);
+			}
+		}
+	}
+
+	private void clear() {
+		entries.clear();
+		dependents.clear();
+	}
+}
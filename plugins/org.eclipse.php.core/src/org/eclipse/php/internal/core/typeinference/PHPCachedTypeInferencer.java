@@ -15,9 +15,10 @@
  *******************************************************************************/
 package org.eclipse.php.internal.core.typeinference;
 
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.ti.*;
 import org.eclipse.dltk.ti.goals.*;
 import org.eclipse.dltk.ti.statistics.IEvaluationStatisticsRequestor;
@@ -30,28 +31,49 @@ import org.eclipse.php.internal.core.typeinference.goals.phpdoc.PHPDocClassVaria
 import org.eclipse.php.internal.core.typeinference.goals.phpdoc.PHPDocMethodReturnTypeGoal;
 
 /**
- * This class allow persist goal results between inference sessions
+ * This class allow persist goal results between inference sessions. The
+ * results of the goals which don't depend on their context are shared with the
+ * other inferencers through the {@link GoalResultCache}.
  * 
  * @author Dawid zulus Pakula <zulus@w3des.net>
  */
 public class PHPCachedTypeInferencer implements IPHPTypeInferencer {
 	final private GoalEngine engine;
 	final private Map<IGoal, Result> cache = new ConcurrentHashMap<>();
-	final private IEvaluationStatisticsRequestor stat;
+	final private StatRequestor stat;
 
 	private class Result {
 		final Object result;
-
-		public Result(Object result) {
+		/**
+		 * Source modules the result was evaluated from.
+		 */
+		final Set<ISourceModule> dependencies;
+		/**
+		 * Whether the result misses pruned or recursive sub goals.
+		 */
+		final boolean incomplete;
+
+		public Result(Object result, Set<ISourceModule> dependencies, boolean incomplete) {
 			this.result = result;
+			this.dependencies = dependencies;
+			this.incomplete = incomplete;
 		}
 	}
 
 	private class CachedEvaluatorFactory extends PHPGoalEvaluatorFactory {
 		@Override
 		public GoalEvaluator createEvaluator(IGoal goal) {
-			if (cache.containsKey(goal)) {
-				return new FakeGoalEvaluator(goal, cache.get(goal));
+			Result cached = cache.get(goal);
+			if (cached != null) {
+				return new FakeGoalEvaluator(goal, cached);
+			}
+			GoalResultCache.Key key = GoalResultCache.createKey(goal);
+			if (key != null) {
+				GoalResultCache.Entry entry = GoalResultCache.INSTANCE.get(key);
+				if (entry != null) {
+					return new FakeGoalEvaluator(goal,
+							new Result(entry.getResult(), entry.getDependencies(), false));
+				}
 			}
 
 			GoalEvaluator eval = super.createEvaluator(goal);
@@ -93,8 +115,50 @@ public class PHPCachedTypeInferencer implements IPHPTypeInferencer {
 		}
 	}
 
+	/**
+	 * Caches the goal results, and tracks the source modules each result
+	 * depends on: the modules of the goal and of all its sub goals.
+	 */
 	private class StatRequestor implements IEvaluationStatisticsRequestor {
 
+		private final Map<IGoal, Set<ISourceModule>> dependencies = new HashMap<>();
+		private final Map<IGoal, IGoal> parents = new HashMap<>();
+		/**
+		 * Goals whose result misses pruned or recursive sub goals.
+		 */
+		private final Set<IGoal> incomplete = new HashSet<>();
+		private long modificationCount;
+
+		Result createResult(IGoal goal, Object result) {
+			Set<ISourceModule> modules = dependencies.get(goal);
+			return new Result(result, modules != null ? new HashSet<>(modules) : Collections.emptySet(),
+					incomplete.contains(goal));
+		}
+
+		void reset() {
+			dependencies.clear();
+			parents.clear();
+			incomplete.clear();
+			modificationCount = GoalResultCache.INSTANCE.getModificationCount();
+		}
+
+		private Set<ISourceModule> getDependencies(IGoal goal) {
+			Set<ISourceModule> modules = dependencies.get(goal);
+			if (modules == null) {
+				modules = new HashSet<>();
+				dependencies.put(goal, modules);
+			}
+			return modules;
+		}
+
+		private void addParent(GoalEvaluator evaluator, IGoal[] subgoals) {
+			if (subgoals != null) {
+				for (IGoal subgoal : subgoals) {
+					parents.put(subgoal, evaluator.getGoal());
+				}
+			}
+		}
+
 		@Override
 		public void evaluationStarted(IGoal rootGoal) {
 
@@ -102,7 +166,11 @@ public class PHPCachedTypeInferencer implements IPHPTypeInferencer {
 
 		@Override
 		public void goalStateChanged(IGoal goal, GoalState state, GoalState oldState) {
-
+			if (state == GoalState.PRUNED || state == GoalState.RECURSIVE) {
+				while (goal != null && incomplete.add(goal)) {
+					goal = parents.get(goal);
+				}
+			}
 		}
 
 		@Override
@@ -111,17 +179,44 @@ public class PHPCachedTypeInferencer implements IPHPTypeInferencer {
 
 		@Override
 		public void evaluatorInitialized(GoalEvaluator evaluator, IGoal[] subgoals, long time) {
+			addParent(evaluator, subgoals);
 		}
 
 		@Override
 		public void evaluatorReceivedResult(GoalEvaluator evaluator, IGoal finishedGoal, IGoal[] newSubgoals,
 				long time) {
+			addParent(evaluator, newSubgoals);
+			Set<ISourceModule> modules = dependencies.get(finishedGoal);
+			if (modules != null) {
+				getDependencies(evaluator.getGoal()).addAll(modules);
+			}
+			if (incomplete.contains(finishedGoal)) {
+				incomplete.add(evaluator.getGoal());
+			}
 		}
 
 		@Override
 		public void evaluatorProducedResult(GoalEvaluator evaluator, Object result, long time) {
-			if (!(evaluator instanceof FakeGoalEvaluator)) {
-				cache.put(evaluator.getGoal(), new Result(result));
+			IGoal goal = evaluator.getGoal();
+			Set<ISourceModule> modules = getDependencies(goal);
+			if (goal.getContext() instanceof ISourceModuleContext) {
+				modules.add(((ISourceModuleContext) goal.getContext()).getSourceModule());
+			}
+			if (evaluator instanceof FakeGoalEvaluator) {
+				// The cached result brings the state of its own evaluation
+				Result cached = ((FakeGoalEvaluator) evaluator).result;
+				modules.addAll(cached.dependencies);
+				if (cached.incomplete) {
+					goalStateChanged(goal, GoalState.PRUNED, null);
+				}
+				return;
+			}
+			cache.put(goal, createResult(goal, result));
+			if (!incomplete.contains(goal)) {
+				GoalResultCache.Key key = GoalResultCache.createKey(goal);
+				if (key != null) {
+					GoalResultCache.INSTANCE.put(key, result, modules, modificationCount);
+				}
 			}
 		}
 
@@ -171,7 +266,9 @@ public class PHPCachedTypeInferencer implements IPHPTypeInferencer {
 	public IEvaluatedType evaluateType(AbstractTypeGoal goal, IPruner pruner) {
 		if (!cache.containsKey(goal)) {
 			synchronized (engine) {
-				cache.put(goal, new Result(engine.evaluateGoal(goal, pruner, stat)));
+				stat.reset();
+				Object result = engine.evaluateGoal(goal, pruner, stat);
+				cache.putIfAbsent(goal, stat.createResult(goal, result));
 			}
 		}
 
@@ -63,6 +63,7 @@ import org.eclipse.php.internal.core.filenetwork.FileNetworkUtility;
 import org.eclipse.php.internal.core.filenetwork.ReferenceTree;
 import org.eclipse.php.internal.core.language.LanguageModelInitializer;
 import org.eclipse.php.internal.core.model.PHPModelAccess;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
 import org.eclipse.php.internal.core.typeinference.DeclarationSearcher.DeclarationType;
 import org.eclipse.php.internal.core.typeinference.context.MethodContext;
 import org.eclipse.php.internal.core.typeinference.context.TypeContext;
@@ -1452,7 +1453,7 @@ public class PHPModelUtils {
 			if (!PHPToolkitUtil.isFromPHPProject(type)) {
 				return EMPTY_TYPES;
 			} else {
-				hierarchy = type.newSupertypeHierarchy(null);
+				hierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
 			}
 		}
 		Collection<IType> filtered = filterElements(type.getSourceModule(),
@@ -2223,7 +2224,7 @@ public class PHPModelUtils {
 			if (PHPVersion.PHP5_4.isLessThan(ProjectOptions.getPHPVersion(type))) {
 				return true; // class constant always available
 			}
-			ITypeHierarchy hierarchy = type.newSupertypeHierarchy(null);
+			ITypeHierarchy hierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
 			IModelElement[] members = PHPModelUtils.getTypeHierarchyField(type, hierarchy, "", false, null); //$NON-NLS-1$
 			if (hasStaticOrConstMember(members)) {
 				return true;
@@ -24,6 +24,7 @@ import org.eclipse.dltk.ti.goals.IGoal;
 import org.eclipse.dltk.ti.types.IEvaluatedType;
 import org.eclipse.php.internal.core.Constants;
 import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
 import org.eclipse.php.internal.core.typeinference.IModelAccessCache;
 import org.eclipse.php.internal.core.typeinference.PHPModelUtils;
 import org.eclipse.php.internal.core.typeinference.PHPTypeInferenceUtils;
@@ -72,7 +73,7 @@ public class PHPDocClassVariableEvaluator extends AbstractPHPGoalEvaluator {
 				if (cache != null) {
 					superHierarchy = cache.getSuperTypeHierarchy(type, null);
 				} else {
-					superHierarchy = type.newSupertypeHierarchy(null);
+					superHierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
 				}
 				IType[] superTypes = superHierarchy.getAllTypes();
 				for (IType superType : superTypes) {
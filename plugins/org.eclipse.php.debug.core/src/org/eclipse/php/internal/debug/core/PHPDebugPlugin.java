@@ -45,6 +45,7 @@ import org.eclipse.php.internal.debug.core.debugger.DebuggerSettingsManager;
 import org.eclipse.php.internal.debug.core.debugger.IDebuggerConfiguration;
 import org.eclipse.php.internal.debug.core.launching.PHPProcess;
 import org.eclipse.php.internal.debug.core.launching.XDebugLaunchListener;
+import org.eclipse.php.internal.debug.core.pathmapper.WorkspaceFileIndex;
 import org.eclipse.php.internal.debug.core.preferences.*;
 import org.eclipse.php.internal.debug.core.xdebug.XDebugPreferenceMgr;
 import org.eclipse.php.internal.debug.core.xdebug.dbgp.DBGpProxyHandlersManager;
@@ -113,6 +114,7 @@ public class PHPDebugPlugin extends Plugin {
 			DaemonPlugin.getDefault();
 			DebuggerSettingsManager.INSTANCE.startup();
 			DBGpProxyHandlersManager.INSTANCE.startup();
+			WorkspaceFileIndex.INSTANCE.startup();
 		}
 
 	}
@@ -296,6 +298,7 @@ public class PHPDebugPlugin extends Plugin {
 		DBGpProxyHandlersManager.INSTANCE.shutdown();
 		InstanceScope.INSTANCE.getNode(ID).flush();
 		DebuggerSettingsManager.INSTANCE.shutdown();
+		WorkspaceFileIndex.INSTANCE.shutdown();
 	}
 
 	/**
@@ -15,10 +15,18 @@ package org.eclipse.php.internal.debug.core.daemon;
 
 import java.io.IOException;
 import java.net.BindException;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.php.debug.daemon.communication.ICommunicationDaemon;
 import org.eclipse.php.internal.debug.core.Logger;
 
@@ -27,16 +35,31 @@ import org.eclipse.php.internal.debug.core.Logger;
  * for the entire Eclipse running session and accepts debug requests from remote
  * or local debuggers.
  * 
+ * By default the server socket is a non-blocking channel registered with the
+ * shared {@link DebugChannelSelector}, and every accepted connection is started
+ * by a job of a group with a small fixed number of threads. Extending classes
+ * which set up {@link #serverSocket} themselves (e.g. for SSL) are served by a
+ * dedicated listener thread instead.
+ * 
  * @author Shalom Gibly
  * @since PDT 1.0
  */
 public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicationDaemon {
 
+	/*
+	 * Many debug sessions may be started at the same time (e.g. by tests running
+	 * in parallel), so allow for more pending connections than the default 50.
+	 */
+	private static final int BACKLOG = 1024;
+
 	protected Object lock = new Object();
 	protected ServerSocket serverSocket;
+	protected ServerSocketChannel serverChannel;
 	protected boolean isAlive;
 	protected Thread listenerThread;
 	private boolean isInitialized;
+	private final JobGroup connectionJobs = new JobGroup("PHP Debugger Connections", //$NON-NLS-1$
+			Math.max(2, Runtime.getRuntime().availableProcessors()), 0);
 
 	/**
 	 * Constructs a new AbstractDebuggerCommunicationDaemon
@@ -59,7 +82,9 @@ public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicat
 	@Override
 	public void startListen() {
 		synchronized (lock) {
-			if (!isAlive && serverSocket != null) {
+			if (!isAlive && serverChannel != null) {
+				startListenChannel();
+			} else if (!isAlive && serverSocket != null) {
 				startListenThread();
 			} else {
 				isInitialized = true;
@@ -74,6 +99,10 @@ public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicat
 	public void stopListen() {
 		synchronized (lock) {
 			isAlive = false;
+			if (serverChannel != null) {
+				DebugChannelSelector.getDefault().unregister(serverChannel);
+				serverChannel = null;
+			}
 			if (serverSocket != null) {
 				try {
 					if (!serverSocket.isClosed()) {
@@ -123,7 +152,14 @@ public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicat
 		int port = getReceiverPort();
 		try {
 			synchronized (lock) {
-				serverSocket = new ServerSocket(port);
+				serverChannel = ServerSocketChannel.open();
+				try {
+					serverChannel.bind(new InetSocketAddress(port), BACKLOG);
+				} catch (IOException e) {
+					serverChannel.close();
+					serverChannel = null;
+					throw e;
+				}
 				startListen();
 				return true;
 			}
@@ -158,11 +194,33 @@ public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicat
 
 	/**
 	 * Starts a connection on the given Socket. This method should be overridden by
-	 * extending classes to create a different debug connections.
+	 * extending classes to create a different debug connections, unless they only
+	 * serve channels by overriding {@link #startConnection(SocketChannel)}.
 	 * 
 	 * @param socket
 	 */
-	protected abstract void startConnection(Socket socket);
+	protected void startConnection(Socket socket) {
+		Logger.log(Logger.ERROR, "Debug connection not supported by " + getClass().getName()); //$NON-NLS-1$
+		try {
+			socket.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 * Starts a connection on the given channel accepted by the
+	 * {@link DebugChannelSelector}. This method is called by a connection job, so
+	 * it may block. By default the channel is used as a blocking socket; extending
+	 * classes should override this method and register the channel with the
+	 * selector to serve the connection without a dedicated thread.
+	 * 
+	 * @param socket
+	 *            the accepted channel, in blocking mode
+	 */
+	protected void startConnection(SocketChannel socket) {
+		startConnection(socket.socket());
+	}
 
 	/**
 	 * Returns the debugger ID that is using this communication daemon.
@@ -191,6 +249,33 @@ public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicat
 		listenerThread.start();
 	}
 
+	/**
+	 * Registers the server channel with the shared selector. If the channel is
+	 * already registered, nothing should happen.
+	 */
+	protected void startListenChannel() {
+		synchronized (lock) {
+			if (isAlive) {
+				return;
+			}
+			try {
+				DebugChannelSelector.getDefault().register(serverChannel, new DebugChannelSelector.IAcceptHandler() {
+					@Override
+					public void accepted(SocketChannel socket) {
+						Job job = new ConnectionJob(socket);
+						job.setJobGroup(connectionJobs);
+						job.schedule();
+					}
+				});
+				isAlive = true;
+			} catch (IOException e) {
+				Logger.logException("Error while listening to incoming debug requests.", //$NON-NLS-1$
+						e);
+			}
+			isInitialized = true;
+		}
+	}
+
 	@Override
 	public boolean isInitialized() {
 		synchronized (lock) {
@@ -227,6 +312,35 @@ public abstract class AbstractDebuggerCommunicationDaemon implements ICommunicat
 		}
 	}
 
+	/*
+	 * Starts a connection accepted by the selector.
+	 */
+	private class ConnectionJob extends Job {
+
+		private final SocketChannel socket;
+
+		public ConnectionJob(SocketChannel socket) {
+			super("PHP Debugger Connection"); //$NON-NLS-1$
+			this.socket = socket;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				startConnection(socket);
+			} catch (RuntimeException e) {
+				Logger.logException("Error while starting a debug connection.", e); //$NON-NLS-1$
+				try {
+					socket.close();
+				} catch (IOException ioe) {
+					// ignore
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.daemon;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A non-blocking debugger connection registered with a
+ * {@link DebugChannelSelector}. Incoming data is pushed to the channel
+ * {@link IDebugChannelHandler}, outgoing data is written directly when the
+ * socket accepts it and queued for the selector thread otherwise.
+ */
+public class DebugChannel {
+
+	private final DebugChannelSelector selector;
+	private final SocketChannel channel;
+	private final IDebugChannelHandler handler;
+	private final Deque<ByteBuffer> outbound = new ArrayDeque<>();
+	private final AtomicBoolean closed = new AtomicBoolean();
+	private final InetAddress remoteAddress;
+	private final int remotePort;
+	// Accessed by the selector thread only
+	SelectionKey key;
+
+	DebugChannel(DebugChannelSelector selector, SocketChannel channel, IDebugChannelHandler handler) {
+		this.selector = selector;
+		this.channel = channel;
+		this.handler = handler;
+		this.remoteAddress = channel.socket().getInetAddress();
+		this.remotePort = channel.socket().getPort();
+	}
+
+	/**
+	 * Writes the given data. The data is sent in order with any previously
+	 * written data; the buffer must not be modified afterwards.
+	 *
+	 * @param data
+	 *            the data to write
+	 * @throws IOException
+	 *             if the channel is closed or the write failed
+	 */
+	public void write(ByteBuffer data) throws IOException {
+		synchronized (outbound) {
+			if (closed.get()) {
+				throw new ClosedChannelException();
+			}
+			if (outbound.isEmpty()) {
+				channel.write(data);
+				if (!data.hasRemaining()) {
+					return;
+				}
+			}
+			outbound.add(data);
+		}
+		selector.updateInterest(this);
+	}
+
+	/**
+	 * Closes the channel. The handler is notified once, no matter how many times
+	 * this method is called.
+	 */
+	public void close() {
+		if (!closed.compareAndSet(false, true)) {
+			return;
+		}
+		synchronized (outbound) {
+			outbound.clear();
+		}
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// nothing to do, the channel is gone anyway
+		}
+		selector.wakeup();
+		handler.closed(this);
+	}
+
+	public boolean isOpen() {
+		return !closed.get();
+	}
+
+	public InetAddress getRemoteAddress() {
+		return remoteAddress;
+	}
+
+	public int getRemotePort() {
+		return remotePort;
+	}
+
+	SocketChannel getSocketChannel() {
+		return channel;
+	}
+
+	IDebugChannelHandler getHandler() {
+		return handler;
+	}
+
+	/**
+	 * Writes as much of the queued data as the socket accepts.
+	 *
+	 * @return <code>true</code> if all the queued data was written
+	 */
+	boolean flush() throws IOException {
+		synchronized (outbound) {
+			while (!outbound.isEmpty()) {
+				ByteBuffer data = outbound.peek();
+				channel.write(data);
+				if (data.hasRemaining()) {
+					return false;
+				}
+				outbound.poll();
+			}
+			return true;
+		}
+	}
+
+	int getInterestOps() {
+		synchronized (outbound) {
+			return outbound.isEmpty() ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+		}
+	}
+
+	@Override
+	public String toString() {
+		return channel.toString();
+	}
+}
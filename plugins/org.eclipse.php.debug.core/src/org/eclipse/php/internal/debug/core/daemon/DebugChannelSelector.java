@@ -0,0 +1,284 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.daemon;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.php.internal.debug.core.Logger;
+
+/**
+ * Multiplexes the listening sockets of the debugger daemons and the debug
+ * connections accepted by them over a single selector thread, so idle debug
+ * sessions do not hold any thread.
+ *
+ * All the selection keys are handled by the selector thread only; other
+ * threads post their requests to it and wake the selector up.
+ */
+public class DebugChannelSelector {
+
+	/**
+	 * Receives the connections accepted on a registered server channel. Called
+	 * on the selector thread, so implementations must not block.
+	 */
+	public interface IAcceptHandler {
+
+		/**
+		 * @param socket
+		 *            the accepted connection, in blocking mode
+		 */
+		public void accepted(SocketChannel socket);
+	}
+
+	private static final int BUFFER_SIZE = 1024 * 128;
+	private static final int UNREGISTER_TIMEOUT = 5000;
+
+	private static DebugChannelSelector instance;
+
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+	private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+	private Selector selector;
+	private Thread selectorThread;
+
+	/**
+	 * Returns the selector shared by all the debugger daemons.
+	 */
+	public static synchronized DebugChannelSelector getDefault() {
+		if (instance == null) {
+			instance = new DebugChannelSelector();
+		}
+		return instance;
+	}
+
+	/**
+	 * Starts accepting connections on the given server channel. The registration
+	 * is dropped when the server channel is closed.
+	 *
+	 * @param server
+	 *            a bound server channel
+	 * @param acceptor
+	 *            the handler of the accepted connections
+	 * @throws IOException
+	 */
+	public void register(final ServerSocketChannel server, final IAcceptHandler acceptor) throws IOException {
+		server.configureBlocking(false);
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					server.register(selector, SelectionKey.OP_ACCEPT, acceptor);
+				} catch (ClosedChannelException e) {
+					// The daemon stopped listening in the meantime
+				}
+			}
+		});
+	}
+
+	/**
+	 * Registers the given connection and starts reading from it.
+	 *
+	 * @param socket
+	 *            a connected socket channel
+	 * @param handler
+	 *            the handler of the data read from the connection
+	 * @return the registered channel
+	 * @throws IOException
+	 */
+	public DebugChannel register(final SocketChannel socket, IDebugChannelHandler handler) throws IOException {
+		socket.configureBlocking(false);
+		final DebugChannel channel = new DebugChannel(this, socket, handler);
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					channel.key = socket.register(selector, channel.getInterestOps(), channel);
+				} catch (ClosedChannelException e) {
+					channel.close();
+				}
+			}
+		});
+		return channel;
+	}
+
+	/**
+	 * Closes the given server channel and drops its registration. Returns once
+	 * the selector has deregistered the channel, so its port can be bound
+	 * again.
+	 */
+	public void unregister(final ServerSocketChannel server) {
+		final CountDownLatch unregistered = new CountDownLatch(1);
+		Runnable task = new Runnable() {
+			@Override
+			public void run() {
+				try {
+					server.close();
+					if (selector != null) {
+						// The socket of a registered channel is only released
+						// once its cancelled key is deregistered by a selection
+						selector.selectNow();
+					}
+				} catch (IOException e) {
+					Logger.logException("Problem while closing the debugger server channel.", e); //$NON-NLS-1$
+				} finally {
+					unregistered.countDown();
+				}
+			}
+		};
+		synchronized (this) {
+			if (selector == null || Thread.currentThread() == selectorThread) {
+				task.run();
+				return;
+			}
+		}
+		try {
+			execute(task);
+			if (!unregistered.await(UNREGISTER_TIMEOUT, TimeUnit.MILLISECONDS)) {
+				Logger.log(Logger.WARNING, "Timed out while closing the debugger server channel."); //$NON-NLS-1$
+			}
+		} catch (IOException e) {
+			Logger.logException("Problem while closing the debugger server channel.", e); //$NON-NLS-1$
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	void updateInterest(final DebugChannel channel) throws IOException {
+		execute(new Runnable() {
+			@Override
+			public void run() {
+				SelectionKey key = channel.key;
+				if (key != null && key.isValid()) {
+					key.interestOps(channel.getInterestOps());
+				}
+			}
+		});
+	}
+
+	synchronized void wakeup() {
+		if (selector != null) {
+			selector.wakeup();
+		}
+	}
+
+	private synchronized void execute(Runnable task) throws IOException {
+		if (selector == null) {
+			selector = Selector.open();
+			selectorThread = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					select();
+				}
+			}, "PHP Debugger Daemon Selector"); //$NON-NLS-1$
+			selectorThread.setDaemon(true);
+			selectorThread.start();
+		}
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	private void select() {
+		while (true) {
+			Runnable task;
+			while ((task = tasks.poll()) != null) {
+				task.run();
+			}
+			try {
+				selector.select();
+			} catch (IOException e) {
+				Logger.logException("Error while selecting debugger channels.", e); //$NON-NLS-1$
+				continue;
+			}
+			Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+			while (keys.hasNext()) {
+				SelectionKey key = keys.next();
+				keys.remove();
+				try {
+					if (!key.isValid()) {
+						continue;
+					}
+					if (key.isAcceptable()) {
+						accept(key);
+						continue;
+					}
+					DebugChannel channel = (DebugChannel) key.attachment();
+					if (key.isWritable()) {
+						write(channel, key);
+					}
+					if (key.isValid() && key.isReadable()) {
+						read(channel);
+					}
+				} catch (CancelledKeyException e) {
+					// The channel was closed by another thread
+				}
+			}
+		}
+	}
+
+	private void accept(SelectionKey key) {
+		ServerSocketChannel server = (ServerSocketChannel) key.channel();
+		IAcceptHandler acceptor = (IAcceptHandler) key.attachment();
+		try {
+			SocketChannel socket;
+			while ((socket = server.accept()) != null) {
+				socket.socket().setReceiveBufferSize(BUFFER_SIZE);
+				socket.socket().setSendBufferSize(BUFFER_SIZE);
+				try {
+					acceptor.accepted(socket);
+				} catch (RuntimeException e) {
+					Logger.logException("Unexpected error while accepting a debug connection.", e); //$NON-NLS-1$
+					socket.close();
+				}
+			}
+		} catch (IOException e) {
+			if (server.isOpen()) {
+				Logger.logException("Error while accepting a debug connection.", e); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void write(DebugChannel channel, SelectionKey key) {
+		try {
+			channel.flush();
+			key.interestOps(channel.getInterestOps());
+		} catch (IOException e) {
+			channel.close();
+		}
+	}
+
+	private void read(DebugChannel channel) {
+		readBuffer.clear();
+		int count;
+		try {
+			count = channel.getSocketChannel().read(readBuffer);
+		} catch (IOException e) {
+			count = -1;
+		}
+		if (count < 0) {
+			channel.close();
+			return;
+		}
+		readBuffer.flip();
+		try {
+			channel.getHandler().received(channel, readBuffer);
+		} catch (RuntimeException e) {
+			Logger.logException("Unexpected error while reading from a debug connection.", e); //$NON-NLS-1$
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.daemon;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the data read from a {@link DebugChannel}.
+ *
+ * Both methods are called on the {@link DebugChannelSelector} thread, which is
+ * shared by all the debug connections, so implementations must never block.
+ * Any long running work should be handed over to a job.
+ */
+public interface IDebugChannelHandler {
+
+	/**
+	 * Called when data was read from the channel. The buffer is reused once this
+	 * method returns, so the handler has to consume or copy all of its remaining
+	 * bytes.
+	 *
+	 * @param channel
+	 *            the channel the data was read from
+	 * @param data
+	 *            the data read
+	 */
+	public void received(DebugChannel channel, ByteBuffer data);
+
+	/**
+	 * Called once, when the channel was closed by either side.
+	 *
+	 * @param channel
+	 *            the closed channel
+	 */
+	public void closed(DebugChannel channel);
+}
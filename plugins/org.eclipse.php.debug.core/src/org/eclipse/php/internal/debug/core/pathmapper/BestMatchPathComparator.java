@@ -37,22 +37,18 @@ public class BestMatchPathComparator implements Comparator<PathEntry> {
 
 	@Override
 	public int compare(PathEntry e1, PathEntry e2) {
-		String[] s1 = e1.getAbstractPath().getSegments();
-		String[] s2 = e2.getAbstractPath().getSegments();
-		int ns1 = 0;
-		int ns2 = 0;
-		boolean found = true;
-		for (int i = 0, j = 0, k = 0; found && i < segments.length && (j < s1.length || k < s2.length); ++i, ++j, ++k) {
-			found = false;
-			if (j < s1.length && s1[j].equals(segments[i])) {
-				ns1 = 0;
-				found = true;
-			}
-			if (k < s2.length && s2[k].equals(segments[i])) {
-				ns2 = 0;
-				found = true;
-			}
+		// More matching last segments first
+		return Integer.compare(getMatchingSegments(e2), getMatchingSegments(e1));
+	}
+
+	private int getMatchingSegments(PathEntry entry) {
+		String[] entrySegments = entry.getAbstractPath().getSegments();
+		int i = segments.length - 1;
+		int j = entrySegments.length - 1;
+		while (i >= 0 && j >= 0 && segments[i].equals(entrySegments[j])) {
+			i--;
+			j--;
 		}
-		return Integer.signum(ns2 - ns1);
+		return segments.length - 1 - i;
 	}
-}
\ No newline at end of file
+}
@@ -320,11 +320,7 @@ public class DebugSearchEngine {
 							if (res instanceof IProject) {
 								IProject project = (IProject) res;
 								if (project.isOpen() && project.isAccessible()) {
-									try {
-										find(project, abstractPath, results);
-									} catch (InterruptedException e) {
-										PHPDebugPlugin.log(e);
-									}
+									find(project, abstractPath, results);
 								}
 							}
 						} else if (entry.getEntryKind() == IBuildpathEntry.BPE_VARIABLE) {
@@ -364,11 +360,7 @@ public class DebugSearchEngine {
 				// file
 				for (IncludePath includePath : includePaths) {
 					if (includePath.getEntry() instanceof IContainer) {
-						try {
-							find((IContainer) includePath.getEntry(), abstractPath, results);
-						} catch (InterruptedException e) {
-							PHPDebugPlugin.log(e);
-						}
+						find((IContainer) includePath.getEntry(), abstractPath, results);
 					}
 				}
 
@@ -607,43 +599,22 @@ public class DebugSearchEngine {
 	}
 
 	/**
-	 * Searches for the path in the given resource
+	 * Searches for the path in the given container
 	 * 
-	 * @param resource
-	 *            Resource to start the search from
+	 * @param container
+	 *            Container to start the search from
 	 * @param path
 	 *            Abstract path of the remote file
 	 * @param results
 	 *            List of results to return
-	 * @throws InterruptedException
 	 */
-	private static void find(final IResource resource, final VirtualPath path, final List<PathEntry> results)
-			throws InterruptedException {
-		if (resource == null || !resource.exists() || !resource.isAccessible()) {
+	private static void find(final IContainer container, final VirtualPath path, final List<PathEntry> results) {
+		if (container == null || !container.exists() || !container.isAccessible()) {
 			return;
 		}
-		WorkspaceJob findJob = new WorkspaceJob("") { //$NON-NLS-1$
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				resource.accept(new IResourceVisitor() {
-					@Override
-					public boolean visit(IResource resource) throws CoreException {
-						if (!resource.isAccessible()) {
-							return false;
-						}
-						if (resource instanceof IFile && resource.getName().equals(path.getLastSegment())) {
-							PathEntry pathEntry = new PathEntry(resource.getFullPath().toString(), Type.WORKSPACE,
-									resource.getParent());
-							results.add(pathEntry);
-						}
-						return true;
-					}
-				});
-				return Status.OK_STATUS;
-			}
-		};
-		findJob.schedule();
-		findJob.join();
+		for (IFile file : WorkspaceFileIndex.INSTANCE.getFiles(container, path.getLastSegment())) {
+			results.add(new PathEntry(file.getFullPath().toString(), Type.WORKSPACE, file.getParent()));
+		}
 	}
 
 	private static class PHPFilenameFilter implements FileFilter, IContentTypeChangeListener {
@@ -188,11 +188,7 @@ public class LocalFileSearchEngine {
 							if (res instanceof IProject) {
 								IProject project = (IProject) res;
 								if (project.isOpen() && project.isAccessible()) {
-									try {
-										find(project, abstractPath, results);
-									} catch (InterruptedException e) {
-										PHPDebugPlugin.log(e);
-									}
+									find(project, abstractPath, results);
 								}
 							}
 						} else if (entry.getEntryKind() == IBuildpathEntry.BPE_VARIABLE) {
@@ -226,11 +222,7 @@ public class LocalFileSearchEngine {
 				// Iterate all include path, and search for a requested file
 				for (IncludePath includePath : includePaths) {
 					if (includePath.getEntry() instanceof IContainer) {
-						try {
-							find((IContainer) includePath.getEntry(), abstractPath, results);
-						} catch (InterruptedException e) {
-							PHPDebugPlugin.log(e);
-						}
+						find((IContainer) includePath.getEntry(), abstractPath, results);
 					}
 				}
 				boolean foundInWorkspace = results.size() > 0;
@@ -265,43 +257,22 @@ public class LocalFileSearchEngine {
 	}
 
 	/**
-	 * Searches for the path in the given resource
+	 * Searches for the path in the given container
 	 * 
-	 * @param resource
-	 *            Resource to start the search from
+	 * @param container
+	 *            Container to start the search from
 	 * @param path
 	 *            Abstract path of the remote file
 	 * @param results
 	 *            List of results to return
-	 * @throws InterruptedException
 	 */
-	private void find(final IResource resource, final VirtualPath path, final List<PathEntry> results)
-			throws InterruptedException {
-		if (resource == null || !resource.exists() || !resource.isAccessible()) {
+	private void find(final IContainer container, final VirtualPath path, final List<PathEntry> results) {
+		if (container == null || !container.exists() || !container.isAccessible()) {
 			return;
 		}
-		WorkspaceJob findJob = new WorkspaceJob("") { //$NON-NLS-1$
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				resource.accept(new IResourceVisitor() {
-					@Override
-					public boolean visit(IResource resource) throws CoreException {
-						if (!resource.isAccessible()) {
-							return false;
-						}
-						if (resource instanceof IFile && resource.getName().equals(path.getLastSegment())) {
-							PathEntry pathEntry = new PathEntry(resource.getFullPath().toString(), Type.WORKSPACE,
-									resource.getParent());
-							results.add(pathEntry);
-						}
-						return true;
-					}
-				});
-				return Status.OK_STATUS;
-			}
-		};
-		findJob.schedule();
-		findJob.join();
+		for (IFile file : WorkspaceFileIndex.INSTANCE.getFiles(container, path.getLastSegment())) {
+			results.add(new PathEntry(file.getFullPath().toString(), Type.WORKSPACE, file.getParent()));
+		}
 	}
 
 	/**
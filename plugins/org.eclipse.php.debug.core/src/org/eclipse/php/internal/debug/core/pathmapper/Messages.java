@@ -22,6 +22,7 @@ public class Messages extends NLS {
 	public static String PathMapper_MappingSource_Environment_Name;
 	public static String PathMapper_MappingSource_Unknown_Name;
 	public static String PathMapper_MappingSource_User_Name;
+	public static String WorkspaceFileIndex_Indexing;
 
 	static {
 		// initialize resource bundle
@@ -21,19 +21,18 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.php.internal.core.util.preferences.IXMLPreferencesStorable;
 import org.eclipse.php.internal.debug.core.pathmapper.PathEntry.Type;
 import org.eclipse.php.internal.debug.core.pathmapper.PathMapper.Mapping.MappingSource;
+import org.eclipse.php.internal.debug.core.pathmapper.VirtualPathTrie.Entry;
 
 public class PathMapper implements IXMLPreferencesStorable {
 
-	private Map<VirtualPath, VirtualPath> remoteToLocalMap;
-	private Map<VirtualPath, VirtualPath> localToRemoteMap;
-	private Map<VirtualPath, Type> localToPathEntryType;
-	private Map<VirtualPath, MappingSource> localToMappingSource;
+	// Lookups read the current tries without locking, modifications are
+	// synchronized
+	private volatile VirtualPathTrie<Mapping> remoteToLocalMap;
+	private volatile VirtualPathTrie<Mapping> localToRemoteMap;
 
 	public PathMapper() {
-		remoteToLocalMap = new HashMap<>();
-		localToRemoteMap = new HashMap<>();
-		localToPathEntryType = new HashMap<>();
-		localToMappingSource = new HashMap<>();
+		remoteToLocalMap = new VirtualPathTrie<>();
+		localToRemoteMap = new VirtualPathTrie<>();
 	}
 
 	public synchronized void addEntry(String remoteFile, PathEntry entry, MappingSource source) {
@@ -65,10 +64,7 @@ public class PathMapper implements IXMLPreferencesStorable {
 			localPath.removeLastSegment();
 		}
 		if (!remotePath.equals(localPath)) {
-			remoteToLocalMap.put(remotePath, localPath);
-			localToRemoteMap.put(localPath, remotePath);
-			localToPathEntryType.put(localPath, entry.getType());
-			localToMappingSource.put(localPath, source);
+			put(new Mapping(localPath, remotePath, entry.getType(), source));
 		}
 	}
 
@@ -77,14 +73,11 @@ public class PathMapper implements IXMLPreferencesStorable {
 																	// original
 																	// entry
 																	// path
-		remoteToLocalMap.put(localPath, localPath);
-		localToRemoteMap.put(localPath, localPath);
-		localToPathEntryType.put(localPath, entry.getType());
-		localToMappingSource.put(localPath, source);
+		put(new Mapping(localPath, localPath, entry.getType(), source));
 	}
 
 	public String getRemoteFile(String localFile) {
-		VirtualPath path = getPath(localToRemoteMap, new VirtualPath(localFile));
+		VirtualPath path = getPath(localToRemoteMap, new VirtualPath(localFile), false);
 		if (path != null) {
 			return path.toString();
 		}
@@ -99,11 +92,12 @@ public class PathMapper implements IXMLPreferencesStorable {
 	 * @return virtual path
 	 */
 	public VirtualPath getLocalPathMapping(VirtualPath remotePath) {
-		return remoteToLocalMap.get(remotePath);
+		Mapping mapping = remoteToLocalMap.get(remotePath);
+		return mapping != null ? mapping.localPath : null;
 	}
 
 	public PathEntry getLocalFile(String remoteFile) {
-		VirtualPath path = getPath(remoteToLocalMap, new VirtualPath(remoteFile));
+		VirtualPath path = getPath(remoteToLocalMap, new VirtualPath(remoteFile), true);
 		if (path != null) {
 			String localFile = path.toString();
 			Type type = getPathType(path);
@@ -128,71 +122,44 @@ public class PathMapper implements IXMLPreferencesStorable {
 	}
 
 	public PathEntry getServerFile(String remoteFile) {
-		VirtualPath tmp = new VirtualPath(remoteFile);
-		for (VirtualPath path : remoteToLocalMap.keySet()) {
-			if (localToPathEntryType.get(path) == Type.SERVER) {
-				if (path.isPrefixOf(tmp)) {
-					return new PathEntry(path, Type.SERVER, null);
-				}
-			}
+		Entry<Mapping> entry = remoteToLocalMap.getLongestPrefix(new VirtualPath(remoteFile),
+				mapping -> mapping.type == Type.SERVER);
+		if (entry != null) {
+			return new PathEntry(entry.key, Type.SERVER, null);
 		}
 		return null;
 	}
 
-	protected VirtualPath getPath(Map<VirtualPath, VirtualPath> map, VirtualPath path) {
-		path = path.clone();
-		VirtualPath mapPath = null;
-		List<String> strippedSegments = new LinkedList<>();
-
-		while (path.getSegmentsCount() > 0) {
-			mapPath = map.get(path);
-			if (mapPath != null) {
-				mapPath = mapPath.clone();
-				break;
-			}
-			strippedSegments.add(path.removeLastSegment());
-		}
-		// Check whether device is mapped (path contains only device):
-		if (mapPath == null) {
-			mapPath = map.get(path);
-			if (mapPath != null) {
-				mapPath = mapPath.clone();
-			}
+	/**
+	 * Maps the longest mapped prefix of the given path and appends the rest of
+	 * the path to the result.
+	 */
+	private static VirtualPath getPath(VirtualPathTrie<Mapping> map, VirtualPath path, boolean toLocal) {
+		Entry<Mapping> entry = map.getLongestPrefix(path, null);
+		if (entry == null) {
+			return null;
 		}
-		// Append all stripped segments to the result path:
-		if (mapPath != null) {
-			ListIterator<String> i = strippedSegments.listIterator(strippedSegments.size());
-			while (i.hasPrevious()) {
-				mapPath.addLastSegment(i.previous());
-			}
+		VirtualPath mapPath = (toLocal ? entry.value.localPath : entry.value.remotePath).clone();
+		String[] segments = path.getSegments();
+		for (int i = entry.key.getSegmentsCount(); i < segments.length; i++) {
+			mapPath.addLastSegment(segments[i]);
 		}
 		return mapPath;
 	}
 
 	protected Type getPathType(VirtualPath path) {
-		path = path.clone();
-		while (path.getSegmentsCount() > 0) {
-			Type type = localToPathEntryType.get(path);
-			if (type != null) {
-				return type;
-			}
-			path.removeLastSegment();
-		}
-		return localToPathEntryType.get(path);
+		Entry<Mapping> entry = localToRemoteMap.getLongestPrefix(path, mapping -> mapping.type != null);
+		return entry != null ? entry.value.type : null;
 	}
 
 	/**
 	 * Returns contents of this path mapper
 	 */
 	public synchronized Mapping[] getMapping() {
-		List<Mapping> l = new ArrayList<>(localToRemoteMap.size());
-		Iterator<VirtualPath> i = localToRemoteMap.keySet().iterator();
-		while (i.hasNext()) {
-			VirtualPath localPath = i.next();
-			VirtualPath remotePath = localToRemoteMap.get(localPath);
-			Type type = localToPathEntryType.get(localPath);
-			MappingSource source = localToMappingSource.get(localPath);
-			l.add(new Mapping(localPath, remotePath, type, source));
+		List<Entry<Mapping>> entries = localToRemoteMap.getEntries();
+		List<Mapping> l = new ArrayList<>(entries.size());
+		for (Entry<Mapping> entry : entries) {
+			l.add(entry.value.clone());
 		}
 		return l.toArray(new Mapping[l.size()]);
 	}
@@ -201,27 +168,20 @@ public class PathMapper implements IXMLPreferencesStorable {
 	 * Sets this path mapper contents removing any previous mappings
 	 */
 	public synchronized void setMapping(Mapping[] mappings) {
-		remoteToLocalMap.clear();
-		localToRemoteMap.clear();
-		localToPathEntryType.clear();
-		localToMappingSource.clear();
-
+		VirtualPathTrie<Mapping> remoteToLocal = new VirtualPathTrie<>();
+		VirtualPathTrie<Mapping> localToRemote = new VirtualPathTrie<>();
 		for (Mapping mapping : mappings) {
-			localToRemoteMap.put(mapping.localPath, mapping.remotePath);
-			remoteToLocalMap.put(mapping.remotePath, mapping.localPath);
-			localToPathEntryType.put(mapping.localPath, mapping.type);
-			localToMappingSource.put(mapping.localPath, mapping.source);
+			put(remoteToLocal, localToRemote, mapping.clone());
 		}
+		remoteToLocalMap = remoteToLocal;
+		localToRemoteMap = localToRemote;
 	}
 
 	/**
 	 * Adds new mapping to this mapper
 	 */
 	public synchronized void addMapping(Mapping mapping) {
-		localToRemoteMap.put(mapping.localPath, mapping.remotePath);
-		remoteToLocalMap.put(mapping.remotePath, mapping.localPath);
-		localToPathEntryType.put(mapping.localPath, mapping.type);
-		localToMappingSource.put(mapping.localPath, mapping.source);
+		put(mapping.clone());
 	}
 
 	/**
@@ -230,8 +190,16 @@ public class PathMapper implements IXMLPreferencesStorable {
 	public synchronized void removeMapping(Mapping mapping) {
 		localToRemoteMap.remove(mapping.localPath);
 		remoteToLocalMap.remove(mapping.remotePath);
-		localToPathEntryType.remove(mapping.localPath);
-		localToMappingSource.remove(mapping.localPath);
+	}
+
+	private void put(Mapping mapping) {
+		put(remoteToLocalMap, localToRemoteMap, mapping);
+	}
+
+	private static void put(VirtualPathTrie<Mapping> remoteToLocal, VirtualPathTrie<Mapping> localToRemote,
+			Mapping mapping) {
+		remoteToLocal.put(mapping.remotePath, mapping);
+		localToRemote.put(mapping.localPath, mapping);
 	}
 
 	public static class Mapping implements Cloneable {
@@ -334,10 +302,8 @@ public class PathMapper implements IXMLPreferencesStorable {
 		if (map == null) {
 			return;
 		}
-		remoteToLocalMap.clear();
-		localToRemoteMap.clear();
-		localToPathEntryType.clear();
-		localToMappingSource.clear();
+		VirtualPathTrie<Mapping> remoteToLocal = new VirtualPathTrie<>();
+		VirtualPathTrie<Mapping> localToRemote = new VirtualPathTrie<>();
 
 		Iterator<String> i = map.keySet().iterator();
 		while (i.hasNext()) {
@@ -355,25 +321,23 @@ public class PathMapper implements IXMLPreferencesStorable {
 				}
 				VirtualPath local = new VirtualPath(localStr);
 				VirtualPath remote = new VirtualPath(remoteStr);
-				remoteToLocalMap.put(remote, local);
-				localToRemoteMap.put(local, remote);
-				localToPathEntryType.put(local, type);
-				localToMappingSource.put(local, source);
+				put(remoteToLocal, localToRemote, new Mapping(local, remote, type, source));
 			}
 		}
+		remoteToLocalMap = remoteToLocal;
+		localToRemoteMap = localToRemote;
 	}
 
 	@Override
 	public synchronized Map<String, Object> storeToMap() {
 		Map<String, Object> entries = new HashMap<>();
-		Iterator<VirtualPath> i = localToRemoteMap.keySet().iterator();
 		int c = 1;
-		while (i.hasNext()) {
+		for (Entry<Mapping> mappingEntry : localToRemoteMap.getEntries()) {
 			Map<String, Object> entry = new HashMap<>();
-			VirtualPath local = i.next();
-			VirtualPath remote = localToRemoteMap.get(local);
-			Type type = localToPathEntryType.get(local);
-			MappingSource source = localToMappingSource.get(local);
+			VirtualPath local = mappingEntry.key;
+			VirtualPath remote = mappingEntry.value.remotePath;
+			Type type = mappingEntry.value.type;
+			MappingSource source = mappingEntry.value.source;
 			entry.put("local", local); //$NON-NLS-1$
 			entry.put("remote", remote); //$NON-NLS-1$
 			if (type != null) {
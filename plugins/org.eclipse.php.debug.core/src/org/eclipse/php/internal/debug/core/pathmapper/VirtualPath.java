@@ -147,6 +147,10 @@ public class VirtualPath implements Cloneable {
 		return sepChar;
 	}
 
+	public String getDevice() {
+		return device;
+	}
+
 	public boolean isPrefixOf(VirtualPath path) {
 		Iterator<String> i1 = segments.iterator();
 		Iterator<String> i2 = path.segments.iterator();
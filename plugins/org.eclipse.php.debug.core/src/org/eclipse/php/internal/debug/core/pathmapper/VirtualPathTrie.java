@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.pathmapper;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Segment trie of values keyed by {@link VirtualPath}. The longest mapped
+ * prefix of a path is resolved with one lookup per path segment.
+ *
+ * Lookups do not lock and may run concurrently with a modification;
+ * modifications must be serialized by the caller.
+ */
+class VirtualPathTrie<V> {
+
+	/**
+	 * Mapped path and its value.
+	 */
+	static class Entry<V> {
+
+		final VirtualPath key;
+		final V value;
+
+		Entry(VirtualPath key, V value) {
+			this.key = key;
+			this.value = value;
+		}
+	}
+
+	private static class Node<V> {
+
+		final Map<String, Node<V>> children = new ConcurrentHashMap<>(4);
+		volatile Entry<V> entry;
+	}
+
+	private final Node<V> root = new Node<>();
+
+	/**
+	 * Returns the value mapped to exactly the given path.
+	 */
+	V get(VirtualPath path) {
+		Node<V> node = root.children.get(getDeviceKey(path));
+		if (node == null) {
+			return null;
+		}
+		for (String segment : path.getSegments()) {
+			node = node.children.get(segment);
+			if (node == null) {
+				return null;
+			}
+		}
+		Entry<V> entry = node.entry;
+		return entry != null ? entry.value : null;
+	}
+
+	/**
+	 * Returns the entry of the longest mapped prefix of the given path, the
+	 * path itself included.
+	 *
+	 * @param path
+	 * @param filter
+	 *            accepts the values to consider, or <code>null</code> for all
+	 * @return the matching entry, or <code>null</code> if no prefix is mapped
+	 */
+	Entry<V> getLongestPrefix(VirtualPath path, Predicate<? super V> filter) {
+		Node<V> node = root.children.get(getDeviceKey(path));
+		if (node == null) {
+			return null;
+		}
+		Entry<V> match = accept(node.entry, filter) ? node.entry : null;
+		for (String segment : path.getSegments()) {
+			node = node.children.get(segment);
+			if (node == null) {
+				break;
+			}
+			Entry<V> entry = node.entry;
+			if (accept(entry, filter)) {
+				match = entry;
+			}
+		}
+		return match;
+	}
+
+	void put(VirtualPath path, V value) {
+		Node<V> node = getChild(root, getDeviceKey(path));
+		for (String segment : path.getSegments()) {
+			node = getChild(node, segment);
+		}
+		Entry<V> entry = node.entry;
+		// Keep the key the path was mapped with first, like a map does
+		node.entry = new Entry<>(entry != null ? entry.key : path, value);
+	}
+
+	void remove(VirtualPath path) {
+		remove(root, getDeviceKey(path), path.getSegments(), 0);
+	}
+
+	/**
+	 * Returns all the entries of this trie.
+	 */
+	List<Entry<V>> getEntries() {
+		List<Entry<V>> entries = new ArrayList<>();
+		collect(root, entries);
+		return entries;
+	}
+
+	/*
+	 * Returns whether the child node is left empty.
+	 */
+	private boolean remove(Node<V> parent, String key, String[] segments, int index) {
+		Node<V> node = parent.children.get(key);
+		if (node == null) {
+			return false;
+		}
+		if (index < segments.length) {
+			if (!remove(node, segments[index], segments, index + 1)) {
+				return false;
+			}
+		} else {
+			node.entry = null;
+		}
+		if (node.entry == null && node.children.isEmpty()) {
+			parent.children.remove(key);
+			return true;
+		}
+		return false;
+	}
+
+	private static <V> Node<V> getChild(Node<V> node, String key) {
+		Node<V> child = node.children.get(key);
+		if (child == null) {
+			child = new Node<>();
+			node.children.put(key, child);
+		}
+		return child;
+	}
+
+	private static <V> void collect(Node<V> node, List<Entry<V>> entries) {
+		Entry<V> entry = node.entry;
+		if (entry != null) {
+			entries.add(entry);
+		}
+		Iterator<Node<V>> i = node.children.values().iterator();
+		while (i.hasNext()) {
+			collect(i.next(), entries);
+		}
+	}
+
+	private static <V> boolean accept(Entry<V> entry, Predicate<? super V> filter) {
+		return entry != null && (filter == null || filter.test(entry.value));
+	}
+
+	private static String getDeviceKey(VirtualPath path) {
+		return path.getSeparatorChar() + path.getDevice();
+	}
+}
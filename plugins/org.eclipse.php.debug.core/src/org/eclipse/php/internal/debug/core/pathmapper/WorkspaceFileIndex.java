@@ -0,0 +1,306 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.pathmapper;
+
+import java.util.*;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.php.internal.debug.core.PHPDebugPlugin;
+
+/**
+ * Index of the workspace files by name, used by the local file search engines
+ * to find the candidates for a remote file without walking the workspace.
+ *
+ * The index is built by a background job when the plug-in starts, and kept up
+ * to date from the resource change events afterwards. The changes received
+ * while the workspace is being walked are replayed on the built index, and the
+ * queries wait until it is built.
+ */
+public enum WorkspaceFileIndex {
+
+	/**
+	 * Default instance.
+	 */
+	INSTANCE;
+
+	private class ResourceChangeListener implements IResourceChangeListener, IResourceDeltaVisitor {
+
+		@Override
+		public void resourceChanged(IResourceChangeEvent event) {
+			IResourceDelta delta = event.getDelta();
+			if (delta == null) {
+				return;
+			}
+			try {
+				delta.accept(this);
+			} catch (CoreException e) {
+				PHPDebugPlugin.log(e);
+			}
+		}
+
+		@Override
+		public boolean visit(IResourceDelta delta) throws CoreException {
+			IResource resource = delta.getResource();
+			switch (resource.getType()) {
+			case IResource.FILE:
+				if (delta.getKind() == IResourceDelta.ADDED) {
+					addAll(Collections.singletonList((IFile) resource));
+				} else if (delta.getKind() == IResourceDelta.REMOVED) {
+					removeFile(resource.getFullPath());
+				}
+				return false;
+			case IResource.PROJECT:
+				if (delta.getKind() == IResourceDelta.REMOVED) {
+					removeProject((IProject) resource);
+					return false;
+				}
+				if ((delta.getFlags() & IResourceDelta.OPEN) != 0) {
+					IProject project = (IProject) resource;
+					if (project.isOpen()) {
+						addAll(collect(project, null));
+					} else {
+						removeProject(project);
+					}
+					return false;
+				}
+				return true;
+			default:
+				return true;
+			}
+		}
+	}
+
+	private class BuildJob extends Job {
+
+		BuildJob() {
+			super(Messages.WorkspaceFileIndex_Indexing);
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			// Walk without the lock, the listener keeps receiving the changes
+			List<IFile> all = collect(ResourcesPlugin.getWorkspace().getRoot(), monitor);
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			synchronized (WorkspaceFileIndex.this) {
+				if (pending == null) {
+					// shut down
+					return Status.CANCEL_STATUS;
+				}
+				for (IFile file : all) {
+					add(file);
+				}
+				for (Object change : pending) {
+					apply(change);
+				}
+				pending = null;
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	private final Map<String, Set<IFile>> files = new HashMap<>();
+	/**
+	 * Changes received while the index is being built: the added files, the
+	 * paths of the removed files and the removed or closed projects,
+	 * <code>null</code> once it is built.
+	 */
+	private List<Object> pending;
+	private IResourceChangeListener listener;
+	private Job buildJob;
+
+	/**
+	 * Starts building the index in the background.
+	 */
+	public synchronized void startup() {
+		if (listener != null) {
+			return;
+		}
+		pending = new ArrayList<>();
+		// Register first, so no change is missed while the index is built
+		listener = new ResourceChangeListener();
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(listener, IResourceChangeEvent.POST_CHANGE);
+		buildJob = new BuildJob();
+		buildJob.schedule();
+	}
+
+	/**
+	 * Returns the accessible workspace files with the given name, inside the
+	 * given container.
+	 *
+	 * @param container
+	 *            Container to search in
+	 * @param name
+	 *            File name
+	 * @return files sorted by their path
+	 */
+	public List<IFile> getFiles(IContainer container, String name) {
+		IPath containerPath = container.getFullPath();
+		List<IFile> result = new ArrayList<>();
+		Job job;
+		synchronized (this) {
+			startup();
+			job = pending != null ? buildJob : null;
+		}
+		if (job != null) {
+			// Not joined under the lock, the job needs it to swap the index in
+			try {
+				job.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		synchronized (this) {
+			Set<IFile> candidates = files.get(name);
+			if (candidates == null) {
+				return result;
+			}
+			for (IFile file : candidates) {
+				if (containerPath.isPrefixOf(file.getFullPath())) {
+					result.add(file);
+				}
+			}
+		}
+		Iterator<IFile> i = result.iterator();
+		while (i.hasNext()) {
+			if (!i.next().isAccessible()) {
+				i.remove();
+			}
+		}
+		Collections.sort(result, new Comparator<IFile>() {
+			@Override
+			public int compare(IFile f1, IFile f2) {
+				return f1.getFullPath().toString().compareTo(f2.getFullPath().toString());
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Shuts down this index.
+	 */
+	public synchronized void shutdown() {
+		if (listener != null) {
+			ResourcesPlugin.getWorkspace().removeResourceChangeListener(listener);
+			listener = null;
+		}
+		if (buildJob != null) {
+			buildJob.cancel();
+			buildJob = null;
+		}
+		pending = null;
+		files.clear();
+	}
+
+	/**
+	 * Returns the files of the given container, walked without holding the
+	 * lock of the index.
+	 */
+	private static List<IFile> collect(IContainer container, final IProgressMonitor monitor) {
+		final List<IFile> result = new ArrayList<>();
+		try {
+			container.accept(new IResourceProxyVisitor() {
+				@Override
+				public boolean visit(IResourceProxy proxy) throws CoreException {
+					if (monitor != null && monitor.isCanceled()) {
+						return false;
+					}
+					if (proxy.getType() == IResource.FILE) {
+						result.add((IFile) proxy.requestResource());
+						return false;
+					}
+					return proxy.isAccessible();
+				}
+			}, IResource.NONE);
+		} catch (CoreException e) {
+			PHPDebugPlugin.log(e);
+		}
+		return result;
+	}
+
+	private synchronized void addAll(List<IFile> added) {
+		if (pending != null) {
+			pending.addAll(added);
+			return;
+		}
+		for (IFile file : added) {
+			add(file);
+		}
+	}
+
+	private synchronized void removeFile(IPath path) {
+		if (pending != null) {
+			pending.add(path);
+			return;
+		}
+		remove(path);
+	}
+
+	private synchronized void removeProject(IProject project) {
+		if (pending != null) {
+			pending.add(project);
+			return;
+		}
+		removeAll(project.getFullPath());
+	}
+
+	private void apply(Object change) {
+		if (change instanceof IFile) {
+			add((IFile) change);
+		} else if (change instanceof IProject) {
+			removeAll(((IProject) change).getFullPath());
+		} else {
+			remove((IPath) change);
+		}
+	}
+
+	private void add(IFile file) {
+		if (file.isTeamPrivateMember() || file.isHidden()) {
+			return;
+		}
+		Set<IFile> candidates = files.get(file.getName());
+		if (candidates == null) {
+			candidates = new HashSet<>(2);
+			files.put(file.getName(), candidates);
+		}
+		candidates.add(file);
+	}
+
+	private void remove(IPath path) {
+		Set<IFile> candidates = files.get(path.lastSegment());
+		if (candidates != null && candidates.remove(ResourcesPlugin.getWorkspace().getRoot().getFile(path))
+				&& candidates.isEmpty()) {
+			files.remove(path.lastSegment());
+		}
+	}
+
+	private void removeAll(IPath path) {
+		Iterator<Set<IFile>> i = files.values().iterator();
+		while (i.hasNext()) {
+			Set<IFile> candidates = i.next();
+			Iterator<IFile> j = candidates.iterator();
+			while (j.hasNext()) {
+				if (path.isPrefixOf(j.next().getFullPath())) {
+					j.remove();
+				}
+			}
+			if (candidates.isEmpty()) {
+				i.remove();
+			}
+		}
+	}
+}
@@ -13,7 +13,7 @@
  *******************************************************************************/
 package org.eclipse.php.internal.debug.core.xdebug.communication;
 
-import java.net.Socket;
+import java.nio.channels.SocketChannel;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -203,16 +203,17 @@ public class XDebugCommunicationDaemon implements ICommunicationDaemon {
 		}
 
 		/**
-		 * Starts a connection handling thread on the given Socket.
+		 * Starts a DBGp session on the given channel. The session is served by the
+		 * shared debug channel selector, so it does not hold any thread while idle.
 		 * 
 		 * @param socket
 		 */
 		@Override
-		protected void startConnection(Socket socket) {
+		protected void startConnection(SocketChannel socket) {
 			/*
-			 * A socket has been accepted by the listener. This runs on the listener thread
-			 * so we should make damn sure we don't throw an exception here otherwise it
-			 * will abort that thread.
+			 * A socket has been accepted by the listener. This runs on a connection
+			 * job so we should make damn sure we don't throw an exception here
+			 * otherwise it will only be logged by the daemon.
 			 */
 			if (DBGpLogger.debugSession()) {
 				DBGpLogger.debug("Connection established: " + socket.toString()); //$NON-NLS-1$
@@ -138,7 +138,7 @@ public class DBGpProxyHandler {
 				// Proxy could be shutdown externally
 				return;
 			}
-			String isOk = DBGpResponse.getAttribute(resp.getParentNode(), "success"); //$NON-NLS-1$
+			String isOk = resp.getTopAttribute("success"); //$NON-NLS-1$
 			if (isOk == null || !isOk.equals("1")) { //$NON-NLS-1$
 				DBGpLogger.logWarning("Unexpected response from proxystop. ErrorCode=" + resp.getErrorCode() + ". msg=" //$NON-NLS-1$ //$NON-NLS-2$
 						+ resp.getErrorMessage(), this, null);
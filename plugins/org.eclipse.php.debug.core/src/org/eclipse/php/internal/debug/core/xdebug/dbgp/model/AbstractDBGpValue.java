@@ -29,38 +29,55 @@ import org.w3c.dom.NodeList;
 public abstract class AbstractDBGpValue extends DBGpElement implements IValue, IPHPDataType {
 
 	/**
-	 * DBGp value data decoder.
+	 * DBGp value data decoder. The raw value is read from the descriptor when
+	 * the response is applied, on the session thread, and only decoded when it
+	 * is requested for the first time.
 	 */
 	protected class DBGpValueData {
 
 		private byte[] fValueBytes = null; // XXX: never set
+		private String fRawValue;
+		private String fRawEncoding;
+		private boolean fDecoded = false;
 		private String fValueString;
 
 		protected DBGpValueData(Node property) {
-			decode(property);
+			Node value = find(property);
+			Node child = value.getFirstChild();
+			if (child != null) {
+				fRawValue = child.getNodeValue();
+				fRawEncoding = DBGpResponse.getAttribute(value, "encoding"); //$NON-NLS-1$
+			} else {
+				fValueString = ""; //$NON-NLS-1$
+				fDecoded = true;
+			}
 		}
 
-		private void decode(Node property) {
+		private Node find(Node property) {
 			if (property.hasChildNodes()) {
 				NodeList childProperties = property.getChildNodes();
 				int nbChildrens = childProperties.getLength();
 				for (int i = nbChildrens - 1; i >= 0; i--) {
 					Node childProperty = childProperties.item(i);
 					if (childProperty.getNodeName().equals("value")) { //$NON-NLS-1$
-						property = childProperty;
-						break;
+						return childProperty;
 					}
 				}
 			}
-			DBGpTarget target = (DBGpTarget) getDebugTarget();
-			fValueString = DBGpUtils.getEncodedStringValue(property, target.getBinaryEncoding());
+			return property;
 		}
 
 		public byte[] getValueBytes() {
 			return fValueBytes;
 		}
 
-		public String getValueString() {
+		public synchronized String getValueString() {
+			if (!fDecoded) {
+				DBGpTarget target = (DBGpTarget) getDebugTarget();
+				fValueString = DBGpUtils.getEncodedStringValue(fRawValue, fRawEncoding, target.getBinaryEncoding());
+				fRawValue = null;
+				fDecoded = true;
+			}
 			return fValueString;
 		}
 
@@ -71,6 +88,8 @@ public abstract class AbstractDBGpValue extends DBGpElement implements IValue, I
 	protected DBGpVariable fOwner;
 	protected String fValueString = ""; //$NON-NLS-1$
 	protected Node fDescriptor;
+	// Value data the value string was not created from yet
+	private DBGpValueData fValueData;
 
 	/**
 	 * Creates new DBGp value.
@@ -109,7 +128,7 @@ public abstract class AbstractDBGpValue extends DBGpElement implements IValue, I
 	 */
 	@Override
 	public String getValueString() throws DebugException {
-		return fValueString;
+		return fetchValueString();
 	}
 
 	/*
@@ -176,10 +195,35 @@ public abstract class AbstractDBGpValue extends DBGpElement implements IValue, I
 	 * 
 	 * @param value
 	 */
-	protected void setValue(String value) {
+	protected synchronized void setValue(String value) {
+		fValueData = null;
 		fValueString = value;
 	}
 
+	/**
+	 * Returns value string, creates it from the last descriptor if it is
+	 * requested for the first time.
+	 * 
+	 * @return value string
+	 */
+	protected synchronized String fetchValueString() {
+		if (fValueData != null) {
+			fValueString = createValueString(fValueData);
+			fValueData = null;
+		}
+		return fValueString;
+	}
+
+	/**
+	 * Returns value string if it was already created.
+	 * 
+	 * @return value string or <code>null</code> if it was not requested since
+	 *         the last update
+	 */
+	synchronized String peekValueString() {
+		return fValueData == null ? fValueString : null;
+	}
+
 	/**
 	 * Returns variable that is owner of this value.
 	 * 
@@ -203,13 +247,14 @@ public abstract class AbstractDBGpValue extends DBGpElement implements IValue, I
 	 * 
 	 * @param descriptor
 	 */
-	protected void update(Node descriptor) {
+	protected synchronized void update(Node descriptor) {
 		// Reset state
 		fDescriptor = descriptor;
 		// Set up type
 		String t = DBGpResponse.getAttribute(fDescriptor, "type"); //$NON-NLS-1$
 		fDataType = DataType.find(t);
-		fValueString = createValueString(new DBGpValueData(fDescriptor));
+		// Value string is created on demand
+		fValueData = new DBGpValueData(fDescriptor);
 	}
 
 }
@@ -197,10 +197,10 @@ public class DBGpStringValue extends AbstractDBGpValue {
 
 	}
 
-	private boolean fIsComplete = false;
 	private int fRequiredBytes;
 	private IVariable[] fStringInfo = null;
 	private byte[] fValueBytes;
+	private String fXMLEncoding;
 
 	/**
 	 * Creates new DBGp string value.
@@ -212,8 +212,8 @@ public class DBGpStringValue extends AbstractDBGpValue {
 	}
 
 	// TODO - where to show complete value?
-	public boolean isComplete() {
-		return fIsComplete;
+	public synchronized boolean isComplete() {
+		return getValueBytes().length >= fRequiredBytes;
 	}
 
 	public int getRequiredBytes() {
@@ -252,7 +252,7 @@ public class DBGpStringValue extends AbstractDBGpValue {
 	 * update(org.w3c.dom.Node)
 	 */
 	@Override
-	protected void update(Node descriptor) {
+	protected synchronized void update(Node descriptor) {
 		super.update(descriptor);
 		// Set up additional string data
 		String size = DBGpResponse.getAttribute(descriptor, "size"); //$NON-NLS-1$
@@ -261,27 +261,36 @@ public class DBGpStringValue extends AbstractDBGpValue {
 			byteLength = Integer.parseInt(size);
 		} catch (NumberFormatException e) {
 		}
-		DBGpValueData data = new DBGpValueData(descriptor);
-		fValueBytes = data.getValueBytes();
+		fStringInfo = null;
+		fValueBytes = null;
+		fRequiredBytes = byteLength;
+		// The descriptor is only read here, the bytes are created on demand
+		fXMLEncoding = descriptor.getOwnerDocument().getInputEncoding();
+	}
+
+	/**
+	 * Returns binary representation of the value, creates it from the value
+	 * string if it is requested for the first time.
+	 * 
+	 * @return value bytes
+	 */
+	private byte[] getValueBytes() {
 		if (fValueBytes == null) {
-			// We didn't get a binary representation, so we must create one
-			String XMLEncoding = descriptor.getOwnerDocument().getInputEncoding();
+			String valueString = fetchValueString();
+			String XMLEncoding = fXMLEncoding;
 			if (XMLEncoding == null) {
 				XMLEncoding = ((DBGpTarget) getDebugTarget()).getBinaryEncoding();
 			}
 			try {
-				fValueBytes = fValueString.getBytes(XMLEncoding);
+				fValueBytes = valueString.getBytes(XMLEncoding);
 			} catch (UnsupportedEncodingException uee) {
 				DBGpLogger.logException("Unexpected encoding problem", this, //$NON-NLS-1$
 						uee);
 				// Use the platform encoding
-				fValueBytes = fValueString.getBytes();
+				fValueBytes = valueString.getBytes();
 			}
 		}
-
-		int actualLength = fValueBytes.length;
-		fIsComplete = actualLength >= byteLength;
-		fRequiredBytes = byteLength;
+		return fValueBytes;
 	}
 
 	/*
@@ -293,14 +302,12 @@ public class DBGpStringValue extends AbstractDBGpValue {
 	 */
 	@Override
 	protected String createValueString(DBGpValueData valueData) {
-		fStringInfo = null;
 		String valueString = valueData.getValueString();
 		if (valueString != null) {
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=533607
 			// return the value as-is, even when blank
 			return valueString;
 		} else {
-			fValueBytes = new byte[0];
 			return ""; //$NON-NLS-1$
 		}
 	}
@@ -323,12 +330,12 @@ public class DBGpStringValue extends AbstractDBGpValue {
 	 * String )
 	 */
 	@Override
-	protected void setValue(String value) {
+	protected synchronized void setValue(String value) {
 		fStringInfo = null;
 		if (value != null) {
-			fValueString = value.trim();
+			super.setValue(value.trim());
 		} else {
-			fValueString = IDBGpModelConstants.INVALID_VAR_CONTENT;
+			super.setValue(IDBGpModelConstants.INVALID_VAR_CONTENT);
 		}
 		byte[] newBytes;
 		try {
@@ -357,7 +364,8 @@ public class DBGpStringValue extends AbstractDBGpValue {
 	 * Creates string info variables (length and virtual array of bytes).
 	 */
 	protected void createVariables() {
-		int byteCount = fValueBytes.length;
+		byte[] valueBytes = getValueBytes();
+		int byteCount = valueBytes.length;
 		fStringInfo = new IVariable[1];
 		// Add length element
 		fStringInfo[0] = new InfoVariable(PHPDebugCoreMessages.XDebug_DBGpStringValue_0,
@@ -380,7 +388,7 @@ public class DBGpStringValue extends AbstractDBGpValue {
 				final int partitionSize = (endIndex - startIndex) + 1;
 				final IVariable[] partitionVariables = new IVariable[partitionSize];
 				for (int j = startIndex; j <= endIndex; j++) {
-					IValue byteValue = new InfoByteValue(fValueBytes[j], getDebugTarget());
+					IValue byteValue = new InfoByteValue(valueBytes[j], getDebugTarget());
 					partitionVariables[j - startIndex] = new InfoVariable('[' + Integer.toString(j) + ']', byteValue,
 							getDebugTarget(), VIRTUAL_ARRAY_MEMBER);
 				}
@@ -395,7 +403,7 @@ public class DBGpStringValue extends AbstractDBGpValue {
 		} else {
 			byteVariables = new InfoVariable[byteCount];
 			for (int i = 0; i < byteCount; i++) {
-				IValue byteValue = new InfoByteValue(fValueBytes[i], getDebugTarget());
+				IValue byteValue = new InfoByteValue(valueBytes[i], getDebugTarget());
 				byteVariables[i] = new InfoVariable('[' + Integer.toString(i) + ']', byteValue, getDebugTarget(),
 						VIRTUAL_ARRAY_MEMBER);
 			}
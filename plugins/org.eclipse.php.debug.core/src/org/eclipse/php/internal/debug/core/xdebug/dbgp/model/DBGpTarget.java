@@ -22,6 +22,7 @@ import java.io.UnsupportedEncodingException;
 import java.text.MessageFormat;
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -1114,19 +1115,29 @@ public class DBGpTarget extends DBGpElement implements IPHPDebugTarget, IDBGpDeb
 	 * setup DBGp specific features, or get information about environment
 	 */
 	private void negotiateDBGpFeatures() {
+		/*
+		 * Send all the commands in one go and only then wait for the responses,
+		 * none of the arguments depend on the session encoding.
+		 */
+		List<CompletableFuture<DBGpResponse>> featureSets = new ArrayList<>();
+		featureSets.add(session.sendCmd(DBGpCommand.featureSet, "-n show_hidden -v 1")); //$NON-NLS-1$
+		featureSets.add(
+				session.sendCmd(DBGpCommand.featureSet, "-n extended_properties -v " + getUseExtendedProperties())); //$NON-NLS-1$
+		featureSets.add(session.sendCmd(DBGpCommand.featureSet, "-n max_depth -v " + getMaxDepth())); //$NON-NLS-1$
+		featureSets.add(session.sendCmd(DBGpCommand.featureSet, "-n max_children -v " + getMaxChildren())); //$NON-NLS-1$
+		featureSets.add(session.sendCmd(DBGpCommand.featureSet, "-n max_data -v " + getMaxData())); //$NON-NLS-1$
+		CompletableFuture<DBGpResponse> encoding = session.sendCmd(DBGpCommand.featureGet, "-n encoding"); //$NON-NLS-1$
+		CompletableFuture<DBGpResponse> supportsAsync = session.sendCmd(DBGpCommand.featureGet,
+				"-n supports_async"); //$NON-NLS-1$
+		featureSets.add(session.sendCmd(DBGpCommand.stdout, "-c " + getCaptureStdout())); //$NON-NLS-1$
+		featureSets.add(session.sendCmd(DBGpCommand.stderr, "-c " + getCaptureStderr())); //$NON-NLS-1$
+
 		DBGpResponse resp;
-		resp = session.sendSyncCmd(DBGpCommand.featureSet, "-n show_hidden -v 1"); //$NON-NLS-1$
-		// check the responses, but keep going.
-		DBGpUtils.isGoodDBGpResponse(this, resp);
-		resp = session.sendSyncCmd(DBGpCommand.featureSet, "-n extended_properties -v " + getUseExtendedProperties()); //$NON-NLS-1$
-		DBGpUtils.isGoodDBGpResponse(this, resp);
-		resp = session.sendSyncCmd(DBGpCommand.featureSet, "-n max_depth -v " + getMaxDepth()); //$NON-NLS-1$
-		DBGpUtils.isGoodDBGpResponse(this, resp);
-		resp = session.sendSyncCmd(DBGpCommand.featureSet, "-n max_children -v " + getMaxChildren()); //$NON-NLS-1$
-		DBGpUtils.isGoodDBGpResponse(this, resp);
-		resp = session.sendSyncCmd(DBGpCommand.featureSet, "-n max_data -v " + getMaxData()); //$NON-NLS-1$
-		DBGpUtils.isGoodDBGpResponse(this, resp);
-		resp = session.sendSyncCmd(DBGpCommand.featureGet, "-n encoding"); //$NON-NLS-1$
+		for (CompletableFuture<DBGpResponse> featureSet : featureSets) {
+			// check the responses, but keep going.
+			DBGpUtils.isGoodDBGpResponse(this, DBGpSession.getResponse(featureSet));
+		}
+		resp = DBGpSession.getResponse(encoding);
 		if (DBGpUtils.isGoodDBGpResponse(this, resp)) {
 			Node child = resp.getParentNode().getFirstChild();
 			if (child != null) {
@@ -1141,7 +1152,7 @@ public class DBGpTarget extends DBGpElement implements IPHPDebugTarget, IDBGpDeb
 		}
 
 		asyncSupported = false;
-		resp = session.sendSyncCmd(DBGpCommand.featureGet, "-n supports_async"); //$NON-NLS-1$
+		resp = DBGpSession.getResponse(supportsAsync);
 		if (DBGpUtils.isGoodDBGpResponse(this, resp)) {
 			// TODO: could check the supported atttribute ?
 			// String supportedAttr = DBGpResponse.getAttribute(resp,
@@ -1154,11 +1165,6 @@ public class DBGpTarget extends DBGpElement implements IPHPDebugTarget, IDBGpDeb
 				}
 			}
 		}
-
-		resp = session.sendSyncCmd(DBGpCommand.stdout, "-c " + getCaptureStdout()); //$NON-NLS-1$
-		DBGpUtils.isGoodDBGpResponse(this, resp);
-		resp = session.sendSyncCmd(DBGpCommand.stderr, "-c " + getCaptureStderr()); //$NON-NLS-1$
-		DBGpUtils.isGoodDBGpResponse(this, resp);
 	}
 
 	/**
@@ -1246,20 +1252,36 @@ public class DBGpTarget extends DBGpElement implements IPHPDebugTarget, IDBGpDeb
 	}
 
 	/**
-	 * get the super globals. never returns null (IVariable[0]). Cache the info
-	 * so that it is never got again when going to other stack levels to view
-	 * variables.
+	 * get the local variables at a particular stack level and the super globals
+	 * in one round trip. Never returns null (IVariable[0]). Cache the super
+	 * globals so that they are never got again when going to other stack levels
+	 * to view variables.
 	 * 
-	 * @return
+	 * @param level
+	 * @return the super globals followed by the local variables
 	 */
-	private IVariable[] getSuperGlobalVars() {
-		if (superGlobalVars == null) {
-			DBGpResponse resp = session.sendSyncCmd(DBGpCommand.contextGet, "-c 1"); //$NON-NLS-1$
-			// Parse this into a variables block, switch on preload just for
-			// this
-			superGlobalVars = parseVarResp(resp, "-1"); //$NON-NLS-1$
+	private IVariable[] getContextVars(String level) {
+		if (superGlobalVars != null) {
+			return merge(superGlobalVars, getContextLocalVars(level));
+		}
+		CompletableFuture<DBGpResponse> globals = session.sendCmd(DBGpCommand.contextGet, "-c 1"); //$NON-NLS-1$
+		CompletableFuture<DBGpResponse> locals = session.sendCmd(DBGpCommand.contextGet, "-d " + level); //$NON-NLS-1$
+		superGlobalVars = parseVarResp(DBGpSession.getResponse(globals), "-1"); //$NON-NLS-1$
+		return merge(superGlobalVars, parseVarResp(DBGpSession.getResponse(locals), level));
+	}
+
+	private static IVariable[] merge(IVariable[] globals, IVariable[] locals) {
+		int totalLength = globals.length + locals.length;
+
+		IVariable[] merged = new IVariable[totalLength];
+
+		if (globals.length > 0) {
+			System.arraycopy(globals, 0, merged, 0, globals.length);
+		}
+		if (locals.length > 0) {
+			System.arraycopy(locals, 0, merged, globals.length, locals.length);
 		}
-		return superGlobalVars;
+		return merged;
 	}
 
 	/**
@@ -1295,22 +1317,11 @@ public class DBGpTarget extends DBGpElement implements IPHPDebugTarget, IDBGpDeb
 
 	private IVariable[] getContextAtLevel(String level) {
 		boolean getSuperGlobals = showGLobals();
-		IVariable[] globals = null;
+		IVariable[] merged;
 		if (getSuperGlobals) {
-			globals = getSuperGlobalVars();
+			merged = getContextVars(level);
 		} else {
-			globals = new IVariable[0];
-		}
-		IVariable[] locals = getContextLocalVars(level);
-		int totalLength = globals.length + locals.length;
-
-		IVariable[] merged = new IVariable[totalLength];
-
-		if (globals.length > 0) {
-			System.arraycopy(globals, 0, merged, 0, globals.length);
-		}
-		if (locals.length > 0) {
-			System.arraycopy(locals, 0, merged, globals.length, locals.length);
+			merged = getContextLocalVars(level);
 		}
 		setContextFacets(merged);
 		VariablesUtil.sortContextMembers(merged);
@@ -268,7 +268,7 @@ public abstract class DBGpVariable extends DBGpElement implements IVariable, IVa
 		// Catch previous value string if there is any
 		String previousValueString = null;
 		if (fValue != null) {
-			previousValueString = fValue.fValueString;
+			previousValueString = fValue.peekValueString();
 		}
 		fDataType = DataType.find(type);
 		if (fValue != null && fValue.getDataType() == fDataType) {
@@ -278,7 +278,7 @@ public abstract class DBGpVariable extends DBGpElement implements IVariable, IVa
 		}
 		// Check if value has changed
 		if (previousValueString != null) {
-			fHasValueChanged = !previousValueString.equals(fValue.fValueString);
+			fHasValueChanged = !previousValueString.equals(fValue.fetchValueString());
 		}
 	}
 
@@ -14,10 +14,10 @@
 package org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol;
 
 import java.io.IOException;
-import java.io.OutputStream;
 import java.io.OutputStreamWriter;
-import java.net.Socket;
+import java.nio.ByteBuffer;
 
+import org.eclipse.php.internal.debug.core.daemon.DebugChannel;
 import org.eclipse.php.internal.debug.core.xdebug.dbgp.DBGpLogger;
 
 public class DBGpCommand {
@@ -109,7 +109,7 @@ public class DBGpCommand {
 	// break
 	public static final String suspend = "break"; //$NON-NLS-1$
 
-	Socket socket;
+	DebugChannel channel;
 	OutputStreamWriter outStream;
 
 	private static int trId = 0;
@@ -122,8 +122,8 @@ public class DBGpCommand {
 		return lastCmdSent;
 	}
 
-	public DBGpCommand(Socket socket) {
-		this.socket = socket;
+	public DBGpCommand(DebugChannel channel) {
+		this.channel = channel;
 		/*
 		 * try { outStream = new OutputStreamWriter(socket.getOutputStream(), ENCODING);
 		 * } catch (UnsupportedEncodingException e) { DBGpLogger.logException(null,
@@ -161,8 +161,7 @@ public class DBGpCommand {
 			DBGpLogger.debug("cmd: " + fullCmd); //$NON-NLS-1$
 		}
 
-		synchronized (socket) {
-			OutputStream os = socket.getOutputStream();
+		synchronized (channel) {
 			// Bug: 226860
 			// Want to avoid 2 writes as some tcpip implementations
 			// may delay waiting for a response from the 1st write
@@ -176,8 +175,7 @@ public class DBGpCommand {
 			byte[] cmdBytes = fullCmd.getBytes(encoding);
 			byte[] cmdWithTerm = new byte[cmdBytes.length + 1];
 			System.arraycopy(cmdBytes, 0, cmdWithTerm, 0, cmdBytes.length);
-			os.write(cmdWithTerm);
-			os.flush();
+			channel.write(ByteBuffer.wrap(cmdWithTerm));
 			lastIdSent = cmdId;
 			lastCmdSent = fullCmd;
 
@@ -199,7 +197,7 @@ public class DBGpCommand {
 		// on a different thread, lastIdSent is at the latest value which occurs
 		// after the last part of the write and the update takes place and is
 		// controlled by the syncing of the socket.
-		synchronized (socket) {
+		synchronized (channel) {
 			id = lastIdSent;
 		}
 		return id;
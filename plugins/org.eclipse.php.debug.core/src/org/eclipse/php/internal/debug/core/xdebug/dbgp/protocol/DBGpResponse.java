@@ -14,16 +14,22 @@ package org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.eclipse.dltk.annotations.NonNull;
 import org.eclipse.dltk.annotations.Nullable;
 import org.eclipse.php.internal.debug.core.xdebug.dbgp.DBGpLogger;
 import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -34,6 +40,13 @@ import org.xml.sax.SAXException;
  * status attributes and Error code child only status entries occur when a
  * program suspends or a status request is made
  * 
+ * Responses are read with a pull parser in a single pass: the children of the
+ * top element (properties, stack frames, error information) are built into a
+ * document tree as they are read, and most of the responses (run, step,
+ * breakpoint and feature commands) have none. Property values are kept as the
+ * raw (base64) text, they are decoded by the model when they are displayed.
+ * Only the other packets (init, stream and proxy) are parsed again into a
+ * document if {@link #getParentNode()} is called on them.
  */
 public class DBGpResponse {
 
@@ -88,9 +101,37 @@ public class DBGpResponse {
 	public static final String REASON_ABORTED = "aborted"; //$NON-NLS-1$
 	public static final String REASON_EXCEPTION = "exception"; //$NON-NLS-1$
 
-	private DocumentBuilder db;
-	private Document doc;
+	/*
+	 * Neither the factories nor the builders are thread safe, responses are
+	 * parsed by the session jobs so keep one per thread.
+	 */
+	private static final ThreadLocal<XMLInputFactory> INPUT_FACTORY = new ThreadLocal<XMLInputFactory>() {
+		@Override
+		protected XMLInputFactory initialValue() {
+			XMLInputFactory factory = XMLInputFactory.newInstance();
+			factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+			factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+			factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+			return factory;
+		}
+	};
+
+	private static final ThreadLocal<DocumentBuilder> DOCUMENT_BUILDER = new ThreadLocal<DocumentBuilder>() {
+		@Override
+		protected DocumentBuilder initialValue() {
+			try {
+				return DocumentBuilderFactory.newInstance().newDocumentBuilder();
+			} catch (ParserConfigurationException e) {
+				DBGpLogger.logException(null, this, e);
+				return null;
+			}
+		}
+	};
+
 	private Node parent;
+	private String parentName;
+	private final Map<String, String> topAttributes = new HashMap<>();
 
 	// type
 	public static final int PARSE_FAILURE = 0;
@@ -157,66 +198,64 @@ public class DBGpResponse {
 	private byte[] rawXML;
 
 	public DBGpResponse() {
-		DocumentBuilderFactory dbFact = DocumentBuilderFactory.newInstance();
-		try {
-			db = dbFact.newDocumentBuilder();
-		} catch (ParserConfigurationException e) {
-			DBGpLogger.logException(null, this, e);
-		}
 	}
 
 	public void parseResponse(byte[] xmlResponse) {
 		rawXML = xmlResponse;
-		if (db != null && xmlResponse != null) {
-			ByteArrayInputStream bais = new ByteArrayInputStream(xmlResponse);
-			parseResponse(bais);
+		parent = null;
+		if (xmlResponse != null) {
+			parseResponse(INPUT_FACTORY.get(), xmlResponse);
 		} else {
 			type = PARSE_FAILURE;
 			errorCode = ERROR_PARSE_FAILURE;
 		}
 	}
 
-	private void parseResponse(InputStream is) {
+	private void parseResponse(XMLInputFactory factory, byte[] xmlResponse) {
 		id = null;
 		command = null;
 		type = UNKNOWN_TYPE;
 		errorCode = ERROR_UNKNOWN_TYPE;
+		topAttributes.clear();
 
+		XMLStreamReader reader = null;
 		try {
-			doc = db.parse(is);
-			parent = doc.getFirstChild();
-			String nodeName = parent.getNodeName();
-			if (nodeName.equals("response")) { //$NON-NLS-1$
-				parseResponseType();
-			} else if (nodeName.equals("init")) { //$NON-NLS-1$
-				parseInitType();
-			} else if (nodeName.equals("stream")) { //$NON-NLS-1$
-				parseStreamType();
-			} else if (nodeName.equals("proxyinit")) { //$NON-NLS-1$
-				parseProxyInitType();
-			} else if (nodeName.equals("proxyerror")) { //$NON-NLS-1$
-				parseProxyErrorType();
+			reader = factory.createXMLStreamReader(new ByteArrayInputStream(xmlResponse));
+			reader.nextTag();
+			parentName = reader.getLocalName();
+			for (int i = 0; i < reader.getAttributeCount(); i++) {
+				topAttributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
 			}
-
-		} catch (SAXException e) {
-			DBGpLogger.logException(null, this, e);
-			type = PARSE_FAILURE;
-			errorCode = ERROR_PARSE_FAILURE;
-		} catch (IOException e) {
+			if (parentName.equals("response")) { //$NON-NLS-1$
+				parseResponseType(reader);
+			} else if (parentName.equals("init")) { //$NON-NLS-1$
+				parseInitType(reader);
+			} else if (parentName.equals("stream")) { //$NON-NLS-1$
+				parseStreamType(reader);
+			} else if (parentName.equals("proxyinit")) { //$NON-NLS-1$
+				parseProxyInitType(reader);
+			} else if (parentName.equals("proxyerror")) { //$NON-NLS-1$
+				parseProxyErrorType(reader);
+			}
+		} catch (XMLStreamException e) {
 			DBGpLogger.logException(null, this, e);
 			type = PARSE_FAILURE;
 			errorCode = ERROR_PARSE_FAILURE;
+		} finally {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (XMLStreamException e) {
+					// nothing to release
+				}
+			}
 		}
-		// System.out.println("wait for me");
 	}
 
-	private void parseStreamType() {
+	private void parseStreamType(XMLStreamReader reader) throws XMLStreamException {
 		type = STREAM;
 		streamType = getTopAttribute("type"); //$NON-NLS-1$
-		Node Child = parent.getFirstChild();
-		if (Child != null) {
-			streamData = Child.getNodeValue();
-		}
+		streamData = getFirstChildText(reader);
 
 		if (streamType.length() != 0) {
 			errorCode = ERROR_OK;
@@ -226,21 +265,21 @@ public class DBGpResponse {
 
 	}
 
-	private void parseProxyInitType() {
+	private void parseProxyInitType(XMLStreamReader reader) throws XMLStreamException {
 		type = PROXY_INIT;
 		idekey = getTopAttribute("idekey"); //$NON-NLS-1$
 		// caller can retrieve address, port
-		getErrorInformation(false);
+		getErrorInformation(reader, false);
 
 	}
 
-	private void parseProxyErrorType() {
+	private void parseProxyErrorType(XMLStreamReader reader) throws XMLStreamException {
 		type = PROXY_ERROR;
-		getErrorInformation(false);
+		getErrorInformation(reader, false);
 
 	}
 
-	private void parseInitType() {
+	private void parseInitType(XMLStreamReader reader) throws XMLStreamException {
 		// get the init information
 		type = INIT;
 		idekey = getTopAttribute("idekey"); //$NON-NLS-1$
@@ -252,14 +291,15 @@ public class DBGpResponse {
 		fileUri = getTopAttribute("fileuri"); //$NON-NLS-1$
 		// engine may not be the first child so you will need to search
 		// for it.
-		NodeList nodes = parent.getChildNodes();
-		for (int i = 0; i < nodes.getLength(); i++) {
-			Node node = nodes.item(i);
-			if (node.getNodeName().equals("engine")) { //$NON-NLS-1$
-				engineVersion = getAttribute(node, "version"); //$NON-NLS-1$
-				NodeList moreNodes = node.getChildNodes();
-				if (moreNodes != null && moreNodes.getLength() > 0) {
-					String engineTypeStr = moreNodes.item(0).getNodeValue();
+		int depth = 0;
+		while (depth >= 0 && reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				depth--;
+			} else if (event == XMLStreamConstants.START_ELEMENT) {
+				if (depth == 0 && reader.getLocalName().equals("engine")) { //$NON-NLS-1$
+					engineVersion = getAttribute(reader, "version"); //$NON-NLS-1$
+					String engineTypeStr = getFirstChildText(reader);
 					if (engineTypeStr != null) {
 						try {
 							engineType = EngineTypes.valueOf(engineTypeStr);
@@ -267,9 +307,9 @@ public class DBGpResponse {
 							engineType = EngineTypes.other;
 						}
 					}
-
+					break;
 				}
-				i = nodes.getLength();
+				depth++;
 			}
 		}
 		if (idekey.length() != 0 && fileUri.length() != 0) {
@@ -279,46 +319,191 @@ public class DBGpResponse {
 		}
 	}
 
-	private void parseResponseType() {
+	private void parseResponseType(XMLStreamReader reader) throws XMLStreamException {
 		type = RESPONSE;
 		id = getTopAttribute("transaction_id"); //$NON-NLS-1$
 		command = getTopAttribute("command"); //$NON-NLS-1$
 		status = getTopAttribute("status"); //$NON-NLS-1$
 		reason = getTopAttribute("reason"); //$NON-NLS-1$
-		getErrorInformation(true);
+		DocumentBuilder db = DOCUMENT_BUILDER.get();
+		if (db == null) {
+			getErrorInformation(reader, true);
+			return;
+		}
+		parent = readTree(db, reader);
+		Node child = parent != null ? parent.getFirstChild() : null;
+		if (child != null && child.getNodeName().equals("error")) { //$NON-NLS-1$
+			setErrorCode(getAttribute(child, "code")); //$NON-NLS-1$
+			Node message = child.getFirstChild();
+			if (message != null && message.getNodeType() == Node.ELEMENT_NODE) {
+				Node text = message.getFirstChild();
+				errorMessage = text != null && text.getNodeType() != Node.ELEMENT_NODE ? text.getNodeValue() : null;
+			}
+		} else {
+			setNoError(true);
+		}
 	}
 
-	private void getErrorInformation(boolean checkID) {
+	private void getErrorInformation(XMLStreamReader reader, boolean checkID) throws XMLStreamException {
 		// get the error information
-		Node errNode = parent.getFirstChild();
-		if (errNode != null && errNode.getNodeName().equals("error")) { //$NON-NLS-1$
-			String errVal = getAttribute(errNode, "code"); //$NON-NLS-1$
-			try {
-				errorCode = Integer.parseInt(errVal);
-			} catch (NumberFormatException nfe) {
-				errorCode = ERROR_UNKNOWN_ERROR_CODE;
+		if (nextChild(reader) == XMLStreamConstants.START_ELEMENT && reader.getLocalName().equals("error")) { //$NON-NLS-1$
+			setErrorCode(getAttribute(reader, "code")); //$NON-NLS-1$
+			if (nextChild(reader) == XMLStreamConstants.START_ELEMENT) {
+				errorMessage = getFirstChildText(reader);
 			}
-			Node msgNode = errNode.getFirstChild();
-			if (msgNode != null) {
-				Node dataNode = msgNode.getFirstChild();
-				if (dataNode != null) {
-					errorMessage = dataNode.getNodeValue();
+		} else {
+			setNoError(checkID);
+		}
+	}
+
+	private void setErrorCode(String errVal) {
+		try {
+			errorCode = Integer.parseInt(errVal);
+		} catch (NumberFormatException nfe) {
+			errorCode = ERROR_UNKNOWN_ERROR_CODE;
+		}
+	}
+
+	private void setNoError(boolean checkID) {
+		errorCode = ERROR_OK;
+		if (checkID && (id == null || id.length() == 0)) {
+			errorCode = ERROR_INVALID_RESPONSE;
+		}
+	}
+
+	/*
+	 * Reads the rest of the top element into a document tree, returns null if
+	 * the top element has no content. Comments and processing instructions are
+	 * skipped.
+	 */
+	private Node readTree(DocumentBuilder db, XMLStreamReader reader) throws XMLStreamException {
+		Document document = null;
+		Node top = null;
+		Node current = null;
+		while (reader.hasNext()) {
+			int event = reader.next();
+			if (event == XMLStreamConstants.END_ELEMENT) {
+				if (current == top) {
+					break;
 				}
+				current = current.getParentNode();
+				continue;
 			}
-		} else {
-			errorCode = ERROR_OK;
-			if (checkID && (id == null || id.length() == 0)) {
-				errorCode = ERROR_INVALID_RESPONSE;
+			if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.CHARACTERS
+					&& event != XMLStreamConstants.CDATA && event != XMLStreamConstants.SPACE) {
+				continue;
 			}
+			if (top == null) {
+				document = db.newDocument();
+				top = createTopElement(document);
+				document.appendChild(top);
+				current = top;
+			}
+			switch (event) {
+			case XMLStreamConstants.START_ELEMENT:
+				Element element = document.createElement(getQName(reader.getPrefix(), reader.getLocalName()));
+				for (int i = 0; i < reader.getAttributeCount(); i++) {
+					element.setAttribute(getQName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i)),
+							reader.getAttributeValue(i));
+				}
+				current.appendChild(element);
+				current = element;
+				break;
+			case XMLStreamConstants.CDATA:
+				current.appendChild(document.createCDATASection(reader.getText()));
+				break;
+			default:
+				current.appendChild(document.createTextNode(reader.getText()));
+				break;
+			}
+		}
+		return top;
+	}
+
+	private Element createTopElement(Document document) {
+		Element top = document.createElement(parentName != null ? parentName : "response"); //$NON-NLS-1$
+		for (Map.Entry<String, String> attribute : topAttributes.entrySet()) {
+			top.setAttribute(attribute.getKey(), attribute.getValue());
+		}
+		return top;
+	}
+
+	private static String getQName(String prefix, String localName) {
+		return prefix != null && prefix.length() != 0 ? prefix + ':' + localName : localName;
+	}
+
+	/*
+	 * Moves to the first child node of the current element, returns
+	 * END_ELEMENT if there is none.
+	 */
+	private static int nextChild(XMLStreamReader reader) throws XMLStreamException {
+		int event = reader.next();
+		while (event == XMLStreamConstants.COMMENT || event == XMLStreamConstants.PROCESSING_INSTRUCTION) {
+			event = reader.next();
 		}
+		return event;
 	}
 
-	public Node getParentNode() {
-		return doc.getFirstChild();
+	/*
+	 * Returns the value of the first child node of the current element, null if
+	 * there is no child or the child is an element.
+	 */
+	private static String getFirstChildText(XMLStreamReader reader) throws XMLStreamException {
+		switch (nextChild(reader)) {
+		case XMLStreamConstants.CHARACTERS:
+		case XMLStreamConstants.CDATA:
+		case XMLStreamConstants.SPACE:
+			return reader.getText();
+		default:
+			return null;
+		}
+	}
+
+	private static String getAttribute(XMLStreamReader reader, String attrName) {
+		String attrValue = reader.getAttributeValue(null, attrName);
+		return attrValue != null ? attrValue : ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the top element of the response. Responses without content get
+	 * an empty element, other packets are parsed into a document on the first
+	 * call.
+	 * 
+	 * @return the top element
+	 */
+	public synchronized Node getParentNode() {
+		if (parent == null) {
+			parent = parseDocument();
+		}
+		return parent;
+	}
+
+	private Node parseDocument() {
+		DocumentBuilder db = DOCUMENT_BUILDER.get();
+		if (db == null) {
+			return null;
+		}
+		if (type == RESPONSE) {
+			// Read in full already
+			Document document = db.newDocument();
+			return document.appendChild(createTopElement(document));
+		}
+		if (rawXML != null) {
+			try {
+				return db.parse(new ByteArrayInputStream(rawXML)).getFirstChild();
+			} catch (SAXException e) {
+				DBGpLogger.logException(null, this, e);
+			} catch (IOException e) {
+				DBGpLogger.logException(null, this, e);
+			}
+		}
+		// Broken response, hand out an empty element instead
+		return db.newDocument().createElement(parentName != null ? parentName : "response"); //$NON-NLS-1$
 	}
 
 	public String getTopAttribute(String attrName) {
-		return getAttribute(parent, attrName);
+		String attrValue = topAttributes.get(attrName);
+		return attrValue != null ? attrValue : ""; //$NON-NLS-1$
 	}
 
 	public static String getAttribute(@NonNull Node node, @NonNull String attrName) {
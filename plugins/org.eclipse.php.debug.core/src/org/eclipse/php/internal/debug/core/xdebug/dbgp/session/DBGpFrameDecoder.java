@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.xdebug.dbgp.session;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Incrementally splits the data received from a DBGp engine into messages. The
+ * DBGp protocol is as follows "xxx\0" where xxx is the length of the message to
+ * follow "message\0" where message is the data we are interested in.
+ * <p>
+ * The message buffer is allocated from the length sent by the engine, so
+ * messages longer than a maximum length are rejected.
+ * </p>
+ */
+public class DBGpFrameDecoder {
+
+	/**
+	 * Default maximum length of a message, far above the size of the
+	 * properties returned with the default max_data setting.
+	 */
+	public static final int MAX_LENGTH = 64 * 1024 * 1024;
+
+	private static final int LENGTH = 0;
+	private static final int MESSAGE = 1;
+	private static final int TERMINATOR = 2;
+	private static final int INVALID = 3;
+
+	private final int maxLength;
+	private int state = LENGTH;
+	private int length;
+	private byte[] message;
+	private int position;
+
+	public DBGpFrameDecoder() {
+		this(MAX_LENGTH);
+	}
+
+	/**
+	 * @param maxLength
+	 *            the maximum length of a message
+	 */
+	public DBGpFrameDecoder(int maxLength) {
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * Decodes all the bytes remaining in the given buffer.
+	 *
+	 * @param data
+	 *            the received data
+	 * @param messages
+	 *            the list the complete messages are added to
+	 * @return <code>false</code> if the data does not follow the protocol or a
+	 *         message is too long, in which case the connection should be
+	 *         dropped
+	 */
+	public boolean decode(ByteBuffer data, List<byte[]> messages) {
+		while (data.hasRemaining()) {
+			switch (state) {
+			case LENGTH: {
+				byte b = data.get();
+				if (b == 0) {
+					message = new byte[length];
+					position = 0;
+					state = length > 0 ? MESSAGE : TERMINATOR;
+				} else if (b >= '0' && b <= '9' && length <= (maxLength - (b - '0')) / 10) {
+					length = length * 10 + b - '0';
+				} else {
+					// Not a digit, or a message longer than the maximum
+					state = INVALID;
+				}
+				break;
+			}
+			case MESSAGE: {
+				int count = Math.min(data.remaining(), length - position);
+				data.get(message, position, count);
+				position += count;
+				if (position == length) {
+					state = TERMINATOR;
+				}
+				break;
+			}
+			case TERMINATOR: {
+				if (data.get() != 0) {
+					state = INVALID;
+					break;
+				}
+				messages.add(message);
+				message = null;
+				length = 0;
+				state = LENGTH;
+				break;
+			}
+			default:
+				data.position(data.limit());
+				return false;
+			}
+		}
+		return state != INVALID;
+	}
+}
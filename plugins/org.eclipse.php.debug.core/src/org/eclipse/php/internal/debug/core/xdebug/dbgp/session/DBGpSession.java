@@ -13,15 +13,23 @@
  *******************************************************************************/
 package org.eclipse.php.internal.debug.core.xdebug.dbgp.session;
 
-import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.net.InetAddress;
-import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.nio.charset.Charset;
-import java.util.Hashtable;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -36,6 +44,9 @@ import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.model.IStepFilters;
 import org.eclipse.php.debug.core.debugger.parameters.IDebugParametersKeys;
 import org.eclipse.php.internal.core.Logger;
+import org.eclipse.php.internal.debug.core.daemon.DebugChannel;
+import org.eclipse.php.internal.debug.core.daemon.DebugChannelSelector;
+import org.eclipse.php.internal.debug.core.daemon.IDebugChannelHandler;
 import org.eclipse.php.internal.debug.core.preferences.PHPProjectPreferences;
 import org.eclipse.php.internal.debug.core.preferences.stepFilters.DebugStepFilterController;
 import org.eclipse.php.internal.debug.core.xdebug.dbgp.DBGpLogger;
@@ -49,92 +60,135 @@ import org.w3c.dom.Node;
 public class DBGpSession {
 
 	/**
-	 * Reads all responses from DBGp based debugger, this runs on a background
-	 * job thread.
+	 * Splits the data read by the shared debug channel selector into DBGp
+	 * messages. This runs on the selector thread, so the messages are only
+	 * queued here and processed by the {@link ResponseReader}.
+	 */
+	private class ChannelHandler implements IDebugChannelHandler {
+
+		private final DBGpFrameDecoder decoder = new DBGpFrameDecoder();
+		private final List<byte[]> decoded = new ArrayList<>();
+
+		@Override
+		public void received(DebugChannel channel, ByteBuffer data) {
+			boolean isValid = decoder.decode(data, decoded);
+			receivedMessages.addAll(decoded);
+			decoded.clear();
+			ResponseReader reader = responseHandler;
+			if (reader != null) {
+				reader.schedule();
+			}
+			if (!isValid) {
+				/*
+				 * Unexpected message so the message is not valid, end the
+				 * session as things could become very confused.
+				 */
+				channel.close();
+			}
+		}
+
+		@Override
+		public void closed(DebugChannel channel) {
+			/*
+			 * The connection could be closed by the user terminating or
+			 * disconnecting, or by the debugger itself. Either way the reader
+			 * has to end the session once it processed the pending messages.
+			 */
+			receivedMessages.add(CONNECTION_CLOSED);
+			ResponseReader reader = responseHandler;
+			if (reader != null) {
+				reader.schedule();
+			}
+		}
+	}
+
+	/**
+	 * Processes the responses received from DBGp based debugger, this runs on a
+	 * background job thread whenever new responses were queued.
 	 */
 	private class ResponseReader extends Job {
 
 		public ResponseReader() {
 			super("DBGp Response Reader"); //$NON-NLS-1$
 			setSystem(true);
+			setUser(false);
 		}
 
 		@Override
 		protected IStatus run(IProgressMonitor monitor) {
 			byte[] response = null;
-			while (sessionActive) {
-				/*
-				 * Here we need to block waiting for a response then process
-				 * that response by related handler.
-				 */
+			while ((response = receivedMessages.poll()) != null) {
+				if (response == CONNECTION_CLOSED) {
+					sessionClosed();
+					return Status.OK_STATUS;
+				}
 				try {
-					response = readResponse();
-					if (response != null) {
-						DBGpResponse parsedResponse = new DBGpResponse();
-						parsedResponse.parseResponse(response);
-						int respErrorCode = parsedResponse.getErrorCode();
-						/*
-						 * We have received something back from the debugger so
-						 * first we try to process a stop or break async
-						 * response, even if the response was invalid.
-						 */
-						if (respErrorCode == DBGpResponse.ERROR_OK
-								|| respErrorCode == DBGpResponse.ERROR_INVALID_RESPONSE) {
-							int respType = parsedResponse.getType();
-							if (respType == DBGpResponse.RESPONSE) {
-								if (parsedResponse.getStatus().equals(DBGpResponse.STATUS_STOPPED)) {
-									(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STOP, parsedResponse);
-								} else if (parsedResponse.getStatus().equals(DBGpResponse.STATUS_BREAK)) {
-									(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_BREAK, parsedResponse);
-								} else if (parsedResponse.getStatus().equals(DBGpResponse.STATUS_STOPPING)) {
-									(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STOPPING,
-											parsedResponse);
-								}
-							} else if (respType == DBGpResponse.STREAM
-									&& respErrorCode != DBGpResponse.ERROR_INVALID_RESPONSE) {
-								(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STREAM, parsedResponse);
-							} else {
-								DBGpLogger.logWarning("Unknown type of XML: " //$NON-NLS-1$
-										+ response, DBGpSession.this, null);
+					logResponse(response);
+					DBGpResponse parsedResponse = new DBGpResponse();
+					parsedResponse.parseResponse(response);
+					int respErrorCode = parsedResponse.getErrorCode();
+					/*
+					 * We have received something back from the debugger so
+					 * first we try to process a stop or break async
+					 * response, even if the response was invalid.
+					 */
+					if (respErrorCode == DBGpResponse.ERROR_OK
+							|| respErrorCode == DBGpResponse.ERROR_INVALID_RESPONSE) {
+						int respType = parsedResponse.getType();
+						if (respType == DBGpResponse.RESPONSE) {
+							if (parsedResponse.getStatus().equals(DBGpResponse.STATUS_STOPPED)) {
+								(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STOP, parsedResponse);
+							} else if (parsedResponse.getStatus().equals(DBGpResponse.STATUS_BREAK)) {
+								(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_BREAK, parsedResponse);
+							} else if (parsedResponse.getStatus().equals(DBGpResponse.STATUS_STOPPING)) {
+								(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STOPPING,
+										parsedResponse);
 							}
+						} else if (respType == DBGpResponse.STREAM
+								&& respErrorCode != DBGpResponse.ERROR_INVALID_RESPONSE) {
+							(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STREAM, parsedResponse);
+						} else {
+							DBGpLogger.logWarning("Unknown type of XML: " //$NON-NLS-1$
+									+ response, DBGpSession.this, null);
 						}
-						/*
-						 * Unblock any Sync caller who might be waiting
-						 * regardless of what we got back.
-						 */
-						unblockSyncCaller(parsedResponse);
 					}
+					/*
+					 * Complete the transaction of any caller who might be
+					 * waiting regardless of what we got back.
+					 */
+					completeTransaction(parsedResponse);
 				} catch (Throwable t) {
 					DBGpLogger.logException("Unexpected exception. Terminating the debug session", //$NON-NLS-1$
 							this, t);
 				}
 			}
+			return Status.OK_STATUS;
+		}
+
+		/**
+		 * If the socket is closed or the session terminated then we inform the
+		 * debug target.
+		 */
+		private void sessionClosed() {
 			/*
-			 * If the socket is closed or the session terminated then we inform
-			 * the debug target.
+			 * No more responses will come, callers waiting for one must not wait
+			 * for the pending stream and break handling.
 			 */
-			try {
-				/*
-				 * Wait a very brief period to ensure console displays
-				 * everything before stating the debug session has ended.
-				 */
-				Thread.sleep(50);
-			} catch (InterruptedException e) {
-			}
+			unblockAllCallers(null);
 			/*
-			 * End the session here as we most likely terminated cleanly. It
-			 * doesn't matter if endSession is called multiple times.
+			 * End the session once the pending responses were handled, so the
+			 * console displays everything before stating the debug session has
+			 * ended. It doesn't matter if endSession is called multiple times.
 			 */
-			endSession();
-			return Status.OK_STATUS;
+			(new ResponseHandler()).perform(ResponseHandlerAction.HANDLE_STOP, null);
 		}
 
 		/**
-		 * unblock a sync caller
+		 * complete the transaction the response belongs to
 		 * 
 		 * @param parsedResponse
 		 */
-		private void unblockSyncCaller(DBGpResponse parsedResponse) {
+		private void completeTransaction(DBGpResponse parsedResponse) {
 			/*
 			 * Look to see if another thread is waiting for this response, if
 			 * not then the response is lost must protect if the response
@@ -150,8 +204,12 @@ public class DBGpSession {
 							+ idObj.toString());
 				}
 			}
-			if (savedResponses.containsKey(idObj) && parsedResponse.getType() == DBGpResponse.RESPONSE) {
-				postAndSignalCaller(idObj, parsedResponse);
+			CompletableFuture<DBGpResponse> transaction = null;
+			if (parsedResponse.getType() == DBGpResponse.RESPONSE) {
+				transaction = pendingResponses.remove(idObj);
+			}
+			if (transaction != null) {
+				transaction.complete(parsedResponse);
 			} else {
 				/*
 				 * No one waiting for the response, so we need to check the
@@ -353,13 +411,23 @@ public class DBGpSession {
 		}
 	};
 
-	private Socket DBGpSocket;
-	private ResponseReader responseHandler;
+	/*
+	 * Queued after the last message once the connection is closed.
+	 */
+	private static final byte[] CONNECTION_CLOSED = new byte[0];
+
+	/*
+	 * Time the engine has to send the init response once connected.
+	 */
+	private static final long INIT_TIMEOUT = 30000;
+
+	private DebugChannel channel;
+	private volatile ResponseReader responseHandler;
+	private final BlockingQueue<byte[]> receivedMessages = new LinkedBlockingQueue<>();
 	private DBGpCommand DBGpCmd;
-	private DataInputStream DBGpReader;
-	private boolean sessionActive = false;
+	private volatile boolean sessionActive = false;
 	private DBGpTarget debugTarget;
-	private Hashtable<Integer, Object> savedResponses = new Hashtable<>();
+	private final Map<Integer, CompletableFuture<DBGpResponse>> pendingResponses = new ConcurrentHashMap<>();
 	private String ideKey;
 	private String sessionId;
 	private String initialScript;
@@ -376,24 +444,27 @@ public class DBGpSession {
 	}
 
 	/**
-	 * create a DBGpSession. This waits for the initial INIT response to be sent
+	 * create a DBGpSession. The connection is registered with the shared debug
+	 * channel selector and this waits for the initial INIT response to be sent
 	 * 
 	 * @param connection
 	 *            the socket connection.
 	 */
-	public DBGpSession(Socket connection) {
+	public DBGpSession(SocketChannel connection) {
 		creationTime = System.currentTimeMillis();
-		DBGpSocket = connection;
 		sessionEncoding = DEFAULT_SESSION_ENCODING;
 		boolean isGood = false;
 		try {
-			DBGpCmd = new DBGpCommand(DBGpSocket);
-			DBGpReader = new DataInputStream(DBGpSocket.getInputStream());
+			channel = DebugChannelSelector.getDefault().register(connection, new ChannelHandler());
+			DBGpCmd = new DBGpCommand(channel);
 			sessionActive = true;
 
-			// TODO: Could look at supporting a timeout here.
-			byte[] response = readResponse();
-			if (response != null) {
+			byte[] response = receivedMessages.poll(INIT_TIMEOUT, TimeUnit.MILLISECONDS);
+			if (response == null) {
+				DBGpLogger.logError("Init response not received within " + INIT_TIMEOUT + "ms", //$NON-NLS-1$ //$NON-NLS-2$
+						this, null);
+			} else if (response != CONNECTION_CLOSED) {
+				logResponse(response);
 				DBGpResponse parsedResponse = new DBGpResponse();
 				parsedResponse.parseResponse(response);
 				if (DBGpResponse.INIT == parsedResponse.getType()) {
@@ -410,17 +481,22 @@ public class DBGpSession {
 					// TODO: dialog box up
 				}
 			} else {
-				DBGpLogger.logError("Unexpected null from readResponse waiting for Init", //$NON-NLS-1$
+				DBGpLogger.logError("Connection closed while waiting for Init", //$NON-NLS-1$
 						this, null);
 			}
 			if (!isGood) {
 				endSession();
 			}
-		} catch (UnsupportedEncodingException e) {
-			DBGpLogger.logException("UnsupportedEncodingException - 1", this, e); //$NON-NLS-1$
-			endSession();
 		} catch (IOException e) {
 			DBGpLogger.logException("IOException - 1", this, e); //$NON-NLS-1$
+			try {
+				connection.close();
+			} catch (IOException ioe) {
+				DBGpLogger.debugException(ioe);
+			}
+			endSession();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			endSession();
 		}
 	}
@@ -433,6 +509,7 @@ public class DBGpSession {
 	 */
 	public void startSession() {
 		responseHandler = new ResponseReader();
+		// Process anything received since the init response
 		responseHandler.schedule();
 	}
 
@@ -486,28 +563,64 @@ public class DBGpSession {
 	 * @return the response
 	 */
 	public DBGpResponse sendSyncCmd(String cmd, String arguments) {
-		if (sessionActive) {
-			/*
-			 * this must be done before the command is sent because the
-			 * savedResponses must have the id and event in the table so that
-			 * the response handler can locate it.
-			 */
-			int id = DBGpCommand.getNextId();
-			Event idev = new Event();
-			Integer idObj = Integer.valueOf(id);
-			savedResponses.put(idObj, idev);
-			try {
-				DBGpCmd.send(cmd, arguments, id, sessionEncoding);
-				idev.waitForEvent(); // wait forever
-				return (DBGpResponse) savedResponses.remove(idObj);
-			} catch (InterruptedException e) {
-				return null;
-			} catch (IOException e) {
-				endSession();
-				return null;
-			}
+		return getResponse(sendCmd(cmd, arguments));
+	}
+
+	/**
+	 * send a command with arguments without waiting for its response. Several
+	 * commands can be sent this way before waiting for the first response, the
+	 * debugger answers them in order.
+	 * 
+	 * @param cmd
+	 *            the command
+	 * @param arguments
+	 *            its arguments
+	 * @return the response to come, completed with <code>null</code> if the
+	 *         session is not active
+	 */
+	public CompletableFuture<DBGpResponse> sendCmd(String cmd, String arguments) {
+		CompletableFuture<DBGpResponse> response = new CompletableFuture<>();
+		if (!sessionActive) {
+			response.complete(null);
+			return response;
+		}
+		/*
+		 * this must be done before the command is sent because the pending
+		 * responses must have the id so that the response reader can locate it.
+		 */
+		int id = DBGpCommand.getNextId();
+		Integer idObj = Integer.valueOf(id);
+		pendingResponses.put(idObj, response);
+		if (!sessionActive) {
+			// endSession might have missed it
+			unblockAllCallers(null);
+			return response;
+		}
+		try {
+			DBGpCmd.send(cmd, arguments, id, sessionEncoding);
+		} catch (IOException e) {
+			endSession();
+		}
+		return response;
+	}
+
+	/**
+	 * wait for the response of a command sent by
+	 * {@link #sendCmd(String, String)}
+	 * 
+	 * @param response
+	 *            the response to come
+	 * @return the response or <code>null</code> if the waiting thread was
+	 *         interrupted
+	 */
+	public static DBGpResponse getResponse(Future<DBGpResponse> response) {
+		try {
+			return response.get(); // wait forever
+		} catch (InterruptedException e) {
+			return null;
+		} catch (ExecutionException e) {
+			return null;
 		}
-		return null;
 	}
 
 	/**
@@ -515,27 +628,15 @@ public class DBGpSession {
 	 * 
 	 */
 	public synchronized void endSession() {
+		boolean wasActive = sessionActive;
+		sessionActive = false;
 		/*
 		 * We are ending the session so ensure anything that is waiting for a
 		 * response is unblocked.
 		 */
 		unblockAllCallers(null);
-		if (sessionActive) {
-			sessionActive = false;
-			try {
-				DBGpSocket.shutdownInput();
-			} catch (IOException e) {
-			}
-			try {
-				DBGpSocket.shutdownOutput();
-			} catch (IOException e) {
-			}
-			try {
-				DBGpSocket.close();
-			} catch (IOException e) {
-				// Ignore the exception except for debug purposes
-				DBGpLogger.debugException(e);
-			}
+		if (wasActive) {
+			channel.close();
 		}
 		if (debugTarget != null) {
 			debugTarget.sessionEnded();
@@ -635,15 +736,15 @@ public class DBGpSession {
 	}
 
 	public int getRemotePort() {
-		return DBGpSocket.getPort();
+		return channel.getRemotePort();
 	}
 
 	public InetAddress getRemoteAddress() {
-		return DBGpSocket.getInetAddress();
+		return channel.getRemoteAddress();
 	}
 
 	public String getRemoteHostname() {
-		return DBGpSocket.getInetAddress().getHostName();
+		return channel.getRemoteAddress().getHostName();
 	}
 
 	@Override
@@ -664,90 +765,23 @@ public class DBGpSession {
 			parsedResponse = new DBGpResponse();
 			parsedResponse.parseResponse(null);
 		}
-		Set<Integer> keys = savedResponses.keySet();
-		for (Iterator<Integer> iterator = keys.iterator(); iterator.hasNext();) {
-			Integer idObj = iterator.next();
-			postAndSignalCaller(idObj, parsedResponse);
-		}
-	}
-
-	private void postAndSignalCaller(Integer idObj, DBGpResponse parsedResponse) {
-		Object responder = savedResponses.get(idObj);
-		if (responder instanceof Event) {
-			/*
-			 * We have an event for the id so we need to respond and unblock the
-			 * caller, otherwise it has already been done (maybe from
-			 * unblockAllCallers)
-			 */
-			Event idev = (Event) responder;
-			savedResponses.put(idObj, parsedResponse);
-			idev.signalEvent();
+		for (Iterator<CompletableFuture<DBGpResponse>> iterator = pendingResponses.values().iterator(); iterator
+				.hasNext();) {
+			CompletableFuture<DBGpResponse> transaction = iterator.next();
+			iterator.remove();
+			transaction.complete(parsedResponse);
 		}
 	}
 
-	/**
-	 * DBGp protocol is as follows "xxx\0" where xxx is the length of the
-	 * message to follow "message\0" where message is the data we are interested
-	 * in.
-	 * 
-	 * @return
-	 */
-	private byte[] readResponse() {
-		byte byteArray[];
-		byte receivedByte;
-		int remainingBytesToRead = 0;
-		try {
-			/*
-			 * The first part of the DBGp protocol is the length as a string, so
-			 * we read it and convert it to an int
-			 */
-			while ((receivedByte = DBGpReader.readByte()) != 0) {
-				remainingBytesToRead = remainingBytesToRead * 10 + receivedByte - 48;
-			}
-			byteArray = new byte[remainingBytesToRead];
-			int totalBytesSoFar = 0;
-			while ((remainingBytesToRead > 0)) {
-				int bytesReceived = DBGpReader.read(byteArray, totalBytesSoFar, remainingBytesToRead);
-				remainingBytesToRead -= bytesReceived;
-				totalBytesSoFar += bytesReceived;
-			}
-			// Final part of the protocol is a null value
-			if ((DBGpReader.readByte()) != 0) {
-				/*
-				 * Unexpected message so the message is not valid, end the
-				 * session as things could become very confused.
-				 */
-				endSession();
-				return null;
-			}
-		} catch (IOException e) {
-			/*
-			 * The exception could be caused by the user terminating or
-			 * disconnecting however due to the nature of the debug framework, a
-			 * termination request may not be sent to the debug target or may be
-			 * sent after it terminates the process, so we cannot rely on
-			 * testing the debug target for it's state to determine if there has
-			 * been any user activity that may have caused this. we could have
-			 * tested and even check the type of exception but on windows you
-			 * get SocketException: Connection Reset and on Linux you get
-			 * EOFException, so for other platforms you don't know what to
-			 * expect as an exception. So it is better to ignore the
-			 * information.
-			 */
-			endSession();
-			return null;
-		}
-		try {
-			if (DBGpLogger.debugResp()) {
+	private void logResponse(byte[] response) {
+		if (DBGpLogger.debugResp()) {
+			try {
 				DBGpLogger.debug("Response: " //$NON-NLS-1$
-						+ new String(byteArray, sessionEncoding));
+						+ new String(response, sessionEncoding));
+			} catch (UnsupportedEncodingException e) {
+				DBGpLogger.logException("UnsupportedEncodingException - 2", this, e); //$NON-NLS-1$
 			}
-			return byteArray;
-		} catch (UnsupportedEncodingException e) {
-			DBGpLogger.logException("UnsupportedEncodingException - 2", this, e); //$NON-NLS-1$
-			endSession();
 		}
-		return null;
 	}
 
 	private void determineEncodings() {
@@ -16,7 +16,10 @@ package org.eclipse.php.internal.debug.core.zend.communication;
 import java.io.*;
 import java.net.*;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -34,7 +37,6 @@ import org.eclipse.php.debug.core.debugger.messages.IDebugNotificationMessage;
 import org.eclipse.php.debug.core.debugger.messages.IDebugRequestMessage;
 import org.eclipse.php.debug.core.debugger.messages.IDebugResponseMessage;
 import org.eclipse.php.debug.core.debugger.parameters.IDebugParametersKeys;
-import org.eclipse.php.internal.core.util.BlockingQueue;
 import org.eclipse.php.internal.core.util.collections.IntHashtable;
 import org.eclipse.php.internal.debug.core.*;
 import org.eclipse.php.internal.debug.core.launching.DebugSessionIdGenerator;
@@ -66,6 +68,8 @@ public class DebugConnection {
 	// Launch configuration type for handling an external launch triggers.
 	private static final String SERVER_DEBUG_NAME = "PHP Debug"; //$NON-NLS-1$
 	private static final String SERVER_PROFILE_NAME = "PHP Profile"; //$NON-NLS-1$
+	// Incoming messages waiting to be handled, well above a burst of output
+	private static final int MAX_QUEUED_MESSAGES = 1024;
 
 	/**
 	 * This job handles the requests and notification that are inserted into the
@@ -73,9 +77,12 @@ public class DebugConnection {
 	 */
 	private class MessageHandler extends Job {
 
-		private BlockingQueue inputMessageQueue = new BlockingQueue(100);
-		private ByteArrayOutputStream byteArray = new ByteArrayOutputStream();
-		private DataOutputStream outArray = new DataOutputStream(byteArray);
+		/*
+		 * Bounded, so a peer sending faster than the messages are handled is
+		 * slowed down instead of filling the memory
+		 */
+		private BlockingQueue<IDebugMessage> inputMessageQueue = new LinkedBlockingQueue<>(MAX_QUEUED_MESSAGES);
+		private volatile boolean isShutdown;
 
 		public MessageHandler() {
 			super("Debug Message Handler"); //$NON-NLS-1$
@@ -98,7 +105,10 @@ public class DebugConnection {
 					return Status.OK_STATUS;
 				}
 				try {
-					IDebugMessage incomingMessage = (IDebugMessage) inputMessageQueue.queueOut();
+					IDebugMessage incomingMessage = inputMessageQueue.take();
+					if (monitor.isCanceled()) {
+						return Status.OK_STATUS;
+					}
 					Logger.debugMSG("NEW MESSAGE RECEIVED: " + incomingMessage); //$NON-NLS-1$
 					try {
 						boolean isDebugConnectionTest = false;
@@ -140,13 +150,7 @@ public class DebugConnection {
 									IDebugResponseMessage response = ((IDebugRequestHandler) messageHandler)
 											.getResponseMessage();
 									// Send response
-									synchronized (connectionOut) {
-										byteArray.reset();
-										response.serialize(outArray);
-										connectionOut.writeInt(byteArray.size());
-										byteArray.writeTo(connectionOut);
-										connectionOut.flush();
-									}
+									codec.send(response);
 								}
 							}
 							// Handle the response
@@ -181,14 +185,30 @@ public class DebugConnection {
 			}
 		}
 
+		/**
+		 * Queues the given message, waiting while the queue is full, unless
+		 * this handler is shut down.
+		 * 
+		 * @param m
+		 */
 		public void queueIn(IDebugMessage m) {
-			inputMessageQueue.queueIn(m);
+			try {
+				while (!inputMessageQueue.offer(m, 500, TimeUnit.MILLISECONDS)) {
+					if (isShutdown) {
+						return;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
 		}
 
 		void shutdown() {
+			isShutdown = true;
 			cancel();
-			inputMessageQueue.releaseReaders();
 			inputMessageQueue.clear();
+			// Release the handler, it stops as it is canceled
+			inputMessageQueue.offer(CONNECTION_CLOSED);
 		}
 
 		/**
@@ -245,9 +265,9 @@ public class DebugConnection {
 					if (monitor.isCanceled()) {
 						return Status.OK_STATUS;
 					}
-					// Reads the length
-					int length = connectionIn.readInt();
-					if (length < 0) {
+					// Reads the whole message
+					DataInputStream connectionIn = codec.receive();
+					if (connectionIn == null) {
 						String message = "Socket error (length is negative): possibly Server is SSL, Client is not."; //$NON-NLS-1$
 						Logger.debugMSG(message);
 						Logger.log(Logger.ERROR, message);
@@ -460,8 +480,7 @@ public class DebugConnection {
 	protected PHPDebugTarget debugTarget;
 	protected boolean isValidProtocol;
 	private Socket socket;
-	private DataInputStream connectionIn;
-	private DataOutputStream connectionOut;
+	private DebugMessageCodec codec;
 	private boolean isInitialized;
 	private MessageReceiver messageReceiver;
 	private MessageHandler messageHandler;
@@ -470,9 +489,7 @@ public class DebugConnection {
 	private IntHashtable requestsTable;
 	private IntHashtable responseTable;
 	private Hashtable<Integer, ResponseHandler> responseHandlers;
-	private ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-	private DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
-	private int lastRequestID = 1000;
+	private final AtomicInteger lastRequestID = new AtomicInteger(1000);
 	private Map<Integer, IDebugMessageHandler> messageHandlers;
 	private boolean isConnected = true;
 
@@ -530,13 +547,7 @@ public class DebugConnection {
 			return;
 		}
 		try {
-			synchronized (connectionOut) {
-				byteArrayOutputStream.reset();
-				((IDebugMessage) msg).serialize(dataOutputStream);
-				connectionOut.writeInt(byteArrayOutputStream.size());
-				byteArrayOutputStream.writeTo(connectionOut);
-				connectionOut.flush();
-			}
+			codec.send((IDebugMessage) msg);
 		} catch (SocketException se) {
 			// Probably because the remote host disconnected.
 			// Just log a warning (might be removed in the near future).
@@ -563,16 +574,9 @@ public class DebugConnection {
 		Logger.debugMSG("SENDING SYNCHRONOUS REQUEST: " + request); //$NON-NLS-1$
 		try {
 			IDebugRequestMessage theMsg = (IDebugRequestMessage) request;
-			synchronized (connectionOut) {
-				byteArrayOutputStream.reset();
-				theMsg.setID(lastRequestID++);
-				theMsg.serialize(dataOutputStream);
-				int messageSize = byteArrayOutputStream.size();
-				requestsTable.put(theMsg.getID(), theMsg);
-				connectionOut.writeInt(messageSize);
-				byteArrayOutputStream.writeTo(connectionOut);
-				connectionOut.flush();
-			}
+			theMsg.setID(lastRequestID.getAndIncrement());
+			requestsTable.put(theMsg.getID(), theMsg);
+			codec.send(theMsg);
 			IDebugResponseMessage response = null;
 			int timeoutTick = 500; // 0.5 of second
 			int waitedTime = 0;
@@ -645,21 +649,13 @@ public class DebugConnection {
 			return;
 		}
 		Logger.debugMSG("SENDING ASYNCHRONOUS REQUEST: " + request); //$NON-NLS-1$
-		int msgId = lastRequestID++;
+		int msgId = lastRequestID.getAndIncrement();
 		IDebugRequestMessage theMsg = (IDebugRequestMessage) request;
 		try {
-			ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-			DataOutputStream dataOutputStream = new DataOutputStream(byteArrayOutputStream);
 			theMsg.setID(msgId);
-			theMsg.serialize(dataOutputStream);
-			int messageSize = byteArrayOutputStream.size();
-			synchronized (connectionOut) {
-				requestsTable.put(msgId, request);
-				responseHandlers.put(Integer.valueOf(msgId), responseHandler);
-				connectionOut.writeInt(messageSize);
-				byteArrayOutputStream.writeTo(connectionOut);
-				connectionOut.flush();
-			}
+			requestsTable.put(msgId, request);
+			responseHandlers.put(Integer.valueOf(msgId), responseHandler);
+			codec.send(theMsg);
 		} catch (Exception e) {
 			// Return null for any exception
 			String message = "Exception for request NO." + theMsg.getType() //$NON-NLS-1$
@@ -1209,8 +1205,7 @@ public class DebugConnection {
 		messageHandlers = new HashMap<>();
 		try {
 			socket.setTcpNoDelay(true);
-			this.connectionIn = new DataInputStream(socket.getInputStream());
-			this.connectionOut = new DataOutputStream(socket.getOutputStream());
+			this.codec = new DebugMessageCodec(socket);
 			messageHandler = new MessageHandler();
 			messageReceiver = new MessageReceiver();
 			// Start message handler
@@ -1251,27 +1246,8 @@ public class DebugConnection {
 				socket = null;
 			}
 		}
-		if (connectionIn != null) {
-			try {
-				synchronized (connectionIn) {
-					connectionIn.close();
-				}
-			} catch (Exception exc) {
-				// ignore
-			} finally {
-				connectionIn = null;
-			}
-		}
-		if (connectionOut != null) {
-			try {
-				synchronized (connectionOut) {
-					connectionOut.close();
-				}
-			} catch (Exception exc) {
-				// ignore
-			} finally {
-				connectionOut = null;
-			}
+		if (codec != null) {
+			codec.clear();
 		}
 	}
 
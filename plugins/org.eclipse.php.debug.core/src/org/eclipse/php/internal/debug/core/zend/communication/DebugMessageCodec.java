@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.debug.core.zend.communication;
+
+import java.io.*;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.php.debug.core.debugger.messages.IDebugMessage;
+
+/**
+ * Reads and writes the messages of the Zend debugger protocol, where every
+ * message is preceded by its length as a 4 bytes integer.
+ *
+ * Outgoing messages are serialized straight into pooled buffers, behind a
+ * reserved length slot, and put on a lock free outbound queue. Any number of
+ * threads can send at the same time; the queued buffers are written by
+ * whichever sender finds the connection idle, so no sender waits for the
+ * socket while another one holds it. Incoming messages are read in one piece
+ * into a reusable buffer and deserialized from it.
+ *
+ * Socket channels are accessed with direct buffers, other sockets (SSL) with
+ * heap buffers through their streams. Incoming messages larger than the
+ * pooled buffers are read into heap buffers, and the length sent by the peer
+ * is checked against {@link #MAX_MESSAGE_SIZE} before anything is allocated.
+ *
+ * Once a write failed, the socket is closed, the queued messages are dropped
+ * and every later send fails.
+ */
+public class DebugMessageCodec {
+
+	private static final int BUFFER_SIZE = 1024 * 16;
+	// Larger buffers are released once they were used
+	private static final int MAX_POOLED_SIZE = 1024 * 1024;
+	private static final int MAX_POOLED_BUFFERS = 8;
+	private static final int MAX_GATHERED_BUFFERS = 16;
+
+	/**
+	 * Maximum length of an incoming message.
+	 */
+	public static final int MAX_MESSAGE_SIZE = 64 * 1024 * 1024;
+
+	/**
+	 * Output stream growing into pooled buffers.
+	 */
+	private class BufferOutputStream extends OutputStream {
+
+		private ByteBuffer buffer;
+
+		BufferOutputStream(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		@Override
+		public void write(int b) {
+			ensureRemaining(1);
+			buffer.put((byte) b);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			ensureRemaining(len);
+			buffer.put(b, off, len);
+		}
+
+		private void ensureRemaining(int length) {
+			if (buffer.remaining() < length) {
+				int capacity = Math.max(buffer.capacity() * 2, buffer.position() + length);
+				ByteBuffer grown = allocate(capacity);
+				buffer.flip();
+				grown.put(buffer);
+				release(buffer);
+				buffer = grown;
+			}
+		}
+	}
+
+	/**
+	 * Input stream over the current incoming frame.
+	 */
+	private class FrameInputStream extends InputStream {
+
+		@Override
+		public int read() {
+			return frame.hasRemaining() ? frame.get() & 0xFF : -1;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) {
+			if (len == 0) {
+				return 0;
+			}
+			if (!frame.hasRemaining()) {
+				return -1;
+			}
+			int count = Math.min(len, frame.remaining());
+			frame.get(b, off, count);
+			return count;
+		}
+
+		@Override
+		public int available() {
+			return frame.remaining();
+		}
+
+		@Override
+		public long skip(long n) {
+			int count = (int) Math.min(n, frame.remaining());
+			frame.position(frame.position() + count);
+			return count;
+		}
+	}
+
+	private final Socket socket;
+	private final SocketChannel channel;
+	private final InputStream in;
+	private final OutputStream out;
+	private final boolean direct;
+	private final Queue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean writing = new AtomicBoolean();
+	private final Queue<ByteBuffer> pool = new ConcurrentLinkedQueue<>();
+	private final ByteBuffer[] gathered = new ByteBuffer[MAX_GATHERED_BUFFERS];
+	private volatile IOException failure;
+	// Accessed by the reading thread only
+	private final ByteBuffer length;
+	private ByteBuffer frame;
+	private final DataInputStream frameIn = new DataInputStream(new FrameInputStream());
+
+	/**
+	 * Creates a codec for the given connected socket.
+	 *
+	 * @param socket
+	 * @throws IOException
+	 */
+	public DebugMessageCodec(Socket socket) throws IOException {
+		this.socket = socket;
+		this.channel = socket.getChannel();
+		this.direct = channel != null;
+		this.in = direct ? null : socket.getInputStream();
+		this.out = direct ? null : socket.getOutputStream();
+		this.length = allocate(4);
+		this.frame = allocate(BUFFER_SIZE);
+	}
+
+	/**
+	 * Sends the given message. The message is written by this thread, unless
+	 * another thread is writing already, in which case that thread writes it
+	 * after its own messages.
+	 *
+	 * @param message
+	 * @throws IOException
+	 *             if the connection failed
+	 */
+	public void send(IDebugMessage message) throws IOException {
+		checkFailure();
+		outbound.add(encode(message));
+		flush();
+	}
+
+	/**
+	 * Reads the next message. The returned stream is only valid until this
+	 * method is called again.
+	 *
+	 * @return the message data, starting with its type, or <code>null</code>
+	 *         if the message length is negative
+	 * @throws IOException
+	 *             if the connection was closed or failed, or if the message
+	 *             is longer than {@link #MAX_MESSAGE_SIZE}
+	 */
+	public DataInputStream receive() throws IOException {
+		length.clear();
+		readFully(length);
+		int size = length.getInt(0);
+		if (size < 0) {
+			return null;
+		}
+		if (size > MAX_MESSAGE_SIZE) {
+			throw new IOException("Debug message too long: " + size + " bytes"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (frame.capacity() < size) {
+			// Direct memory is only used up to the pooled size
+			frame = size <= MAX_POOLED_SIZE ? allocate(size) : ByteBuffer.allocate(size);
+		} else if (frame.capacity() > MAX_POOLED_SIZE && size <= BUFFER_SIZE) {
+			// Do not hold a large message buffer for the rest of the session
+			frame = allocate(BUFFER_SIZE);
+		}
+		frame.clear();
+		frame.limit(size);
+		readFully(frame);
+		frame.flip();
+		return frameIn;
+	}
+
+	/**
+	 * Drops the messages that were not sent yet.
+	 */
+	public void clear() {
+		outbound.clear();
+	}
+
+	private void checkFailure() throws IOException {
+		IOException current = failure;
+		if (current != null) {
+			throw new IOException("Debug connection failed", current); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Closes the socket after a failed write, so the connection is shut down
+	 * by its reader, and drops the queued messages.
+	 */
+	private void fail(IOException e) {
+		if (failure == null) {
+			failure = e;
+		}
+		try {
+			socket.close();
+		} catch (IOException ce) {
+			// ignore
+		}
+		ByteBuffer buffer;
+		while ((buffer = outbound.poll()) != null) {
+			release(buffer);
+		}
+	}
+
+	private ByteBuffer encode(IDebugMessage message) throws IOException {
+		BufferOutputStream stream = new BufferOutputStream(acquire());
+		try {
+			stream.buffer.position(4);
+			message.serialize(new DataOutputStream(stream));
+		} catch (IOException | RuntimeException e) {
+			release(stream.buffer);
+			throw e;
+		}
+		ByteBuffer buffer = stream.buffer;
+		buffer.putInt(0, buffer.position() - 4);
+		buffer.flip();
+		return buffer;
+	}
+
+	private void flush() throws IOException {
+		// Recheck after releasing, a message might have been queued meanwhile
+		while (!outbound.isEmpty() && writing.compareAndSet(false, true)) {
+			try {
+				// Queued by other senders while a write failed
+				checkFailure();
+				if (direct) {
+					writeGathered();
+				} else {
+					writeStream();
+				}
+			} catch (IOException e) {
+				fail(e);
+				throw e;
+			} finally {
+				writing.set(false);
+			}
+		}
+	}
+
+	private void writeGathered() throws IOException {
+		while (true) {
+			int count = 0;
+			ByteBuffer buffer;
+			while (count < gathered.length && (buffer = outbound.poll()) != null) {
+				gathered[count++] = buffer;
+			}
+			if (count == 0) {
+				return;
+			}
+			try {
+				ByteBuffer last = gathered[count - 1];
+				while (last.hasRemaining()) {
+					channel.write(gathered, 0, count);
+				}
+			} finally {
+				for (int i = 0; i < count; i++) {
+					release(gathered[i]);
+					gathered[i] = null;
+				}
+			}
+		}
+	}
+
+	private void writeStream() throws IOException {
+		ByteBuffer buffer;
+		while ((buffer = outbound.poll()) != null) {
+			try {
+				out.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+			} finally {
+				release(buffer);
+			}
+		}
+		out.flush();
+	}
+
+	private void readFully(ByteBuffer buffer) throws IOException {
+		while (buffer.hasRemaining()) {
+			int count;
+			if (direct && !buffer.isDirect()) {
+				// Read large frames by chunks, the channel reads through a
+				// temporary direct buffer of the requested length
+				int limit = buffer.limit();
+				buffer.limit(Math.min(limit, buffer.position() + BUFFER_SIZE));
+				try {
+					count = channel.read(buffer);
+				} finally {
+					buffer.limit(limit);
+				}
+			} else if (direct) {
+				count = channel.read(buffer);
+			} else {
+				count = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+				if (count > 0) {
+					buffer.position(buffer.position() + count);
+				}
+			}
+			if (count < 0) {
+				throw new EOFException();
+			}
+		}
+	}
+
+	private ByteBuffer acquire() {
+		ByteBuffer buffer = pool.poll();
+		if (buffer == null) {
+			return allocate(BUFFER_SIZE);
+		}
+		buffer.clear();
+		return buffer;
+	}
+
+	private void release(ByteBuffer buffer) {
+		if (buffer.capacity() <= MAX_POOLED_SIZE && pool.size() < MAX_POOLED_BUFFERS) {
+			pool.add(buffer);
+		}
+	}
+
+	private ByteBuffer allocate(int capacity) {
+		return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+	}
+}
@@ -15,7 +15,6 @@ package org.eclipse.php.internal.debug.core.zend.communication;
 
 import java.io.IOException;
 import java.net.BindException;
-import java.net.ServerSocket;
 import java.net.Socket;
 import java.util.ArrayList;
 import java.util.List;
@@ -91,26 +90,26 @@ public class DebuggerCommunicationDaemon implements ICommunicationDaemon {
 		}
 
 		/**
-		 * Initialize a ServerSocket or a SSLServerSocket to listen for debug requests
-		 * on a specified port. The port and the SSL definitions are defined in the
-		 * workspace preferences.
+		 * Initialize a server channel or a SSLServerSocket to listen for debug
+		 * requests on a specified port. The port and the SSL definitions are
+		 * defined in the workspace preferences.
 		 * 
 		 * @return True, if the reset did not yield any errors; False, otherwise.
 		 */
 		@Override
 		public boolean resetSocket() {
+			if (!useSSL) {
+				// Plain connections are read and written through socket channels
+				return super.resetSocket();
+			}
 			stopListen();
 			int port = getReceiverPort();
 			try {
 				synchronized (lock) {
-					if (useSSL) {
-						SSLServerSocket sslServerSocket = (SSLServerSocket) SSLServerSocketFactory.getDefault()
-								.createServerSocket(port);
-						sslServerSocket.setEnabledCipherSuites(sslServerSocket.getSupportedCipherSuites());
-						serverSocket = sslServerSocket;
-					} else {
-						serverSocket = new ServerSocket(port);
-					}
+					SSLServerSocket sslServerSocket = (SSLServerSocket) SSLServerSocketFactory.getDefault()
+							.createServerSocket(port);
+					sslServerSocket.setEnabledCipherSuites(sslServerSocket.getSupportedCipherSuites());
+					serverSocket = sslServerSocket;
 					startListen();
 					return true;
 				}
@@ -26,6 +26,9 @@ public class PHPProfileCoreMessages extends NLS {
 		NLS.initializeMessages(BUNDLE_NAME, PHPProfileCoreMessages.class);
 	}
 
+	public static String CacheGrindImporter_0;
+	public static String CacheGrindImporter_1;
+	public static String CacheGrindImporter_2;
 	public static String PHPLaunchListener_0;
 	public static String PHPLaunchListener_1;
 	public static String PHPLaunchListener_2;
@@ -12,32 +12,112 @@
  *******************************************************************************/
 package org.eclipse.php.profile.core.data;
 
-import java.util.LinkedList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
  * Profiler call trace descriptor.
+ * <p>
+ * Layers are kept in parallel primitive arrays rather than as separate
+ * {@link ProfilerCallTraceLayer} objects, so that deep call traces stay
+ * compact. Use the indexed accessors to walk the trace without allocating,
+ * {@link #getLayers()} creates a layer object for every entry.
+ * </p>
  */
 public class ProfilerCallTrace {
 
-	private List<ProfilerCallTraceLayer> fLayers;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] fTypes;
+	private int[] fLines;
+	private int[] fCalledIDs;
+	private int[] fTimestampSeconds;
+	private int[] fTimestampMicroseconds;
+	private int[] fDurationSeconds;
+	private int[] fDurationMicroseconds;
+	private int fStart;
+	private int fEnd;
 	private int fLayersCount;
 
 	public ProfilerCallTrace() {
-		fLayers = new LinkedList<>();
+		this(INITIAL_CAPACITY);
+	}
+
+	private ProfilerCallTrace(int capacity) {
+		fTypes = new int[capacity];
+		fLines = new int[capacity];
+		fCalledIDs = new int[capacity];
+		fTimestampSeconds = new int[capacity];
+		fTimestampMicroseconds = new int[capacity];
+		fDurationSeconds = new int[capacity];
+		fDurationMicroseconds = new int[capacity];
 	}
 
 	public ProfilerCallTrace(List<ProfilerCallTraceLayer> layers) {
-		fLayers = layers;
+		this(Math.max(layers.size(), INITIAL_CAPACITY));
+		for (ProfilerCallTraceLayer layer : layers) {
+			addLayer(layer);
+		}
+	}
+
+	/**
+	 * Creates call trace from layer columns. The arrays must have the same
+	 * length and are used without copying.
+	 */
+	public ProfilerCallTrace(int[] types, int[] lines, int[] calledIDs, int[] timestampSeconds,
+			int[] timestampMicroseconds, int[] durationSeconds, int[] durationMicroseconds) {
+		fTypes = types;
+		fLines = lines;
+		fCalledIDs = calledIDs;
+		fTimestampSeconds = timestampSeconds;
+		fTimestampMicroseconds = timestampMicroseconds;
+		fDurationSeconds = durationSeconds;
+		fDurationMicroseconds = durationMicroseconds;
+		fEnd = types.length;
 	}
 
 	public void addLayer(ProfilerCallTraceLayer layer) {
-		fLayers.add(layer);
+		addLayer(layer.getType(), layer.getLineNumber(), layer.getCalledID(), layer.getTimestampSeconds(),
+				layer.getTimestampMicroseconds(), layer.getDurationSeconds(), layer.getDurationMicroeconds());
+	}
+
+	public void addLayer(int type, int lineNumber, int calledID, int timestampSeconds, int timestampMicroseconds,
+			int durationSeconds, int durationMicroseconds) {
+		if (fEnd == fTypes.length) {
+			grow();
+		}
+		fTypes[fEnd] = type;
+		fLines[fEnd] = lineNumber;
+		fCalledIDs[fEnd] = calledID;
+		fTimestampSeconds[fEnd] = timestampSeconds;
+		fTimestampMicroseconds[fEnd] = timestampMicroseconds;
+		fDurationSeconds[fEnd] = durationSeconds;
+		fDurationMicroseconds[fEnd] = durationMicroseconds;
+		fEnd++;
+	}
+
+	private void grow() {
+		int size = fEnd - fStart;
+		int capacity = Math.max(INITIAL_CAPACITY, size * 2);
+		fTypes = Arrays.copyOfRange(fTypes, fStart, fStart + capacity);
+		fLines = Arrays.copyOfRange(fLines, fStart, fStart + capacity);
+		fCalledIDs = Arrays.copyOfRange(fCalledIDs, fStart, fStart + capacity);
+		fTimestampSeconds = Arrays.copyOfRange(fTimestampSeconds, fStart, fStart + capacity);
+		fTimestampMicroseconds = Arrays.copyOfRange(fTimestampMicroseconds, fStart, fStart + capacity);
+		fDurationSeconds = Arrays.copyOfRange(fDurationSeconds, fStart, fStart + capacity);
+		fDurationMicroseconds = Arrays.copyOfRange(fDurationMicroseconds, fStart, fStart + capacity);
+		fStart = 0;
+		fEnd = size;
 	}
 
+	/**
+	 * Removes the first layer, does nothing if the trace is empty
+	 */
 	public void removeFirstLayer() {
-		fLayers.remove(0);
-		fLayersCount--;
+		if (fStart < fEnd) {
+			fStart++;
+			fLayersCount--;
+		}
 	}
 
 	/**
@@ -56,17 +136,76 @@ public class ProfilerCallTrace {
 	}
 
 	/**
-	 * Removing the first and last layer
+	 * Removing the first and last layer, only the existing ones are removed
+	 * if the trace has less than two layers
 	 */
 	public void removeWrappedLayers() {
-		fLayers.remove(0);
-		fLayers.remove(fLayers.size() - 1);
-		fLayersCount = fLayersCount - 2;
+		removeFirstLayer();
+		if (fStart < fEnd) {
+			fEnd--;
+			fLayersCount--;
+		}
+	}
+
+	/**
+	 * Returns the number of stored layers
+	 */
+	public int size() {
+		return fEnd - fStart;
+	}
+
+	public int getType(int index) {
+		return fTypes[fStart + index];
+	}
+
+	public int getLineNumber(int index) {
+		return fLines[fStart + index];
+	}
+
+	public int getCalledID(int index) {
+		return fCalledIDs[fStart + index];
+	}
+
+	public int getTimestampSeconds(int index) {
+		return fTimestampSeconds[fStart + index];
+	}
+
+	public int getTimestampMicroseconds(int index) {
+		return fTimestampMicroseconds[fStart + index];
+	}
+
+	public int getDurationSeconds(int index) {
+		return fDurationSeconds[fStart + index];
+	}
+
+	public int getDurationMicroseconds(int index) {
+		return fDurationMicroseconds[fStart + index];
+	}
+
+	/**
+	 * Sets the duration of the layer at the given index from its exit time
+	 */
+	public void setDuration(int index, long exitTimeSeconds, long exitTimeMicroseconds) {
+		ProfilerCallTraceLayer layer = getLayer(index);
+		layer.setDuration(exitTimeSeconds, exitTimeMicroseconds);
+		fDurationSeconds[fStart + index] = layer.getDurationSeconds();
+		fDurationMicroseconds[fStart + index] = layer.getDurationMicroeconds();
+	}
+
+	/**
+	 * Creates a layer object holding a copy of the layer at the given index
+	 */
+	public ProfilerCallTraceLayer getLayer(int index) {
+		int i = fStart + index;
+		return new ProfilerCallTraceLayer(fTypes[i], fLines[i], fCalledIDs[i], fTimestampSeconds[i],
+				fTimestampMicroseconds[i], fDurationSeconds[i], fDurationMicroseconds[i]);
 	}
 
 	public ProfilerCallTraceLayer[] getLayers() {
-		ProfilerCallTraceLayer[] pctl = new ProfilerCallTraceLayer[fLayers.size()];
-		fLayers.toArray(pctl);
+		ProfilerCallTraceLayer[] pctl = new ProfilerCallTraceLayer[size()];
+		for (int i = 0; i < pctl.length; i++) {
+			pctl[i] = getLayer(i);
+		}
 		return pctl;
 	}
 }
@@ -35,7 +35,7 @@ public class ProfilerFunctionData {
 	private int fTotalTimeSeconds;
 	private int fTotalTimeMicroseconds;
 	private int fCallsCount;
-	private double CONVERTION = 1000000.0;
+	private static final double CONVERTION = 1000000.0;
 
 	public ProfilerFunctionData() {
 	}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.profile.core.engine;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.php.profile.core.PHPProfileCoreMessages;
+import org.eclipse.php.profile.core.PHPProfileCorePlugin;
+import org.eclipse.php.profile.core.data.*;
+import org.eclipse.php.profile.core.engine.cachegrind.CacheGrindModelParser;
+
+/**
+ * Imports a batch of cachegrind files. Every file is parsed by its own job and
+ * all the jobs share a {@link JobGroup}, so the number of files parsed at the
+ * same time is bounded by the group thread limit.
+ */
+public class CacheGrindImporter {
+
+	private static final int PROGRESS_UNIT = 64 * 1024;
+	private static final int CONVERTION = 1000000;
+
+	private final File[] fFiles;
+	private final AtomicReferenceArray<ProfilerDB[]> fResults;
+	private final JobGroup fGroup;
+
+	public CacheGrindImporter(File[] files) {
+		this(files, Runtime.getRuntime().availableProcessors());
+	}
+
+	public CacheGrindImporter(File[] files, int maxThreads) {
+		fFiles = files;
+		fResults = new AtomicReferenceArray<>(files.length);
+		fGroup = new JobGroup(PHPProfileCoreMessages.CacheGrindImporter_0, Math.max(1, maxThreads), files.length);
+	}
+
+	/**
+	 * Parses all the files and waits until they are done. Canceling the monitor
+	 * cancels the files which are still being parsed.
+	 *
+	 * @param monitor
+	 *            progress monitor, may be <code>null</code>
+	 * @return the result of the import, containing a child status for every file
+	 *         which could not be imported
+	 */
+	public IStatus run(IProgressMonitor monitor) {
+		if (fFiles.length == 0) {
+			return Status.OK_STATUS;
+		}
+		for (int i = 0; i < fFiles.length; i++) {
+			Job job = new ImportJob(i);
+			job.setJobGroup(fGroup);
+			job.schedule();
+		}
+		try {
+			fGroup.join(0, monitor);
+		} catch (OperationCanceledException e) {
+			fGroup.cancel();
+			return Status.CANCEL_STATUS;
+		} catch (InterruptedException e) {
+			fGroup.cancel();
+			Thread.currentThread().interrupt();
+			return Status.CANCEL_STATUS;
+		}
+		IStatus result = fGroup.getResult();
+		return result != null ? result : Status.OK_STATUS;
+	}
+
+	/**
+	 * Returns the imported sessions, in the order of the imported files.
+	 */
+	public ProfilerDB[] getSessions() {
+		List<ProfilerDB> sessions = new ArrayList<>();
+		for (int i = 0; i < fResults.length(); i++) {
+			ProfilerDB[] dbs = fResults.get(i);
+			if (dbs != null) {
+				sessions.addAll(Arrays.asList(dbs));
+			}
+		}
+		return sessions.toArray(new ProfilerDB[0]);
+	}
+
+	/**
+	 * Merges the given sessions into a single session. Functions are matched by
+	 * file, class and function name, and their times and calls count are
+	 * summed. The merged session has no call trace.
+	 */
+	public static ProfilerDB merge(ProfilerDB[] sessions) {
+		Map<String, ProfilerFileData> files = new LinkedHashMap<>();
+		Map<String, long[]> totals = new HashMap<>();
+		Map<String, ProfilerFunctionData> functions = new LinkedHashMap<>();
+		long globalTime = 0;
+		int dataSize = 0;
+		String path = null;
+		for (ProfilerDB session : sessions) {
+			ProfilerGlobalData globalData = session.getGlobalData();
+			globalTime += (long) globalData.getTimeSeconds() * CONVERTION + globalData.getTimeMicroSeconds();
+			dataSize += globalData.getDataSize();
+			if (path == null) {
+				path = globalData.getPath();
+			} else if (!path.equals(globalData.getPath())) {
+				path = ""; //$NON-NLS-1$
+			}
+			for (ProfilerFileData file : session.getFiles()) {
+				if (!files.containsKey(file.getName())) {
+					files.put(file.getName(), new ProfilerFileData(file.getName()));
+				}
+				for (ProfilerFunctionData function : file.getFunctions()) {
+					String key = new StringBuilder(file.getName()).append('\0').append(function.getClassName())
+							.append('\0').append(function.getFunctionName()).toString();
+					long[] total = totals.get(key);
+					if (total == null) {
+						total = new long[3];
+						totals.put(key, total);
+						ProfilerFunctionData merged = new ProfilerFunctionData(function.getAbsoluteFileName());
+						merged.setFunctionName(function.getFunctionName());
+						merged.setClassName(function.getClassName());
+						merged.setLineNumber(function.getLineNumber());
+						merged.setID(function.getID() == -1 ? -1 : functions.size() + 1);
+						functions.put(key, merged);
+					}
+					total[0] += (long) function.getOwnTimeSeconds() * CONVERTION + function.getOwnTimeMicroseconds();
+					total[1] += (long) function.getTotalTimeSeconds() * CONVERTION
+							+ function.getTotalTimeMicroseconds();
+					total[2] += function.getCallsCount();
+				}
+			}
+		}
+
+		for (Map.Entry<String, ProfilerFunctionData> entry : functions.entrySet()) {
+			long[] total = totals.get(entry.getKey());
+			ProfilerFunctionData function = entry.getValue();
+			function.setOwnTimeSeconds((int) (total[0] / CONVERTION));
+			function.setOwnTimeMicroseconds((int) (total[0] % CONVERTION));
+			function.setTotalTimeSeconds((int) (total[1] / CONVERTION));
+			function.setTotalTimeMicroseconds((int) (total[1] % CONVERTION));
+			function.setCallsCount((int) Math.min(Integer.MAX_VALUE, total[2]));
+			files.get(entry.getKey().substring(0, entry.getKey().indexOf('\0'))).addFunction(function);
+		}
+
+		ProfilerGlobalData globalData = new ProfilerGlobalData();
+		globalData.setPath(path != null ? path : ""); //$NON-NLS-1$
+		globalData.setOriginalURL(ProfilerGlobalData.URL_NOT_AVAILABLE_MSG);
+		globalData.setTimeSeconds((int) (globalTime / CONVERTION));
+		globalData.setTimeMicroSeconds((int) (globalTime % CONVERTION));
+		globalData.setDataSize(dataSize);
+		globalData.setFileCount(files.size());
+		globalData.setFileNames(files.keySet().toArray(new String[0]));
+
+		ProfilerData data = new ProfilerData(globalData, new ArrayList<>(files.values()), new ProfilerCallTrace());
+		return new DefaultProfilerDB(data, new Date());
+	}
+
+	private class ImportJob extends Job {
+
+		private final int fIndex;
+
+		public ImportJob(int index) {
+			super(NLS.bind(PHPProfileCoreMessages.CacheGrindImporter_1, fFiles[index].getName()));
+			fIndex = index;
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			File file = fFiles[fIndex];
+			SubMonitor sub = SubMonitor.convert(monitor, getName(),
+					(int) Math.min(Integer.MAX_VALUE, file.length() / PROGRESS_UNIT + 1));
+			try (InputStream stream = new ProgressInputStream(new FileInputStream(file), sub)) {
+				ProfilerData[] models = new CacheGrindModelParser(stream).buildModel();
+				ProfilerDB[] dbs = new ProfilerDB[models.length];
+				for (int i = 0; i < models.length; i++) {
+					dbs[i] = new DefaultProfilerDB(models[i], new Date());
+				}
+				fResults.set(fIndex, dbs);
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			} catch (IOException e) {
+				return new Status(IStatus.ERROR, PHPProfileCorePlugin.ID,
+						NLS.bind(PHPProfileCoreMessages.CacheGrindImporter_2, file.getName(), e.getMessage()), e);
+			} finally {
+				sub.done();
+			}
+			return Status.OK_STATUS;
+		}
+	}
+
+	/**
+	 * Reports read bytes to the monitor and aborts reading once it is canceled.
+	 */
+	private static class ProgressInputStream extends FilterInputStream {
+
+		private final IProgressMonitor fMonitor;
+		private long fPending;
+
+		public ProgressInputStream(InputStream in, IProgressMonitor monitor) {
+			super(in);
+			fMonitor = monitor;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int result = super.read();
+			if (result != -1) {
+				worked(1);
+			}
+			return result;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int result = super.read(b, off, len);
+			if (result > 0) {
+				worked(result);
+			}
+			return result;
+		}
+
+		private void worked(int bytes) {
+			if (fMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			fPending += bytes;
+			if (fPending >= PROGRESS_UNIT) {
+				fMonitor.worked((int) (fPending / PROGRESS_UNIT));
+				fPending %= PROGRESS_UNIT;
+			}
+		}
+	}
+}
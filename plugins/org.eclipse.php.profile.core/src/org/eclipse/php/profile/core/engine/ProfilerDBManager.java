@@ -12,6 +12,7 @@
  *******************************************************************************/
 package org.eclipse.php.profile.core.engine;
 
+import java.io.*;
 import java.util.Date;
 import java.util.List;
 
@@ -31,6 +32,37 @@ public class ProfilerDBManager implements ProfilerDB {
 		this.profilerDB = profilerDB;
 	}
 
+	/**
+	 * Loads the sessions saved in the given file, either in the format of
+	 * {@link ProfilerDataStorage}, whose sessions are read on demand, or in the
+	 * XML format of {@link ProfilerDataSerializationUtil}.
+	 *
+	 * @return the sessions, or <code>null</code> if the file is not valid
+	 */
+	public static ProfilerDB[] load(File file) throws IOException {
+		if (ProfilerDataStorage.isStorageFile(file)) {
+			return ProfilerDataStorage.read(file);
+		}
+		try (InputStream in = new FileInputStream(file)) {
+			return ProfilerDataSerializationUtil.deserialize(in);
+		}
+	}
+
+	/**
+	 * Saves the given sessions to the given file, with the format of
+	 * {@link ProfilerDataStorage} when the file has its extension, and with
+	 * the XML format otherwise.
+	 */
+	public static void save(ProfilerDB[] profilerDBs, File file) throws IOException {
+		if (file.getName().endsWith('.' + ProfilerDataStorage.FILE_EXTENSION)) {
+			ProfilerDataStorage.write(profilerDBs, file);
+		} else {
+			try (OutputStream out = new FileOutputStream(file)) {
+				ProfilerDataSerializationUtil.serialize(profilerDBs, out);
+			}
+		}
+	}
+
 	/**
 	 * Sets the profilerDB to work with
 	 */
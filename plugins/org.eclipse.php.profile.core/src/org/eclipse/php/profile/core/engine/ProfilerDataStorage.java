@@ -0,0 +1,647 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.profile.core.engine;
+
+import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+import org.eclipse.php.internal.debug.core.zend.debugger.CodeCoverageData;
+import org.eclipse.php.profile.core.PHPProfileCorePlugin;
+import org.eclipse.php.profile.core.data.*;
+
+/**
+ * Binary storage of profiler sessions.
+ * <p>
+ * The file starts with a versioned header followed by an index of the stored
+ * sessions. Every session keeps its global data and an index of its files and
+ * call trace, so the function data of a file and the call trace are read from
+ * disk only when they are requested. Function and call trace values are stored
+ * column by column as primitive arrays.
+ * </p>
+ * <p>
+ * A session that can't be read from its file anymore is logged and answers
+ * like an empty session.
+ * </p>
+ */
+public class ProfilerDataStorage {
+
+	public static final String FILE_EXTENSION = "pdtprofile"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x50445450; // PDTP
+	private static final int VERSION = 2;
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final long SESSIONS_INDEX_POSITION = 12;
+
+	private ProfilerDataStorage() {
+	}
+
+	/**
+	 * Checks whether the given file starts with the storage header.
+	 */
+	public static boolean isStorageFile(File file) {
+		try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+			return in.readInt() == MAGIC;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	// =========================================== Write methods
+	// ========================================================== //
+
+	public static void write(ProfilerDB[] profilerDBs, File file) throws IOException {
+		long[] sessionOffsets = new long[profilerDBs.length];
+		List<long[]> sessionIndexes = new ArrayList<>(profilerDBs.length);
+		long[] indexPositions = new long[profilerDBs.length];
+		try (CountingOutputStream counter = new CountingOutputStream(
+				new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE))) {
+			DataOutputStream out = new DataOutputStream(counter);
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(profilerDBs.length);
+			for (int i = 0; i < profilerDBs.length; i++) {
+				out.writeLong(0);
+			}
+			for (int i = 0; i < profilerDBs.length; i++) {
+				sessionOffsets[i] = counter.position;
+				ProfilerDB db = profilerDBs[i];
+				ProfilerFileData[] files = db.getFiles();
+
+				out.writeLong(db.getProfileDate().getTime());
+				writeGlobalData(out, db.getGlobalData());
+				writeFunctionIndex(out, files);
+
+				// files and call trace offsets, patched once the blocks are written
+				out.writeInt(files.length);
+				indexPositions[i] = counter.position;
+				for (int j = 0; j <= files.length; j++) {
+					out.writeLong(0);
+				}
+				long[] sectionOffsets = new long[files.length + 1];
+				for (int j = 0; j < files.length; j++) {
+					sectionOffsets[j] = counter.position;
+					writeFileData(out, files[j]);
+				}
+				sectionOffsets[files.length] = counter.position;
+				writeCallTrace(out, db.getCallTrace());
+				sessionIndexes.add(sectionOffsets);
+			}
+		}
+		try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) { //$NON-NLS-1$
+			raf.seek(SESSIONS_INDEX_POSITION);
+			for (long offset : sessionOffsets) {
+				raf.writeLong(offset);
+			}
+			for (int i = 0; i < indexPositions.length; i++) {
+				raf.seek(indexPositions[i]);
+				for (long offset : sessionIndexes.get(i)) {
+					raf.writeLong(offset);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Converts sessions exported in the XML format of
+	 * {@link ProfilerDataSerializationUtil} to the storage format.
+	 *
+	 * @return number of converted sessions
+	 */
+	public static int convert(InputStream xml, File target) throws IOException {
+		ProfilerDB[] profilerDBs = ProfilerDataSerializationUtil.deserialize(xml);
+		if (profilerDBs == null) {
+			throw new IOException("Invalid profiler sessions file"); //$NON-NLS-1$
+		}
+		write(profilerDBs, target);
+		return profilerDBs.length;
+	}
+
+	private static void writeGlobalData(DataOutputStream out, ProfilerGlobalData data) throws IOException {
+		writeString(out, data.getURI());
+		writeString(out, data.getOriginalURL());
+		writeString(out, data.getQuery());
+		writeString(out, data.getOptions());
+		writeString(out, data.getPath());
+		out.writeInt(data.getTimeSeconds());
+		out.writeInt(data.getTimeMicroSeconds());
+		out.writeInt(data.getDataSize());
+		out.writeInt(data.getFileCount());
+		String[] fileNames = data.getFileNames();
+		out.writeInt(fileNames.length);
+		for (String fileName : fileNames) {
+			writeString(out, fileName);
+		}
+	}
+
+	private static void writeFunctionIndex(DataOutputStream out, ProfilerFileData[] files) throws IOException {
+		int count = 0;
+		for (ProfilerFileData file : files) {
+			count += file.getFunctions().length;
+		}
+		out.writeInt(count);
+		for (ProfilerFileData file : files) {
+			for (ProfilerFunctionData function : file.getFunctions()) {
+				out.writeInt(function.getID());
+			}
+		}
+		for (int i = 0; i < files.length; i++) {
+			ProfilerFunctionData[] functions = files[i].getFunctions();
+			for (int j = 0; j < functions.length; j++) {
+				out.writeInt(i);
+			}
+		}
+	}
+
+	private static void writeFileData(DataOutputStream out, ProfilerFileData data) throws IOException {
+		writeString(out, data.getName());
+		writeString(out, data.getLocalName());
+		out.writeInt(data.getFunctionsCount());
+		out.writeDouble(data.getTotalOwnTime());
+
+		ProfilerFunctionData[] functions = data.getFunctions();
+		out.writeInt(functions.length);
+		for (ProfilerFunctionData function : functions) {
+			writeString(out, function.getAbsoluteFileName());
+		}
+		for (ProfilerFunctionData function : functions) {
+			writeString(out, function.getLocalFileName());
+		}
+		for (ProfilerFunctionData function : functions) {
+			writeString(out, function.getClassName());
+		}
+		for (ProfilerFunctionData function : functions) {
+			writeString(out, function.getFunctionName());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getLineNumber());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getID());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getOwnTimeSeconds());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getOwnTimeMicroseconds());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getTotalTimeSeconds());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getTotalTimeMicroseconds());
+		}
+		for (ProfilerFunctionData function : functions) {
+			out.writeInt(function.getCallsCount());
+		}
+
+		CodeCoverageData coverage = data.getCodeCoverageData();
+		out.writeBoolean(coverage != null);
+		if (coverage != null) {
+			writeString(out, coverage.getFileName());
+			writeString(out, coverage.getLocalFileName());
+			out.writeInt(coverage.getLinesNum());
+			out.writeInt(coverage.getPHPLinesNum());
+			writeBytes(out, coverage.getCoverageBitmask());
+			writeBytes(out, coverage.getSignificanceBitmask());
+		}
+	}
+
+	private static void writeCallTrace(DataOutputStream out, ProfilerCallTrace callTrace) throws IOException {
+		if (callTrace == null) {
+			callTrace = new ProfilerCallTrace();
+		}
+		int count = callTrace.size();
+		out.writeInt(callTrace.getLayersCount());
+		out.writeInt(count);
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getType(i));
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getLineNumber(i));
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getCalledID(i));
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getTimestampSeconds(i));
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getTimestampMicroseconds(i));
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getDurationSeconds(i));
+		}
+		for (int i = 0; i < count; i++) {
+			out.writeInt(callTrace.getDurationMicroseconds(i));
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+		if (value == null) {
+			out.writeInt(-1);
+		} else {
+			out.writeInt(value.length);
+			out.write(value);
+		}
+	}
+
+	// =========================================== Read methods
+	// ========================================================== //
+
+	/**
+	 * Opens the sessions stored in the given file. Only the global data and the
+	 * indexes are read, the rest of the session is loaded on demand.
+	 */
+	public static ProfilerDB[] read(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			DataInputStream in = open(channel, 0);
+			if (in.readInt() != MAGIC) {
+				throw new IOException("Not a profiler sessions file: " + file); //$NON-NLS-1$
+			}
+			int version = in.readInt();
+			if (version != VERSION) {
+				throw new IOException("Unsupported profiler sessions file version: " + version); //$NON-NLS-1$
+			}
+			long[] sessionOffsets = new long[in.readInt()];
+			for (int i = 0; i < sessionOffsets.length; i++) {
+				sessionOffsets[i] = in.readLong();
+			}
+			ProfilerDB[] result = new ProfilerDB[sessionOffsets.length];
+			for (int i = 0; i < sessionOffsets.length; i++) {
+				result[i] = new StoredProfilerDB(file, open(channel, sessionOffsets[i]));
+			}
+			return result;
+		}
+	}
+
+	private static DataInputStream open(FileChannel channel, long position) throws IOException {
+		channel.position(position);
+		// the channel stream is not closed here, the channel is owned by the caller
+		return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), BUFFER_SIZE));
+	}
+
+	private static ProfilerGlobalData readGlobalData(DataInputStream in) throws IOException {
+		String uri = readString(in);
+		String originalURL = readString(in);
+		String query = readString(in);
+		String options = readString(in);
+		String path = readString(in);
+		int timeSeconds = in.readInt();
+		int timeMicroseconds = in.readInt();
+		int dataSize = in.readInt();
+		int filesNumber = in.readInt();
+		int namesCount = in.readInt();
+		ArrayList<String> fileNames = new ArrayList<>(namesCount);
+		for (int i = 0; i < namesCount; i++) {
+			fileNames.add(readString(in));
+		}
+		return new ProfilerGlobalData(uri, originalURL, query, options, path, timeSeconds, timeMicroseconds, dataSize,
+				filesNumber, fileNames);
+	}
+
+	private static ProfilerFileData readFileData(DataInputStream in, ProfilerGlobalData globalData)
+			throws IOException {
+		String fileName = readString(in);
+		String localFileName = readString(in);
+		int functionsNum = in.readInt();
+		double totalOwnTime = in.readDouble();
+
+		int count = in.readInt();
+		String[] files = readStrings(in, count);
+		String[] localFiles = readStrings(in, count);
+		String[] classNames = readStrings(in, count);
+		String[] names = readStrings(in, count);
+		int[] lines = readInts(in, count);
+		int[] ids = readInts(in, count);
+		int[] ownSeconds = readInts(in, count);
+		int[] ownMicroseconds = readInts(in, count);
+		int[] totalSeconds = readInts(in, count);
+		int[] totalMicroseconds = readInts(in, count);
+		int[] calls = readInts(in, count);
+		List<ProfilerFunctionData> functions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			ProfilerFunctionData function = new ProfilerFunctionData(files[i]);
+			// The function name is split on its first "::" only
+			if (names[i] != null) {
+				function.setFunctionName(classNames[i] != null ? classNames[i] + "::" + names[i] : names[i]); //$NON-NLS-1$
+			} else {
+				function.setClassName(classNames[i]);
+			}
+			function.setLineNumber(lines[i]);
+			function.setID(ids[i]);
+			function.setOwnTimeSeconds(ownSeconds[i]);
+			function.setOwnTimeMicroseconds(ownMicroseconds[i]);
+			function.setTotalTimeSeconds(totalSeconds[i]);
+			function.setTotalTimeMicroseconds(totalMicroseconds[i]);
+			function.setCallsCount(calls[i]);
+			function.setLocalFileName(localFiles[i]);
+			functions.add(function);
+		}
+
+		ProfilerFileData data = new ProfilerFileData(fileName, localFileName, functionsNum, totalOwnTime, functions);
+		if (in.readBoolean()) {
+			CodeCoverageData coverage = new CodeCoverageData(readString(in), 0, null);
+			coverage.setLocalFileName(readString(in));
+			coverage.setLinesNum(in.readInt());
+			coverage.setPHPLinesNum(in.readInt());
+			coverage.setCoverageBitmask(readBytes(in));
+			coverage.setSignificanceBitmask(readBytes(in));
+			coverage.setURL(globalData.getOriginalURL());
+			data.setCodeCoverageData(coverage);
+		}
+		return data;
+	}
+
+	private static ProfilerCallTrace readCallTrace(DataInputStream in) throws IOException {
+		int layersCount = in.readInt();
+		int count = in.readInt();
+		int[] types = readInts(in, count);
+		int[] lines = readInts(in, count);
+		int[] ids = readInts(in, count);
+		int[] timestampSeconds = readInts(in, count);
+		int[] timestampMicroseconds = readInts(in, count);
+		int[] durationSeconds = readInts(in, count);
+		int[] durationMicroseconds = readInts(in, count);
+		ProfilerCallTrace callTrace = new ProfilerCallTrace(types, lines, ids, timestampSeconds, timestampMicroseconds,
+				durationSeconds, durationMicroseconds);
+		callTrace.setLayersCount(layersCount);
+		return callTrace;
+	}
+
+	private static int[] readInts(DataInputStream in, int count) throws IOException {
+		int[] result = new int[count];
+		for (int i = 0; i < count; i++) {
+			result[i] = in.readInt();
+		}
+		return result;
+	}
+
+	private static String[] readStrings(DataInputStream in, int count) throws IOException {
+		String[] result = new String[count];
+		for (int i = 0; i < count; i++) {
+			result[i] = readString(in);
+		}
+		return result;
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = readBytes(in);
+		return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] result = new byte[length];
+		in.readFully(result);
+		return result;
+	}
+
+	/**
+	 * Profiler DB backed by a session of a storage file. The function data of a
+	 * file and the call trace are read when first requested and may be released
+	 * again with {@link #clearAll()}.
+	 */
+	private static class StoredProfilerDB implements ProfilerDB {
+
+		private final File fFile;
+		private final Date fProfileDate;
+		private final ProfilerGlobalData fGlobalData;
+		private final Map<Integer, Integer> fFunctionFiles;
+		private final long[] fFileOffsets;
+		private final long fCallTraceOffset;
+
+		private ProfilerFileData[] fFiles;
+		private Map<String, Integer> fFileIndexes;
+		private ProfilerCallTrace fCallTrace;
+		private ProfilerData fProfilerData;
+
+		public StoredProfilerDB(File file, DataInputStream in) throws IOException {
+			fFile = file;
+			fProfileDate = new Date(in.readLong());
+			fGlobalData = readGlobalData(in);
+
+			int[] ids = readInts(in, in.readInt());
+			int[] fileIndexes = readInts(in, ids.length);
+			fFunctionFiles = new HashMap<>(ids.length * 2);
+			for (int i = 0; i < ids.length; i++) {
+				fFunctionFiles.put(ids[i], fileIndexes[i]);
+			}
+
+			int filesCount = in.readInt();
+			fFileOffsets = new long[filesCount];
+			for (int i = 0; i < filesCount; i++) {
+				fFileOffsets[i] = in.readLong();
+			}
+			fCallTraceOffset = in.readLong();
+			fFiles = new ProfilerFileData[filesCount];
+		}
+
+		private synchronized ProfilerFileData loadFile(int index) {
+			if (fFiles[index] == null) {
+				try (FileChannel channel = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+					fFiles[index] = readFileData(open(channel, fFileOffsets[index]), fGlobalData);
+				} catch (IOException e) {
+					PHPProfileCorePlugin.log(e);
+				}
+			}
+			return fFiles[index];
+		}
+
+		private synchronized Map<String, Integer> getFileIndexes() {
+			if (fFileIndexes == null) {
+				Map<String, Integer> fileIndexes = new HashMap<>();
+				try (FileChannel channel = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+					for (int i = 0; i < fFileOffsets.length; i++) {
+						fileIndexes.put(readString(open(channel, fFileOffsets[i])), i);
+					}
+				} catch (IOException e) {
+					PHPProfileCorePlugin.log(e);
+					return Collections.emptyMap();
+				}
+				fFileIndexes = fileIndexes;
+			}
+			return fFileIndexes;
+		}
+
+		@Override
+		public ProfilerGlobalData getGlobalData() {
+			return fGlobalData;
+		}
+
+		@Override
+		public ProfilerFunctionData getFunctionData(int id) {
+			ProfilerData profilerData = getSetProfilerData();
+			if (profilerData != null) {
+				for (ProfilerFileData file : profilerData.getFiles()) {
+					ProfilerFunctionData function = findFunction(file, id);
+					if (function != null) {
+						return function;
+					}
+				}
+				return null;
+			}
+			Integer fileIndex = fFunctionFiles.get(id);
+			return fileIndex != null ? findFunction(loadFile(fileIndex), id) : null;
+		}
+
+		private ProfilerFunctionData findFunction(ProfilerFileData file, int id) {
+			if (file != null) {
+				for (ProfilerFunctionData function : file.getFunctions()) {
+					if (function.getID() == id) {
+						return function;
+					}
+				}
+			}
+			return null;
+		}
+
+		@Override
+		public ProfilerFileData getFileData(String fileName) {
+			ProfilerData profilerData = getSetProfilerData();
+			if (profilerData != null) {
+				for (ProfilerFileData file : profilerData.getFiles()) {
+					if (file.getName().equals(fileName)) {
+						return file;
+					}
+				}
+				return null;
+			}
+			Integer index = getFileIndexes().get(fileName);
+			return index != null ? loadFile(index) : null;
+		}
+
+		@Override
+		public ProfilerFileData getFileData(int number) {
+			ProfilerData profilerData = getSetProfilerData();
+			if (profilerData != null) {
+				ProfilerFileData[] files = profilerData.getFiles();
+				return number >= 0 && number < files.length ? files[number] : null;
+			}
+			if (number >= 0 && number < fFileOffsets.length) {
+				return loadFile(number);
+			}
+			return null;
+		}
+
+		@Override
+		public synchronized ProfilerCallTrace getCallTrace() {
+			if (fProfilerData != null) {
+				return fProfilerData.getCallTrace();
+			}
+			if (fCallTrace == null) {
+				try (FileChannel channel = FileChannel.open(fFile.toPath(), StandardOpenOption.READ)) {
+					fCallTrace = readCallTrace(open(channel, fCallTraceOffset));
+				} catch (IOException e) {
+					PHPProfileCorePlugin.log(e);
+					return new ProfilerCallTrace();
+				}
+			}
+			return fCallTrace;
+		}
+
+		@Override
+		public synchronized void clearAll() {
+			Arrays.fill(fFiles, null);
+			fFileIndexes = null;
+			fCallTrace = null;
+			fProfilerData = null;
+		}
+
+		@Override
+		public synchronized ProfilerData getProfilerData() {
+			if (fProfilerData == null) {
+				fProfilerData = new ProfilerData(fGlobalData, getFilesList(), getCallTrace());
+			}
+			return fProfilerData;
+		}
+
+		/**
+		 * Returns the profiler data once it was created or set, which then
+		 * replaces the stored session.
+		 */
+		private synchronized ProfilerData getSetProfilerData() {
+			return fProfilerData;
+		}
+
+		@Override
+		public synchronized void setProfilerData(ProfilerData data) {
+			fProfilerData = data;
+		}
+
+		@Override
+		public ProfilerFileData[] getFiles() {
+			ProfilerData profilerData = getSetProfilerData();
+			if (profilerData != null) {
+				return profilerData.getFiles();
+			}
+			List<ProfilerFileData> files = new ArrayList<>(fFileOffsets.length);
+			for (int i = 0; i < fFileOffsets.length; i++) {
+				ProfilerFileData file = loadFile(i);
+				if (file != null) {
+					files.add(file);
+				}
+			}
+			return files.toArray(new ProfilerFileData[files.size()]);
+		}
+
+		@Override
+		public List<ProfilerFileData> getFilesList() {
+			ProfilerData profilerData = getSetProfilerData();
+			if (profilerData != null) {
+				return profilerData.getFilesList();
+			}
+			return new ArrayList<>(Arrays.asList(getFiles()));
+		}
+
+		@Override
+		public Date getProfileDate() {
+			return fProfileDate;
+		}
+	}
+
+	private static class CountingOutputStream extends FilterOutputStream {
+
+		private long position;
+
+		public CountingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			out.write(b);
+			position++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			position += len;
+		}
+	}
+}
@@ -384,22 +384,13 @@ public class CacheGrindModelParser {
 
 	private void buildCallTree(Invocation inv) {
 
-		ProfilerCallTraceLayer lr = new ProfilerCallTraceLayer();
 		int id = inv == mainCall ? -1 : inv.function.id;
-		lr.setCalledID(id);
-		lr.setType(ProfilerCallTraceLayer.ENTER);
-		lr.setLine(inv.position);
-		model.getCallTrace().addLayer(lr);
+		model.getCallTrace().addLayer(ProfilerCallTraceLayer.ENTER, inv.position, id, 0, 0, 0, 0);
 		for (Invocation sub : inv.calls) {
 			buildCallTree(sub);
 		}
 
-		lr = new ProfilerCallTraceLayer();
-		lr.setCalledID(id);
-		lr.setTimestampMicroseconds(inv.cost);
-		lr.setType(ProfilerCallTraceLayer.EXIT);
-		lr.setLine(inv.position);
-		model.getCallTrace().addLayer(lr);
+		model.getCallTrace().addLayer(ProfilerCallTraceLayer.EXIT, inv.position, id, 0, inv.cost, 0, 0);
 	}
 
 	public static ProfilerDB[] build(FileInputStream stream) throws IOException {
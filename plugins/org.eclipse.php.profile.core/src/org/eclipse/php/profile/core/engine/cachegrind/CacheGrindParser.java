@@ -12,11 +12,12 @@
  *******************************************************************************/
 package org.eclipse.php.profile.core.engine.cachegrind;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class CacheGrindParser {
 	private InputStream fFile;
@@ -72,650 +73,383 @@ public class CacheGrindParser {
 
 	}
 
-	private static interface State {
-		boolean valid(char letter);
-
-		default void consume(CacheGrindParserListener listener) {
-		}
-
-		void reset();
-	}
-
-	private static abstract class TagState implements State {
-		private final char[] name;
-		private int pointer = 0;
-
-		public TagState(char[] name) {
-			this.name = name;
-		}
-
-		@Override
-		public boolean valid(char letter) {
-			if (pointer > name.length) {
-				if (pointer == name.length + 1) {
-					pointer++;
-					return letter == ' ' || letter == '\t';
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final int FUNCTION = 0;
+	private static final int FILE = 1;
+	private static final int NEXT_FUNCTION = 2;
+	private static final int NEXT_FILE = 3;
+	private static final int CALLS = 4;
+	private static final int CREATOR = 5;
+	private static final int VERSION = 6;
+	private static final int CMD = 7;
+	private static final int PID = 8;
+	private static final int PART = 9;
+	private static final int POSITIONS = 10;
+	private static final int EVENTS = 11;
+	private static final int SUMMARY = 12;
+	private static final int TOTALS = 13;
+
+	private static class Prefix {
+		private final byte[] name;
+		private final int kind;
+		private final boolean tag;
+
+		public Prefix(String name, int kind, boolean tag) {
+			this.name = name.getBytes(StandardCharsets.US_ASCII);
+			this.kind = kind;
+			this.tag = tag;
+		}
+
+		public boolean matches(byte[] buffer, int start, int end) {
+			if (end - start < name.length) {
+				return false;
+			}
+			for (int i = 0; i < name.length; i++) {
+				if (buffer[start + i] != name[i]) {
+					return false;
 				}
-				return next().valid(letter);
-			} else if (pointer == name.length && letter == ':') {
-				pointer++;
-				return true;
-			} else if (name[pointer] == letter) {
-				pointer++;
-				return true;
 			}
-			return false;
+			return true;
 		}
+	}
 
-		public abstract State next();
+	/**
+	 * Line prefixes indexed by their first character, so every line is
+	 * dispatched by a single table lookup instead of matching all the known
+	 * prefixes.
+	 */
+	private static final Prefix[][] PREFIXES = new Prefix[128][];
+	static {
+		register(new Prefix("fn=", FUNCTION, false)); //$NON-NLS-1$
+		register(new Prefix("fl=", FILE, false)); //$NON-NLS-1$
+		register(new Prefix("fi=", FILE, false)); //$NON-NLS-1$
+		register(new Prefix("fe=", FILE, false)); //$NON-NLS-1$
+
+		register(new Prefix("cfn=", NEXT_FUNCTION, false)); //$NON-NLS-1$
+		register(new Prefix("cfl=", NEXT_FILE, false)); //$NON-NLS-1$
+		register(new Prefix("cfi=", NEXT_FILE, false)); //$NON-NLS-1$
+
+		register(new Prefix("calls=", CALLS, false)); //$NON-NLS-1$
+		register(new Prefix("creator:", CREATOR, true)); //$NON-NLS-1$
+		register(new Prefix("version:", VERSION, true)); //$NON-NLS-1$
+		register(new Prefix("cmd:", CMD, true)); //$NON-NLS-1$
+		register(new Prefix("pid:", PID, true)); //$NON-NLS-1$
+		register(new Prefix("part:", PART, true)); //$NON-NLS-1$
+		register(new Prefix("positions:", POSITIONS, true)); //$NON-NLS-1$
+		register(new Prefix("events:", EVENTS, true)); //$NON-NLS-1$
+		register(new Prefix("summary:", SUMMARY, true)); //$NON-NLS-1$
+		register(new Prefix("totals:", TOTALS, true)); //$NON-NLS-1$
+	}
 
-		public void reset() {
-			pointer = 0;
-			next().reset();
+	private static void register(Prefix prefix) {
+		int first = prefix.name[0];
+		Prefix[] current = PREFIXES[first];
+		if (current == null) {
+			PREFIXES[first] = new Prefix[] { prefix };
+		} else {
+			Prefix[] tmp = Arrays.copyOf(current, current.length + 1);
+			tmp[current.length] = prefix;
+			PREFIXES[first] = tmp;
 		}
 	}
 
-	private static abstract class BlockState implements State {
-		private final char[] name;
-		private int pointer = 0;
+	private int[] numbers = new int[16];
+	private int numbersCount;
+	private int nameIndex;
+	private String nameValue;
 
-		public BlockState(char[] name) {
-			this.name = name;
-		}
+	public CacheGrindParser(InputStream file) {
+		fFile = file;
+	}
 
-		@Override
-		public boolean valid(char letter) {
-			if (pointer >= name.length) {
-				return next().valid(letter);
-			} else if (name.length > pointer && name[pointer] == letter) {
-				pointer++;
-				return true;
+	public void parse(CacheGrindParserListener listener) throws IOException {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		int start = 0;
+		int pos = 0;
+		int limit = 0;
+		boolean eof = false;
+		while (true) {
+			while (pos < limit && buffer[pos] != '\n' && buffer[pos] != '\r') {
+				pos++;
+			}
+			if (pos < limit) {
+				line(listener, buffer, start, pos);
+				start = ++pos;
+				continue;
+			}
+			if (eof) {
+				line(listener, buffer, start, limit);
+				break;
+			}
+			if (start > 0) {
+				System.arraycopy(buffer, start, buffer, 0, limit - start);
+				limit -= start;
+				pos -= start;
+				start = 0;
+			} else if (limit == buffer.length) {
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+			int read = fFile.read(buffer, limit, buffer.length - limit);
+			if (read < 0) {
+				eof = true;
+			} else {
+				limit += read;
 			}
-			return false;
-		}
-
-		public abstract State next();
-
-		public void reset() {
-			pointer = 0;
-			next().reset();
 		}
 	}
 
-	private static class StringState implements State {
-
-		private StringBuilder sb = new StringBuilder();
-
-		@Override
-		public boolean valid(char letter) {
-			sb.append(letter);
-			return true;
-		}
-
-		@Override
-		public void reset() {
-			sb.setLength(0);
+	private void line(CacheGrindParserListener listener, byte[] buffer, int start, int end) {
+		if (start >= end) {
+			return;
 		}
-
-		public String result() {
-			return sb.toString();
+		int first = buffer[start];
+		if (first == '#') {
+			return;
 		}
-	}
-
-	private static class StringsState implements State {
-
-		private StringBuilder sb = new StringBuilder();
-		private List<String> strings = new ArrayList<>();
-
-		@Override
-		public boolean valid(char letter) {
-			if (letter == ' ' || letter == '\t') {
-				collect();
+		if (isNumberStart(first)) {
+			if (numbers(buffer, start, end) && numbersCount > 0) {
+				listener.cost(numbers[0], Arrays.copyOfRange(numbers, 1, numbersCount));
 			} else {
-				sb.append(letter);
+				listener.unknown(string(buffer, start, end));
 			}
-			return true;
-		}
-
-		@Override
-		public void reset() {
-			sb.setLength(0);
-			strings.clear();
-		}
-
-		private void collect() {
-			if (sb.length() > 0) {
-				strings.add(sb.toString());
-				sb.setLength(0);
+			return;
+		}
+		Prefix[] candidates = first >= 0 ? PREFIXES[first] : null;
+		if (candidates != null) {
+			for (Prefix prefix : candidates) {
+				if (prefix.matches(buffer, start, end)) {
+					int valueStart = start + prefix.name.length;
+					if (prefix.tag && valueStart < end) {
+						if (buffer[valueStart] != ' ' && buffer[valueStart] != '\t') {
+							break;
+						}
+						valueStart++;
+					}
+					if (consume(listener, prefix.kind, buffer, valueStart, end)) {
+						return;
+					}
+					break;
+				}
 			}
 		}
-
-		public String[] result() {
-			collect();
-			return strings.toArray(new String[0]);
-		}
+		listener.unknown(string(buffer, start, end));
 	}
 
-	private static class NameState implements State {
-		private static final int WAIT_INDEX = -1;
-		private static final int WAIT_INDEX_NUM = -2;
-		private static final int WAIT_SPACE = -4;
-		private static final int WAIT_NAME = -8;
-		private int index = WAIT_INDEX;
-		private NumberState num = new NumberState();
-		private StringState name = new StringState();
-
-		@Override
-		public boolean valid(char letter) {
-			if (index == WAIT_INDEX) {
-				if (letter == '(') {
-					index = WAIT_INDEX_NUM;
-					return true;
-				} else {
-					index = WAIT_NAME;
-				}
-			} else if (index == WAIT_INDEX_NUM) {
-				if (letter == ')') {
-					index = WAIT_SPACE;
-					return true;
-				} else {
-					return num.valid(letter);
-				}
-			} else if (index == WAIT_SPACE) {
-				if (letter == ' ' || letter == '\t') {
-					index = this.num.result();
-					return true;
-				} else {
-					return false;
-				}
+	private boolean consume(CacheGrindParserListener listener, int kind, byte[] buffer, int start, int end) {
+		switch (kind) {
+		case FUNCTION:
+			if (!name(buffer, start, end)) {
+				return false;
 			}
-			return name.valid(letter);
-		}
-
-		@Override
-		public void reset() {
-			num.reset();
-			name.reset();
-			index = -1;
-		}
-
-		public String name() {
-			if (index == WAIT_NAME || index > 0) {
-				String val = name.result();
-				if (val.length() == 0) {
-					return null;
-				}
-				return val;
-			} else {
-				return null;
+			listener.function(nameIndex, nameValue);
+			return true;
+		case FILE:
+			if (!name(buffer, start, end)) {
+				return false;
 			}
-		}
-
-		public int index() {
-			if (index == WAIT_SPACE) {
-				index = this.num.result();
+			listener.file(nameIndex, nameValue);
+			return true;
+		case NEXT_FUNCTION:
+			if (!name(buffer, start, end)) {
+				return false;
 			}
-			if (index >= 0) {
-				return index;
+			listener.nextFunction(nameIndex, nameValue);
+			return true;
+		case NEXT_FILE:
+			if (!name(buffer, start, end)) {
+				return false;
+			}
+			listener.nextFile(nameIndex, nameValue);
+			return true;
+		case CALLS:
+			if (!numbers(buffer, start, end)) {
+				return false;
+			}
+			if (numbersCount > 1) {
+				listener.calls(numbers[0], Arrays.copyOfRange(numbers, 1, numbersCount));
 			} else {
-				return -1;
+				listener.unknown("calls="); //$NON-NLS-1$
 			}
-		}
-
-	}
-
-	private static class NumberState implements State {
-
-		private StringBuilder sb = new StringBuilder();
-
-		@Override
-		public boolean valid(char letter) {
-			if (Character.isDigit(letter) || (sb.length() == 0 && (letter == '+' || letter == '-'))) {
-				sb.append(letter);
-				return true;
+			return true;
+		case CREATOR:
+			listener.creator(string(buffer, start, end));
+			return true;
+		case VERSION:
+			listener.version(string(buffer, start, end));
+			return true;
+		case CMD:
+			listener.cmd(string(buffer, start, end));
+			return true;
+		case PID:
+			if (!number(buffer, start, end)) {
+				return false;
 			}
-			return false;
-		}
-
-		@Override
-		public void reset() {
-			sb.setLength(0);
-		}
-
-		public int result() {
-			if (sb.length() == 0) {
-				return 0;
+			listener.pid(numbersCount == 0 ? 0 : numbers[0]);
+			return true;
+		case PART:
+			if (!number(buffer, start, end)) {
+				return false;
 			}
-			return Integer.valueOf(sb.toString());
-		}
-
-	}
-
-	private static class NumbersState implements State {
-
-		private StringBuilder sb = new StringBuilder();
-		private List<Integer> numbers = new ArrayList<>();
-
-		@Override
-		public boolean valid(char letter) {
-			if (letter == ' ' || letter == '\t') {
-				collect();
-				return true;
-			} else if (Character.isDigit(letter) || (sb.length() == 0 && (letter == '+' || letter == '-'))) {
-				sb.append(letter);
-				return true;
+			listener.part(numbersCount == 0 ? 0 : numbers[0]);
+			return true;
+		case POSITIONS:
+			listener.positions(strings(buffer, start, end));
+			return true;
+		case EVENTS:
+			listener.events(strings(buffer, start, end));
+			return true;
+		case SUMMARY:
+			if (!numbers(buffer, start, end)) {
+				return false;
 			}
-
-			return false;
-		}
-
-		@Override
-		public void reset() {
-			sb.setLength(0);
-			numbers.clear();
-		}
-
-		private void collect() {
-			if (sb.length() > 0) {
-				numbers.add(Integer.valueOf(sb.toString()));
-				sb.setLength(0);
+			listener.summary(Arrays.copyOf(numbers, numbersCount));
+			return true;
+		case TOTALS:
+			if (!numbers(buffer, start, end)) {
+				return false;
 			}
-		}
-
-		public int[] result() {
-			collect();
-			return numbers.stream().mapToInt(Integer::intValue).toArray();
-		}
-	}
-
-	private static class CreatorState extends TagState {
-
-		private StringState next = new StringState();
-
-		public CreatorState() {
-			super("creator".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.creator((String) next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-
-	}
-
-	private static class VersionState extends TagState {
-
-		private StringState next = new StringState();
-
-		public VersionState() {
-			super("version".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.version((String) next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-
-	}
-
-	private static class CMDState extends TagState {
-
-		private StringState next = new StringState();
-
-		public CMDState() {
-			super("cmd".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.cmd((String) next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-
-	}
-
-	private static class PIDState extends TagState {
-
-		private NumberState next = new NumberState();
-
-		public PIDState() {
-			super("pid".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.pid(next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-	}
-
-	private static class PartState extends TagState {
-
-		private NumberState next = new NumberState();
-
-		public PartState() {
-			super("part".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.part(next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-	}
-
-	private static class EventsState extends TagState {
-
-		private StringsState next = new StringsState();
-
-		public EventsState() {
-			super("events".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.events(next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
+			listener.totals(Arrays.copyOf(numbers, numbersCount));
+			return true;
+		default:
+			return false;
 		}
 	}
 
-	private static class PositionsState extends TagState {
-
-		private StringsState next = new StringsState();
-
-		public PositionsState() {
-			super("positions".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.positions(next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
+	private static boolean isNumberStart(int letter) {
+		return (letter >= '0' && letter <= '9') || letter == '+' || letter == '-';
 	}
 
-	private static class TotalsState extends TagState {
-
-		private NumbersState next = new NumbersState();
-
-		public TotalsState() {
-			super("totals".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.totals(next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
+	private static boolean isSpace(int letter) {
+		return letter == ' ' || letter == '\t';
 	}
 
-	private static class SummaryState extends TagState {
-
-		private NumbersState next = new NumbersState();
-
-		public SummaryState() {
-			super("summary".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.summary(next.result());
-		}
-
-		@Override
-		public State next() {
-			return next;
+	/**
+	 * Parses a single optionally signed number. An empty value is accepted and
+	 * leaves {@link #numbersCount} at zero.
+	 */
+	private boolean number(byte[] buffer, int start, int end) {
+		numbersCount = 0;
+		if (start == end) {
+			return true;
 		}
+		return parseInt(buffer, start, end);
 	}
 
-	private static class CallsState extends BlockState {
-
-		private NumbersState next = new NumbersState();
-
-		public CallsState() {
-			super("calls=".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			int[] nums = next.result();
-			if (nums.length > 1) {
-				listener.calls(nums[0], Arrays.stream(nums).skip(1).toArray());
-			} else {
-				listener.unknown("calls="); //$NON-NLS-1$
+	/**
+	 * Parses a space or tab separated list of optionally signed numbers into
+	 * the reusable {@link #numbers} array.
+	 */
+	private boolean numbers(byte[] buffer, int start, int end) {
+		numbersCount = 0;
+		int pos = start;
+		while (pos < end) {
+			if (isSpace(buffer[pos])) {
+				pos++;
+				continue;
 			}
+			int tokenEnd = pos;
+			while (tokenEnd < end && !isSpace(buffer[tokenEnd])) {
+				tokenEnd++;
+			}
+			if (!parseInt(buffer, pos, tokenEnd)) {
+				return false;
+			}
+			pos = tokenEnd;
 		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-	}
-
-	private static class CostState extends BlockState {
-
-		private NumbersState next = new NumbersState();
-
-		public CostState() {
-			super("".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			int[] nums = next.result();
-			listener.cost(nums[0], Arrays.stream(nums).skip(1).toArray());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-	}
-
-	private static class FunctionState extends BlockState {
-
-		private NameState next = new NameState();
-
-		public FunctionState() {
-			super("fn=".toCharArray()); //$NON-NLS-1$
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.function(next.index(), next.name());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
-	}
-
-	private static class FileState extends BlockState {
-
-		private NameState next = new NameState();
-
-		public FileState(String name) {
-			super(name.toCharArray());
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.file(next.index(), next.name());
-		}
-
-		@Override
-		public State next() {
-			return next;
-		}
+		return true;
 	}
 
-	private static class NextFunctionState extends BlockState {
-
-		private NameState next = new NameState();
-
-		public NextFunctionState() {
-			super("cfn=".toCharArray()); //$NON-NLS-1$
+	private boolean parseInt(byte[] buffer, int start, int end) {
+		int pos = start;
+		boolean negative = false;
+		if (buffer[pos] == '+' || buffer[pos] == '-') {
+			negative = buffer[pos] == '-';
+			pos++;
 		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.nextFunction(next.index(), next.name());
+		if (pos == end) {
+			return false;
 		}
-
-		@Override
-		public State next() {
-			return next;
+		long value = 0;
+		for (; pos < end; pos++) {
+			int digit = buffer[pos] - '0';
+			if (digit < 0 || digit > 9) {
+				return false;
+			}
+			value = value * 10 + digit;
+			if (value > Integer.MAX_VALUE + 1L) {
+				return false;
+			}
 		}
-	}
-
-	private static class NextFileState extends BlockState {
-
-		private NameState next = new NameState();
-
-		public NextFileState(String name) {
-			super(name.toCharArray());
+		if (negative) {
+			value = -value;
 		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-			listener.nextFile(next.index(), next.name());
+		if (value > Integer.MAX_VALUE) {
+			return false;
 		}
-
-		@Override
-		public State next() {
-			return next;
+		if (numbersCount == numbers.length) {
+			numbers = Arrays.copyOf(numbers, numbers.length * 2);
 		}
+		numbers[numbersCount++] = (int) value;
+		return true;
 	}
 
-	private static class CommentState implements State {
-		private boolean test = true;
-
-		@Override
-		public boolean valid(char letter) {
-			if (test && letter != '#') {
+	/**
+	 * Parses a <code>(id) name</code>, <code>(id)</code> or <code>name</code>
+	 * value into {@link #nameIndex} and {@link #nameValue}. Compressed
+	 * references without a name do not allocate any string.
+	 */
+	private boolean name(byte[] buffer, int start, int end) {
+		nameIndex = -1;
+		nameValue = null;
+		int pos = start;
+		if (pos < end && buffer[pos] == '(') {
+			int close = ++pos;
+			while (close < end && buffer[close] != ')') {
+				close++;
+			}
+			if (close == end) {
 				return false;
-			} else {
-				test = false;
 			}
-			return true;
-		}
-
-		@Override
-		public void consume(CacheGrindParserListener listener) {
-
+			if (!number(buffer, pos, close)) {
+				return false;
+			}
+			nameIndex = numbersCount == 0 ? 0 : numbers[0];
+			pos = close + 1;
+			if (pos == end) {
+				return true;
+			}
+			if (!isSpace(buffer[pos])) {
+				return false;
+			}
+			pos++;
 		}
-
-		@Override
-		public void reset() {
-			test = true;
+		if (pos < end) {
+			nameValue = string(buffer, pos, end);
 		}
-
+		return true;
 	}
 
-	private static final List<State> mainStates = new ArrayList<>();
-	static {
-		mainStates.add(new FunctionState());
-		mainStates.add(new FileState("fl=")); //$NON-NLS-1$
-		mainStates.add(new FileState("fi=")); //$NON-NLS-1$
-		mainStates.add(new FileState("fe=")); //$NON-NLS-1$
-
-		mainStates.add(new NextFunctionState());
-		mainStates.add(new NextFileState("cfl=")); //$NON-NLS-1$
-		mainStates.add(new NextFileState("cfi=")); //$NON-NLS-1$
-
-		mainStates.add(new CostState());
-		mainStates.add(new CallsState());
-		mainStates.add(new CreatorState());
-		mainStates.add(new VersionState());
-		mainStates.add(new CMDState());
-		mainStates.add(new PIDState());
-		mainStates.add(new PartState());
-		mainStates.add(new PositionsState());
-		mainStates.add(new EventsState());
-		mainStates.add(new SummaryState());
-		mainStates.add(new TotalsState());
-		mainStates.add(new CommentState());
-	}
-
-	public CacheGrindParser(InputStream file) {
-		fFile = file;
-	}
-
-	public void parse(CacheGrindParserListener listener) throws IOException {
-		try {
-			Reader reader = new BufferedReader(new InputStreamReader(fFile));
-			int letter = reader.read();
-			StringBuilder buff = new StringBuilder();
-			List<State> states = CacheGrindParser.mainStates;
-			while (letter != -1) {
-				if (letter == '\n' || letter == '\r') {
-					if (states.size() != 1) {
-						if (buff.length() > 0) {
-							listener.unknown(buff.toString());
-						}
-					} else if (states.size() == 1) {
-						states.get(0).consume(listener);
-					}
-					if (states.size() > 0) {
-						states.forEach(s -> s.reset());
-					}
-					buff.setLength(0);
-					states = CacheGrindParser.mainStates;
-				} else if (states.size() > 0) {
-					char tmp = (char) letter;
-					states = states.stream().filter(s -> {
-						if (s.valid(tmp)) {
-							return true;
-						}
-						s.reset();
-						return false;
-					}).collect(Collectors.toList());
-					buff.append(tmp);
-				} else {
-					buff.append((char) letter);
-				}
-
-				letter = reader.read();
-
+	private static String[] strings(byte[] buffer, int start, int end) {
+		List<String> result = new ArrayList<>();
+		int pos = start;
+		while (pos < end) {
+			if (isSpace(buffer[pos])) {
+				pos++;
+				continue;
+			}
+			int tokenEnd = pos;
+			while (tokenEnd < end && !isSpace(buffer[tokenEnd])) {
+				tokenEnd++;
 			}
-		} finally {
-			CacheGrindParser.mainStates.forEach(s -> s.reset());
+			result.add(string(buffer, pos, tokenEnd));
+			pos = tokenEnd;
 		}
+		return result.toArray(new String[0]);
+	}
+
+	private static String string(byte[] buffer, int start, int end) {
+		return new String(buffer, start, end - start, StandardCharsets.UTF_8);
 	}
 
 }
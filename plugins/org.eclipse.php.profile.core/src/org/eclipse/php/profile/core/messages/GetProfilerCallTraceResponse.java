@@ -18,7 +18,6 @@ import java.io.IOException;
 
 import org.eclipse.php.internal.debug.core.zend.debugger.messages.DebugMessageResponseImpl;
 import org.eclipse.php.profile.core.data.ProfilerCallTrace;
-import org.eclipse.php.profile.core.data.ProfilerCallTraceLayer;
 import org.eclipse.php.debug.core.debugger.messages.IDebugResponseMessage;
 
 /**
@@ -53,8 +52,7 @@ public class GetProfilerCallTraceResponse extends DebugMessageResponseImpl imple
 		ProfilerCallTrace callTrace = new ProfilerCallTrace();
 		callTrace.setLayersCount(in.readInt());
 		for (int i = 0; i < callTrace.getLayersCount(); i++) {
-			callTrace.addLayer(
-					new ProfilerCallTraceLayer(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt()));
+			callTrace.addLayer(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt(), 0, 0);
 		}
 		setCallTrace(callTrace);
 	}
@@ -123,17 +123,17 @@ public class ExecutionFlowView extends AbstractProfilerFunctionsView
 			if (profilerDB != null) {
 				ProfilerCallTrace callTrace = profilerDB.getCallTrace();
 				if (callTrace != null) {
-					ProfilerCallTraceLayer[] layers = callTrace.getLayers();
+					int layersCount = callTrace.size();
 
 					ExecutionFlowTreeElement current = null;
 					ExecutionFlowTreeElement root = new ExecutionFlowTreeElement();
 					ArrayList<ExecutionFlowTreeElement> elements = new ArrayList<>();
-					for (int i = 0; i < layers.length; ++i) {
-						if (layers[i].getType() == ProfilerCallTraceLayer.ENTER) { // enter
+					for (int i = 0; i < layersCount; ++i) {
+						if (callTrace.getType(i) == ProfilerCallTraceLayer.ENTER) { // enter
 							// function
 							ExecutionFlowTreeElement element = new ExecutionFlowTreeElement(i);
-							element.setData(profilerDB.getFunctionData(layers[i].getCalledID()));
-							element.setLayer(layers[i]);
+							element.setData(profilerDB.getFunctionData(callTrace.getCalledID(i)));
+							element.setLayer(callTrace.getLayer(i));
 							if (current != null) {
 								current.addChild(element);
 								element.setParent(current);
@@ -143,8 +143,10 @@ public class ExecutionFlowView extends AbstractProfilerFunctionsView
 						} else { // exit function
 							if (current != null) {
 								ProfilerCallTraceLayer currentLayer = current.getLayer();
-								currentLayer.setDuration(layers[i].getTimestampSeconds(),
-										layers[i].getTimestampMicroseconds());
+								currentLayer.setDuration(callTrace.getTimestampSeconds(i),
+										callTrace.getTimestampMicroseconds(i));
+								callTrace.setDuration(current.getOrderID(), callTrace.getTimestampSeconds(i),
+										callTrace.getTimestampMicroseconds(i));
 								current.setDuration(currentLayer.getDurationInMilli());
 								if (current.getParent() != null) {
 									current = (ExecutionFlowTreeElement) current.getParent();
@@ -718,17 +718,17 @@ public class FunctionInvocationStatisticsView extends ViewPart {
 
 				ProfilerCallTrace callTrace = fProfilerDB.getCallTrace();
 				if (callTrace != null) {
-					ProfilerCallTraceLayer[] layers = callTrace.getLayers();
-					if (layers.length > 0) {
-						callerIDs.add(layers[0].getCalledID()); // store
+					int layersCount = callTrace.size();
+					if (layersCount > 0) {
+						callerIDs.add(callTrace.getCalledID(0)); // store
 																// first
 																// caller
-						for (int i = 1; i < layers.length; ++i) {
-							if (layers[i].getType() == ProfilerCallTraceLayer.EXIT && callerIDs.size() > 0) {
+						for (int i = 1; i < layersCount; ++i) {
+							if (callTrace.getType(i) == ProfilerCallTraceLayer.EXIT && callerIDs.size() > 0) {
 								callerIDs.removeElementAt(callerIDs.size() - 1);
 								continue;
 							}
-							if (layers[i].getCalledID() == function.getID() && callerIDs.size() > 0) { // this
+							if (callTrace.getCalledID(i) == function.getID() && callerIDs.size() > 0) { // this
 																										// function
 																										// is
 																										// called
@@ -745,7 +745,7 @@ public class FunctionInvocationStatisticsView extends ViewPart {
 									invokers.put(id, invoker);
 								}
 							}
-							callerIDs.add(layers[i].getCalledID());
+							callerIDs.add(callTrace.getCalledID(i));
 						}
 					}
 				}
@@ -781,13 +781,13 @@ public class FunctionInvocationStatisticsView extends ViewPart {
 
 				ProfilerCallTrace callTrace = fProfilerDB.getCallTrace();
 				if (callTrace != null) {
-					ProfilerCallTraceLayer[] layers = callTrace.getLayers();
-					if (layers.length > 0) {
-						callerIDs.add(layers[0].getCalledID()); // store
+					int layersCount = callTrace.size();
+					if (layersCount > 0) {
+						callerIDs.add(callTrace.getCalledID(0)); // store
 																// first
 																// caller
-						for (int i = 1; i < layers.length; ++i) {
-							if (layers[i].getType() == ProfilerCallTraceLayer.EXIT && callerIDs.size() > 0) {
+						for (int i = 1; i < layersCount; ++i) {
+							if (callTrace.getType(i) == ProfilerCallTraceLayer.EXIT && callerIDs.size() > 0) {
 								callerIDs.removeElementAt(callerIDs.size() - 1);
 								continue;
 							}
@@ -796,7 +796,7 @@ public class FunctionInvocationStatisticsView extends ViewPart {
 																								// function
 																								// calls
 																								// somebody
-									int id = layers[i].getCalledID();
+									int id = callTrace.getCalledID(i);
 									if (invokees.containsKey(id)) {
 										InvokeFunctionTableElement invokee = (InvokeFunctionTableElement) invokees
 												.get(id);
@@ -809,7 +809,7 @@ public class FunctionInvocationStatisticsView extends ViewPart {
 									}
 								}
 							}
-							callerIDs.add(layers[i].getCalledID());
+							callerIDs.add(callTrace.getCalledID(i));
 						}
 					}
 				}
@@ -12,7 +12,7 @@
  *******************************************************************************/
 package org.eclipse.php.profile.ui.wizards;
 
-import java.io.FileOutputStream;
+import java.io.File;
 import java.io.IOException;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -23,7 +23,7 @@ import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.php.profile.core.engine.ProfilerDB;
-import org.eclipse.php.profile.core.engine.ProfilerDataSerializationUtil;
+import org.eclipse.php.profile.core.engine.ProfilerDBManager;
 import org.eclipse.php.profile.ui.PHPProfileUIMessages;
 import org.eclipse.php.profile.ui.ProfilerUIImages;
 import org.eclipse.php.profile.ui.ProfilerUiPlugin;
@@ -51,7 +51,7 @@ public class ExportSessionWizard extends AbstractSessionWizard implements IExpor
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
 				try {
-					ProfilerDataSerializationUtil.serialize(sessions, new FileOutputStream(fileName));
+					ProfilerDBManager.save(sessions, new File(fileName));
 				} catch (IOException e) {
 					Display.getDefault().asyncExec(new Runnable() {
 						@Override
@@ -23,6 +23,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.php.internal.ui.IPHPHelpContextIds;
 import org.eclipse.php.profile.core.engine.ProfileSessionsManager;
 import org.eclipse.php.profile.core.engine.ProfilerDB;
+import org.eclipse.php.profile.core.engine.ProfilerDataStorage;
 import org.eclipse.php.profile.ui.PHPProfileUIMessages;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.SelectionAdapter;
@@ -121,7 +122,7 @@ public class ExportSessionWizardFirstPage extends WizardPage {
 			public void widgetSelected(SelectionEvent e) {
 				FileDialog dialog = new FileDialog(getShell(), SWT.SAVE);
 				dialog.setText(PHPProfileUIMessages.getString("ExportSessionWizardPage1.6")); //$NON-NLS-1$
-				dialog.setFilterExtensions(new String[] { "*.xml" }); //$NON-NLS-1$
+				dialog.setFilterExtensions(new String[] { "*.xml", "*." + ProfilerDataStorage.FILE_EXTENSION }); //$NON-NLS-1$ //$NON-NLS-2$
 
 				String dirName = new File(fTargetFileField.getText().trim()).getParent();
 				if (dirName != null && dirName.length() > 0 && new File(dirName).exists()) {
@@ -12,8 +12,11 @@
  *******************************************************************************/
 package org.eclipse.php.profile.ui.wizards;
 
-import java.io.FileInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -23,10 +26,10 @@ import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.wizard.Wizard;
 import org.eclipse.osgi.util.NLS;
+import org.eclipse.php.profile.core.engine.CacheGrindImporter;
 import org.eclipse.php.profile.core.engine.ProfileSessionsManager;
 import org.eclipse.php.profile.core.engine.ProfilerDB;
-import org.eclipse.php.profile.core.engine.ProfilerDataSerializationUtil;
-import org.eclipse.php.profile.core.engine.cachegrind.CacheGrindModelParser;
+import org.eclipse.php.profile.core.engine.ProfilerDBManager;
 import org.eclipse.php.profile.ui.PHPProfileUIMessages;
 import org.eclipse.php.profile.ui.ProfilerUIConstants;
 import org.eclipse.php.profile.ui.ProfilerUIImages;
@@ -50,13 +53,30 @@ public class ImportSessionWizard extends Wizard implements IImportWizard {
 		Job importJob = new Job(PHPProfileUIMessages.getString("ImportSessionWizard.0")) { //$NON-NLS-1$
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
+				IStatus result = Status.OK_STATUS;
 				try {
-					FileInputStream stream = new FileInputStream(page1.getSourceFile());
+					File[] sourceFiles = page1.getSourceFiles();
 					ProfilerDB[] profilerDBs;
 					if (page1.getSourceType() == ProfilerUIConstants.XDEBUG_TYPE) {
-						profilerDBs = CacheGrindModelParser.build(stream);
+						// The files are parsed concurrently, failures are reported by the result
+						CacheGrindImporter importer = new CacheGrindImporter(sourceFiles);
+						result = importer.run(monitor);
+						if (result.matches(IStatus.CANCEL)) {
+							return result;
+						}
+						profilerDBs = importer.getSessions();
+						if (profilerDBs.length == 0 && !result.isOK()) {
+							return result;
+						}
 					} else {
-						profilerDBs = ProfilerDataSerializationUtil.deserialize(stream);
+						List<ProfilerDB> sessions = new ArrayList<>();
+						for (File sourceFile : sourceFiles) {
+							ProfilerDB[] loaded = ProfilerDBManager.load(sourceFile);
+							if (loaded != null) {
+								sessions.addAll(Arrays.asList(loaded));
+							}
+						}
+						profilerDBs = sessions.toArray(new ProfilerDB[0]);
 					}
 
 					if (profilerDBs != null && profilerDBs.length > 0) {
@@ -86,7 +106,7 @@ public class ImportSessionWizard extends Wizard implements IImportWizard {
 						}
 					});
 				}
-				return Status.OK_STATUS;
+				return result;
 			}
 		};
 		importJob.setUser(true);
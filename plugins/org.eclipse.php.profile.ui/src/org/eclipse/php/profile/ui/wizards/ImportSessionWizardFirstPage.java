@@ -13,12 +13,16 @@
 package org.eclipse.php.profile.ui.wizards;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.Path;
 import org.eclipse.jface.viewers.*;
 import org.eclipse.jface.wizard.WizardPage;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.php.internal.ui.IPHPHelpContextIds;
+import org.eclipse.php.profile.core.engine.ProfilerDataStorage;
 import org.eclipse.php.profile.ui.PHPProfileUIMessages;
 import org.eclipse.php.profile.ui.ProfilerUIConstants;
 import org.eclipse.php.profile.ui.ProfilerUiPlugin;
@@ -46,6 +50,7 @@ public class ImportSessionWizardFirstPage extends WizardPage {
 	private Text fSourceField;
 	private Button fSourceBtn;
 	private String fSourceFile;
+	private File[] fSourceFiles;
 	private int fSourceType;
 
 	public ImportSessionWizardFirstPage() {
@@ -59,6 +64,14 @@ public class ImportSessionWizardFirstPage extends WizardPage {
 		return fSourceFile;
 	}
 
+	/**
+	 * Returns the selected files, several files are separated by the path
+	 * separator in the source field
+	 */
+	public File[] getSourceFiles() {
+		return fSourceFiles;
+	}
+
 	public int getSourceType() {
 		return fSourceType;
 	}
@@ -127,20 +140,25 @@ public class ImportSessionWizardFirstPage extends WizardPage {
 		fSourceBtn.addSelectionListener(new SelectionAdapter() {
 			@Override
 			public void widgetSelected(SelectionEvent e) {
-				FileDialog dialog = new FileDialog(fSourceBtn.getShell(), SWT.OPEN);
+				FileDialog dialog = new FileDialog(fSourceBtn.getShell(), SWT.OPEN | SWT.MULTI);
 				if (fSourceType == ProfilerUIConstants.ECLIPSE_TYPE) {
-					dialog.setFilterExtensions(new String[] { "*.xml", "*.*" }); //$NON-NLS-1$ //$NON-NLS-2$
+					dialog.setFilterExtensions(
+							new String[] { "*.xml", "*." + ProfilerDataStorage.FILE_EXTENSION, "*.*" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 				}
 				dialog.setText(PHPProfileUIMessages.getString("ImportSessionWizardPage1.4")); //$NON-NLS-1$
 
-				String dirName = new File(fSourceField.getText().trim()).getParent();
+				String[] sourceFiles = splitSourceFiles(fSourceField.getText());
+				String dirName = sourceFiles.length > 0 ? new File(sourceFiles[0]).getParent() : null;
 				if (dirName != null && dirName.length() > 0 && new File(dirName).exists()) {
 					dialog.setFilterPath(new Path(dirName).toOSString());
 				}
 
-				String file = dialog.open();
-				if (file != null) {
-					fSourceField.setText(file);
+				if (dialog.open() != null) {
+					String[] fileNames = dialog.getFileNames();
+					for (int i = 0; i < fileNames.length; i++) {
+						fileNames[i] = new File(dialog.getFilterPath(), fileNames[i]).getPath();
+					}
+					fSourceField.setText(String.join(File.pathSeparator, fileNames));
 				}
 			}
 		});
@@ -154,19 +172,36 @@ public class ImportSessionWizardFirstPage extends WizardPage {
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(getControl(), IPHPHelpContextIds.IMPORTING_PROFILE_SESSIONS);
 	}
 
+	private static String[] splitSourceFiles(String text) {
+		List<String> sourceFiles = new ArrayList<>();
+		for (String sourceFile : text.split(Pattern.quote(File.pathSeparator))) {
+			sourceFile = sourceFile.trim();
+			if (sourceFile.length() > 0) {
+				sourceFiles.add(sourceFile);
+			}
+		}
+		return sourceFiles.toArray(new String[0]);
+	}
+
 	protected boolean validatePage() {
-		String sourceFile = fSourceField.getText().trim();
-		if (sourceFile.length() == 0) {
+		String[] sourceFiles = splitSourceFiles(fSourceField.getText());
+		if (sourceFiles.length == 0) {
 			setMessage(null);
 			setErrorMessage(PHPProfileUIMessages.getString("ImportSessionWizardPage1.5")); //$NON-NLS-1$
 			return false;
 		}
-		if (!new File(sourceFile).exists()) {
-			setMessage(null);
-			setErrorMessage(NLS.bind(PHPProfileUIMessages.getString("ImportSessionWizardPage1.6"), sourceFile)); //$NON-NLS-1$
-			return false;
+		File[] files = new File[sourceFiles.length];
+		for (int i = 0; i < sourceFiles.length; i++) {
+			files[i] = new File(sourceFiles[i]);
+			if (!files[i].exists()) {
+				setMessage(null);
+				setErrorMessage(
+						NLS.bind(PHPProfileUIMessages.getString("ImportSessionWizardPage1.6"), sourceFiles[i])); //$NON-NLS-1$
+				return false;
+			}
 		}
-		fSourceFile = sourceFile;
+		fSourceFile = fSourceField.getText().trim();
+		fSourceFiles = files;
 
 		setErrorMessage(null);
 		setMessage(null);
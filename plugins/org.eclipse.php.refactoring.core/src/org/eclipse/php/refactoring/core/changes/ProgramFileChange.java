@@ -15,13 +15,17 @@ package org.eclipse.php.refactoring.core.changes;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.ltk.core.refactoring.TextEditBasedChangeGroup;
 import org.eclipse.ltk.core.refactoring.TextFileChange;
+import org.eclipse.php.core.ast.nodes.ASTParser;
 import org.eclipse.php.core.ast.nodes.Program;
+import org.eclipse.php.refactoring.core.RefactoringPlugin;
 
 /**
  * A program change is a text file change with augmented AST program
@@ -30,17 +34,41 @@ import org.eclipse.php.core.ast.nodes.Program;
  */
 public class ProgramFileChange extends TextFileChange {
 
-	private final Program program;
+	private final ISourceModule sourceModule;
+
+	private Program program;
 
 	public ProgramFileChange(String name, IFile file, Program program) {
 		super(name, file);
 		this.program = program;
+		this.sourceModule = null;
+	}
+
+	/**
+	 * Creates a change whose program is parsed only when it is requested (e.g.
+	 * by the preview), so that the change does not keep the AST of the file
+	 * alive while the refactoring is running.
+	 */
+	public ProgramFileChange(String name, IFile file) {
+		super(name, file);
+		this.sourceModule = DLTKCore.createSourceModuleFrom(file);
 	}
 
-	public Program getProgram() {
+	public synchronized Program getProgram() {
+		if (program == null && sourceModule != null) {
+			try {
+				program = ASTParser.newParser(sourceModule).createAST(new NullProgressMonitor());
+			} catch (Exception e) {
+				RefactoringPlugin.logException(e);
+			}
+		}
 		return program;
 	}
 
+	private ISourceModule getSourceModule() {
+		return sourceModule != null ? sourceModule : program.getSourceModule();
+	}
+
 	/**
 	 * Adapt to Program
 	 * 
@@ -50,7 +78,7 @@ public class ProgramFileChange extends TextFileChange {
 	@SuppressWarnings({ "unchecked", "rawtypes" })
 	public Object getAdapter(Class adapter) {
 		if (adapter == Program.class) {
-			return program;
+			return getProgram();
 		}
 		return super.getAdapter(adapter);
 	}
@@ -118,7 +146,7 @@ public class ProgramFileChange extends TextFileChange {
 
 		boolean isModified = isDocumentModified();
 		super.releaseDocument(document, pm);
-		ISourceModule sm = program.getSourceModule();
+		ISourceModule sm = getSourceModule();
 		if (isModified && !isDocumentAcquired()) {
 			if (sm.isWorkingCopy()) {
 				sm.reconcile(false /* don't force problem detection */, null /* use primary owner */,
@@ -13,16 +13,20 @@
 package org.eclipse.php.refactoring.core.rename;
 
 import java.util.*;
-import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourceAttributes;
 import org.eclipse.core.runtime.*;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
 import org.eclipse.dltk.core.DLTKCore;
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
 import org.eclipse.ltk.core.refactoring.TextFileChange;
 import org.eclipse.ltk.core.refactoring.participants.CheckConditionsContext;
@@ -36,6 +40,7 @@ import org.eclipse.php.internal.core.filenetwork.FileNetworkUtility;
 import org.eclipse.php.internal.core.filenetwork.ReferenceTree;
 import org.eclipse.php.internal.core.filenetwork.ReferenceTree.Node;
 import org.eclipse.php.refactoring.core.PHPRefactoringCoreMessages;
+import org.eclipse.php.refactoring.core.RefactoringPlugin;
 import org.eclipse.php.refactoring.core.changes.ProgramFileChange;
 import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
 import org.eclipse.text.edits.MultiTextEdit;
@@ -57,8 +62,20 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 
 	protected String fNewElementName;
 
+	/**
+	 * The files taking part in the refactoring. Files which are only found by
+	 * {@link #collectReferences(Program, IProgressMonitor)} are mapped to
+	 * <code>null</code> and are parsed by {@link #visitParticipants} when they
+	 * are processed.
+	 */
 	protected Map<IFile, Program> participantFiles;
 
+	/**
+	 * The file changes computed along with the final conditions, in the order
+	 * of {@link #participantFiles}.
+	 */
+	private List<TextFileChange> fileChanges;
+
 	/**
 	 * map of sibling changes by file received from parent processor.
 	 */
@@ -81,7 +98,10 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 	 * @return the change
 	 */
 	protected TextFileChange acquireChange(final IFile file, final Program program) {
-		ProgramFileChange change = new ProgramFileChange(file.getName(), file, program);
+		// do not hold the AST of the files which are parsed only to be visited
+		ProgramFileChange change = participantFiles != null && participantFiles.get(file) == program
+				? new ProgramFileChange(file.getName(), file, program)
+				: new ProgramFileChange(file.getName(), file);
 		change.setEdit(new MultiTextEdit());
 		change.setTextType("php"); //$NON-NLS-1$
 		return change;
@@ -94,7 +114,8 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 
 		try {
 
-			participantFiles = new HashMap<>();
+			participantFiles = new LinkedHashMap<>();
+			fileChanges = null;
 
 			if (resource instanceof IFile && PHPToolkitUtil.isPHPFile((IFile) resource)) {
 
@@ -130,11 +151,7 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 		if (references != null) {
 			for (Iterator<Node> it = references.iterator(); it.hasNext();) {
 				Node node = it.next();
-				IFile file = (IFile) node.getFile().getResource();
-				try {
-					participantFiles.put(file, RefactoringUtility.getProgramForFile(file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) node.getFile().getResource());
 			}
 		}
 
@@ -142,16 +159,24 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 		if (references != null) {
 			for (Iterator<Node> it = references.iterator(); it.hasNext();) {
 				Node node = it.next();
-				IFile file = (IFile) node.getFile().getResource();
-				try {
-					participantFiles.put(file, RefactoringUtility.getProgramForFile(file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) node.getFile().getResource());
 			}
 		}
 
 	}
 
+	/**
+	 * Adds a file to the participants of the refactoring. The file is not
+	 * parsed before it is visited.
+	 * 
+	 * @param file
+	 */
+	protected void addParticipant(IFile file) {
+		if (!participantFiles.containsKey(file)) {
+			participantFiles.put(file, null);
+		}
+	}
+
 	protected static int getSearchFlags(boolean includeInterp) {
 		int flags = IDLTKSearchScope.SOURCES | IDLTKSearchScope.APPLICATION_LIBRARIES;
 		if (includeInterp) {
@@ -199,18 +224,123 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 		RefactoringStatus result = RefactoringStatus.create(Status.OK_STATUS);
 
 		final SubProgressMonitor subProgressMonitor = new SubProgressMonitor(pm, 100);
-		subProgressMonitor.beginTask(PHPRefactoringCoreMessages.getString("RenameProcessorBase.1"), //$NON-NLS-1$
-				participantFiles.size());
+		// the changes are computed along with the status, so that every file
+		// is parsed only once
+		List<TextFileChange> changes = new ArrayList<>();
+		try {
+			result.merge(visitParticipants(subProgressMonitor, changes));
+		} finally {
+			subProgressMonitor.done();
+		}
+		fileChanges = changes;
+		return result;
+	}
 
-		for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-			final IFile key = entry.getKey();
-			final Program program = entry.getValue();
+	/**
+	 * Adds the changes of the participant files to the given change. The
+	 * changes computed by
+	 * {@link #checkFinalConditions(IProgressMonitor, CheckConditionsContext)}
+	 * are reused, if any.
+	 * 
+	 * @param pm
+	 * @param rootChange
+	 */
+	protected void addFileChanges(IProgressMonitor pm, CompositeChange rootChange)
+			throws CoreException, OperationCanceledException {
+		List<TextFileChange> changes = fileChanges;
+		fileChanges = null;
+		if (changes == null) {
+			changes = new ArrayList<>();
+			RefactoringStatus status = visitParticipants(pm, changes);
+			if (status.hasError()) {
+				throw new CoreException(new Status(IStatus.ERROR, RefactoringPlugin.PLUGIN_ID,
+						status.getMessageMatchingSeverity(RefactoringStatus.ERROR)));
+			}
+		}
+		for (TextFileChange change : changes) {
+			rootChange.add(change);
+		}
+	}
+
+	/**
+	 * Checks the conditions and creates the change of every participant file.
+	 * The files are visited by a pool of jobs (by a single job unless
+	 * {@link #isConcurrent()}), a file which was not parsed yet is parsed by
+	 * the job visiting it and its AST is dropped right after. A file which
+	 * can't be processed adds an error to the status, as it would be missing
+	 * from the change.
+	 * 
+	 * @param pm
+	 * @param changes
+	 *            receives the changes of the files, in the order of
+	 *            {@link #participantFiles}
+	 * @return the merged status of the files
+	 */
+	private RefactoringStatus visitParticipants(IProgressMonitor pm, List<TextFileChange> changes)
+			throws OperationCanceledException {
+		final IFile[] files = participantFiles.keySet().toArray(new IFile[participantFiles.size()]);
+		final AtomicReferenceArray<RefactoringStatus> statuses = new AtomicReferenceArray<>(files.length);
+		final AtomicReferenceArray<TextFileChange> results = new AtomicReferenceArray<>(files.length);
+		final AtomicInteger next = new AtomicInteger();
+
+		String name = PHPRefactoringCoreMessages.getString("RenameProcessorBase.1"); //$NON-NLS-1$
+		int workers = isConcurrent()
+				? Math.max(1, Math.min(files.length, Runtime.getRuntime().availableProcessors()))
+				: 1;
+		JobGroup group = new JobGroup(name, workers, workers);
+		for (int i = 0; i < workers; i++) {
+			Job job = new Job(name) {
+				@Override
+				protected IStatus run(IProgressMonitor monitor) {
+					int index;
+					while ((index = next.getAndIncrement()) < files.length) {
+						if (monitor.isCanceled()) {
+							return Status.CANCEL_STATUS;
+						}
+						IFile file = files[index];
+						Program program = participantFiles.get(file);
+						try {
+							if (program == null) {
+								program = RefactoringUtility.getProgramForFile(file);
+							}
+							statuses.set(index, getRefactoringStatus(file, program));
+							results.set(index, createFileChange(file, program));
+						} catch (Exception e) {
+							RefactoringPlugin.logException(e);
+							statuses.set(index, RefactoringStatus.createErrorStatus(
+									PHPRefactoringCoreMessages.format("RenameProcessorBase.4", //$NON-NLS-1$
+											new Object[] { file.getFullPath(), e.getMessage() })));
+						}
+					}
+					return Status.OK_STATUS;
+				}
+			};
+			job.setSystem(true);
+			job.setJobGroup(group);
+			job.schedule();
+		}
+		try {
+			group.join(0, pm);
+		} catch (OperationCanceledException e) {
+			group.cancel();
+			throw e;
+		} catch (InterruptedException e) {
+			group.cancel();
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		}
 
-			RefactoringStatus status = getRefactoringStatus(key, program);
-			result.merge(status);
-			subProgressMonitor.worked(1);
+		RefactoringStatus result = new RefactoringStatus();
+		for (int i = 0; i < files.length; i++) {
+			RefactoringStatus status = statuses.get(i);
+			if (status != null) {
+				result.merge(status);
+			}
+			TextFileChange change = results.get(i);
+			if (change != null) {
+				changes.add(change);
+			}
 		}
-		subProgressMonitor.done();
 		return result;
 	}
 
@@ -223,6 +353,32 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 	 */
 	public abstract RefactoringStatus getRefactoringStatus(IFile key, Program program);
 
+	/**
+	 * Returns whether {@link #getRefactoringStatus(IFile, Program)} and
+	 * {@link #createFileChange(IFile, Program)} can be called concurrently for
+	 * different files. They are not by default, since the nodes and bindings
+	 * of the source AST are not thread safe: a concurrent processor resolves
+	 * what it needs from them in
+	 * {@link #checkInitialConditions(IProgressMonitor)}.
+	 */
+	protected boolean isConcurrent() {
+		return false;
+	}
+
+	/**
+	 * Should be overridden by clients which add their changes with
+	 * {@link #addFileChanges(IProgressMonitor, CompositeChange)}. Called
+	 * concurrently for different files if {@link #isConcurrent()}.
+	 * 
+	 * @param file
+	 * @param program
+	 * @return the change of the given file or <code>null</code> if the file is
+	 *         not changed
+	 */
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		return null;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -244,6 +400,7 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 	public void setNewElementName(String newName) {
 		Assert.isNotNull(newName);
 		fNewElementName = newName;
+		fileChanges = null;
 	}
 
 	@Override
@@ -311,7 +468,15 @@ public abstract class AbstractRenameProcessor<R extends IResource> extends Renam
 	 * @return the program node for a given file
 	 */
 	public Program getProgram(IFile file) {
-		return participantFiles.get(file);
+		Program program = participantFiles.get(file);
+		if (program == null && participantFiles.containsKey(file)) {
+			try {
+				program = RefactoringUtility.getProgramForFile(file);
+			} catch (Exception e) {
+				RefactoringPlugin.logException(e);
+			}
+		}
+		return program;
 	}
 
 	/**
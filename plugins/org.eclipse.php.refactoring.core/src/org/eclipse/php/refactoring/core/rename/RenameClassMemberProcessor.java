@@ -16,7 +16,6 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -24,6 +23,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.IType;
@@ -76,6 +76,17 @@ public class RenameClassMemberProcessor extends AbstractRenameProcessor<IFile> i
 	public boolean showShouldOverrideMessage = false;
 	private ITypeBinding typeBinding;
 
+	/**
+	 * The renamed member, resolved by the initial conditions
+	 */
+	private RenameClassMember member;
+
+	/**
+	 * The new name checked by {@link #getRefactoringStatus(IFile, Program)}
+	 */
+	private String checkedName;
+	private boolean memberExists;
+
 	/**
 	 * Constructor for direct request
 	 * 
@@ -105,35 +116,7 @@ public class RenameClassMemberProcessor extends AbstractRenameProcessor<IFile> i
 				throw new OperationCanceledException();
 			}
 
-			// get target parameters
-			final String newElementName = getNewElementName();
-
-			// go over the files and check for global variable usage
-			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
-				final RenameClassMember rename = new RenameClassMember(file, getCurrentElementName(), newElementName,
-						getUpdateTextualMatches(), typeBinding, getParent(identifier).getType(), identifier);
-
-				// aggregate the changes identifiers
-				try {
-					program.accept(rename);
-				} catch (Exception e) {
-					RefactoringPlugin.logException(e);
-				}
-
-				if (pm.isCanceled()) {
-					throw new OperationCanceledException();
-				}
-
-				pm.worked(1);
-
-				if (rename.hasChanges()) {
-					TextFileChange change = acquireChange(file, program);
-					rename.updateChange(change);
-					rootChange.add(change);
-				}
-			}
+			addFileChanges(new SubProgressMonitor(pm, participantFiles.size()), rootChange);
 			return rootChange;
 
 		} catch (Exception e) {
@@ -144,6 +127,41 @@ public class RenameClassMemberProcessor extends AbstractRenameProcessor<IFile> i
 		}
 	}
 
+	@Override
+	public RefactoringStatus checkInitialConditions(IProgressMonitor pm)
+			throws CoreException, OperationCanceledException {
+		// resolved in the source AST before its files are visited concurrently,
+		// only the binding of the member type is used
+		member = new RenameClassMember(resource, getCurrentElementName(), getCurrentElementName(), false,
+				typeBinding, getParent(identifier).getType(), identifier);
+		return super.checkInitialConditions(pm);
+	}
+
+	@Override
+	protected boolean isConcurrent() {
+		return true;
+	}
+
+	@Override
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		final RenameClassMember rename = new RenameClassMember(file, getNewElementName(), getUpdateTextualMatches(),
+				member);
+
+		// aggregate the changes identifiers
+		try {
+			program.accept(rename);
+		} catch (Exception e) {
+			RefactoringPlugin.logException(e);
+		}
+
+		if (rename.hasChanges()) {
+			TextFileChange change = acquireChange(file, program);
+			rename.updateChange(change);
+			return change;
+		}
+		return null;
+	}
+
 	@Override
 	public Object[] getElements() {
 		return new Object[] { identifier };
@@ -434,10 +452,7 @@ public class RenameClassMemberProcessor extends AbstractRenameProcessor<IFile> i
 		for (Iterator<IResource> it = list.iterator(); it.hasNext();) {
 			IResource file = it.next();
 			if (file instanceof IFile) {
-				try {
-					participantFiles.put((IFile) file, RefactoringUtility.getProgramForFile((IFile) file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) file);
 			}
 		}
 	}
@@ -459,24 +474,35 @@ public class RenameClassMemberProcessor extends AbstractRenameProcessor<IFile> i
 
 	@Override
 	public RefactoringStatus getRefactoringStatus(IFile key, Program program) {
-
-		int type = PHPElementConciliator.concile(identifier);
-
-		identifier.getParent();
-		if (type == PHPElementConciliator.CONCILIATOR_CLASS_MEMBER) {
-			final TypeDeclaration host = RefactoringUtility.getType(identifier);
-			if (host != null && PHPElementConciliator.classMemberAlreadyExists(host, getNewElementName(),
-					identifier.getParent().getType())) {
-				final String message = MessageFormat.format(
-						"A same class member with name {0} already exist in the same class scope", //$NON-NLS-1$
-						new Object[] { getNewElementName() });
-				return RefactoringStatus.createWarningStatus(message);
-			}
+		if (classMemberAlreadyExists()) {
+			final String message = MessageFormat.format(
+					"A same class member with name {0} already exist in the same class scope", //$NON-NLS-1$
+					new Object[] { getNewElementName() });
+			return RefactoringStatus.createWarningStatus(message);
 		}
 
 		return new RefactoringStatus();
 	}
 
+	/**
+	 * Checks the source AST once for every new name, rather than once for
+	 * every file from concurrent jobs.
+	 */
+	private synchronized boolean classMemberAlreadyExists() {
+		String newName = getNewElementName();
+		if (!newName.equals(checkedName)) {
+			memberExists = false;
+			int type = PHPElementConciliator.concile(identifier);
+			if (type == PHPElementConciliator.CONCILIATOR_CLASS_MEMBER) {
+				final TypeDeclaration host = RefactoringUtility.getType(identifier);
+				memberExists = host != null && PHPElementConciliator.classMemberAlreadyExists(host, newName,
+						identifier.getParent().getType());
+			}
+			checkedName = newName;
+		}
+		return memberExists;
+	}
+
 	@Override
 	public RefactoringParticipant[] loadParticipants(RefactoringStatus status, SharableParticipants sharedParticipants)
 			throws CoreException {
@@ -14,7 +14,6 @@ package org.eclipse.php.refactoring.core.rename;
 
 import java.text.MessageFormat;
 import java.util.*;
-import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -22,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.dltk.core.*;
 import org.eclipse.dltk.core.search.*;
 import org.eclipse.ltk.core.refactoring.Change;
@@ -38,7 +38,7 @@ import org.eclipse.php.internal.core.PHPLanguageToolkit;
 import org.eclipse.php.internal.core.ast.locator.PHPElementConciliator;
 import org.eclipse.php.refactoring.core.PHPRefactoringCoreMessages;
 import org.eclipse.php.refactoring.core.rename.logic.RenameClass;
-import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
+import org.eclipse.php.refactoring.core.rename.logic.RenamedType;
 
 /**
  * Description:
@@ -68,6 +68,11 @@ public class RenameClassProcessor extends AbstractRenameProcessor<IFile> impleme
 	private boolean isUpdateTextualMatches;
 	private IType[] types;
 
+	/**
+	 * The renamed class, resolved by the initial conditions
+	 */
+	private RenamedType originalType;
+
 	public RenameClassProcessor(IFile operatedFile, ASTNode locateNode) {
 		super(operatedFile);
 		this.identifier = locateNode;
@@ -116,39 +121,44 @@ public class RenameClassProcessor extends AbstractRenameProcessor<IFile> impleme
 				throw new OperationCanceledException();
 			}
 
-			// get target parameters
-			final String newElementName = getNewElementName();
+			addFileChanges(new SubProgressMonitor(pm, participantFiles.size()), rootChange);
+			return rootChange;
 
-			// go over the files and check for global variable usage
-			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
-				final RenameClass rename = new RenameClass(file, identifier, getCurrentElementName(), newElementName,
-						getUpdateTextualMatches(), types);
+		} finally {
+			pm.done();
+		}
+	}
 
-				// aggregate the changes identifiers
-				try {
-					program.accept(rename);
-				} catch (Exception e) {
-				}
+	@Override
+	public RefactoringStatus checkInitialConditions(IProgressMonitor pm)
+			throws CoreException, OperationCanceledException {
+		// resolved in the source AST before its files are visited concurrently
+		originalType = RenameClass.resolve(identifier);
+		return super.checkInitialConditions(pm);
+	}
 
-				if (pm.isCanceled()) {
-					throw new OperationCanceledException();
-				}
+	@Override
+	protected boolean isConcurrent() {
+		return true;
+	}
 
-				pm.worked(1);
+	@Override
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		final RenameClass rename = new RenameClass(file, originalType, getCurrentElementName(), getNewElementName(),
+				getUpdateTextualMatches(), types);
 
-				if (rename.hasChanges()) {
-					TextFileChange change = acquireChange(file, program);
-					rename.updateChange(change);
-					rootChange.add(change);
-				}
-			}
-			return rootChange;
+		// aggregate the changes identifiers
+		try {
+			program.accept(rename);
+		} catch (Exception e) {
+		}
 
-		} finally {
-			pm.done();
+		if (rename.hasChanges()) {
+			TextFileChange change = acquireChange(file, program);
+			rename.updateChange(change);
+			return change;
 		}
+		return null;
 	}
 
 	@Override
@@ -234,10 +244,7 @@ public class RenameClassProcessor extends AbstractRenameProcessor<IFile> impleme
 		for (Iterator<IResource> it = list.iterator(); it.hasNext();) {
 			IResource file = it.next();
 			if (file instanceof IFile) {
-				try {
-					participantFiles.put((IFile) file, RefactoringUtility.getProgramForFile((IFile) file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) file);
 			}
 		}
 	}
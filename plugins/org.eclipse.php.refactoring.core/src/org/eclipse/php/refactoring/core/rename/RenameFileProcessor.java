@@ -172,7 +172,11 @@ public class RenameFileProcessor extends AbstraceRenameResourceProcessor impleme
 
 			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
 				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
+				// the referencing files are parsed only now
+				final Program program = getProgram(file);
+				if (program == null) {
+					continue;
+				}
 				final RenameIncludeAndClassName rename = new RenameIncludeAndClassName(file, className, newElementName,
 						getUpdateTextualMatches(), getUpdateClassName(), getUpdateReferences(), resource);
 
@@ -256,7 +256,11 @@ public class RenameFolderProcessor extends AbstraceRenameResourceProcessor imple
 			if (getUpdateReferences()) {
 				for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
 					final IFile file = entry.getKey();
-					final Program program = entry.getValue();
+					// the referencing files are parsed only now
+					final Program program = getProgram(file);
+					if (program == null) {
+						continue;
+					}
 					final RenameIncludeFolder rename = new RenameIncludeFolder(file, getCurrentElementName(),
 							newElementName, this.resource.getFullPath(), false, getUpdateReferences());
 
@@ -15,7 +15,6 @@ package org.eclipse.php.refactoring.core.rename;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -23,6 +22,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.search.*;
@@ -35,7 +35,6 @@ import org.eclipse.php.internal.core.PHPLanguageToolkit;
 import org.eclipse.php.internal.core.ast.locator.PHPElementConciliator;
 import org.eclipse.php.refactoring.core.PHPRefactoringCoreMessages;
 import org.eclipse.php.refactoring.core.rename.logic.RenameFunction;
-import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
 
 /**
  * Rename for function name 1. get the identifier 2. initial check � if this
@@ -87,37 +86,35 @@ public class RenameFunctionProcessor extends AbstractRenameProcessor<IFile> impl
 				throw new OperationCanceledException();
 			}
 
-			// get target parameters
-			final String newElementName = getNewElementName();
+			addFileChanges(new SubProgressMonitor(pm, participantFiles.size()), rootChange);
 
-			// go over the files and check for global variable usage
-			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
-				final RenameFunction rename = new RenameFunction(file, getCurrentElementName(), newElementName,
-						getUpdateTextualMatches());
-
-				// aggregate the changes identifiers
-				program.accept(rename);
+			return rootChange;
 
-				if (pm.isCanceled()) {
-					throw new OperationCanceledException();
-				}
+		} finally {
+			pm.done();
+		}
+	}
 
-				pm.worked(1);
+	@Override
+	protected boolean isConcurrent() {
+		// only the names are shared between the files
+		return true;
+	}
 
-				if (rename.hasChanges()) {
-					TextFileChange change = acquireChange(file, program);
-					rename.updateChange(change);
-					rootChange.add(change);
-				}
-			}
+	@Override
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		final RenameFunction rename = new RenameFunction(file, getCurrentElementName(), getNewElementName(),
+				getUpdateTextualMatches());
 
-			return rootChange;
+		// aggregate the changes identifiers
+		program.accept(rename);
 
-		} finally {
-			pm.done();
+		if (rename.hasChanges()) {
+			TextFileChange change = acquireChange(file, program);
+			rename.updateChange(change);
+			return change;
 		}
+		return null;
 	}
 
 	@Override
@@ -158,10 +155,7 @@ public class RenameFunctionProcessor extends AbstractRenameProcessor<IFile> impl
 		for (Iterator<IResource> it = list.iterator(); it.hasNext();) {
 			IResource file = it.next();
 			if (file instanceof IFile) {
-				try {
-					participantFiles.put((IFile) file, RefactoringUtility.getProgramForFile((IFile) file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) file);
 			}
 		}
 	}
@@ -14,12 +14,12 @@ package org.eclipse.php.refactoring.core.rename;
 
 import java.text.MessageFormat;
 import java.util.List;
-import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.ltk.core.refactoring.Change;
 import org.eclipse.ltk.core.refactoring.CompositeChange;
 import org.eclipse.ltk.core.refactoring.RefactoringStatus;
@@ -100,37 +100,34 @@ public class RenameGlobalConstantProcessor extends AbstractRenameProcessor<IFile
 				throw new OperationCanceledException();
 			}
 
-			// get target parameters
-			final String newElementName = getNewElementName();
-
-			// go over the files and check for global variable usage
-			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
-				final RenameGlobalConstant rename = new RenameGlobalConstant(file, scalarName, newElementName,
-						getUpdateTextualMatches());
+			addFileChanges(new SubProgressMonitor(pm, participantFiles.size()), rootChange);
+			return rootChange;
 
-				// aggregate the changes identifiers
-				program.accept(rename);
+		} finally {
+			pm.done();
+		}
+	}
 
-				if (pm.isCanceled()) {
-					throw new OperationCanceledException();
-				}
+	@Override
+	protected boolean isConcurrent() {
+		// only the names are shared between the files
+		return true;
+	}
 
-				pm.worked(1);
+	@Override
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		final RenameGlobalConstant rename = new RenameGlobalConstant(file, scalarName, getNewElementName(),
+				getUpdateTextualMatches());
 
-				if (rename.hasChanges()) {
-					// create the change
-					TextFileChange change = acquireChange(file, program);
-					rename.updateChange(change);
-					rootChange.add(change);
-				}
-			}
-			return rootChange;
+		// aggregate the changes identifiers
+		program.accept(rename);
 
-		} finally {
-			pm.done();
+		if (rename.hasChanges()) {
+			TextFileChange change = acquireChange(file, program);
+			rename.updateChange(change);
+			return change;
 		}
+		return null;
 	}
 
 	@Override
@@ -15,7 +15,6 @@ package org.eclipse.php.refactoring.core.rename;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -23,6 +22,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.ISourceModule;
@@ -36,7 +36,6 @@ import org.eclipse.php.internal.core.PHPLanguageToolkit;
 import org.eclipse.php.internal.core.ast.locator.PHPElementConciliator;
 import org.eclipse.php.refactoring.core.PHPRefactoringCoreMessages;
 import org.eclipse.php.refactoring.core.rename.logic.RenameGlobalVariable;
-import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
 
 /**
  * Rename for global variable 1. get the identifier 2. initial check � if this
@@ -91,38 +90,35 @@ public class RenameGlobalVariableProcessor extends AbstractRenameProcessor<IFile
 				throw new OperationCanceledException();
 			}
 
-			// get target parameters
-			final String newElementName = getNewElementName();
+			addFileChanges(new SubProgressMonitor(pm, participantFiles.size()), rootChange);
 
-			// go over the files and check for global variable usage
-			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
-				final RenameGlobalVariable rename = new RenameGlobalVariable(file, getIdentifierName(), newElementName,
-						getUpdateTextualMatches());
-
-				// aggregate the changes identifiers
-				program.accept(rename);
+			return rootChange;
 
-				if (pm.isCanceled()) {
-					throw new OperationCanceledException();
-				}
+		} finally {
+			pm.done();
+		}
+	}
 
-				pm.worked(1);
+	@Override
+	protected boolean isConcurrent() {
+		// only the names are shared between the files
+		return true;
+	}
 
-				if (rename.hasChanges()) {
-					// create the change
-					TextFileChange change = acquireChange(file, program);
-					rename.updateChange(change);
-					rootChange.add(change);
-				}
-			}
+	@Override
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		final RenameGlobalVariable rename = new RenameGlobalVariable(file, getIdentifierName(), getNewElementName(),
+				getUpdateTextualMatches());
 
-			return rootChange;
+		// aggregate the changes identifiers
+		program.accept(rename);
 
-		} finally {
-			pm.done();
+		if (rename.hasChanges()) {
+			TextFileChange change = acquireChange(file, program);
+			rename.updateChange(change);
+			return change;
 		}
+		return null;
 	}
 
 	@Override
@@ -157,10 +153,7 @@ public class RenameGlobalVariableProcessor extends AbstractRenameProcessor<IFile
 		for (Iterator<IResource> it = list.iterator(); it.hasNext();) {
 			IResource file = it.next();
 			if (file instanceof IFile) {
-				try {
-					participantFiles.put((IFile) file, RefactoringUtility.getProgramForFile((IFile) file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) file);
 			}
 		}
 	}
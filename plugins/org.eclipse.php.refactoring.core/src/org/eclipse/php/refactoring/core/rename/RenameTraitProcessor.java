@@ -14,7 +14,6 @@ package org.eclipse.php.refactoring.core.rename;
 
 import java.text.MessageFormat;
 import java.util.*;
-import java.util.Map.Entry;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -22,6 +21,7 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubProgressMonitor;
 import org.eclipse.dltk.core.IModelElement;
 import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.IType;
@@ -42,7 +42,7 @@ import org.eclipse.php.internal.core.PHPLanguageToolkit;
 import org.eclipse.php.internal.core.ast.locator.PHPElementConciliator;
 import org.eclipse.php.refactoring.core.PHPRefactoringCoreMessages;
 import org.eclipse.php.refactoring.core.rename.logic.RenameTrait;
-import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
+import org.eclipse.php.refactoring.core.rename.logic.RenamedType;
 
 /**
  * Description:
@@ -72,6 +72,11 @@ public class RenameTraitProcessor extends AbstractRenameProcessor<IFile> impleme
 	private boolean isUpdateTextualMatches;
 	private IType[] types;
 
+	/**
+	 * The renamed trait, resolved by the initial conditions
+	 */
+	private RenamedType originalType;
+
 	public RenameTraitProcessor(IFile operatedFile, ASTNode locateNode) {
 		super(operatedFile);
 		this.identifier = locateNode;
@@ -118,36 +123,41 @@ public class RenameTraitProcessor extends AbstractRenameProcessor<IFile> impleme
 				throw new OperationCanceledException();
 			}
 
-			// get target parameters
-			final String newElementName = getNewElementName();
+			addFileChanges(new SubProgressMonitor(pm, participantFiles.size()), rootChange);
+			return rootChange;
 
-			// go over the files and check for global variable usage
-			for (Entry<IFile, Program> entry : participantFiles.entrySet()) {
-				final IFile file = entry.getKey();
-				final Program program = entry.getValue();
-				final RenameTrait rename = new RenameTrait(file, identifier, getCurrentElementName(), newElementName,
-						getUpdateTextualMatches(), types);
+		} finally {
+			pm.done();
+		}
+	}
 
-				// aggregate the changes identifiers
-				program.accept(rename);
+	@Override
+	public RefactoringStatus checkInitialConditions(IProgressMonitor pm)
+			throws CoreException, OperationCanceledException {
+		// resolved in the source AST before its files are visited concurrently
+		originalType = RenameTrait.resolve(identifier);
+		return super.checkInitialConditions(pm);
+	}
 
-				if (pm.isCanceled()) {
-					throw new OperationCanceledException();
-				}
+	@Override
+	protected boolean isConcurrent() {
+		return true;
+	}
 
-				pm.worked(1);
+	@Override
+	protected TextFileChange createFileChange(IFile file, Program program) {
+		final RenameTrait rename = new RenameTrait(file, originalType, getCurrentElementName(), getNewElementName(),
+				getUpdateTextualMatches(), types);
 
-				if (rename.hasChanges()) {
-					TextFileChange change = acquireChange(file, program);
-					rename.updateChange(change);
-					rootChange.add(change);
-				}
-			}
-			return rootChange;
+		// aggregate the changes identifiers
+		program.accept(rename);
 
-		} finally {
-			pm.done();
+		if (rename.hasChanges()) {
+			TextFileChange change = acquireChange(file, program);
+			rename.updateChange(change);
+			return change;
 		}
+		return null;
 	}
 
 	@Override
@@ -233,10 +243,7 @@ public class RenameTraitProcessor extends AbstractRenameProcessor<IFile> impleme
 		for (Iterator<IResource> it = list.iterator(); it.hasNext();) {
 			IResource file = it.next();
 			if (file instanceof IFile) {
-				try {
-					participantFiles.put((IFile) file, RefactoringUtility.getProgramForFile((IFile) file));
-				} catch (Exception e) {
-				}
+				addParticipant((IFile) file);
 			}
 		}
 	}
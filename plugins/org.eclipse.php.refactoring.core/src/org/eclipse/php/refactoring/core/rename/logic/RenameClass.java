@@ -36,18 +36,48 @@ import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
 public class RenameClass extends AbstractRename {
 
 	private static final String RENAME_CLASS = PHPRefactoringCoreMessages.getString("RenameClassName.0"); //$NON-NLS-1$
-	private ASTNode originalDeclaration;
+	private RenamedType originalType;
 	private IType[] types;
 
-	public RenameClass(IFile file, @Nullable ASTNode originalNode, String oldName, String newName,
+	/**
+	 * @param file
+	 * @param originalType
+	 *            the renamed type, see {@link #resolve(ASTNode)}
+	 * @param oldName
+	 * @param newName
+	 * @param searchTextual
+	 * @param types
+	 */
+	public RenameClass(IFile file, @Nullable RenamedType originalType, String oldName, String newName,
 			boolean searchTextual, @Nullable IType[] types) {
 		super(file, oldName, newName, searchTextual);
-		if (originalNode != null) {
-			originalDeclaration = RefactoringUtility.getTypeOrClassInstance(originalNode);
-		}
+		this.originalType = originalType;
 		this.types = types;
 	}
 
+	/**
+	 * Resolves the type of the given node of the source AST, which is shared
+	 * by the visitors of all the participant files.
+	 * 
+	 * @param originalNode
+	 * @return the renamed type, <code>null</code> if the node is not in a
+	 *         type declaration or a class instance creation
+	 */
+	public static RenamedType resolve(ASTNode originalNode) {
+		ASTNode originalDeclaration = RefactoringUtility.getTypeOrClassInstance(originalNode);
+		if (originalDeclaration == null) {
+			return null;
+		}
+		ITypeBinding binding = null;
+		if (originalDeclaration instanceof TypeDeclaration) {
+			binding = ((TypeDeclaration) originalDeclaration).resolveTypeBinding();
+		}
+		if (originalDeclaration instanceof ClassInstanceCreation) {
+			binding = ((ClassInstanceCreation) originalDeclaration).resolveTypeBinding();
+		}
+		return new RenamedType(originalDeclaration, binding);
+	}
+
 	@Override
 	public boolean visit(StaticConstantAccess staticDispatch) {
 		Expression className = staticDispatch.getClassName();
@@ -109,22 +139,9 @@ public class RenameClass extends AbstractRename {
 
 	@Override
 	public boolean visit(ClassDeclaration classDeclaration) {
-		ITypeBinding originalType = null;
-
-		if (originalDeclaration != null) {
-			if (originalDeclaration instanceof TypeDeclaration) {
-				originalType = ((TypeDeclaration) originalDeclaration).resolveTypeBinding();
-			}
-			if (originalDeclaration instanceof ClassInstanceCreation) {
-				originalType = ((ClassInstanceCreation) originalDeclaration).resolveTypeBinding();
-			}
-		}
-
 		ITypeBinding currType = classDeclaration.resolveTypeBinding();
-		if (originalDeclaration == null || currType == null
-				|| originalDeclaration.getStart() == classDeclaration.getStart()
-				|| (originalType != null && originalType.equals(currType))
-				|| (originalType != null && originalType.isSubTypeCompatible(currType))) {
+		if (originalType == null || currType == null || originalType.getStart() == classDeclaration.getStart()
+				|| originalType.isEqualTo(currType) || originalType.isSubTypeCompatible(currType)) {
 			checkIdentifier(classDeclaration.getName());
 		}
 
@@ -135,7 +152,7 @@ public class RenameClass extends AbstractRename {
 
 	@Override
 	public boolean visit(InterfaceDeclaration interfaceDeclaration) {
-		if (originalDeclaration == null || originalDeclaration.getStart() == interfaceDeclaration.getStart()) {
+		if (originalType == null || originalType.getStart() == interfaceDeclaration.getStart()) {
 			checkIdentifier(interfaceDeclaration.getName());
 		}
 		checkSuper(null, interfaceDeclaration.interfaces());
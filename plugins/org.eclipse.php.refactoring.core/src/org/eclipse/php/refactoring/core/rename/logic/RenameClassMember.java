@@ -38,7 +38,7 @@ public class RenameClassMember extends AbstractRename {
 
 	private static final String RENAME_CLASS_MEMBER = PHPRefactoringCoreMessages.getString("RenameClassPropertyName.0"); //$NON-NLS-1$
 	// can be null
-	private ITypeBinding type;
+	private RenamedType type;
 
 	private List<IType> traitList;
 	private List<IType> traitListIncludingSuperClass;
@@ -53,13 +53,11 @@ public class RenameClassMember extends AbstractRename {
 	public RenameClassMember(IFile file, String oldName, String newName, boolean searchTextual,
 			ITypeBinding iTypeBinding, int type, ASTNode identifier) {
 		this(file, oldName, newName, searchTextual, type);
-		this.type = iTypeBinding;
-
-		PHPVersion phpVersion = PHPVersion.PHP5_4;
-		if (file.getProject() != null) {
-			phpVersion = ProjectOptions.getPHPVersion(file.getProject());
+		if (iTypeBinding != null) {
+			this.type = new RenamedType(null, iTypeBinding);
 		}
-		if (iTypeBinding != null && phpVersion.isGreaterThan(PHPVersion.PHP5_3)) {
+
+		if (iTypeBinding != null && isTraitSupported(file)) {
 			String memberName = oldName;
 			if (identifier instanceof Identifier && (identifier.getParent().getType() == ASTNode.TRAIT_ALIAS
 					|| identifier.getParent().getType() == ASTNode.FULLY_QUALIFIED_TRAIT_METHOD_REFERENCE)) {
@@ -77,6 +75,35 @@ public class RenameClassMember extends AbstractRename {
 
 	}
 
+	/**
+	 * Creates the visitor of a participant file for the member resolved by the
+	 * given visitor. The resolved type and traits are not modified by the
+	 * visits, so that the files can be visited concurrently.
+	 * 
+	 * @param file
+	 * @param newName
+	 * @param searchTextual
+	 * @param member
+	 *            the visitor created with the binding of the member type
+	 */
+	public RenameClassMember(IFile file, String newName, boolean searchTextual, RenameClassMember member) {
+		this(file, member.oldName, newName, searchTextual, member.nodeType);
+		this.type = member.type;
+		if (isTraitSupported(file)) {
+			isTraitMethod = member.isTraitMethod;
+			traitList = member.traitList;
+			traitListIncludingSuperClass = member.traitListIncludingSuperClass;
+		}
+	}
+
+	private static boolean isTraitSupported(IFile file) {
+		PHPVersion phpVersion = PHPVersion.PHP5_4;
+		if (file.getProject() != null) {
+			phpVersion = ProjectOptions.getPHPVersion(file.getProject());
+		}
+		return phpVersion.isGreaterThan(PHPVersion.PHP5_3);
+	}
+
 	private boolean isTraitMethod(ITypeBinding typeBinding, String memberName) {
 		if (typeBinding != null && typeBinding.isTrait() && typeBinding.getPHPElement() != null) {
 			try {
@@ -130,10 +157,10 @@ public class RenameClassMember extends AbstractRename {
 				}
 				ITypeBinding declClass = methodDeclaration.resolveMethodBinding().getDeclaringClass();
 				if (declClass != null) {
-					if (declClass.equals(type) || traitEqual(declClass, identifier)) {
+					if (isEqualType(declClass) || traitEqual(declClass, identifier)) {
 						addChange(identifier.getStart());
 					} else if (type != null
-							&& (declClass.isSubTypeCompatible(type) || type.isSubTypeCompatible(declClass))) {
+							&& (type.isSuperTypeCompatible(declClass) || type.isSubTypeCompatible(declClass))) {
 						if (methodDeclaration.getModifier() != Modifiers.AccPrivate) {
 							addChange(identifier.getStart());
 						}
@@ -150,6 +177,10 @@ public class RenameClassMember extends AbstractRename {
 		return super.visit(methodDeclaration);
 	}
 
+	private boolean isEqualType(ITypeBinding declClass) {
+		return type != null && type.isEqualTo(declClass);
+	}
+
 	private boolean traitEqual(ITypeBinding declClass, ASTNode node) {
 		if (declClass != null && traitList != null && !traitList.isEmpty()) {
 			if (node instanceof Variable) {
@@ -236,12 +267,12 @@ public class RenameClassMember extends AbstractRename {
 				final Variable[] variableNames = fieldsDeclaration.getVariableNames();
 				for (int j = 0; j < variableNames.length; j++) {
 					// safe cast to identifier
-					if (declClass.equals(type) || traitEqual(declClass, variableNames[j].getName())) {
+					if (isEqualType(declClass) || traitEqual(declClass, variableNames[j].getName())) {
 						assert variableNames[j].getName() instanceof Identifier;
 						final Identifier variable = (Identifier) variableNames[j].getName();
 						handleIdentifier(variable);
 					} else if (type != null
-							&& (declClass.isSubTypeCompatible(type) || type.isSubTypeCompatible(declClass))) {
+							&& (type.isSuperTypeCompatible(declClass) || type.isSubTypeCompatible(declClass))) {
 						if (fieldsDeclaration.getModifier() != Modifiers.AccPrivate) {
 							final Identifier variable = (Identifier) variableNames[j].getName();
 							handleIdentifier(variable);
@@ -269,11 +300,11 @@ public class RenameClassMember extends AbstractRename {
 		if (isChangeMethod() && methodInvocation.getDispatcher() != null) {
 			ITypeBinding declClass = methodInvocation.getDispatcher().resolveTypeBinding();
 			if (declClass != null) {
-				if (declClass.equals(type)
+				if (isEqualType(declClass)
 						|| traitEqual(declClass, methodInvocation.getMethod().getFunctionName().getName())) {
 					handleDispatch(methodInvocation);
 				} else if (type != null
-						&& (declClass.isSubTypeCompatible(type) || type.isSubTypeCompatible(declClass))) {
+						&& (type.isSuperTypeCompatible(declClass) || type.isSubTypeCompatible(declClass))) {
 					IMethodBinding methodBinding = methodInvocation.resolveMethodBinding();
 					if (methodBinding != null && methodBinding.getModifiers() != Modifiers.AccPrivate) {
 						handleDispatch(methodInvocation);
@@ -337,10 +368,10 @@ public class RenameClassMember extends AbstractRename {
 		if (isChangeField()) {
 			ITypeBinding declClass = fieldAccess.getDispatcher().resolveTypeBinding();
 			if (declClass != null) {
-				if (declClass.equals(type) || traitEqual(declClass, fieldAccess.getMember())) {
+				if (isEqualType(declClass) || traitEqual(declClass, fieldAccess.getMember())) {
 					handleDispatch(fieldAccess);
 				} else if (type != null
-						&& (declClass.isSubTypeCompatible(type) || type.isSubTypeCompatible(declClass))) {
+						&& (type.isSuperTypeCompatible(declClass) || type.isSubTypeCompatible(declClass))) {
 					IVariableBinding binding = fieldAccess.resolveFieldBinding();
 
 					if (binding != null && binding.getModifiers() != Modifiers.AccPrivate) {
@@ -402,9 +433,9 @@ public class RenameClassMember extends AbstractRename {
 		if (identifier != null && identifier.getName().equals(oldName)) {
 			ITypeBinding typeBinding = dispatch.getClassName().resolveTypeBinding();
 			if (typeBinding != null) {
-				if (typeBinding.equals(type)
+				if (isEqualType(typeBinding)
 						|| (type != null
-								&& (type.isSubTypeCompatible(typeBinding) || typeBinding.isSubTypeCompatible(type)))
+								&& (type.isSubTypeCompatible(typeBinding) || type.isSuperTypeCompatible(typeBinding)))
 						|| traitEqual(typeBinding, identifier) || traitInSuperEqual(typeBinding, identifier)) {
 					addChange(identifier.getStart());
 				}
@@ -444,10 +475,10 @@ public class RenameClassMember extends AbstractRename {
 		if (identifier.getName().equals(oldName)) {
 			ITypeBinding declClass = resolveDispatcherType(identifier);
 			if (declClass != null) {
-				if (declClass.equals(type) || traitEqual(declClass, identifier)) {
+				if (isEqualType(declClass) || traitEqual(declClass, identifier)) {
 					addChange(identifier.getStart());
 				} else if (type != null
-						&& (declClass.isSubTypeCompatible(type) || type.isSubTypeCompatible(declClass))) {
+						&& (type.isSuperTypeCompatible(declClass) || type.isSubTypeCompatible(declClass))) {
 					if (!isPrivate) {
 						addChange(identifier.getStart());
 					}
@@ -30,18 +30,47 @@ import org.eclipse.php.refactoring.core.utils.RefactoringUtility;
 public class RenameTrait extends AbstractRename {
 
 	private static final String RENAME_CLASS = PHPRefactoringCoreMessages.getString("RenameClassName.0"); //$NON-NLS-1$
-	private ASTNode originalDeclaration;
+	private RenamedType originalType;
 	private IType[] types;
 
-	public RenameTrait(IFile file, @Nullable ASTNode originalNode, String oldName, String newName,
+	/**
+	 * @param file
+	 * @param originalType
+	 *            the renamed trait, see {@link #resolve(ASTNode)}
+	 * @param oldName
+	 * @param newName
+	 * @param searchTextual
+	 * @param types
+	 */
+	public RenameTrait(IFile file, @Nullable RenamedType originalType, String oldName, String newName,
 			boolean searchTextual, @Nullable IType[] types) {
 		super(file, oldName, newName, searchTextual);
-		if (originalNode != null) {
-			originalDeclaration = RefactoringUtility.getTypeOrClassInstance(originalNode);
-		}
+		this.originalType = originalType;
 		this.types = types;
 	}
 
+	/**
+	 * Resolves the trait of the given node of the source AST, which is shared
+	 * by the visitors of all the participant files.
+	 * 
+	 * @param originalNode
+	 * @return the renamed trait, <code>null</code> if the node is not in a
+	 *         type declaration or a class instance creation
+	 */
+	public static RenamedType resolve(ASTNode originalNode) {
+		ASTNode originalDeclaration = RefactoringUtility.getTypeOrClassInstance(originalNode);
+		if (originalDeclaration == null) {
+			return null;
+		}
+		ITypeBinding binding = null;
+		if (originalDeclaration instanceof TraitDeclaration) {
+			binding = ((TraitDeclaration) originalDeclaration).resolveTypeBinding();
+		} else if (originalDeclaration instanceof NamespaceName) {
+			binding = ((NamespaceName) originalDeclaration).resolveTypeBinding();
+		}
+		return new RenamedType(originalDeclaration, binding);
+	}
+
 	@Override
 	public boolean visit(StaticConstantAccess staticDispatch) {
 		Expression className = staticDispatch.getClassName();
@@ -90,20 +119,9 @@ public class RenameTrait extends AbstractRename {
 
 	@Override
 	public boolean visit(TraitDeclaration classDeclaration) {
-		ITypeBinding originalType = null;
-
-		if (originalDeclaration != null) {
-			if (originalDeclaration instanceof TraitDeclaration) {
-				originalType = ((TraitDeclaration) originalDeclaration).resolveTypeBinding();
-			} else if (originalDeclaration instanceof NamespaceName) {
-				originalType = ((NamespaceName) originalDeclaration).resolveTypeBinding();
-			}
-		}
-
 		ITypeBinding currType = classDeclaration.resolveTypeBinding();
-		if (originalDeclaration == null || originalDeclaration.getStart() == classDeclaration.getStart()
-				|| (originalType != null && originalType.equals(currType))
-				|| (originalType != null && originalType.isSubTypeCompatible(currType))) {
+		if (originalType == null || originalType.getStart() == classDeclaration.getStart()
+				|| originalType.isEqualTo(currType) || originalType.isSubTypeCompatible(currType)) {
 			checkIdentifier(classDeclaration.getName());
 		}
 
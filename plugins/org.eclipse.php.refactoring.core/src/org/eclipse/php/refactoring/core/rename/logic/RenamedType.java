@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.refactoring.core.rename.logic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.dltk.annotations.Nullable;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.IType;
+import org.eclipse.dltk.core.ITypeHierarchy;
+import org.eclipse.dltk.core.ModelException;
+import org.eclipse.dltk.ti.types.IEvaluatedType;
+import org.eclipse.php.core.ast.nodes.ASTNode;
+import org.eclipse.php.core.ast.nodes.ITypeBinding;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
+import org.eclipse.php.refactoring.core.RefactoringPlugin;
+
+/**
+ * The type renamed, or declaring the renamed member, resolved once in the AST
+ * it was selected in. Unlike its {@link ITypeBinding}, which caches the type
+ * hierarchies, it is not modified when the participant files are matched
+ * against it, so they can be visited concurrently.
+ */
+public final class RenamedType {
+
+	private final int start;
+	private final IEvaluatedType evaluatedType;
+	private final IModelElement[] elements;
+
+	/**
+	 * The super type hierarchies of the elements, <code>null</code> if one of
+	 * them has no super class.
+	 */
+	private final List<ITypeHierarchy> hierarchies;
+
+	/**
+	 * @param declaration
+	 *            the declaration selected in the source AST, can be
+	 *            <code>null</code>
+	 * @param binding
+	 *            the binding of the type, can be <code>null</code>
+	 */
+	public RenamedType(@Nullable ASTNode declaration, @Nullable ITypeBinding binding) {
+		start = declaration != null ? declaration.getStart() : -1;
+		evaluatedType = binding != null ? binding.getEvaluatedType() : null;
+		elements = binding != null ? binding.getPHPElements() : null;
+		hierarchies = getHierarchies(elements);
+	}
+
+	private static List<ITypeHierarchy> getHierarchies(IModelElement[] elements) {
+		List<ITypeHierarchy> hierarchies = new ArrayList<>();
+		if (elements == null) {
+			return hierarchies;
+		}
+		for (IModelElement element : elements) {
+			IType type = (IType) element;
+			try {
+				if (isEmpty(type.getSuperClasses())) {
+					return null;
+				}
+				hierarchies.add(SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null));
+			} catch (ModelException e) {
+				RefactoringPlugin.logException(e);
+			}
+		}
+		return hierarchies;
+	}
+
+	private static boolean isEmpty(Object[] array) {
+		return array == null || array.length == 0;
+	}
+
+	/**
+	 * Returns the start of the declaration selected in the source AST, -1 if
+	 * none.
+	 */
+	public int getStart() {
+		return start;
+	}
+
+	/**
+	 * Same as {@link ITypeBinding#equals(Object)} for the binding of this
+	 * type.
+	 */
+	public boolean isEqualTo(@Nullable ITypeBinding other) {
+		if (other == null || evaluatedType == null || !evaluatedType.equals(other.getEvaluatedType())) {
+			return false;
+		}
+		IModelElement[] otherElements = other.getPHPElements();
+		if (elements == null || otherElements == null) {
+			return elements == otherElements;
+		}
+		if (elements.length != otherElements.length) {
+			return false;
+		}
+		for (IModelElement element : elements) {
+			if (!Arrays.asList(otherElements).contains(element)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Same as {@link ITypeBinding#isSubTypeCompatible(ITypeBinding)} for the
+	 * binding of this type.
+	 */
+	public boolean isSubTypeCompatible(@Nullable ITypeBinding other) {
+		if (other == null || hierarchies == null || other.getPHPElements() == null) {
+			return false;
+		}
+		for (ITypeHierarchy hierarchy : hierarchies) {
+			for (IModelElement element : other.getPHPElements()) {
+				if (element instanceof IType && hierarchy.contains((IType) element)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Same as {@link ITypeBinding#isSubTypeCompatible(ITypeBinding)} called on
+	 * the other binding with the binding of this type.
+	 */
+	public boolean isSuperTypeCompatible(@Nullable ITypeBinding other) {
+		if (other == null || isEmpty(other.getPHPElements()) || elements == null) {
+			return false;
+		}
+		boolean isSuperTypeCompatible = false;
+		for (IModelElement otherElement : other.getPHPElements()) {
+			IType type = (IType) otherElement;
+			try {
+				if (isEmpty(type.getSuperClasses())) {
+					return false;
+				}
+				ITypeHierarchy hierarchy = SharedTypeCache.INSTANCE.getSuperTypeHierarchy(type, null);
+				for (IModelElement element : elements) {
+					if (element instanceof IType && hierarchy.contains((IType) element)) {
+						isSuperTypeCompatible = true;
+						break;
+					}
+				}
+			} catch (ModelException e) {
+				RefactoringPlugin.logException(e);
+			}
+		}
+		return isSuperTypeCompatible;
+	}
+}
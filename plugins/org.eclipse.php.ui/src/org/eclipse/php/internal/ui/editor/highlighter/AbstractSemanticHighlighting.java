@@ -13,9 +13,7 @@
 package org.eclipse.php.internal.ui.editor.highlighter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.List;
+import java.util.*;
 
 import org.eclipse.dltk.core.ISourceModule;
 import org.eclipse.dltk.core.ISourceRange;
@@ -25,7 +23,9 @@ import org.eclipse.dltk.internal.ui.editor.DocumentAdapter;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.Position;
 import org.eclipse.php.core.ast.nodes.ASTNode;
+import org.eclipse.php.core.ast.nodes.BindingResolver;
 import org.eclipse.php.core.ast.nodes.Program;
+import org.eclipse.php.internal.ui.editor.SemanticHighlightingManager;
 import org.eclipse.php.internal.ui.editor.SemanticHighlightingStyle;
 import org.eclipse.php.internal.ui.preferences.PreferenceConstants;
 import org.eclipse.php.ui.editor.SharedASTProvider;
@@ -40,7 +40,26 @@ public abstract class AbstractSemanticHighlighting
 
 	private SemanticHighlightingStyle style = new SemanticHighlightingStyle(getPreferenceKey());
 
-	private List<Position> list;
+	/*
+	 * Program property holding the positions computed for the program, but not
+	 * consumed yet by their highlighting
+	 */
+	private static final String POSITIONS_PROPERTY = AbstractSemanticHighlighting.class.getName() + ".positions"; //$NON-NLS-1$
+
+	/*
+	 * State of the traversal running on the current thread
+	 */
+	private static final ThreadLocal<Traversal> fTraversal = new ThreadLocal<>();
+
+	private static class Traversal {
+
+		private final ISourceModule sourceModule;
+		private final Map<AbstractSemanticHighlighting, List<Position>> positions = new IdentityHashMap<>();
+
+		Traversal(ISourceModule sourceModule) {
+			this.sourceModule = sourceModule;
+		}
+	}
 
 	private final String preferenceKey = this.getClass().getName();
 
@@ -63,6 +82,8 @@ public abstract class AbstractSemanticHighlighting
 	}
 
 	public ISourceModule getSourceModule() {
+		Traversal traversal = fTraversal.get();
+		ISourceModule sourceModule = traversal != null ? traversal.sourceModule : this.sourceModule;
 		if (sourceModule == null) {
 			throw new IllegalStateException("Source module cannot be null"); //$NON-NLS-1$
 		}
@@ -84,6 +105,8 @@ public abstract class AbstractSemanticHighlighting
 	}
 
 	protected AbstractSemanticHighlighting highlight(int start, int length) {
+		Traversal traversal = fTraversal.get();
+		List<Position> list = traversal != null ? traversal.positions.get(this) : null;
 		if (list == null) {
 			throw new IllegalStateException();
 		}
@@ -91,17 +114,75 @@ public abstract class AbstractSemanticHighlighting
 		return this;
 	}
 
+	/**
+	 * Returns the positions to highlight in the given program.
+	 *
+	 * The first highlighting asked for a program computes the positions of all
+	 * the enabled highlightings, see {@link #consumes(Program, Collection)}.
+	 * The other highlightings then take their positions from that result,
+	 * which is kept with the program.
+	 */
 	public Position[] consumes(Program program) {
-		if (program != null) {
-			program.getAST().getBindingResolver().startBindingSession();
-			list = new ArrayList<>();
-			sourceModule = program.getSourceModule();
-			AbstractSemanticApply apply = getSemanticApply();
-			program.accept(apply);
-			program.getAST().getBindingResolver().stopBindingSession();
-			return list.toArray(new Position[list.size()]);
+		if (program == null) {
+			return new Position[0];
 		}
-		return new Position[0];
+		synchronized (program) {
+			@SuppressWarnings("unchecked")
+			Map<String, Position[]> positions = (Map<String, Position[]>) program.getProperty(POSITIONS_PROPERTY);
+			Position[] result = positions != null ? positions.remove(getPreferenceKey()) : null;
+			if (result == null) {
+				List<AbstractSemanticHighlighting> highlightings = new ArrayList<>();
+				highlightings.add(this);
+				for (AbstractSemanticHighlighting highlighting : SemanticHighlightingManager.getInstance()
+						.getSemanticHighlightings().values()) {
+					if (!highlighting.getPreferenceKey().equals(getPreferenceKey()) && highlighting.isEnabled()) {
+						highlightings.add(highlighting);
+					}
+				}
+				positions = consumes(program, highlightings);
+				result = positions.remove(getPreferenceKey());
+				program.setProperty(POSITIONS_PROPERTY, positions);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Computes the positions of the given highlightings in the given program,
+	 * with a single traversal of the program and a single binding session, so
+	 * they share the resolved bindings and types. The positions are collected
+	 * per call, the highlightings are not modified.
+	 *
+	 * @return the positions of the highlightings, by preference key
+	 */
+	public static Map<String, Position[]> consumes(Program program,
+			Collection<? extends AbstractSemanticHighlighting> highlightings) {
+		Traversal traversal = new Traversal(program.getSourceModule());
+		List<AbstractSemanticApply> applies = new ArrayList<>(highlightings.size());
+		for (AbstractSemanticHighlighting highlighting : highlightings) {
+			traversal.positions.put(highlighting, new ArrayList<Position>());
+			applies.add(highlighting.getSemanticApply());
+		}
+		Traversal previous = fTraversal.get();
+		fTraversal.set(traversal);
+		BindingResolver bindingResolver = program.getAST().getBindingResolver();
+		bindingResolver.startBindingSession();
+		try {
+			program.accept(new CompositeSemanticApply(applies));
+		} finally {
+			bindingResolver.stopBindingSession();
+			fTraversal.set(previous);
+		}
+		Map<String, Position[]> positions = new HashMap<>();
+		for (Map.Entry<AbstractSemanticHighlighting, List<Position>> entry : traversal.positions.entrySet()) {
+			List<Position> list = entry.getValue();
+			positions.put(entry.getKey().getPreferenceKey(), list.toArray(new Position[list.size()]));
+		}
+		return positions;
+	}
+
+	private boolean isEnabled() {
+		return getPreferenceStore().getBoolean(getEnabledPreferenceKey());
 	}
 
 	@Override
@@ -0,0 +1,1081 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.internal.ui.editor.highlighter;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.php.core.ast.nodes.*;
+import org.eclipse.php.core.ast.visitor.Visitor;
+import org.eclipse.php.internal.core.Logger;
+
+/**
+ * Visitor dispatching every node of a single traversal to several semantic
+ * applies, so that all the semantic highlightings are computed with one walk
+ * of the AST.
+ *
+ * Every apply sees the same sequence of calls as if it was accepted by the
+ * program alone: an apply returning <code>false</code> from a visit does not
+ * see the children of that node, but still gets its end visit. An apply
+ * throwing an exception is logged and left out for the rest of the traversal,
+ * without affecting the others.
+ */
+public class CompositeSemanticApply implements Visitor {
+
+	private final Visitor[] applies;
+	/*
+	 * Node whose children are skipped for the apply at the same index, or
+	 * the apply itself once it failed
+	 */
+	private final Object[] skipped;
+
+	public CompositeSemanticApply(List<? extends Visitor> applies) {
+		this.applies = applies.toArray(new Visitor[applies.size()]);
+		this.skipped = new Object[this.applies.length];
+	}
+
+	@Override
+	public void preVisit(ASTNode node) {
+		for (int i = 0; i < applies.length; i++) {
+			if (skipped[i] == null) {
+				try {
+					applies[i].preVisit(node);
+				} catch (RuntimeException e) {
+					fail(i, e);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void postVisit(ASTNode node) {
+		for (int i = 0; i < applies.length; i++) {
+			if (skipped[i] == null) {
+				try {
+					applies[i].postVisit(node);
+				} catch (RuntimeException e) {
+					fail(i, e);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Dispatches a visit to the applies that did not skip the node.
+	 *
+	 * @return whether any apply wants to visit the children of the node
+	 */
+	private boolean visit(ASTNode node, Predicate<Visitor> visit) {
+		boolean children = false;
+		for (int i = 0; i < applies.length; i++) {
+			if (skipped[i] != null) {
+				continue;
+			}
+			try {
+				if (visit.test(applies[i])) {
+					children = true;
+				} else {
+					skipped[i] = node;
+				}
+			} catch (RuntimeException e) {
+				fail(i, e);
+			}
+		}
+		return children;
+	}
+
+	/**
+	 * Dispatches an end visit to the applies that did not skip the node, and
+	 * to the ones that skipped its children.
+	 */
+	private void endVisit(ASTNode node, Consumer<Visitor> endVisit) {
+		for (int i = 0; i < applies.length; i++) {
+			if (skipped[i] == node) {
+				skipped[i] = null;
+			} else if (skipped[i] != null) {
+				continue;
+			}
+			try {
+				endVisit.accept(applies[i]);
+			} catch (RuntimeException e) {
+				fail(i, e);
+			}
+		}
+	}
+
+	private void fail(int index, RuntimeException e) {
+		skipped[index] = applies[index];
+		Logger.logException(e);
+	}
+
+	@Override
+	public boolean visit(ArrayAccess arrayAccess) {
+		return visit(arrayAccess, v -> v.visit(arrayAccess));
+	}
+
+	@Override
+	public void endVisit(ArrayAccess arrayAccess) {
+		endVisit(arrayAccess, v -> v.endVisit(arrayAccess));
+	}
+
+	@Override
+	public boolean visit(ArrayCreation arrayCreation) {
+		return visit(arrayCreation, v -> v.visit(arrayCreation));
+	}
+
+	@Override
+	public void endVisit(ArrayCreation arrayCreation) {
+		endVisit(arrayCreation, v -> v.endVisit(arrayCreation));
+	}
+
+	@Override
+	public boolean visit(ArrayElement arrayElement) {
+		return visit(arrayElement, v -> v.visit(arrayElement));
+	}
+
+	@Override
+	public void endVisit(ArrayElement arrayElement) {
+		endVisit(arrayElement, v -> v.endVisit(arrayElement));
+	}
+
+	@Override
+	public boolean visit(ArraySpreadElement arraySpreadElement) {
+		return visit(arraySpreadElement, v -> v.visit(arraySpreadElement));
+	}
+
+	@Override
+	public void endVisit(ArraySpreadElement arraySpreadElement) {
+		endVisit(arraySpreadElement, v -> v.endVisit(arraySpreadElement));
+	}
+
+	@Override
+	public boolean visit(Assignment assignment) {
+		return visit(assignment, v -> v.visit(assignment));
+	}
+
+	@Override
+	public void endVisit(Assignment assignment) {
+		endVisit(assignment, v -> v.endVisit(assignment));
+	}
+
+	@Override
+	public boolean visit(ASTError astError) {
+		return visit(astError, v -> v.visit(astError));
+	}
+
+	@Override
+	public void endVisit(ASTError astError) {
+		endVisit(astError, v -> v.endVisit(astError));
+	}
+
+	@Override
+	public boolean visit(BackTickExpression backTickExpression) {
+		return visit(backTickExpression, v -> v.visit(backTickExpression));
+	}
+
+	@Override
+	public void endVisit(BackTickExpression backTickExpression) {
+		endVisit(backTickExpression, v -> v.endVisit(backTickExpression));
+	}
+
+	@Override
+	public boolean visit(Block block) {
+		return visit(block, v -> v.visit(block));
+	}
+
+	@Override
+	public void endVisit(Block block) {
+		endVisit(block, v -> v.endVisit(block));
+	}
+
+	@Override
+	public boolean visit(BreakStatement breakStatement) {
+		return visit(breakStatement, v -> v.visit(breakStatement));
+	}
+
+	@Override
+	public void endVisit(BreakStatement breakStatement) {
+		endVisit(breakStatement, v -> v.endVisit(breakStatement));
+	}
+
+	@Override
+	public boolean visit(CastExpression castExpression) {
+		return visit(castExpression, v -> v.visit(castExpression));
+	}
+
+	@Override
+	public void endVisit(CastExpression castExpression) {
+		endVisit(castExpression, v -> v.endVisit(castExpression));
+	}
+
+	@Override
+	public boolean visit(CatchClause catchClause) {
+		return visit(catchClause, v -> v.visit(catchClause));
+	}
+
+	@Override
+	public void endVisit(CatchClause catchClause) {
+		endVisit(catchClause, v -> v.endVisit(catchClause));
+	}
+
+	@Override
+	public boolean visit(ConstantDeclaration classConstantDeclaration) {
+		return visit(classConstantDeclaration, v -> v.visit(classConstantDeclaration));
+	}
+
+	@Override
+	public void endVisit(ConstantDeclaration classConstantDeclaration) {
+		endVisit(classConstantDeclaration, v -> v.endVisit(classConstantDeclaration));
+	}
+
+	@Override
+	public boolean visit(ClassDeclaration classDeclaration) {
+		return visit(classDeclaration, v -> v.visit(classDeclaration));
+	}
+
+	@Override
+	public void endVisit(ClassDeclaration classDeclaration) {
+		endVisit(classDeclaration, v -> v.endVisit(classDeclaration));
+	}
+
+	@Override
+	public boolean visit(ClassInstanceCreation classInstanceCreation) {
+		return visit(classInstanceCreation, v -> v.visit(classInstanceCreation));
+	}
+
+	@Override
+	public void endVisit(ClassInstanceCreation classInstanceCreation) {
+		endVisit(classInstanceCreation, v -> v.endVisit(classInstanceCreation));
+	}
+
+	@Override
+	public boolean visit(ClassName className) {
+		return visit(className, v -> v.visit(className));
+	}
+
+	@Override
+	public void endVisit(ClassName className) {
+		endVisit(className, v -> v.endVisit(className));
+	}
+
+	@Override
+	public boolean visit(CloneExpression cloneExpression) {
+		return visit(cloneExpression, v -> v.visit(cloneExpression));
+	}
+
+	@Override
+	public void endVisit(CloneExpression cloneExpression) {
+		endVisit(cloneExpression, v -> v.endVisit(cloneExpression));
+	}
+
+	@Override
+	public boolean visit(Comment comment) {
+		return visit(comment, v -> v.visit(comment));
+	}
+
+	@Override
+	public void endVisit(Comment comment) {
+		endVisit(comment, v -> v.endVisit(comment));
+	}
+
+	@Override
+	public boolean visit(ConditionalExpression conditionalExpression) {
+		return visit(conditionalExpression, v -> v.visit(conditionalExpression));
+	}
+
+	@Override
+	public void endVisit(ConditionalExpression conditionalExpression) {
+		endVisit(conditionalExpression, v -> v.endVisit(conditionalExpression));
+	}
+
+	@Override
+	public boolean visit(ContinueStatement continueStatement) {
+		return visit(continueStatement, v -> v.visit(continueStatement));
+	}
+
+	@Override
+	public void endVisit(ContinueStatement continueStatement) {
+		endVisit(continueStatement, v -> v.endVisit(continueStatement));
+	}
+
+	@Override
+	public boolean visit(DeclareStatement declareStatement) {
+		return visit(declareStatement, v -> v.visit(declareStatement));
+	}
+
+	@Override
+	public void endVisit(DeclareStatement declareStatement) {
+		endVisit(declareStatement, v -> v.endVisit(declareStatement));
+	}
+
+	@Override
+	public boolean visit(DoStatement doStatement) {
+		return visit(doStatement, v -> v.visit(doStatement));
+	}
+
+	@Override
+	public void endVisit(DoStatement doStatement) {
+		endVisit(doStatement, v -> v.endVisit(doStatement));
+	}
+
+	@Override
+	public boolean visit(EchoStatement echoStatement) {
+		return visit(echoStatement, v -> v.visit(echoStatement));
+	}
+
+	@Override
+	public void endVisit(EchoStatement echoStatement) {
+		endVisit(echoStatement, v -> v.endVisit(echoStatement));
+	}
+
+	@Override
+	public boolean visit(EmptyExpression emptyExpression) {
+		return visit(emptyExpression, v -> v.visit(emptyExpression));
+	}
+
+	@Override
+	public void endVisit(EmptyExpression emptyExpression) {
+		endVisit(emptyExpression, v -> v.endVisit(emptyExpression));
+	}
+
+	@Override
+	public boolean visit(EmptyStatement emptyStatement) {
+		return visit(emptyStatement, v -> v.visit(emptyStatement));
+	}
+
+	@Override
+	public void endVisit(EmptyStatement emptyStatement) {
+		endVisit(emptyStatement, v -> v.endVisit(emptyStatement));
+	}
+
+	@Override
+	public boolean visit(ExpressionStatement expressionStatement) {
+		return visit(expressionStatement, v -> v.visit(expressionStatement));
+	}
+
+	@Override
+	public void endVisit(ExpressionStatement expressionStatement) {
+		endVisit(expressionStatement, v -> v.endVisit(expressionStatement));
+	}
+
+	@Override
+	public boolean visit(FieldAccess fieldAccess) {
+		return visit(fieldAccess, v -> v.visit(fieldAccess));
+	}
+
+	@Override
+	public void endVisit(FieldAccess fieldAccess) {
+		endVisit(fieldAccess, v -> v.endVisit(fieldAccess));
+	}
+
+	@Override
+	public boolean visit(FieldsDeclaration fieldsDeclaration) {
+		return visit(fieldsDeclaration, v -> v.visit(fieldsDeclaration));
+	}
+
+	@Override
+	public void endVisit(FieldsDeclaration fieldsDeclaration) {
+		endVisit(fieldsDeclaration, v -> v.endVisit(fieldsDeclaration));
+	}
+
+	@Override
+	public boolean visit(ForEachStatement forEachStatement) {
+		return visit(forEachStatement, v -> v.visit(forEachStatement));
+	}
+
+	@Override
+	public void endVisit(ForEachStatement forEachStatement) {
+		endVisit(forEachStatement, v -> v.endVisit(forEachStatement));
+	}
+
+	@Override
+	public boolean visit(FormalParameter formalParameter) {
+		return visit(formalParameter, v -> v.visit(formalParameter));
+	}
+
+	@Override
+	public void endVisit(FormalParameter formalParameter) {
+		endVisit(formalParameter, v -> v.endVisit(formalParameter));
+	}
+
+	@Override
+	public boolean visit(ForStatement forStatement) {
+		return visit(forStatement, v -> v.visit(forStatement));
+	}
+
+	@Override
+	public void endVisit(ForStatement forStatement) {
+		endVisit(forStatement, v -> v.endVisit(forStatement));
+	}
+
+	@Override
+	public boolean visit(FunctionDeclaration functionDeclaration) {
+		return visit(functionDeclaration, v -> v.visit(functionDeclaration));
+	}
+
+	@Override
+	public void endVisit(FunctionDeclaration functionDeclaration) {
+		endVisit(functionDeclaration, v -> v.endVisit(functionDeclaration));
+	}
+
+	@Override
+	public boolean visit(FunctionInvocation functionInvocation) {
+		return visit(functionInvocation, v -> v.visit(functionInvocation));
+	}
+
+	@Override
+	public void endVisit(FunctionInvocation functionInvocation) {
+		endVisit(functionInvocation, v -> v.endVisit(functionInvocation));
+	}
+
+	@Override
+	public boolean visit(FunctionName functionName) {
+		return visit(functionName, v -> v.visit(functionName));
+	}
+
+	@Override
+	public void endVisit(FunctionName functionName) {
+		endVisit(functionName, v -> v.endVisit(functionName));
+	}
+
+	@Override
+	public boolean visit(GlobalStatement globalStatement) {
+		return visit(globalStatement, v -> v.visit(globalStatement));
+	}
+
+	@Override
+	public void endVisit(GlobalStatement globalStatement) {
+		endVisit(globalStatement, v -> v.endVisit(globalStatement));
+	}
+
+	@Override
+	public boolean visit(GotoLabel gotoLabel) {
+		return visit(gotoLabel, v -> v.visit(gotoLabel));
+	}
+
+	@Override
+	public void endVisit(GotoLabel gotoLabel) {
+		endVisit(gotoLabel, v -> v.endVisit(gotoLabel));
+	}
+
+	@Override
+	public boolean visit(GotoStatement gotoStatement) {
+		return visit(gotoStatement, v -> v.visit(gotoStatement));
+	}
+
+	@Override
+	public void endVisit(GotoStatement gotoStatement) {
+		endVisit(gotoStatement, v -> v.endVisit(gotoStatement));
+	}
+
+	@Override
+	public boolean visit(Identifier identifier) {
+		return visit(identifier, v -> v.visit(identifier));
+	}
+
+	@Override
+	public void endVisit(Identifier identifier) {
+		endVisit(identifier, v -> v.endVisit(identifier));
+	}
+
+	@Override
+	public boolean visit(IfStatement ifStatement) {
+		return visit(ifStatement, v -> v.visit(ifStatement));
+	}
+
+	@Override
+	public void endVisit(IfStatement ifStatement) {
+		endVisit(ifStatement, v -> v.endVisit(ifStatement));
+	}
+
+	@Override
+	public boolean visit(IgnoreError ignoreError) {
+		return visit(ignoreError, v -> v.visit(ignoreError));
+	}
+
+	@Override
+	public void endVisit(IgnoreError ignoreError) {
+		endVisit(ignoreError, v -> v.endVisit(ignoreError));
+	}
+
+	@Override
+	public boolean visit(Include include) {
+		return visit(include, v -> v.visit(include));
+	}
+
+	@Override
+	public void endVisit(Include include) {
+		endVisit(include, v -> v.endVisit(include));
+	}
+
+	@Override
+	public boolean visit(InfixExpression infixExpression) {
+		return visit(infixExpression, v -> v.visit(infixExpression));
+	}
+
+	@Override
+	public void endVisit(InfixExpression infixExpression) {
+		endVisit(infixExpression, v -> v.endVisit(infixExpression));
+	}
+
+	@Override
+	public boolean visit(InLineHtml inLineHtml) {
+		return visit(inLineHtml, v -> v.visit(inLineHtml));
+	}
+
+	@Override
+	public void endVisit(InLineHtml inLineHtml) {
+		endVisit(inLineHtml, v -> v.endVisit(inLineHtml));
+	}
+
+	@Override
+	public boolean visit(InstanceOfExpression instanceOfExpression) {
+		return visit(instanceOfExpression, v -> v.visit(instanceOfExpression));
+	}
+
+	@Override
+	public void endVisit(InstanceOfExpression instanceOfExpression) {
+		endVisit(instanceOfExpression, v -> v.endVisit(instanceOfExpression));
+	}
+
+	@Override
+	public boolean visit(InterfaceDeclaration interfaceDeclaration) {
+		return visit(interfaceDeclaration, v -> v.visit(interfaceDeclaration));
+	}
+
+	@Override
+	public void endVisit(InterfaceDeclaration interfaceDeclaration) {
+		endVisit(interfaceDeclaration, v -> v.endVisit(interfaceDeclaration));
+	}
+
+	@Override
+	public boolean visit(LambdaFunctionDeclaration lambdaFunctionDeclaration) {
+		return visit(lambdaFunctionDeclaration, v -> v.visit(lambdaFunctionDeclaration));
+	}
+
+	@Override
+	public void endVisit(LambdaFunctionDeclaration lambdaFunctionDeclaration) {
+		endVisit(lambdaFunctionDeclaration, v -> v.endVisit(lambdaFunctionDeclaration));
+	}
+
+	@Override
+	public boolean visit(ArrowFunctionDeclaration arrowFunctionDeclaration) {
+		return visit(arrowFunctionDeclaration, v -> v.visit(arrowFunctionDeclaration));
+	}
+
+	@Override
+	public void endVisit(ArrowFunctionDeclaration arrowFunctionDeclaration) {
+		endVisit(arrowFunctionDeclaration, v -> v.endVisit(arrowFunctionDeclaration));
+	}
+
+	@Override
+	public boolean visit(ListVariable listVariable) {
+		return visit(listVariable, v -> v.visit(listVariable));
+	}
+
+	@Override
+	public void endVisit(ListVariable listVariable) {
+		endVisit(listVariable, v -> v.endVisit(listVariable));
+	}
+
+	@Override
+	public boolean visit(MethodDeclaration methodDeclaration) {
+		return visit(methodDeclaration, v -> v.visit(methodDeclaration));
+	}
+
+	@Override
+	public void endVisit(MethodDeclaration methodDeclaration) {
+		endVisit(methodDeclaration, v -> v.endVisit(methodDeclaration));
+	}
+
+	@Override
+	public boolean visit(MethodInvocation methodInvocation) {
+		return visit(methodInvocation, v -> v.visit(methodInvocation));
+	}
+
+	@Override
+	public void endVisit(MethodInvocation methodInvocation) {
+		endVisit(methodInvocation, v -> v.endVisit(methodInvocation));
+	}
+
+	@Override
+	public boolean visit(NamespaceName namespaceName) {
+		return visit(namespaceName, v -> v.visit(namespaceName));
+	}
+
+	@Override
+	public void endVisit(NamespaceName namespaceName) {
+		endVisit(namespaceName, v -> v.endVisit(namespaceName));
+	}
+
+	@Override
+	public boolean visit(NamespaceDeclaration namespaceDeclaration) {
+		return visit(namespaceDeclaration, v -> v.visit(namespaceDeclaration));
+	}
+
+	@Override
+	public void endVisit(NamespaceDeclaration namespaceDeclaration) {
+		endVisit(namespaceDeclaration, v -> v.endVisit(namespaceDeclaration));
+	}
+
+	@Override
+	public boolean visit(ParenthesisExpression parenthesisExpression) {
+		return visit(parenthesisExpression, v -> v.visit(parenthesisExpression));
+	}
+
+	@Override
+	public void endVisit(ParenthesisExpression parenthesisExpression) {
+		endVisit(parenthesisExpression, v -> v.endVisit(parenthesisExpression));
+	}
+
+	@Override
+	public boolean visit(PostfixExpression postfixExpression) {
+		return visit(postfixExpression, v -> v.visit(postfixExpression));
+	}
+
+	@Override
+	public void endVisit(PostfixExpression postfixExpression) {
+		endVisit(postfixExpression, v -> v.endVisit(postfixExpression));
+	}
+
+	@Override
+	public boolean visit(PrefixExpression prefixExpression) {
+		return visit(prefixExpression, v -> v.visit(prefixExpression));
+	}
+
+	@Override
+	public void endVisit(PrefixExpression prefixExpression) {
+		endVisit(prefixExpression, v -> v.endVisit(prefixExpression));
+	}
+
+	@Override
+	public boolean visit(Program program) {
+		return visit(program, v -> v.visit(program));
+	}
+
+	@Override
+	public void endVisit(Program program) {
+		endVisit(program, v -> v.endVisit(program));
+	}
+
+	@Override
+	public boolean visit(Quote quote) {
+		return visit(quote, v -> v.visit(quote));
+	}
+
+	@Override
+	public void endVisit(Quote quote) {
+		endVisit(quote, v -> v.endVisit(quote));
+	}
+
+	@Override
+	public boolean visit(Reference reference) {
+		return visit(reference, v -> v.visit(reference));
+	}
+
+	@Override
+	public void endVisit(Reference reference) {
+		endVisit(reference, v -> v.endVisit(reference));
+	}
+
+	@Override
+	public boolean visit(ReflectionVariable reflectionVariable) {
+		return visit(reflectionVariable, v -> v.visit(reflectionVariable));
+	}
+
+	@Override
+	public void endVisit(ReflectionVariable reflectionVariable) {
+		endVisit(reflectionVariable, v -> v.endVisit(reflectionVariable));
+	}
+
+	@Override
+	public boolean visit(ReturnStatement returnStatement) {
+		return visit(returnStatement, v -> v.visit(returnStatement));
+	}
+
+	@Override
+	public void endVisit(ReturnStatement returnStatement) {
+		endVisit(returnStatement, v -> v.endVisit(returnStatement));
+	}
+
+	@Override
+	public boolean visit(ReturnType returnType) {
+		return visit(returnType, v -> v.visit(returnType));
+	}
+
+	@Override
+	public void endVisit(ReturnType returnType) {
+		endVisit(returnType, v -> v.endVisit(returnType));
+	}
+
+	@Override
+	public boolean visit(Scalar scalar) {
+		return visit(scalar, v -> v.visit(scalar));
+	}
+
+	@Override
+	public void endVisit(Scalar scalar) {
+		endVisit(scalar, v -> v.endVisit(scalar));
+	}
+
+	@Override
+	public boolean visit(SingleFieldDeclaration singleFieldDeclaration) {
+		return visit(singleFieldDeclaration, v -> v.visit(singleFieldDeclaration));
+	}
+
+	@Override
+	public void endVisit(SingleFieldDeclaration singleFieldDeclaration) {
+		endVisit(singleFieldDeclaration, v -> v.endVisit(singleFieldDeclaration));
+	}
+
+	@Override
+	public boolean visit(StaticConstantAccess classConstantAccess) {
+		return visit(classConstantAccess, v -> v.visit(classConstantAccess));
+	}
+
+	@Override
+	public void endVisit(StaticConstantAccess staticConstantAccess) {
+		endVisit(staticConstantAccess, v -> v.endVisit(staticConstantAccess));
+	}
+
+	@Override
+	public boolean visit(StaticFieldAccess staticFieldAccess) {
+		return visit(staticFieldAccess, v -> v.visit(staticFieldAccess));
+	}
+
+	@Override
+	public void endVisit(StaticFieldAccess staticFieldAccess) {
+		endVisit(staticFieldAccess, v -> v.endVisit(staticFieldAccess));
+	}
+
+	@Override
+	public boolean visit(StaticMethodInvocation staticMethodInvocation) {
+		return visit(staticMethodInvocation, v -> v.visit(staticMethodInvocation));
+	}
+
+	@Override
+	public void endVisit(StaticMethodInvocation staticMethodInvocation) {
+		endVisit(staticMethodInvocation, v -> v.endVisit(staticMethodInvocation));
+	}
+
+	@Override
+	public boolean visit(StaticStatement staticStatement) {
+		return visit(staticStatement, v -> v.visit(staticStatement));
+	}
+
+	@Override
+	public void endVisit(StaticStatement staticStatement) {
+		endVisit(staticStatement, v -> v.endVisit(staticStatement));
+	}
+
+	@Override
+	public boolean visit(SwitchCase switchCase) {
+		return visit(switchCase, v -> v.visit(switchCase));
+	}
+
+	@Override
+	public void endVisit(SwitchCase switchCase) {
+		endVisit(switchCase, v -> v.endVisit(switchCase));
+	}
+
+	@Override
+	public boolean visit(SwitchStatement switchStatement) {
+		return visit(switchStatement, v -> v.visit(switchStatement));
+	}
+
+	@Override
+	public void endVisit(SwitchStatement switchStatement) {
+		endVisit(switchStatement, v -> v.endVisit(switchStatement));
+	}
+
+	@Override
+	public boolean visit(ThrowStatement throwStatement) {
+		return visit(throwStatement, v -> v.visit(throwStatement));
+	}
+
+	@Override
+	public void endVisit(ThrowStatement throwStatement) {
+		endVisit(throwStatement, v -> v.endVisit(throwStatement));
+	}
+
+	@Override
+	public boolean visit(TryStatement tryStatement) {
+		return visit(tryStatement, v -> v.visit(tryStatement));
+	}
+
+	@Override
+	public void endVisit(TryStatement tryStatement) {
+		endVisit(tryStatement, v -> v.endVisit(tryStatement));
+	}
+
+	@Override
+	public boolean visit(UnaryOperation unaryOperation) {
+		return visit(unaryOperation, v -> v.visit(unaryOperation));
+	}
+
+	@Override
+	public void endVisit(UnaryOperation unaryOperation) {
+		endVisit(unaryOperation, v -> v.endVisit(unaryOperation));
+	}
+
+	@Override
+	public boolean visit(Variable variable) {
+		return visit(variable, v -> v.visit(variable));
+	}
+
+	@Override
+	public void endVisit(Variable variable) {
+		endVisit(variable, v -> v.endVisit(variable));
+	}
+
+	@Override
+	public boolean visit(UseStatement useStatement) {
+		return visit(useStatement, v -> v.visit(useStatement));
+	}
+
+	@Override
+	public void endVisit(UseStatement useStatement) {
+		endVisit(useStatement, v -> v.endVisit(useStatement));
+	}
+
+	@Override
+	public boolean visit(UseStatementPart useStatementPart) {
+		return visit(useStatementPart, v -> v.visit(useStatementPart));
+	}
+
+	@Override
+	public void endVisit(UseStatementPart useStatementPart) {
+		endVisit(useStatementPart, v -> v.endVisit(useStatementPart));
+	}
+
+	@Override
+	public boolean visit(WhileStatement whileStatement) {
+		return visit(whileStatement, v -> v.visit(whileStatement));
+	}
+
+	@Override
+	public void endVisit(WhileStatement whileStatement) {
+		endVisit(whileStatement, v -> v.endVisit(whileStatement));
+	}
+
+	@Override
+	public boolean visit(ASTNode node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(ASTNode node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(FullyQualifiedTraitMethodReference node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(FullyQualifiedTraitMethodReference node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(TraitAlias node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(TraitAlias node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(TraitAliasStatement node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(TraitAliasStatement node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(TraitDeclaration node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(TraitDeclaration node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(TraitPrecedence node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(TraitPrecedence node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(TraitPrecedenceStatement node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(TraitPrecedenceStatement node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(TraitUseStatement node) {
+		return visit(node, v -> v.visit(node));
+	}
+
+	@Override
+	public void endVisit(TraitUseStatement node) {
+		endVisit(node, v -> v.endVisit(node));
+	}
+
+	@Override
+	public boolean visit(YieldExpression YieldExpression) {
+		return visit(YieldExpression, v -> v.visit(YieldExpression));
+	}
+
+	@Override
+	public void endVisit(YieldExpression YieldExpression) {
+		endVisit(YieldExpression, v -> v.endVisit(YieldExpression));
+	}
+
+	@Override
+	public boolean visit(FinallyClause YieldExpression) {
+		return visit(YieldExpression, v -> v.visit(YieldExpression));
+	}
+
+	@Override
+	public void endVisit(FinallyClause YieldExpression) {
+		endVisit(YieldExpression, v -> v.endVisit(YieldExpression));
+	}
+
+	@Override
+	public boolean visit(AnonymousClassDeclaration anonymousClassDeclaration) {
+		return visit(anonymousClassDeclaration, v -> v.visit(anonymousClassDeclaration));
+	}
+
+	@Override
+	public void endVisit(AnonymousClassDeclaration anonymousClassDeclaration) {
+		endVisit(anonymousClassDeclaration, v -> v.endVisit(anonymousClassDeclaration));
+	}
+
+	@Override
+	public boolean visit(Attribute attribute) {
+		return visit(attribute, v -> v.visit(attribute));
+	}
+
+	@Override
+	public void endvisit(Attribute attribute) {
+		endVisit(attribute, v -> v.endvisit(attribute));
+	}
+
+	@Override
+	public boolean visit(AttributeGroup attributeGroup) {
+		return visit(attributeGroup, v -> v.visit(attributeGroup));
+	}
+
+	@Override
+	public void endvisit(AttributeGroup attributeGroup) {
+		endVisit(attributeGroup, v -> v.endvisit(attributeGroup));
+	}
+
+	@Override
+	public boolean visit(NamedExpression namedExpresion) {
+		return visit(namedExpresion, v -> v.visit(namedExpresion));
+	}
+
+	@Override
+	public void endvisit(NamedExpression namedExpression) {
+		endVisit(namedExpression, v -> v.endvisit(namedExpression));
+	}
+
+	@Override
+	public boolean visit(MatchExpression matchExpression) {
+		return visit(matchExpression, v -> v.visit(matchExpression));
+	}
+
+	@Override
+	public void endvisit(MatchExpression matchExpression) {
+		endVisit(matchExpression, v -> v.endvisit(matchExpression));
+	}
+
+	@Override
+	public boolean visit(MatchArm matchArm) {
+		return visit(matchArm, v -> v.visit(matchArm));
+	}
+
+	@Override
+	public void endvisit(MatchArm matchArm) {
+		endVisit(matchArm, v -> v.endvisit(matchArm));
+	}
+
+	@Override
+	public boolean visit(ThrowExpression throwExpression) {
+		return visit(throwExpression, v -> v.visit(throwExpression));
+	}
+
+	@Override
+	public void endvisit(ThrowExpression throwExpression) {
+		endVisit(throwExpression, v -> v.endvisit(throwExpression));
+	}
+
+	@Override
+	public boolean visit(DNFType dnfType) {
+		return visit(dnfType, v -> v.visit(dnfType));
+	}
+
+	@Override
+	public void endvisit(DNFType dnfType) {
+		endVisit(dnfType, v -> v.endvisit(dnfType));
+	}
+
+	@Override
+	public boolean visit(EnumDeclaration enumDeclaration) {
+		return visit(enumDeclaration, v -> v.visit(enumDeclaration));
+	}
+
+	@Override
+	public void endvisit(EnumDeclaration enumDeclaration) {
+		endVisit(enumDeclaration, v -> v.endvisit(enumDeclaration));
+	}
+
+	@Override
+	public boolean visit(EnumCaseDeclaration enumCaseDeclaration) {
+		return visit(enumCaseDeclaration, v -> v.visit(enumCaseDeclaration));
+	}
+
+	@Override
+	public void endvisit(EnumCaseDeclaration enumCaseDeclaration) {
+		endVisit(enumCaseDeclaration, v -> v.endvisit(enumCaseDeclaration));
+	}
+
+	@Override
+	public boolean visit(AsCallableExpression asCallableExpression) {
+		return visit(asCallableExpression, v -> v.visit(asCallableExpression));
+	}
+
+	@Override
+	public void endvisit(AsCallableExpression asCallableExpression) {
+		endVisit(asCallableExpression, v -> v.endvisit(asCallableExpression));
+	}
+}
@@ -29,8 +29,10 @@ import org.eclipse.jface.text.reconciler.IReconcilingStrategyExtension;
 import org.eclipse.jface.text.source.IAnnotationModel;
 import org.eclipse.php.core.PHPVersion;
 import org.eclipse.php.core.ast.nodes.ASTParser;
+import org.eclipse.php.core.ast.nodes.ASTReparser;
 import org.eclipse.php.core.ast.nodes.Program;
 import org.eclipse.php.core.project.ProjectOptions;
+import org.eclipse.php.internal.core.PHPCoreConstants;
 import org.eclipse.php.internal.core.PHPCorePlugin;
 import org.eclipse.php.internal.core.ast.util.Util;
 import org.eclipse.php.internal.ui.PHPUiPlugin;
@@ -49,6 +51,12 @@ public class PHPReconcilingStrategy implements IReconcilingStrategy, IReconcilin
 
 	private ISourceModuleDocumentProvider fDocumentProvider;
 
+	/**
+	 * Reparses a copy of the last reconciled AST, see
+	 * {@link PHPCoreConstants#INCREMENTAL_RECONCILE}.
+	 */
+	private final ASTReparser fReparser = new ASTReparser();
+
 	public PHPReconcilingStrategy(ITextEditor editor) {
 		fEditor = editor;
 		fDocumentProvider = DLTKUIPlugin.getDefault().getSourceModuleDocumentProvider();
@@ -142,11 +150,28 @@ public class PHPReconcilingStrategy implements IReconcilingStrategy, IReconcilin
 			}
 
 			if (initialReconcile || astProvider.isActive(unit)) {
-				PHPVersion phpVersion = ProjectOptions.getPHPVersion(unit.getScriptProject().getProject());
-				boolean isSupportingASPTags = ProjectOptions.isSupportingASPTags(unit.getScriptProject().getProject());
-				boolean useShortTags = ProjectOptions.useShortTags(unit.getScriptProject().getProject());
-				ASTParser newParser = ASTParser.newParser(phpVersion, isSupportingASPTags, useShortTags, unit);
-				createdAST = newParser != null ? newParser.createAST(null) : null;
+				char[] source = null;
+				createdAST = null;
+				if (Platform.getPreferencesService().getBoolean(PHPCorePlugin.ID,
+						PHPCoreConstants.INCREMENTAL_RECONCILE, false, null)) {
+					source = unit.getSourceAsCharArray();
+					if (!initialReconcile) {
+						createdAST = fReparser.reparse(source);
+					}
+				}
+				if (createdAST == null) {
+					PHPVersion phpVersion = ProjectOptions.getPHPVersion(unit.getScriptProject().getProject());
+					boolean isSupportingASPTags = ProjectOptions
+							.isSupportingASPTags(unit.getScriptProject().getProject());
+					boolean useShortTags = ProjectOptions.useShortTags(unit.getScriptProject().getProject());
+					ASTParser newParser = ASTParser.newParser(phpVersion, isSupportingASPTags, useShortTags, unit);
+					if (newParser != null && source != null) {
+						// Parses the source kept by the reparser
+						newParser.setSource(source);
+					}
+					createdAST = newParser != null ? newParser.createAST(null) : null;
+					fReparser.reset(source != null ? createdAST : null, source);
+				}
 				if (createdAST != null && fDocument != null) {
 					createdAST.setSourceModule(unit);
 					createdAST.setSourceRange(0, fDocument.getLength());
@@ -21,6 +21,11 @@ import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.dltk.compiler.problem.DefaultProblem;
 import org.eclipse.dltk.core.*;
 import org.eclipse.dltk.internal.ui.editor.EditorUtility;
@@ -28,12 +33,17 @@ import org.eclipse.dltk.ui.text.folding.IFoldingStructureProvider;
 import org.eclipse.dltk.ui.text.folding.IFoldingStructureProviderExtension;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.Document;
+import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.source.Annotation;
 import org.eclipse.jface.text.source.projection.*;
+import org.eclipse.php.core.compiler.PHPFlags;
 import org.eclipse.php.internal.core.documentModel.parser.regions.IPHPScriptRegion;
 import org.eclipse.php.internal.core.documentModel.parser.regions.PHPRegionTypes;
 import org.eclipse.php.internal.core.documentModel.partitioner.PHPPartitionTypes;
@@ -44,6 +54,8 @@ import org.eclipse.php.internal.ui.folding.html.ProjectionModelNodeAdapterFactor
 import org.eclipse.php.internal.ui.folding.html.ProjectionModelNodeAdapterHTML;
 import org.eclipse.php.internal.ui.preferences.PreferenceConstants;
 import org.eclipse.php.internal.ui.text.DocumentCharacterIterator;
+import org.eclipse.swt.custom.StyledText;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.ui.texteditor.IDocumentProvider;
 import org.eclipse.ui.texteditor.ITextEditor;
 import org.eclipse.wst.sse.core.StructuredModelManager;
@@ -85,6 +97,13 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 		private ICommentScanner fScanner;
 		private boolean headerChecked = false;
 
+		private IRegion fHeaderComment;
+		private boolean fHeaderCommentComputed;
+		private long fModificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		private IRegion fDirtyRegion;
+		private Set<IModelElement> fComputedElements = new HashSet<>();
+		private IProgressMonitor fMonitor;
+
 		private FoldingStructureComputationContext(IDocument document, ProjectionAnnotationModel model,
 				boolean allowCollapsing) {
 			Assert.isNotNull(document);
@@ -225,6 +244,186 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 			headerChecked = true;
 		}
 
+		private IRegion getHeaderComment() {
+			if (!fHeaderCommentComputed) {
+				fHeaderComment = computeHeaderComment(fDocument);
+				fHeaderCommentComputed = true;
+			}
+			return fHeaderComment;
+		}
+
+		/**
+		 * Records the state of the edited document this context is a snapshot
+		 * of.
+		 * 
+		 * @param modificationStamp
+		 *            the modification stamp of the edited document
+		 * @param headerComment
+		 *            the header comment of the edited document, or
+		 *            <code>null</code>
+		 * @param dirtyRegion
+		 *            the region changed since the last update, or
+		 *            <code>null</code> to compute the whole structure
+		 */
+		private void setSnapshot(long modificationStamp, IRegion headerComment, IRegion dirtyRegion) {
+			fModificationStamp = modificationStamp;
+			fHeaderComment = headerComment;
+			fHeaderCommentComputed = true;
+			fDirtyRegion = dirtyRegion;
+		}
+
+		private long getModificationStamp() {
+			return fModificationStamp;
+		}
+
+		private IRegion getDirtyRegion() {
+			return fDirtyRegion;
+		}
+
+		private void setMonitor(IProgressMonitor monitor) {
+			fMonitor = monitor;
+		}
+
+		private void checkCanceled() {
+			if (fMonitor != null && fMonitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+		}
+
+		/**
+		 * Returns <code>true</code> if the folding structure of the given
+		 * element, of its comments or of its children may have changed in the
+		 * dirty region, and records it as computed.
+		 * 
+		 * @param element
+		 *            the element
+		 * @return <code>true</code> if the element must be computed again
+		 */
+		private boolean isChanged(IModelElement element) throws ModelException {
+			if (fDirtyRegion == null) {
+				return true;
+			}
+			// The first element holds the header comment
+			if (isHeaderChecked() && element instanceof ISourceReference) {
+				ISourceRange range = ((ISourceReference) element).getSourceRange();
+				if (SourceRange.isAvailable(range)) {
+					ICommentScanner scanner = getScanner();
+					scanner.resetTo(range.getOffset());
+					int start = scanner.computePreviousComment();
+					int end = range.getOffset() + range.getLength();
+					if (end < fDirtyRegion.getOffset() || fDirtyRegion.getOffset() + fDirtyRegion.getLength() < start) {
+						return false;
+					}
+				}
+			}
+			fComputedElements.add(element);
+			return true;
+		}
+
+		/**
+		 * Returns <code>true</code> if the given annotation may be replaced by
+		 * the structure computed with this context.
+		 * 
+		 * @param annotation
+		 *            the existing annotation
+		 * @param position
+		 *            the position of the annotation
+		 * @return <code>true</code> if the annotation must be compared to the
+		 *         computed structure
+		 */
+		private boolean isComputed(PHPProjectionAnnotation annotation, Position position) {
+			if (fDirtyRegion == null || position.isDeleted() || fComputedElements.contains(annotation.getElement())) {
+				return true;
+			}
+			return position.overlapsWith(fDirtyRegion.getOffset(), Math.max(fDirtyRegion.getLength(), 1));
+		}
+
+	}
+
+	/**
+	 * Accumulates the region of the document changed since the folding
+	 * structure was last updated.
+	 */
+	private static final class DirtyRegionTracker implements IDocumentListener {
+		private int fStart = -1;
+		private int fEnd = -1;
+
+		@Override
+		public void documentAboutToBeChanged(DocumentEvent event) {
+		}
+
+		@Override
+		public synchronized void documentChanged(DocumentEvent event) {
+			int offset = event.getOffset();
+			int oldEnd = offset + event.getLength();
+			int newEnd = offset + (event.getText() == null ? 0 : event.getText().length());
+			if (fStart < 0) {
+				fStart = offset;
+				fEnd = newEnd;
+			} else {
+				fStart = Math.min(shift(fStart, offset, oldEnd, newEnd), offset);
+				fEnd = Math.max(shift(fEnd, offset, oldEnd, newEnd), newEnd);
+			}
+		}
+
+		private static int shift(int position, int offset, int oldEnd, int newEnd) {
+			if (position <= offset) {
+				return position;
+			}
+			if (position >= oldEnd) {
+				return position + newEnd - oldEnd;
+			}
+			return offset;
+		}
+
+		synchronized IRegion getRegion() {
+			return fStart < 0 ? null : new Region(fStart, fEnd - fStart);
+		}
+
+		synchronized void reset() {
+			fStart = -1;
+			fEnd = -1;
+		}
+	}
+
+	/**
+	 * Computes the folding structure of a snapshot of the document outside of
+	 * the UI thread, and applies the changed annotations in the UI thread.
+	 * Scheduling the job again cancels the running computation, so that only
+	 * the last change is computed.
+	 */
+	private final class FoldingJob extends Job {
+
+		public FoldingJob() {
+			super("Computing folding structure"); //$NON-NLS-1$
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			Display display = getDisplay();
+			if (display == null) {
+				return Status.OK_STATUS;
+			}
+			final FoldingStructureComputationContext[] snapshot = new FoldingStructureComputationContext[1];
+			display.syncExec(() -> snapshot[0] = createSnapshotContext());
+			final FoldingStructureComputationContext ctx = snapshot[0];
+			if (ctx == null) {
+				return Status.OK_STATUS;
+			}
+			try {
+				ctx.setMonitor(monitor);
+				computeFoldingStructure(ctx);
+				ctx.checkCanceled();
+			} catch (OperationCanceledException e) {
+				return Status.CANCEL_STATUS;
+			}
+			if (!display.isDisposed()) {
+				display.asyncExec(() -> applySnapshotContext(ctx));
+			}
+			return Status.OK_STATUS;
+		}
 	}
 
 	private interface ICommentScanner {
@@ -449,7 +648,8 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 					return;
 				}
 
-				update(createContext(false));
+				fFoldingJob.cancel();
+				fFoldingJob.schedule(UPDATE_DELAY);
 			}
 		}
 
@@ -814,6 +1014,15 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 
 	private PHPStructuredTextViewer viewer;
 	private IDocument fDocument;
+
+	/* background updates */
+	private final FoldingJob fFoldingJob = new FoldingJob();
+	private final DirtyRegionTracker fDirtyRegion = new DirtyRegionTracker();
+	/**
+	 * Delay before computing the folding structure, to coalesce the changes
+	 * of the model
+	 */
+	private static final long UPDATE_DELAY = 100;
 	/**
 	 * Maximum number of child nodes to add adapters to (limit for performance
 	 * sake)
@@ -942,6 +1151,11 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 			DLTKCore.removeElementChangedListener(fElementListener);
 			fElementListener = null;
 		}
+		fFoldingJob.cancel();
+		if (fDocument != null) {
+			fDocument.removeDocumentListener(fDirtyRegion);
+		}
+		fDirtyRegion.reset();
 
 		final ProjectionModelNodeAdapterFactoryHTML factory2 = getAdapterFactoryHTML(false);
 		if (factory2 != null) {
@@ -1022,8 +1236,15 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 	 */
 	@Override
 	public final void initialize() {
+		fFoldingJob.cancel();
 		if (viewer != null) {
+			if (fDocument != null) {
+				fDocument.removeDocumentListener(fDirtyRegion);
+			}
 			fDocument = viewer.getDocument();
+			if (fDocument != null) {
+				fDocument.addDocumentListener(fDirtyRegion);
+			}
 
 			// set projection viewer on new document's adapter factory
 			if (viewer.getProjectionAnnotationModel() != null) {
@@ -1039,6 +1260,7 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 			}
 		}
 
+		fDirtyRegion.reset();
 		update(createInitialContext());
 	}
 
@@ -1187,6 +1409,65 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 		return new FoldingStructureComputationContext(doc, model, allowCollapse);
 	}
 
+	/**
+	 * Creates a context computing the folding structure of a copy of the
+	 * document, changed in the dirty region since the last update. Must be
+	 * called in the UI thread.
+	 * 
+	 * @return the context, or <code>null</code> if the provider isn't
+	 *         installed any longer
+	 */
+	private FoldingStructureComputationContext createSnapshotContext() {
+		if (!isInstalled() || fInput == null || fDocument == null) {
+			return null;
+		}
+		ProjectionAnnotationModel model = getModel();
+		if (model == null) {
+			return null;
+		}
+		FoldingStructureComputationContext ctx = new FoldingStructureComputationContext(
+				new Document(fDocument.get()), model, false);
+		ctx.setSnapshot(getModificationStamp(fDocument), computeHeaderComment(fDocument), fDirtyRegion.getRegion());
+		return ctx;
+	}
+
+	/**
+	 * Applies the folding structure computed from a snapshot of the document,
+	 * unless the document changed meanwhile. Must be called in the UI thread.
+	 * 
+	 * @param ctx
+	 *            the snapshot context
+	 */
+	private void applySnapshotContext(FoldingStructureComputationContext ctx) {
+		if (!isInstalled() || fDocument == null || ctx.getModel() != getModel()) {
+			return;
+		}
+		if (getModificationStamp(fDocument) != ctx.getModificationStamp()
+				|| !Objects.equals(fDirtyRegion.getRegion(), ctx.getDirtyRegion())) {
+			// Computes the newer changes as well
+			fFoldingJob.schedule(UPDATE_DELAY);
+			return;
+		}
+		fDirtyRegion.reset();
+		applyFoldingStructure(ctx);
+	}
+
+	private static long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	private Display getDisplay() {
+		PHPStructuredTextViewer textViewer = viewer;
+		StyledText textWidget = textViewer != null ? textViewer.getTextWidget() : null;
+		if (textWidget == null || textWidget.isDisposed()) {
+			return null;
+		}
+		return textWidget.getDisplay();
+	}
+
 	private IModelElement getInputElement() {
 		if (fEditor == null) {
 			return null;
@@ -1209,11 +1490,22 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 			return;
 		}
 
+		computeFoldingStructure(ctx);
+		applyFoldingStructure(ctx);
+	}
+
+	/**
+	 * Applies the difference between the computed folding structure and the
+	 * annotations of the model. Must be called in the UI thread.
+	 * 
+	 * @param ctx
+	 *            the context of the computed structure
+	 */
+	private void applyFoldingStructure(FoldingStructureComputationContext ctx) {
 		Map<PHPProjectionAnnotation, Position> additions = new HashMap<>();
 		List<PHPProjectionAnnotation> deletions = new ArrayList<>();
 		List<PHPProjectionAnnotation> updates = new ArrayList<>();
 
-		computeFoldingStructure(ctx);
 		Map<Object, Position> newStructure = ctx.fMap;
 		Map<IModelElement, List<Tuple>> oldStructure = computeCurrentStructure(ctx);
 
@@ -1306,9 +1598,15 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 	private void computeFoldingStructure(IModelElement[] elements, FoldingStructureComputationContext ctx)
 			throws ModelException {
 		for (int i = 0; i < elements.length; i++) {
+			ctx.checkCanceled();
 			IModelElement element = elements[i];
 
-			computeFoldingStructure(element, ctx);
+			if (ctx.isChanged(element)) {
+				computeFoldingStructure(element, ctx);
+			} else if (!isNamespace(element)) {
+				// The children are enclosed in the unchanged element
+				continue;
+			}
 
 			if (element instanceof IParent) {
 				IParent parent = (IParent) element;
@@ -1317,6 +1615,10 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 		}
 	}
 
+	private static boolean isNamespace(IModelElement element) throws ModelException {
+		return element instanceof IType && PHPFlags.isNamespace(((IType) element).getFlags());
+	}
+
 	/**
 	 * Computes the folding structure for a given {@link IModelElement java
 	 * element}. Computed projection annotations are
@@ -1433,7 +1735,7 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 				ctx.setFirstElement((IModelElement) reference);
 				ctx.setHeaderChecked();
 
-				IRegion headerComment = computeHeaderComment(ctx);
+				IRegion headerComment = ctx.getHeaderComment();
 				if (headerComment != null) {
 					regions.add(headerComment);
 					ctx.setHasHeaderComment();
@@ -1469,11 +1771,11 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 		return new IRegion[0];
 	}
 
-	private IRegion computeHeaderComment(FoldingStructureComputationContext ctx) throws ModelException {
-		if (!(ctx.getDocument() instanceof IStructuredDocument)) {
+	private static IRegion computeHeaderComment(IDocument doc) {
+		if (!(doc instanceof IStructuredDocument)) {
 			return null;
 		}
-		final IStructuredDocument document = (IStructuredDocument) ctx.getDocument();
+		final IStructuredDocument document = (IStructuredDocument) doc;
 		IStructuredDocumentRegion sdRegion = document.getFirstStructuredDocumentRegion();
 		int i = 0;
 		while (sdRegion != null && sdRegion.getType() != PHPRegionTypes.PHP_CONTENT && i++ < 40) {
@@ -1774,6 +2076,10 @@ public class StructuredTextFoldingProviderPHP implements IProjectionListener, IS
 				PHPProjectionAnnotation java = (PHPProjectionAnnotation) annotation;
 				Position position = model.getPosition(java);
 				Assert.isNotNull(position);
+				if (!ctx.isComputed(java, position)) {
+					// Annotation of an unchanged element
+					continue;
+				}
 				List<Tuple> list = map.get(java.getElement());
 				if (list == null) {
 					list = new ArrayList<>(2);
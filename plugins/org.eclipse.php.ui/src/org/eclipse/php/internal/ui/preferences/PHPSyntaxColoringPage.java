@@ -1307,15 +1307,12 @@ public final class PHPSyntaxColoringPage extends PreferencePage implements IWork
 					}
 				});
 
-				Collections.sort(highlightings);
-
-				for (Iterator<AbstractSemanticHighlighting> iterator = highlightings.iterator(); iterator.hasNext();) {
-					AbstractSemanticHighlighting abstractSemanticHighlighting = iterator.next();
-					Position[] positions = abstractSemanticHighlighting.consumes(program);
-
-					if (positions != null && positions.length > 0) {
-						highlightingPositionMap.put(abstractSemanticHighlighting.getPreferenceKey(), positions);
-
+				// The positions of all the highlightings are computed, the
+				// enablement set in the overlay store is applied when painting
+				Map<String, Position[]> positions = AbstractSemanticHighlighting.consumes(program, highlightings);
+				for (Entry<String, Position[]> entry : positions.entrySet()) {
+					if (entry.getValue().length > 0) {
+						highlightingPositionMap.put(entry.getKey(), entry.getValue());
 					}
 				}
 			}
@@ -14,33 +14,46 @@
  *******************************************************************************/
 package org.eclipse.php.core.tests;
 
+import org.eclipse.php.core.tests.builder.ParseAheadPipelineTests;
 import org.eclipse.php.core.tests.codeassist.CodeAssistTests;
+import org.eclipse.php.core.tests.codeassist.CompletionStrategyRunnerTests;
 import org.eclipse.php.core.tests.codeassist.scope.CodeAssistScopeTests;
 import org.eclipse.php.core.tests.compiler_ast.parser.CompilerParserTests;
 import org.eclipse.php.core.tests.compiler_ast.parser.FindUseStatementByAliasTests;
 import org.eclipse.php.core.tests.compiler_ast.parser.FindUseStatementByNamespaceTests;
 import org.eclipse.php.core.tests.compiler_ast.parser.GetUseStatementsByTests;
+import org.eclipse.php.core.tests.compiler_ast.parser.LexerPoolTests;
 import org.eclipse.php.core.tests.compiler_ast.parser.TraitUseStatementVisitorTests;
 import org.eclipse.php.core.tests.compiler_ast.parser.TypeDeclarationVisitorTests;
 import org.eclipse.php.core.tests.compiler_ast.phpdoc.PHPDocAwareDeclarationTests;
 import org.eclipse.php.core.tests.compiler_ast.phpdoc.PHPDocParserTests;
 import org.eclipse.php.core.tests.document.lexer.DocumentLexerTests;
 import org.eclipse.php.core.tests.document.partitioner.PHPPartitionerTests;
+import org.eclipse.php.core.tests.document.regions.PHPScriptRegionTests;
+import org.eclipse.php.core.tests.document.regions.PHPTokenContainerTests;
 import org.eclipse.php.core.tests.dom_ast.CommentMapperTests;
 import org.eclipse.php.core.tests.dom_ast.StaticScalarExpressionsTests;
 import org.eclipse.php.core.tests.dom_ast.binding.BindingTests;
 import org.eclipse.php.core.tests.dom_ast.matcher.ASTMatcherTests;
+import org.eclipse.php.core.tests.dom_ast.parser.ASTReparserTests;
 import org.eclipse.php.core.tests.dom_ast.parser.DomParserTests;
+import org.eclipse.php.core.tests.dom_ast.parser.SharedTokenStreamTests;
 import org.eclipse.php.core.tests.dom_ast.rewrite.ASTRewriteTests;
 import org.eclipse.php.core.tests.errors.ErrorReportingTests;
 import org.eclipse.php.core.tests.filenetwork.FileNetworkTests;
 import org.eclipse.php.core.tests.includepath.IncludePathManagerTests;
+import org.eclipse.php.core.tests.index.IndexMetadataTests;
+import org.eclipse.php.core.tests.index.PHPElementResolverTests;
 import org.eclipse.php.core.tests.markoccurrence.MarkOccurrenceTests;
+import org.eclipse.php.core.tests.model.NameTableTests;
+import org.eclipse.php.core.tests.model.PHPNameIndexTests;
+import org.eclipse.php.core.tests.model.SharedTypeCacheTests;
 import org.eclipse.php.core.tests.model_structure.ModelStructureTests;
 import org.eclipse.php.core.tests.phar.PharFileTest;
 import org.eclipse.php.core.tests.phpmodelutils.PHPModelUtilsTests;
 import org.eclipse.php.core.tests.selection.SelectionEngineTests;
 import org.eclipse.php.core.tests.text.PHPTextSequenceUtilitiesTests;
+import org.eclipse.php.core.tests.typeinference.GoalResultCacheTests;
 import org.eclipse.php.core.tests.typeinference.TypeInferenceTests;
 import org.eclipse.php.core.tests.util.NamespaceResolverTests;
 import org.junit.ClassRule;
@@ -59,14 +72,18 @@ import org.junit.runners.Suite;
 		FileNetworkTests.class, PHPDocParserTests.class, PHPDocAwareDeclarationTests.class,
 		IncludePathManagerTests.class, BindingTests.class, PHPModelUtilsTests.class,
 		// Document tests:
-		DocumentLexerTests.class, PHPPartitionerTests.class,
+		DocumentLexerTests.class, PHPPartitionerTests.class, PHPTokenContainerTests.class,
+		PHPScriptRegionTests.class,
 		// Phar files
 		PharFileTest.class,
 		// Concilator tests:
 		org.eclipse.php.internal.core.ast.locator.AllTests.class, MarkOccurrenceTests.class,
 		// test language functions
 		org.eclipse.php.core.tests.searchEngine.AllTests.class, PHPTextSequenceUtilitiesTests.class,
-		NamespaceResolverTests.class })
+		NamespaceResolverTests.class, IndexMetadataTests.class, PHPElementResolverTests.class,
+		CompletionStrategyRunnerTests.class, NameTableTests.class, ParseAheadPipelineTests.class,
+		SharedTokenStreamTests.class, LexerPoolTests.class, ASTReparserTests.class, GoalResultCacheTests.class,
+		SharedTypeCacheTests.class, PHPNameIndexTests.class })
 public final class AllTests {
 
 	@ClassRule
@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.builder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.php.internal.core.builder.ParseAheadPipeline;
+import org.junit.Test;
+
+public class ParseAheadPipelineTests {
+
+	private static List<Integer> range(int count) {
+		List<Integer> items = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			items.add(i);
+		}
+		return items;
+	}
+
+	@Test
+	public void inOrder() {
+		List<Integer> items = range(1000);
+		ParseAheadPipeline<Integer, String> pipeline = new ParseAheadPipeline<>("test", items, String::valueOf, 8,
+				32);
+		for (Integer item : items) {
+			assertEquals(String.valueOf(item), pipeline.take(item));
+		}
+		assertEquals(1000, pipeline.getHits());
+		assertEquals(0, pipeline.getMisses());
+	}
+
+	@Test
+	public void window() {
+		AtomicInteger started = new AtomicInteger();
+		AtomicInteger taken = new AtomicInteger();
+		AtomicInteger ahead = new AtomicInteger();
+		List<Integer> items = range(200);
+		ParseAheadPipeline<Integer, Integer> pipeline = new ParseAheadPipeline<>("test", items, item -> {
+			ahead.accumulateAndGet(started.incrementAndGet() - taken.get(), Math::max);
+			return item;
+		}, 4, 10);
+		for (Integer item : items) {
+			assertEquals(item, pipeline.take(item));
+			taken.incrementAndGet();
+		}
+		assertTrue(ahead.get() <= 11);
+	}
+
+	@Test
+	public void otherOrder() {
+		List<Integer> items = range(100);
+		ParseAheadPipeline<Integer, Integer> pipeline = new ParseAheadPipeline<>("test", items, item -> item, 4, 8);
+		assertEquals(Integer.valueOf(0), pipeline.take(0));
+		// Not processed ahead yet, the window moves past it
+		assertNull(pipeline.take(50));
+		// Dropped, left to the consumer
+		assertNull(pipeline.take(3));
+		assertNull(pipeline.take(1000));
+		for (int i = 51; i < 100; i++) {
+			assertEquals(Integer.valueOf(i), pipeline.take(i));
+		}
+		assertEquals(50, pipeline.getHits());
+		assertEquals(3, pipeline.getMisses());
+	}
+
+	@Test
+	public void failure() {
+		List<Integer> items = range(10);
+		ParseAheadPipeline<Integer, Integer> pipeline = new ParseAheadPipeline<>("test", items, item -> {
+			if (item == 5) {
+				throw new IllegalStateException();
+			}
+			return item;
+		}, 2, 4);
+		for (Integer item : items) {
+			if (item == 5) {
+				assertNull(pipeline.take(item));
+			} else {
+				assertEquals(item, pipeline.take(item));
+			}
+		}
+		pipeline.cancel();
+		assertNull(pipeline.take(9));
+	}
+}
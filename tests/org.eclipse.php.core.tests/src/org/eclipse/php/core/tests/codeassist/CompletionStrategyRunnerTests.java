@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.codeassist;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.dltk.core.SourceRange;
+import org.eclipse.php.core.codeassist.CompletionCompanion;
+import org.eclipse.php.core.codeassist.ICompletionReporter;
+import org.eclipse.php.core.codeassist.ICompletionStrategy;
+import org.eclipse.php.internal.core.codeassist.CompletionStrategyRunner;
+import org.junit.Test;
+
+public class CompletionStrategyRunnerTests {
+
+	private static class KeywordStrategy implements ICompletionStrategy {
+
+		private final String[] keywords;
+		private final CountDownLatch start;
+
+		KeywordStrategy(CountDownLatch start, String... keywords) {
+			this.start = start;
+			this.keywords = keywords;
+		}
+
+		@Override
+		public void init(CompletionCompanion companion) {
+		}
+
+		@Override
+		public void apply(ICompletionReporter reporter) throws Exception {
+			if (start != null) {
+				start.await();
+			}
+			for (String keyword : keywords) {
+				reporter.reportKeyword(keyword, "", new SourceRange(0, 0));
+			}
+		}
+	}
+
+	private final List<String> keywords = Collections.synchronizedList(new ArrayList<>());
+
+	private final ICompletionReporter reporter = (ICompletionReporter) Proxy.newProxyInstance(
+			getClass().getClassLoader(), new Class<?>[] { ICompletionReporter.class }, (proxy, method, args) -> {
+				if (method.getName().equals("reportKeyword")) {
+					keywords.add((String) args[0]);
+				}
+				return null;
+			});
+
+	@Test
+	public void strategyOrder() {
+		List<ICompletionStrategy> strategies = new ArrayList<>();
+		// The first strategy is the slowest one
+		strategies.add(new KeywordStrategy(null, "a", "b") {
+			@Override
+			public void apply(ICompletionReporter reporter) throws Exception {
+				Thread.sleep(200);
+				super.apply(reporter);
+			}
+		});
+		strategies.add(new KeywordStrategy(null, "c"));
+		strategies.add(new KeywordStrategy(null, "d", "e"));
+		Map<String, Long> times = new LinkedHashMap<>();
+		new CompletionStrategyRunner().run(strategies, reporter, 0, times);
+		assertEquals(Arrays.asList("a", "b", "c", "d", "e"), keywords);
+		assertTrue(times.containsKey(KeywordStrategy.class.getName()));
+	}
+
+	@Test
+	public void timeout() {
+		CountDownLatch never = new CountDownLatch(1);
+		List<ICompletionStrategy> strategies = new ArrayList<>();
+		strategies.add(new KeywordStrategy(null, "a"));
+		strategies.add(new KeywordStrategy(never, "b"));
+		strategies.add(new KeywordStrategy(null, "c"));
+		Map<String, Long> times = new LinkedHashMap<>();
+		long start = System.nanoTime();
+		new CompletionStrategyRunner().run(strategies, reporter, 200, times);
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+		never.countDown();
+		// The last strategy might not get a thread before the deadline
+		assertEquals("a", keywords.get(0));
+		assertFalse(keywords.contains("b"));
+	}
+}
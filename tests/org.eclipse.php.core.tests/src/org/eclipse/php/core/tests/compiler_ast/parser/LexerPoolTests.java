@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.compiler_ast.parser;
+
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.dltk.ast.ASTNode;
+import org.eclipse.dltk.ast.parser.IModuleDeclaration;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.project.ProjectOptions;
+import org.eclipse.php.core.tests.PDTTUtils;
+import org.eclipse.php.core.tests.PHPCoreTests;
+import org.eclipse.php.core.tests.PdttFile;
+import org.eclipse.php.core.tests.TestSuiteWatcher;
+import org.eclipse.php.core.tests.runner.PDTTList;
+import org.eclipse.php.core.tests.runner.PDTTList.Parameters;
+import org.eclipse.php.internal.core.compiler.ast.parser.AbstractPHPSourceParser;
+import org.eclipse.php.internal.core.compiler.ast.parser.PHPSourceParserFactory;
+import org.eclipse.php.internal.core.compiler.ast.visitor.ASTPrintVisitor;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.RunWith;
+
+/**
+ * Parses the compiler parser tests with pooled lexers, each one left in the
+ * middle of nested states, heredocs and comments by a previous parse.
+ */
+@RunWith(PDTTList.class)
+public class LexerPoolTests {
+
+	private static final char[] UNTERMINATED = "<?php /** @var */ function f() { $a = <<<EOT\n{$b[\"${c"
+			.toCharArray();
+
+	@ClassRule
+	public static TestWatcher watcher = new TestSuiteWatcher();
+
+	@Parameters
+	public static final Map<PHPVersion, String[]> TESTS = CompilerParserTests.TESTS;
+
+	private final AbstractPHPSourceParser parser;
+	private final boolean useAspTags;
+	private final boolean useShortTags;
+
+	public LexerPoolTests(PHPVersion version, String[] fileNames) {
+		parser = PHPSourceParserFactory.createParser(version);
+		useAspTags = ProjectOptions.isSupportingASPTags((IProject) null);
+		useShortTags = ProjectOptions.useShortTags((IProject) null);
+	}
+
+	@Test
+	public void parserTest(String fileName) throws Exception {
+		final PdttFile pdttFile = new PdttFile(PHPCoreTests.getDefault().getBundle(), fileName, "UTF-8");
+
+		parser.parse(UNTERMINATED, new ProblemCollector(), useAspTags, useShortTags, false);
+		IModuleDeclaration moduleDeclaration = parser.parse(pdttFile.getFile().trim().toCharArray(), null,
+				useAspTags, useShortTags, false);
+		String actual = ASTPrintVisitor.toXMLString((ASTNode) moduleDeclaration);
+		PDTTUtils.assertContents(pdttFile.getExpected(), actual);
+	}
+}
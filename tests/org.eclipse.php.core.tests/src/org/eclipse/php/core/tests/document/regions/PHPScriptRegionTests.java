@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.document.regions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.php.internal.core.documentModel.parser.regions.IPHPScriptRegion;
+import org.eclipse.php.internal.core.documentModel.provisional.contenttype.ContentTypeIdForPHP;
+import org.eclipse.wst.sse.core.StructuredModelManager;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocument;
+import org.eclipse.wst.sse.core.internal.provisional.text.IStructuredDocumentRegion;
+import org.eclipse.wst.sse.core.internal.provisional.text.ITextRegion;
+import org.eclipse.wst.sse.core.internal.provisional.text.ITextRegionList;
+import org.junit.Test;
+
+/**
+ * Compares the PHP tokens of a document updated by random edits with the
+ * tokens of the same text lexed from scratch.
+ */
+public class PHPScriptRegionTests {
+
+	private static final String[] SOURCES = { "<?php\n" //
+			+ "/**\n * A class\n * @author me\n */\n" //
+			+ "class A {\n" //
+			+ "\tconst FROM = 'a';\n" //
+			+ "\tfunction foo($b) {\n" //
+			+ "\t\t// comment\n" //
+			+ "\t\t$c = \"b $b {$b->c} c\";\n" //
+			+ "\t\t$d = <<<EOT\n" //
+			+ "text $b {$c} text\n" //
+			+ "EOT;\n" //
+			+ "\t\t$e = <<<'EOT'\n" //
+			+ "nowdoc $b\n" //
+			+ "EOT;\n" //
+			+ "\t\t/* comment */\n" //
+			+ "\t\treturn $b . 'c' . `ls` . $c;\n" //
+			+ "\t}\n" //
+			+ "}\n", //
+			"<html>\n" //
+					+ "<body>\n" //
+					+ "<?php if ($a) { ?>\n" //
+					+ "<p>text</p>\n" //
+					+ "<?php } else { echo \"b $c\"; } ?>\n" //
+					+ "<div>\n" //
+					+ "<?php\n" //
+					+ "# comment\n" //
+					+ "function from() {\n" //
+					+ "\treturn <<<EOT\n" //
+					+ "a {$b['c']} b\n" //
+					+ "EOT;\n" //
+					+ "}\n" //
+					+ "?>\n" //
+					+ "</div>\n" //
+					+ "</body>\n" //
+					+ "</html>\n" };
+
+	private static final String[] INSERTIONS = { "a", "1", " ", "\n", ";", "$b", "->c", "'", "\"", "`", "/*", "*/",
+			"/**", "//", "{", "}", "(", ")", "[", "]", "<<<EOT\n", "\nEOT;\n", "{$c}", "${", "function ", "from",
+			"const ", "@param", "\\", "<<", "EOT" };
+
+	private static final int EDITS = 300;
+
+	private static IStructuredDocument createDocument(String text) {
+		IStructuredDocument document = StructuredModelManager.getModelManager()
+				.createStructuredDocumentFor(ContentTypeIdForPHP.ContentTypeID_PHP);
+		document.set(text);
+		return document;
+	}
+
+	/**
+	 * Returns the PHP tokens of the given document, with their lexer states.
+	 */
+	private static String getTokens(IStructuredDocument document) throws BadLocationException {
+		StringBuilder builder = new StringBuilder();
+		for (IStructuredDocumentRegion sdRegion = document
+				.getFirstStructuredDocumentRegion(); sdRegion != null; sdRegion = sdRegion.getNext()) {
+			ITextRegionList regions = sdRegion.getRegions();
+			for (int i = 0; i < regions.size(); i++) {
+				ITextRegion region = regions.get(i);
+				if (!(region instanceof IPHPScriptRegion)) {
+					continue;
+				}
+				IPHPScriptRegion phpRegion = (IPHPScriptRegion) region;
+				builder.append("region ").append(sdRegion.getStartOffset(region)).append('\n');
+				for (ITextRegion token : phpRegion.getPHPTokens(0, phpRegion.getLength())) {
+					builder.append(token.getType()).append(' ').append(token.getStart()).append(' ')
+							.append(token.getTextLength()).append(' ').append(token.getLength());
+					if (phpRegion.isPHPQuotesState(token.getStart())) {
+						builder.append(" quotes");
+					}
+					builder.append('\n');
+				}
+			}
+		}
+		return builder.toString();
+	}
+
+	private static IPHPScriptRegion getRegion(IStructuredDocument document, int offset) {
+		IStructuredDocumentRegion sdRegion = document.getRegionAtCharacterOffset(offset);
+		if (sdRegion == null) {
+			return null;
+		}
+		ITextRegion region = sdRegion.getRegionAtCharacterOffset(offset);
+		return region instanceof IPHPScriptRegion ? (IPHPScriptRegion) region : null;
+	}
+
+	@Test
+	public void randomEdits() throws Exception {
+		Random random = new Random(42);
+		int incremental = 0;
+		for (String source : SOURCES) {
+			IStructuredDocument document = createDocument(source);
+			for (int i = 0; i < EDITS; i++) {
+				int length = document.getLength();
+				int offset = random.nextInt(length + 1);
+				int deleted = random.nextInt(3) == 0 ? Math.min(random.nextInt(4) + 1, length - offset) : 0;
+				String inserted = deleted > 0 && random.nextBoolean() ? ""
+						: INSERTIONS[random.nextInt(INSERTIONS.length)];
+				String previous = document.get();
+				document.replace(offset, deleted, inserted);
+
+				String edit = "replace(" + offset + ", " + deleted + ", \"" + inserted + "\") in:\n" + previous;
+				assertEquals(edit, getTokens(createDocument(document.get())), getTokens(document));
+
+				IPHPScriptRegion region = getRegion(document, offset);
+				if (region != null && !region.isFullReparsed()) {
+					incremental++;
+				}
+			}
+		}
+		// some edits must have been relexed incrementally
+		assertTrue(incremental > 0);
+	}
+}
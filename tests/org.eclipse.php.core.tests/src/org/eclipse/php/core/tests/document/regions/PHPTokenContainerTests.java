@@ -0,0 +1,161 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.document.regions;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.php.internal.core.documentModel.parser.Scanner;
+import org.eclipse.php.internal.core.documentModel.parser.Scanner.LexerState;
+import org.eclipse.php.internal.core.documentModel.parser.regions.PHPRegionTypes;
+import org.eclipse.php.internal.core.documentModel.parser.regions.PHPTokenContainer;
+import org.eclipse.wst.sse.core.internal.provisional.text.ITextRegion;
+import org.junit.Test;
+
+public class PHPTokenContainerTests {
+
+	private static class State implements LexerState {
+		private final int state;
+
+		State(int state) {
+			this.state = state;
+		}
+
+		@Override
+		public boolean isSubstateOf(int state) {
+			return this.state == state;
+		}
+
+		@Override
+		public void restoreState(Scanner scanner) {
+		}
+
+		@Override
+		public int getTopState() {
+			return state;
+		}
+
+		@Override
+		public boolean equalsTop(LexerState obj) {
+			return equals(obj);
+		}
+
+		@Override
+		public boolean equalsCurrentStack(LexerState obj) {
+			return equals(obj);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof State && ((State) obj).state == state;
+		}
+
+		@Override
+		public int hashCode() {
+			return state;
+		}
+	}
+
+	/**
+	 * Returns a container of tokens with the given lengths and states,
+	 * starting at the given offset.
+	 */
+	private static PHPTokenContainer container(int start, int[] lengths, int[] states) {
+		PHPTokenContainer container = new PHPTokenContainer();
+		container.getModelForCreation();
+		for (int i = 0; i < lengths.length; i++) {
+			container.addLast(PHPRegionTypes.PHP_LABEL, start, lengths[i], lengths[i], new State(states[i]));
+			start += lengths[i];
+		}
+		container.releaseModelFromCreation();
+		return container;
+	}
+
+	private static void assertSameTokens(PHPTokenContainer expected, PHPTokenContainer actual)
+			throws BadLocationException {
+		ITextRegion[] expectedTokens = expected.getPHPTokens();
+		ITextRegion[] actualTokens = actual.getPHPTokens();
+		assertEquals(expectedTokens.length, actualTokens.length);
+		for (int i = 0; i < expectedTokens.length; i++) {
+			assertEquals(expectedTokens[i].getStart(), actualTokens[i].getStart());
+			assertEquals(expectedTokens[i].getLength(), actualTokens[i].getLength());
+		}
+		int end = expectedTokens[expectedTokens.length - 1].getEnd();
+		for (int offset = 0; offset <= end; offset++) {
+			assertEquals(expected.getState(offset), actual.getState(offset));
+			assertEquals(expected.getToken(offset).getStart(), actual.getToken(offset).getStart());
+		}
+	}
+
+	@Test
+	public void getToken() throws Exception {
+		PHPTokenContainer container = container(0, new int[] { 2, 3, 1, 4 }, new int[] { 0, 0, 1, 1 });
+		ITextRegion[] tokens = container.getPHPTokens();
+		for (ITextRegion token : tokens) {
+			for (int offset = token.getStart(); offset < token.getEnd(); offset++) {
+				assertSame(token, container.getToken(offset));
+			}
+		}
+		assertSame(tokens[3], container.getToken(10));
+		assertSame(tokens[1], container.getPreviousToken(tokens[2]));
+		assertNull(container.getPreviousToken(tokens[0]));
+		ITextRegion[] range = container.getTokens(3, 3);
+		assertEquals(2, range.length);
+		assertSame(tokens[1], range[0]);
+		assertSame(tokens[2], range[1]);
+	}
+
+	@Test(expected = BadLocationException.class)
+	public void badLocation() throws Exception {
+		container(0, new int[] { 2, 3 }, new int[] { 0, 0 }).getToken(6);
+	}
+
+	@Test
+	public void getState() throws Exception {
+		PHPTokenContainer container = container(0, new int[] { 2, 3, 1, 4 }, new int[] { 0, 0, 1, 2 });
+		assertEquals(new State(0), container.getState(4));
+		assertEquals(new State(1), container.getState(5));
+		assertEquals(new State(1), container.getState(6));
+		assertEquals(new State(2), container.getState(9));
+	}
+
+	@Test
+	public void replaceTokens() throws Exception {
+		PHPTokenContainer container = container(0, new int[] { 2, 3, 4, 5, 6 }, new int[] { 0, 0, 1, 1, 2 });
+		ITextRegion[] tokens = container.getPHPTokens();
+		PHPTokenContainer newContainer = container(2, new int[] { 1, 1, 1, 7 }, new int[] { 0, 3, 3, 1 });
+		container.replaceTokens(tokens[1], tokens[2], newContainer, 3);
+		assertSameTokens(container(0, new int[] { 2, 1, 1, 1, 7, 5, 6 }, new int[] { 0, 0, 3, 3, 1, 1, 2 }),
+				container);
+	}
+
+	@Test
+	public void replaceStateChanges() throws Exception {
+		PHPTokenContainer container = container(0, new int[] { 2, 3, 4, 5 }, new int[] { 0, 1, 2, 1 });
+		ITextRegion[] tokens = container.getPHPTokens();
+		PHPTokenContainer newContainer = container(2, new int[] { 5 }, new int[] { 1 });
+		container.replaceTokens(tokens[1], tokens[2], newContainer, -2);
+		assertSameTokens(container(0, new int[] { 2, 5, 5 }, new int[] { 0, 1, 1 }), container);
+	}
+
+	@Test
+	public void replaceNextStateChange() throws Exception {
+		PHPTokenContainer container = container(0, new int[] { 2, 3, 4, 5 }, new int[] { 0, 1, 1, 1 });
+		ITextRegion[] tokens = container.getPHPTokens();
+		PHPTokenContainer newContainer = container(2, new int[] { 7 }, new int[] { 2 });
+		container.replaceTokens(tokens[1], tokens[2], newContainer, 0);
+		assertSameTokens(container(0, new int[] { 2, 7, 5 }, new int[] { 0, 2, 1 }), container);
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.dom_ast.parser;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.ast.nodes.ASTParser;
+import org.eclipse.php.core.ast.nodes.ASTReparser;
+import org.eclipse.php.core.ast.nodes.Program;
+import org.junit.Test;
+
+public class ASTReparserTests {
+
+	private static final String SOURCE = "<?php\n" //
+			+ "/** A */\n" //
+			+ "class A {\n" //
+			+ "\tpublic $a = 1;\n" //
+			+ "\tfunction foo($b) {\n" //
+			+ "\t\t// foo\n" //
+			+ "\t\treturn $b;\n" //
+			+ "\t}\n" //
+			+ "}\n" //
+			+ "function bar() {\n" //
+			+ "\techo 'bar'; /* bar */\n" //
+			+ "}\n" //
+			+ "$c = new A();\n"; //
+
+	private static Program parse(String source) throws Exception {
+		ASTParser parser = ASTParser.newParser(PHPVersion.getLatestVersion(), false, true);
+		parser.setSource(source.toCharArray());
+		return parser.createAST(new NullProgressMonitor());
+	}
+
+	private static ASTReparser reparser() throws Exception {
+		return reparser(parse(SOURCE));
+	}
+
+	private static ASTReparser reparser(Program program) throws Exception {
+		ASTReparser reparser = new ASTReparser();
+		reparser.reset(program, SOURCE.toCharArray());
+		return reparser;
+	}
+
+	private static void assertReparsed(String source) throws Exception {
+		Program original = parse(SOURCE);
+		ASTReparser reparser = reparser(original);
+		Program program = reparser.reparse(source.toCharArray());
+		assertEquals(parse(source).toString(), program.toString());
+		// The published program is left untouched
+		assertNotSame(original, program);
+		assertNotSame(original.getAST(), program.getAST());
+		assertEquals(parse(SOURCE).toString(), original.toString());
+		// Later changes are applied to a copy of the last program
+		String next = source.replace("return $b;", "return $b + 1;");
+		Program nextProgram = reparser.reparse(next.toCharArray());
+		assertNotSame(program, nextProgram);
+		assertEquals(parse(next).toString(), nextProgram.toString());
+		assertEquals(parse(source).toString(), program.toString());
+	}
+
+	@Test
+	public void methodBody() throws Exception {
+		assertReparsed(SOURCE.replace("return $b;", "$d = $b * 2;\n\t\treturn $d;"));
+	}
+
+	@Test
+	public void functionBody() throws Exception {
+		assertReparsed(SOURCE.replace("echo 'bar';", "// bar\n\techo 'bar', 'baz';"));
+	}
+
+	@Test
+	public void classBody() throws Exception {
+		assertReparsed(SOURCE.replace("public $a = 1;", "public $a = 1;\n\t/** B */\n\tconst B = 2;"));
+	}
+
+	@Test
+	public void deletion() throws Exception {
+		assertReparsed(SOURCE.replace("\t\t// foo\n", ""));
+	}
+
+	@Test
+	public void largeFile() throws Exception {
+		StringBuilder builder = new StringBuilder("<?php\n");
+		for (int i = 0; i < 2000; i++) {
+			builder.append("function f").append(i).append("($a) {\n\t$b = $a * 2;\n\tif ($b > 1) {\n")
+					.append("\t\treturn strlen('x' . $b);\n\t}\n\treturn $b;\n}\n");
+		}
+		String source = builder.toString();
+		char[] newSource = source.replace("function f1000($a) {\n\t$b = $a * 2;",
+				"function f1000($a) {\n\t$b = $a * 3;").toCharArray();
+		Program program = parse(source);
+		assertEquals(parse(new String(newSource)).toString(), reparse(program, source, newSource).toString());
+
+		// The whole program is copied, but only one body is lexed and parsed
+		long parse = Long.MAX_VALUE;
+		long reparse = Long.MAX_VALUE;
+		for (int i = 0; i < 10; i++) {
+			long start = System.nanoTime();
+			parse(new String(newSource));
+			parse = Math.min(parse, System.nanoTime() - start);
+			start = System.nanoTime();
+			reparse(program, source, newSource);
+			reparse = Math.min(reparse, System.nanoTime() - start);
+		}
+		assertTrue("reparse: " + reparse + "ns, parse: " + parse + "ns", reparse < parse);
+	}
+
+	private static Program reparse(Program program, String source, char[] newSource) {
+		ASTReparser reparser = new ASTReparser();
+		reparser.reset(program, source.toCharArray());
+		return reparser.reparse(newSource);
+	}
+
+	@Test
+	public void unbalancedBraces() throws Exception {
+		assertNull(reparser().reparse(SOURCE.replace("return $b;", "return $b; }").toCharArray()));
+	}
+
+	@Test
+	public void unterminatedComment() throws Exception {
+		assertNull(reparser().reparse(SOURCE.replace("// foo", "/* foo").toCharArray()));
+	}
+
+	@Test
+	public void outsideBodies() throws Exception {
+		assertNull(reparser().reparse(SOURCE.replace("new A()", "new A(1)").toCharArray()));
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.dom_ast.parser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.Map;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.dltk.compiler.problem.ProblemCollector;
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.ast.nodes.AST;
+import org.eclipse.php.core.ast.nodes.ASTParser;
+import org.eclipse.php.core.ast.nodes.Program;
+import org.eclipse.php.core.project.ProjectOptions;
+import org.eclipse.php.core.tests.PDTTUtils;
+import org.eclipse.php.core.tests.PHPCoreTests;
+import org.eclipse.php.core.tests.PdttFile;
+import org.eclipse.php.core.tests.TestSuiteWatcher;
+import org.eclipse.php.core.tests.runner.PDTTList;
+import org.eclipse.php.core.tests.runner.PDTTList.Parameters;
+import org.eclipse.php.internal.core.ast.scanner.AstLexer;
+import org.eclipse.php.internal.core.ast.scanner.TokenStream;
+import org.eclipse.php.internal.core.compiler.ast.parser.AbstractPHPSourceParser;
+import org.eclipse.php.internal.core.compiler.ast.parser.PHPSourceParserFactory;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.RunWith;
+
+import java_cup.runtime.Symbol;
+
+/**
+ * Parses the DOM parser tests from the tokens recorded by the compiler AST
+ * parser.
+ */
+@RunWith(PDTTList.class)
+public class SharedTokenStreamTests {
+
+	@ClassRule
+	public static TestWatcher watcher = new TestSuiteWatcher();
+
+	@Parameters
+	public static final Map<PHPVersion, String[]> TESTS = DomParserTests.TESTS;
+
+	private final PHPVersion phpVersion;
+	private final boolean useAspTags;
+	private final boolean useShortTags;
+
+	public SharedTokenStreamTests(PHPVersion phpVersion, String fileNames[]) {
+		this.phpVersion = phpVersion;
+		this.useAspTags = ProjectOptions.isSupportingASPTags((IProject) null);
+		this.useShortTags = ProjectOptions.useShortTags((IProject) null);
+	}
+
+	@Test
+	public void parserTest(String fileName) throws Exception {
+		PdttFile file = new PdttFile(PHPCoreTests.getDefault().getBundle(), fileName, "UTF-8");
+		char[] source = file.getFile().trim().toCharArray();
+
+		AbstractPHPSourceParser sourceParser = PHPSourceParserFactory.createParser(fileName, phpVersion);
+		sourceParser.parse(source, new ProblemCollector(), useAspTags, useShortTags, true);
+		TokenStream tokens = sourceParser.getTokenStream();
+		assertNotNull(tokens);
+
+		ASTParser parser = ASTParser.newParser(phpVersion, useAspTags, useShortTags);
+		parser.setSource(source);
+		Program lexed = parser.createAST(new NullProgressMonitor());
+		assertTrue(tokens.matches(lexed.getAST().lexer(), source, useAspTags, useShortTags));
+
+		parser = ASTParser.newParser(phpVersion, useAspTags, useShortTags);
+		parser.setSource(source);
+		parser.setTokenStream(tokens);
+		Program program = parser.createAST(new NullProgressMonitor());
+
+		PDTTUtils.assertContents(file.getExpected(), program.toString());
+	}
+
+	@Test
+	public void reset() throws Exception {
+		String source = "<?php /* a */ $a = 1; // b\n";
+		String other = "<?php echo $b;";
+
+		AbstractPHPSourceParser sourceParser = PHPSourceParserFactory.createParser("reset.php", phpVersion);
+		sourceParser.parse(source.toCharArray(), new ProblemCollector(), useAspTags, useShortTags, true);
+		ASTParser parser = ASTParser.newParser(phpVersion, useAspTags, useShortTags);
+		parser.setSource(source.toCharArray());
+		AST ast = parser.createAST(new NullProgressMonitor()).getAST();
+		AstLexer lexer = sourceParser.getTokenStream().createLexer(ast);
+		int[] expected = lex(lexer);
+		int comments = lexer.getCommentList().size();
+		assertEquals(2, comments);
+
+		// Replayed from the start
+		lexer.reset(new StringReader(source));
+		assertArrayEquals(expected, lex(lexer));
+		assertEquals(comments, lexer.getCommentList().size());
+		lexer.yyreset(new StringReader(source));
+		assertArrayEquals(expected, lex(lexer));
+
+		// Lexed by the lexer of the AST
+		lexer.reset(new StringReader(other));
+		int[] lexed = lex(lexer);
+		ast.lexer().reset(new StringReader(other));
+		assertArrayEquals(lex(ast.lexer()), lexed);
+		assertEquals(0, lexer.getCommentList().size());
+
+		// And replayed again
+		lexer.reset(new StringReader(source));
+		assertArrayEquals(expected, lex(lexer));
+		assertEquals(comments, lexer.getCommentList().size());
+	}
+
+	/**
+	 * Returns the symbols and ranges of the tokens, up to the end of file.
+	 */
+	private static int[] lex(AstLexer lexer) throws Exception {
+		int[] tokens = new int[0];
+		Symbol symbol;
+		do {
+			symbol = lexer.next_token();
+			tokens = Arrays.copyOf(tokens, tokens.length + 3);
+			tokens[tokens.length - 3] = symbol.sym;
+			tokens[tokens.length - 2] = symbol.left;
+			tokens[tokens.length - 1] = symbol.right;
+		} while (symbol.sym != 0);
+		return tokens;
+	}
+}
@@ -20,7 +20,9 @@ import java.util.Arrays;
 import java.util.HashMap;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
 import org.eclipse.dltk.core.IMethod;
 import org.eclipse.dltk.core.IScriptProject;
 import org.eclipse.dltk.core.ISourceModule;
@@ -139,6 +141,41 @@ public class FileNetworkTests extends AbstractModelTests {
 		assertContents(getSavedHierarchy("test2"), tree.toString());
 	}
 
+	public void testReferencingFilesUpdated() throws Exception {
+		ISourceModule sourceModule = getSourceModule(getFilePath("test1/a.php"));
+		IFile file = getFile(getFilePath("test1/h.php"));
+		ISourceModule referencingModule = getSourceModule(file.getFullPath().toString());
+		assertFalse(FileNetworkUtility.buildReferencingFilesTree(sourceModule, null).find(referencingModule));
+
+		TestUtils.createFile(getFolder(new Path(getFilePath("test1"))), "h.php", "<?php include('a.php'); ?>");
+		try {
+			TestUtils.waitForIndexer();
+			assertTrue(FileNetworkUtility.buildReferencingFilesTree(sourceModule, null).find(referencingModule));
+		} finally {
+			TestUtils.deleteFile(file);
+			TestUtils.waitForIndexer();
+		}
+		assertFalse(FileNetworkUtility.buildReferencingFilesTree(sourceModule, null).find(referencingModule));
+		assertContents(getSavedHierarchy("test1"),
+				FileNetworkUtility.buildReferencingFilesTree(sourceModule, null).toString());
+	}
+
+	public void testUnresolvedIncludeUpdated() throws Exception {
+		ISourceModule sourceModule = getSourceModule(getFilePath("test1/f.php"));
+		assertNull(FileNetworkUtility.findSourceModule(sourceModule, "folder/a.php"));
+
+		IFolder folder = getFolder(new Path(getFilePath("test1/folder")));
+		folder.create(true, true, null);
+		try {
+			TestUtils.createFile(folder, "a.php", "<?php ?>");
+			assertEquals(getSourceModule(getFilePath("test1/folder/a.php")),
+					FileNetworkUtility.findSourceModule(sourceModule, "folder/a.php"));
+		} finally {
+			folder.delete(true, null);
+		}
+		assertNull(FileNetworkUtility.findSourceModule(sourceModule, "folder/a.php"));
+	}
+
 	public void testSearchMethod() throws Exception {
 		ISourceModule sourceModule = getSourceModule(getFilePath("test3/c.php"));
 		IType type = sourceModule.getType("Test3");
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.php.internal.core.index.IndexMetadata;
+import org.junit.Test;
+
+public class IndexMetadataTests {
+
+	@Test
+	public void roundTrip() {
+		String data = new IndexMetadata().append(0).append(127).append(128).append(Integer.MAX_VALUE)
+				.append("\\Foo\\Bar").append((String) null).append("").append("a;b:c,d|e")
+				.append(new String[] { "A", null, "B" }).append((String[]) null).toString();
+		assertTrue(IndexMetadata.isEncoded(data));
+		for (int i = 0; i < data.length(); i++) {
+			assertFalse(Character.isSurrogate(data.charAt(i)));
+		}
+
+		IndexMetadata.Reader reader = new IndexMetadata.Reader(data);
+		assertEquals(0, reader.readInt());
+		assertEquals(127, reader.readInt());
+		assertEquals(128, reader.readInt());
+		assertEquals(Integer.MAX_VALUE, reader.readInt());
+		assertSame("\\Foo\\Bar".intern(), reader.readName());
+		assertNull(reader.readString());
+		assertEquals("", reader.readString());
+		assertEquals("a;b:c,d|e", reader.readString());
+		assertArrayEquals(new String[] { "A", null, "B" }, reader.readNames());
+		assertEquals(0, reader.readNames().length);
+		assertFalse(reader.hasNext());
+	}
+
+	@Test
+	public void skip() {
+		String data = new IndexMetadata().append(new String[] { "int", "string" }).append((String) null)
+				.append("Foo").toString();
+		IndexMetadata.Reader reader = new IndexMetadata.Reader(data);
+		reader.skipStrings();
+		reader.skipString();
+		int position = reader.getPosition();
+		assertEquals("Foo", reader.readString());
+		assertEquals("Foo", new IndexMetadata.Reader(data, position).readString());
+	}
+
+	@Test
+	public void legacy() {
+		assertFalse(IndexMetadata.isEncoded(null));
+		assertFalse(IndexMetadata.isEncoded(""));
+		assertFalse(IndexMetadata.isEncoded("1;Foo,Bar"));
+	}
+}
@@ -0,0 +1,206 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.dltk.core.*;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.php.core.compiler.IPHPModifiers;
+import org.eclipse.php.core.compiler.PHPFlags;
+import org.eclipse.php.core.tests.TestUtils;
+import org.eclipse.php.internal.core.PHPCoreConstants;
+import org.eclipse.php.internal.core.index.IPHPDocAwareElement;
+import org.eclipse.php.internal.core.index.IndexMetadata;
+import org.eclipse.php.internal.core.index.PHPElementResolver;
+import org.eclipse.php.internal.core.index.PHPIndexingVisitor;
+import org.eclipse.php.internal.core.model.IncludeField;
+import org.eclipse.php.internal.core.model.PHPModelAccess;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Resolves index entries written by the indexer, and entries written in the
+ * former format.
+ */
+public class PHPElementResolverTests {
+
+	private static final String SOURCE = "<?php\n" //
+			+ "/** @deprecated */\n" //
+			+ "class ResolverFoo extends ResolverBar implements ResolverBaz {\n" //
+			+ "\t/** @var int */\n" //
+			+ "\tpublic $resolverField;\n" //
+			+ "\t/** @return int|string */\n" //
+			+ "\tpublic function resolverMethod(?int $a, &$b = 5, $c = -1, $d = array(), $e = [1]): int {}\n" //
+			+ "\t/** @return ResolverFoo */\n" //
+			+ "\tpublic function resolverDoc(...$x) {}\n" //
+			+ "\tpublic function resolverEmpty() {}\n" //
+			+ "}\n";
+
+	private static IProject project;
+	private static IDLTKSearchScope scope;
+	private static ISourceModule sourceModule;
+
+	@BeforeClass
+	public static void setUp() throws Exception {
+		project = TestUtils.createProject("PHPElementResolver");
+		IFile file = TestUtils.createFile(project, "resolver.php", SOURCE);
+		TestUtils.waitForIndexer();
+		scope = SearchEngine.createSearchScope(DLTKCore.create(project));
+		sourceModule = (ISourceModule) DLTKCore.create(file);
+	}
+
+	@AfterClass
+	public static void tearDown() throws Exception {
+		TestUtils.deleteProject(project);
+	}
+
+	private static IMethod findMethod(String name) {
+		IMethod[] methods = PHPModelAccess.getDefault().findMethods(name, MatchRule.EXACT, 0, 0, scope, null);
+		assertEquals(1, methods.length);
+		return methods[0];
+	}
+
+	private static IModelElement resolve(int elementType, int flags, String elementName, String metadata, String doc,
+			String parent) {
+		return new PHPElementResolver().resolve(elementType, flags, 0, 10, 0, 5, elementName, metadata, doc,
+				PHPCoreConstants.GLOBAL_NAMESPACE, parent, sourceModule);
+	}
+
+	@Test
+	public void indexedType() throws Exception {
+		IType[] types = PHPModelAccess.getDefault().findTypes("ResolverFoo", MatchRule.EXACT, 0, 0, scope, null);
+		assertEquals(1, types.length);
+		assertArrayEquals(new String[] { "ResolverBar", "ResolverBaz" }, types[0].getSuperClasses());
+		assertTrue(PHPFlags.isDeprecated(types[0].getFlags()));
+	}
+
+	@Test
+	public void indexedMethod() throws Exception {
+		IMethod method = findMethod("resolverMethod");
+		assertEquals("ResolverFoo", method.getParent().getElementName());
+		assertArrayEquals(new String[] { "int" }, ((IPHPDocAwareElement) method).getReturnTypes());
+		assertTrue((method.getFlags() & IPHPModifiers.AccReturn) != 0);
+
+		IParameter[] parameters = method.getParameters();
+		assertEquals(5, parameters.length);
+		assertArrayEquals(new String[] { "$a", "$b", "$c", "$d", "$e" }, method.getParameterNames());
+		assertEquals("int", parameters[0].getType());
+		assertNull(parameters[0].getDefaultValue());
+		assertTrue((parameters[0].getFlags() & IPHPModifiers.AccNullable) != 0);
+		assertNull(parameters[1].getType());
+		assertEquals("5", parameters[1].getDefaultValue());
+		assertTrue((parameters[1].getFlags() & IPHPModifiers.AccReference) != 0);
+		assertEquals("-1", parameters[2].getDefaultValue());
+		assertEquals(PHPIndexingVisitor.EMPTY_ARRAY_VALUE, parameters[3].getDefaultValue());
+		assertEquals(PHPIndexingVisitor.ARRAY_VALUE, parameters[4].getDefaultValue());
+	}
+
+	@Test
+	public void indexedDocInfo() throws Exception {
+		IMethod method = findMethod("resolverDoc");
+		assertArrayEquals(new String[] { "ResolverFoo" }, ((IPHPDocAwareElement) method).getReturnTypes());
+		assertTrue(PHPFlags.isVariadic(method.getFlags()));
+		assertArrayEquals(new String[] { "$x" }, method.getParameterNames());
+
+		method = findMethod("resolverEmpty");
+		assertNull(((IPHPDocAwareElement) method).getReturnTypes());
+		assertEquals(0, method.getParameters().length);
+
+		IField[] fields = PHPModelAccess.getDefault().findFields("$resolverField", MatchRule.EXACT, 0, 0, scope,
+				null);
+		assertEquals(1, fields.length);
+		assertEquals("int", fields[0].getType());
+	}
+
+	@Test
+	public void encoded() throws Exception {
+		String metadata = new IndexMetadata().append(1).append("Foo").append(1).append("Bar").append("$a")
+				.append((String) null).append(0).toString();
+		String doc = new IndexMetadata().append(IndexMetadata.DOC_DEPRECATED).append(new String[] { "int", "null" })
+				.append((String) null).toString();
+		IMethod method = (IMethod) resolve(IModelElement.METHOD, 0, "foo", metadata, doc, "Foo");
+		assertEquals("Foo", method.getParent().getElementName());
+		assertEquals(10, method.getSourceRange().getLength());
+		// The declared return type wins over the PHPDoc one
+		assertArrayEquals(new String[] { "Foo" }, ((IPHPDocAwareElement) method).getReturnTypes());
+		assertEquals(1, method.getParameters().length);
+		assertEquals("Bar", method.getParameters()[0].getType());
+
+		IField field = (IField) resolve(IModelElement.FIELD, 0, "$bar", new IndexMetadata().append(1).toString(),
+				new IndexMetadata().append(0).append((String[]) null).append("Foo|Bar").toString(), "Foo");
+		assertEquals("Foo|Bar", field.getType());
+
+		IncludeField include = (IncludeField) resolve(IModelElement.IMPORT_DECLARATION, 0, "include",
+				new IndexMetadata().append(1).append("inc.php").toString(), null, PHPCoreConstants.FILE_PARENT);
+		assertEquals("inc.php", include.getFilePath());
+	}
+
+	@Test
+	public void legacyType() throws Exception {
+		IType type = (IType) resolve(IModelElement.TYPE, 0, "Foo", "1;Bar,Baz", null, null);
+		assertArrayEquals(new String[] { "Bar", "Baz" }, type.getSuperClasses());
+
+		type = (IType) resolve(IModelElement.TYPE, 0, "Foo", "1", null, null);
+		assertNull(type.getSuperClasses());
+	}
+
+	@Test
+	public void legacyMethod() throws Exception {
+		IMethod method = (IMethod) resolve(IModelElement.METHOD, 0, "foo", "1;int:int@$a@#@0,#@$b@-1@1", null,
+				"Foo");
+		assertArrayEquals(new String[] { "int" }, ((IPHPDocAwareElement) method).getReturnTypes());
+		IParameter[] parameters = method.getParameters();
+		assertEquals(2, parameters.length);
+		assertEquals("$a", parameters[0].getName());
+		assertEquals("int", parameters[0].getType());
+		assertNull(parameters[0].getDefaultValue());
+		assertEquals("$b", parameters[1].getName());
+		assertNull(parameters[1].getType());
+		assertEquals("-1", parameters[1].getDefaultValue());
+		assertEquals(1, parameters[1].getFlags());
+
+		// Return type only, parameters only
+		method = (IMethod) resolve(IModelElement.METHOD, 0, "foo", "1;Foo:", null, "Foo");
+		assertArrayEquals(new String[] { "Foo" }, ((IPHPDocAwareElement) method).getReturnTypes());
+		assertEquals(0, method.getParameters().length);
+		method = (IMethod) resolve(IModelElement.METHOD, 0, "foo", "1;:$a", null, "Foo");
+		assertArrayEquals(new String[] { "$a" }, method.getParameterNames());
+	}
+
+	@Test
+	public void legacyDocInfo() throws Exception {
+		IMethod method = (IMethod) resolve(IModelElement.METHOD, 0, "foo", "1", "d;r:int,array~string", "Foo");
+		assertArrayEquals(new String[] { "int", "array,string" }, ((IPHPDocAwareElement) method).getReturnTypes());
+		assertEquals(0, method.getParameters().length);
+
+		IField field = (IField) resolve(IModelElement.FIELD, 0, "$bar", "1", "v:Foo.Bar", "Foo");
+		assertEquals("Foo|Bar", field.getType());
+		field = (IField) resolve(IModelElement.FIELD, 0, "$bar", "1", "d", "Foo");
+		assertNull(field.getType());
+
+		IncludeField include = (IncludeField) resolve(IModelElement.IMPORT_DECLARATION, 0, "include", "1;inc.php",
+				null, PHPCoreConstants.FILE_PARENT);
+		assertEquals("inc.php", include.getFilePath());
+		assertFalse(IndexMetadata.isEncoded("1;inc.php"));
+	}
+}
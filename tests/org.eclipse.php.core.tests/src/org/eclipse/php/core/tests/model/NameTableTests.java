@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.php.internal.core.model.NameTable;
+import org.eclipse.php.internal.core.model.NameTable.Match;
+import org.junit.Test;
+
+public class NameTableTests {
+
+	private static List<String> find(NameTable<String> table, Match match, String name) {
+		List<String> result = new ArrayList<>();
+		table.find(match, name, result::add);
+		return result;
+	}
+
+	private static NameTable<String> build(String owner, String... names) {
+		NameTable.Builder<String> builder = new NameTable.Builder<>();
+		for (String name : names) {
+			builder.add(name, owner, name);
+		}
+		return builder.build();
+	}
+
+	@Test
+	public void match() {
+		NameTable<String> table = build("a.php", "NullPointerException", "nullValue", "Number", "array_map",
+				"ArrayAccess", "NPE");
+		assertEquals(Arrays.asList("NullPointerException", "nullValue", "Number"), find(table, Match.PREFIX, "nu"));
+		assertEquals(Arrays.asList("array_map", "ArrayAccess"), find(table, Match.PREFIX, "ARRAY"));
+		assertEquals(Arrays.asList("ArrayAccess"), find(table, Match.EXACT, "arrayaccess"));
+		assertEquals(Arrays.asList("NPE", "NullPointerException"), find(table, Match.CAMEL_CASE, "NP"));
+		assertEquals(Arrays.asList("nullValue"), find(table, Match.CAMEL_CASE, "NV"));
+		assertEquals(6, find(table, Match.PREFIX, "").size());
+		assertEquals(Collections.emptyList(), find(table, Match.EXACT, "null"));
+	}
+
+	@Test
+	public void humps() {
+		assertEquals("NPE", NameTable.getHumps("NullPointerException"));
+		assertEquals("AM", NameTable.getHumps("array_Map"));
+		assertEquals("", NameTable.getHumps("_foo"));
+	}
+
+	@Test
+	public void update() {
+		NameTable<String> table = build("a.php", "Alpha", "Gamma").update(Collections.emptySet(),
+				build("b.php", "Beta", "Delta"));
+		assertEquals(Arrays.asList("Alpha", "Beta", "Delta", "Gamma"), find(table, Match.PREFIX, ""));
+
+		table = table.update(Collections.singleton("a.php"), build("a.php", "Epsilon"));
+		assertEquals(Arrays.asList("Beta", "Delta", "Epsilon"), find(table, Match.PREFIX, ""));
+		assertEquals(Arrays.asList("Epsilon"), find(table, Match.CAMEL_CASE, "E"));
+		assertEquals(3, table.size());
+	}
+
+	@Test
+	public void million() {
+		NameTable.Builder<String> builder = new NameTable.Builder<>();
+		for (int i = 0; i < 1000000; i++) {
+			String name = "Class" + i + "Name";
+			builder.add(name, "file" + (i % 1000), name);
+		}
+		NameTable<String> table = builder.build();
+		assertTrue(table.getMemoryUsage() > 0);
+
+		// Class1Name, Class10Name ... Class199999Name
+		assertEquals(111111, find(table, Match.PREFIX, "class1").size());
+		assertEquals(1, find(table, Match.EXACT, "class999999name").size());
+		assertEquals(1000000, find(table, Match.CAMEL_CASE, "CN").size());
+
+		table = table.update(Collections.singleton("file0"), build("file0", "Other"));
+		assertEquals(999001, table.size());
+		assertEquals(Arrays.asList("Other"), find(table, Match.PREFIX, "o"));
+	}
+}
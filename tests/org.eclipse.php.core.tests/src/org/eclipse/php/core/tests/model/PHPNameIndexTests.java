@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.IModelElement;
+import org.eclipse.dltk.core.index2.search.ISearchEngine.MatchRule;
+import org.eclipse.dltk.core.search.IDLTKSearchScope;
+import org.eclipse.dltk.core.search.SearchEngine;
+import org.eclipse.php.core.tests.TestUtils;
+import org.eclipse.php.internal.core.PHPCoreConstants;
+import org.eclipse.php.internal.core.model.PHPModelAccess;
+import org.eclipse.php.internal.core.model.PHPNameIndex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Queries answered by the resident name index, once loaded from the DLTK
+ * index.
+ */
+public class PHPNameIndexTests {
+
+	private static final ModelAccess MODEL_ACCESS = new ModelAccess();
+
+	/**
+	 * Exposes the queries with a parent.
+	 */
+	private static class ModelAccess extends PHPModelAccess {
+
+		List<IModelElement> find(int elementType, String qualifier, String name, String parent, MatchRule matchRule,
+				IDLTKSearchScope scope) {
+			List<IModelElement> result = new ArrayList<>();
+			findElements(elementType, qualifier, name, parent, matchRule, 0, 0, scope, result, null);
+			return result;
+		}
+	}
+
+	private IProject project;
+	private IDLTKSearchScope scope;
+
+	@Before
+	public void setUp() throws Exception {
+		project = TestUtils.createProject("PHPNameIndex");
+		scope = SearchEngine.createSearchScope(DLTKCore.create(project));
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		TestUtils.deleteProject(project);
+	}
+
+	private IFile createFile(String name, String content) throws Exception {
+		IFile file = TestUtils.createFile(project, name, content);
+		waitForNameIndex();
+		return file;
+	}
+
+	private void waitForNameIndex() throws Exception {
+		TestUtils.waitForIndexer();
+		// Loads the index, or the changes
+		PHPModelAccess.getDefault().findTypes("", MatchRule.PREFIX, 0, 0, scope, null);
+		Job.getJobManager().join(PHPNameIndex.FAMILY, null);
+		assertTrue(PHPNameIndex.INSTANCE.size() > 0);
+	}
+
+	private List<IModelElement> find(int elementType, String name, String parent, MatchRule matchRule) {
+		return MODEL_ACCESS.find(elementType, null, name, parent, matchRule, scope);
+	}
+
+	@Test
+	public void names() throws Exception {
+		createFile("names.php", "<?php namespace NameIndex; class NameIndexFoo {} interface NameIndexBar {}"
+				+ " function nameIndexBaz() {}");
+		PHPModelAccess modelAccess = PHPModelAccess.getDefault();
+
+		assertEquals(1, modelAccess.findTypes("NameIndexFoo", MatchRule.EXACT, 0, 0, scope, null).length);
+		assertEquals(1, modelAccess.findTypes("nameindexfoo", MatchRule.EXACT, 0, 0, scope, null).length);
+		assertEquals(2, modelAccess.findTypes("NameIndex", MatchRule.PREFIX, 0, 0, scope, null).length);
+		assertEquals(1, modelAccess.findTypes("NIF", MatchRule.CAMEL_CASE, 0, 0, scope, null).length);
+		assertEquals(1, modelAccess.findTypes("NameIndex", "NameIndexBar", MatchRule.EXACT, 0, 0, scope, null).length);
+		assertEquals(0, modelAccess.findTypes("Other", "NameIndexBar", MatchRule.EXACT, 0, 0, scope, null).length);
+		assertEquals(1, modelAccess.findNamespaces(null, "NameIndex", MatchRule.EXACT, 0, 0, scope, null).length);
+		assertEquals(1, modelAccess.findFunctions("nameIndexBaz", MatchRule.EXACT, 0, 0, scope, null).length);
+	}
+
+	@Test
+	public void parents() throws Exception {
+		createFile("parents.php", "<?php namespace NameIndex; class NameIndexFoo {} function nameIndexBar() {}");
+
+		// Types and namespaces are declared without parent
+		assertEquals(1, find(IModelElement.TYPE, "NameIndexFoo", null, MatchRule.EXACT).size());
+		assertEquals(1, find(IModelElement.TYPE, "NameIndexFoo", "", MatchRule.EXACT).size());
+		assertEquals(0, find(IModelElement.TYPE, "NameIndexFoo", "NameIndex", MatchRule.EXACT).size());
+		assertEquals(0, find(IModelElement.TYPE, "NameIndex", PHPCoreConstants.FILE_PARENT, MatchRule.PREFIX).size());
+		assertEquals(1, find(IModelElement.PACKAGE_DECLARATION, "NameIndex", null, MatchRule.EXACT).size());
+		assertEquals(0, find(IModelElement.PACKAGE_DECLARATION, "NameIndex", "NameIndex", MatchRule.EXACT).size());
+
+		assertEquals(1, find(IModelElement.METHOD, "nameIndexBar", PHPCoreConstants.FILE_PARENT, MatchRule.EXACT)
+				.size());
+		assertEquals(0, find(IModelElement.METHOD, "nameIndexBar", "NameIndexFoo", MatchRule.EXACT).size());
+	}
+
+	@Test
+	public void changes() throws Exception {
+		IFile file = createFile("changes.php", "<?php class NameIndexFoo {}");
+		PHPModelAccess modelAccess = PHPModelAccess.getDefault();
+		assertEquals(1, modelAccess.findTypes("NameIndexFoo", MatchRule.EXACT, 0, 0, scope, null).length);
+
+		file.setContents(new ByteArrayInputStream("<?php class NameIndexBar {}".getBytes()), true, false, null);
+		waitForNameIndex();
+		assertEquals(0, modelAccess.findTypes("NameIndexFoo", MatchRule.EXACT, 0, 0, scope, null).length);
+		assertEquals(1, modelAccess.findTypes("NameIndexBar", MatchRule.EXACT, 0, 0, scope, null).length);
+
+		createFile("changes2.php", "<?php class NameIndexBar {}");
+		assertEquals(2, modelAccess.findTypes("NameIndexBar", MatchRule.EXACT, 0, 0, scope, null).length);
+		TestUtils.deleteFile(file);
+		waitForNameIndex();
+		assertEquals(1, modelAccess.findTypes("NameIndexBar", MatchRule.EXACT, 0, 0, scope, null).length);
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.dltk.core.*;
+import org.eclipse.php.core.tests.TestUtils;
+import org.eclipse.php.internal.core.model.SharedTypeCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SharedTypeCacheTests {
+
+	private static final SharedTypeCache CACHE = SharedTypeCache.INSTANCE;
+
+	private IProject project;
+	private IScriptProject scriptProject;
+
+	@Before
+	public void setUp() throws Exception {
+		project = TestUtils.createProject("SharedTypeCache");
+		scriptProject = DLTKCore.create(project);
+		TestUtils.waitForIndexer();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		TestUtils.deleteProject(project);
+		CACHE.shutdown();
+	}
+
+	private IFile createFile(String name, String content) {
+		IFile file = TestUtils.createFile(project, name, content);
+		TestUtils.waitForIndexer();
+		return file;
+	}
+
+	private static void setContents(IFile file, String content) throws Exception {
+		file.setContents(new ByteArrayInputStream(content.getBytes()), true, false, null);
+		TestUtils.waitForIndexer();
+	}
+
+	private IType getType(IFile file, String name) {
+		return ((ISourceModule) DLTKCore.create(file)).getType(name);
+	}
+
+	@Test
+	public void lookups() throws Exception {
+		createFile("types.php", "<?php namespace NS; class Foo {} trait Bar {}");
+
+		long misses = CACHE.getLookupMisses();
+		long hits = CACHE.getLookupHits();
+		IType[] types = CACHE.getTypes(scriptProject, "NS", "Foo");
+		assertEquals(1, types.length);
+		assertEquals("Foo", types[0].getElementName());
+		assertSame(types, CACHE.getTypes(scriptProject, "\\ns", "FOO"));
+		assertEquals(misses + 1, CACHE.getLookupMisses());
+		assertEquals(hits + 1, CACHE.getLookupHits());
+
+		// Traits and types are looked up separately
+		assertEquals(0, CACHE.getTypes(scriptProject, "NS", "Bar").length);
+		assertEquals(1, CACHE.getTraits(scriptProject, "NS", "Bar").length);
+		assertEquals(0, CACHE.getTraits(scriptProject, "NS", "Foo").length);
+		assertEquals(0, CACHE.getTypes(scriptProject, "Other", "Foo").length);
+		assertEquals(1, CACHE.getTypes(scriptProject, null, "Foo").length);
+		assertEquals(misses + 6, CACHE.getLookupMisses());
+	}
+
+	@Test
+	public void lookupEviction() throws Exception {
+		long misses = CACHE.getLookupMisses();
+		// The cache keeps 4096 lookups
+		for (int i = 0; i < 4096; i++) {
+			CACHE.getTypes(scriptProject, null, "Missing" + i);
+		}
+		// Used lately
+		CACHE.getTypes(scriptProject, null, "Missing0");
+		CACHE.getTypes(scriptProject, null, "Missing4096");
+		assertEquals(misses + 4097, CACHE.getLookupMisses());
+
+		CACHE.getTypes(scriptProject, null, "Missing0");
+		assertEquals(misses + 4097, CACHE.getLookupMisses());
+		CACHE.getTypes(scriptProject, null, "Missing1");
+		assertEquals(misses + 4098, CACHE.getLookupMisses());
+	}
+
+	@Test
+	public void lookupInvalidation() throws Exception {
+		assertEquals(0, CACHE.getTypes(scriptProject, null, "Foo").length);
+
+		// A new type of the name
+		IFile file = createFile("foo.php", "<?php class Foo {}");
+		IType[] types = CACHE.getTypes(scriptProject, null, "Foo");
+		assertEquals(1, types.length);
+		assertSame(types, CACHE.getTypes(scriptProject, null, "Foo"));
+
+		// The found type is removed
+		setContents(file, "<?php class Bar {}");
+		assertEquals(0, CACHE.getTypes(scriptProject, null, "Foo").length);
+		assertEquals(1, CACHE.getTypes(scriptProject, null, "Bar").length);
+
+		// Another file declaring the name
+		createFile("foo2.php", "<?php class Bar {}");
+		assertEquals(2, CACHE.getTypes(scriptProject, null, "Bar").length);
+
+		TestUtils.deleteFile(file);
+		TestUtils.waitForIndexer();
+		assertEquals(1, CACHE.getTypes(scriptProject, null, "Bar").length);
+	}
+
+	@Test
+	public void hierarchies() throws Exception {
+		IFile file = createFile("hierarchy.php", "<?php class A {} class B extends A {}");
+		IType type = getType(file, "B");
+
+		ITypeHierarchy hierarchy = CACHE.getSuperTypeHierarchy(type, null);
+		assertEquals("A", hierarchy.getSuperclass(type).getElementName());
+		long misses = CACHE.getHierarchyMisses();
+		assertSame(hierarchy, CACHE.getSuperTypeHierarchy(type, null));
+		assertEquals(misses, CACHE.getHierarchyMisses());
+
+		// Dropped once the hierarchy changes
+		setContents(file, "<?php class A {} class C {} class B extends C {}");
+		type = getType(file, "B");
+		ITypeHierarchy changed = CACHE.getSuperTypeHierarchy(type, null);
+		assertNotSame(hierarchy, changed);
+		assertEquals(misses + 1, CACHE.getHierarchyMisses());
+		assertEquals("C", changed.getSuperclass(type).getElementName());
+	}
+
+	@Test
+	public void hierarchyEviction() throws Exception {
+		StringBuilder content = new StringBuilder("<?php");
+		for (int i = 0; i <= 128; i++) {
+			content.append(" class C").append(i).append(" {}");
+		}
+		IFile file = createFile("classes.php", content.toString());
+
+		// The cache keeps 128 hierarchies
+		for (int i = 0; i < 128; i++) {
+			CACHE.getSuperTypeHierarchy(getType(file, "C" + i), null);
+		}
+		// Used lately
+		CACHE.getSuperTypeHierarchy(getType(file, "C0"), null);
+		CACHE.getSuperTypeHierarchy(getType(file, "C128"), null);
+
+		long misses = CACHE.getHierarchyMisses();
+		CACHE.getSuperTypeHierarchy(getType(file, "C0"), null);
+		assertEquals(misses, CACHE.getHierarchyMisses());
+		CACHE.getSuperTypeHierarchy(getType(file, "C1"), null);
+		assertEquals(misses + 1, CACHE.getHierarchyMisses());
+	}
+}
@@ -0,0 +1,111 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.core.tests.typeinference;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.dltk.core.DLTKCore;
+import org.eclipse.dltk.core.ISourceModule;
+import org.eclipse.dltk.core.IType;
+import org.eclipse.dltk.core.SourceParserUtil;
+import org.eclipse.dltk.ti.EvaluatorStatistics;
+import org.eclipse.dltk.ti.TimelimitPruner;
+import org.eclipse.dltk.ti.goals.IGoal;
+import org.eclipse.php.core.tests.TestUtils;
+import org.eclipse.php.internal.core.typeinference.GoalResultCache;
+import org.eclipse.php.internal.core.typeinference.PHPCachedTypeInferencer;
+import org.eclipse.php.internal.core.typeinference.context.FileContext;
+import org.eclipse.php.internal.core.typeinference.goals.MethodElementReturnTypeGoal;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GoalResultCacheTests {
+
+	private IProject project;
+
+	@Before
+	public void setUp() throws Exception {
+		project = TestUtils.createProject("GoalResultCacheTests");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		TestUtils.deleteProject(project);
+	}
+
+	/**
+	 * Returns the goal of the return type of the given method of class A.
+	 */
+	private static MethodElementReturnTypeGoal createGoal(IFile file, String methodName) {
+		ISourceModule sourceModule = DLTKCore.createSourceModuleFrom(file);
+		FileContext context = new FileContext(sourceModule, SourceParserUtil.getModuleDeclaration(sourceModule));
+		IType type = sourceModule.getType("A");
+		return new MethodElementReturnTypeGoal(context, new IType[] { type }, methodName, null, 0);
+	}
+
+	@Test
+	public void invalidatedByDependency() throws Exception {
+		IFile base = TestUtils.createFile(project, "B.php",
+				"<?php class B { function foo() { return new B(); } }");
+		IFile file = TestUtils.createFile(project, "A.php", "<?php class A extends B {}");
+		TestUtils.waitForIndexer();
+
+		MethodElementReturnTypeGoal goal = createGoal(file, "foo");
+		new PHPCachedTypeInferencer().evaluateType(goal);
+		GoalResultCache.Key key = GoalResultCache.createKey(goal);
+		assertNotNull(GoalResultCache.INSTANCE.get(key));
+
+		// The method is found in the super class
+		base.setContents(new ByteArrayInputStream("<?php class B { function foo() { return 1; } }".getBytes()),
+				IResource.FORCE, null);
+		TestUtils.waitForIndexer();
+		assertNull(GoalResultCache.INSTANCE.get(key));
+	}
+
+	@Test
+	public void prunedNotCached() throws Exception {
+		IFile file = TestUtils.createFile(project, "A.php", "<?php class A { function foo() { return new A(); } }");
+		TestUtils.waitForIndexer();
+
+		final MethodElementReturnTypeGoal goal = createGoal(file, "foo");
+		new PHPCachedTypeInferencer().evaluateType(goal, new TimelimitPruner(100000) {
+			@Override
+			public boolean prune(IGoal subgoal, EvaluatorStatistics stat) {
+				return subgoal != goal;
+			}
+		});
+		GoalResultCache.Key key = GoalResultCache.createKey(goal);
+		assertNull(GoalResultCache.INSTANCE.get(key));
+
+		new PHPCachedTypeInferencer().evaluateType(goal);
+		assertNotNull(GoalResultCache.INSTANCE.get(key));
+	}
+
+	@Test
+	public void recursiveNotCached() throws Exception {
+		IFile file = TestUtils.createFile(project, "A.php",
+				"<?php class A { function foo() { return $this->foo(); } }");
+		TestUtils.waitForIndexer();
+
+		MethodElementReturnTypeGoal goal = createGoal(file, "foo");
+		new PHPCachedTypeInferencer().evaluateType(goal);
+		assertNull(GoalResultCache.INSTANCE.get(GoalResultCache.createKey(goal)));
+	}
+}
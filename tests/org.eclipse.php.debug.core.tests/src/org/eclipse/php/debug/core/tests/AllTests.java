@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests;
+
+import org.eclipse.php.core.tests.TestAllSuiteWatcher;
+import org.eclipse.php.debug.core.tests.daemon.DebugChannelSelectorTest;
+import org.eclipse.php.debug.core.tests.pathmapper.PathMapperTest;
+import org.eclipse.php.debug.core.tests.pathmapper.WorkspaceFileIndexTest;
+import org.eclipse.php.debug.core.tests.xdebug.DBGpFrameDecoderTest;
+import org.eclipse.php.debug.core.tests.xdebug.DBGpResponseTest;
+import org.eclipse.php.debug.core.tests.xdebug.DBGpSessionTest;
+import org.eclipse.php.debug.core.tests.zend.DebugMessageCodecTest;
+import org.junit.ClassRule;
+import org.junit.rules.TestWatcher;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+
+@RunWith(Suite.class)
+@Suite.SuiteClasses({ DebugChannelSelectorTest.class, DBGpFrameDecoderTest.class, DBGpResponseTest.class,
+		DBGpSessionTest.class, DebugMessageCodecTest.class, PathMapperTest.class, WorkspaceFileIndexTest.class })
+public class AllTests {
+
+	@ClassRule
+	public static TestWatcher watcher = new TestAllSuiteWatcher();
+
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.daemon;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.php.internal.debug.core.daemon.AbstractDebuggerCommunicationDaemon;
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol.DBGpCommand;
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol.DBGpResponse;
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.session.DBGpSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Load test for the selector based debugger daemon, connecting many fake DBGp
+ * engines at the same time.
+ */
+public class DebugChannelSelectorTest {
+
+	private static final int CLIENTS = 500;
+	private static final int CALLERS = 8;
+	private static final long TIMEOUT = 60;
+
+	private static class TestDaemon extends AbstractDebuggerCommunicationDaemon {
+
+		private final int port;
+		private final Queue<DBGpSession> sessions = new ConcurrentLinkedQueue<>();
+		private final CountDownLatch started = new CountDownLatch(CLIENTS);
+
+		public TestDaemon(int port) {
+			this.port = port;
+		}
+
+		@Override
+		public int getReceiverPort() {
+			return port;
+		}
+
+		@Override
+		public String getDebuggerID() {
+			return "org.eclipse.php.debug.core.tests.daemon"; //$NON-NLS-1$
+		}
+
+		@Override
+		public boolean isDebuggerDaemon() {
+			return false;
+		}
+
+		@Override
+		protected void startConnection(SocketChannel socket) {
+			sessions.add(new DBGpSession(socket));
+			started.countDown();
+		}
+	}
+
+	private TestDaemon daemon;
+	private final List<SocketChannel> clients = new ArrayList<>();
+
+	@Before
+	public void setUp() throws IOException {
+		int port;
+		try (ServerSocket socket = new ServerSocket(0)) {
+			port = socket.getLocalPort();
+		}
+		daemon = new TestDaemon(port);
+		assertTrue(daemon.resetSocket());
+		assertTrue(daemon.isListening(port));
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		daemon.stopListen();
+		for (DBGpSession session : daemon.sessions) {
+			session.endSession();
+		}
+		for (SocketChannel client : clients) {
+			client.close();
+		}
+	}
+
+	@Test
+	public void rebind() throws Exception {
+		// The port must be released as soon as the daemon stops listening
+		for (int i = 0; i < 20; i++) {
+			assertTrue(daemon.resetSocket());
+			assertTrue(daemon.isListening(daemon.getReceiverPort()));
+		}
+	}
+
+	@Test
+	public void concurrentSessions() throws Exception {
+		int threads = Thread.activeCount();
+		InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), daemon.getReceiverPort());
+		for (int i = 0; i < CLIENTS; i++) {
+			SocketChannel client = SocketChannel.open(address);
+			clients.add(client);
+			write(client, "<init xmlns=\"urn:debugger_protocol_v1\" fileuri=\"file:///test/script" + i //$NON-NLS-1$
+					+ ".php\" language=\"PHP\" protocol_version=\"1.0\" appid=\"" + i + "\" idekey=\"client" + i //$NON-NLS-1$ //$NON-NLS-2$
+					+ "\"><engine version=\"3.0.0\"><![CDATA[Xdebug]]></engine></init>"); //$NON-NLS-1$
+		}
+		assertTrue(daemon.started.await(TIMEOUT, TimeUnit.SECONDS));
+
+		// Idle sessions must not hold any thread
+		int created = Thread.activeCount() - threads;
+		assertTrue("Threads created: " + created, created < CLIENTS / 10); //$NON-NLS-1$
+
+		Set<String> ideKeys = new HashSet<>();
+		for (DBGpSession session : daemon.sessions) {
+			assertTrue(session.isActive());
+			ideKeys.add(session.getIdeKey());
+			session.startSession();
+		}
+		assertEquals(CLIENTS, ideKeys.size());
+
+		Thread responder = new Thread(this::respond, "Fake DBGp engines"); //$NON-NLS-1$
+		responder.start();
+		try {
+			final List<DBGpSession> sessions = new ArrayList<>(daemon.sessions);
+			final AtomicInteger answered = new AtomicInteger();
+			Thread[] callers = new Thread[CALLERS];
+			for (int i = 0; i < CALLERS; i++) {
+				final int first = i;
+				callers[i] = new Thread(() -> {
+					for (int j = first; j < sessions.size(); j += CALLERS) {
+						DBGpResponse response = sessions.get(j).sendSyncCmd(DBGpCommand.status);
+						if (response != null && DBGpCommand.status.equals(response.getCommand())
+								&& DBGpResponse.STATUS_STARTING.equals(response.getStatus())) {
+							answered.incrementAndGet();
+						}
+					}
+				});
+				callers[i].start();
+			}
+			for (Thread caller : callers) {
+				caller.join(TimeUnit.SECONDS.toMillis(TIMEOUT));
+				assertFalse(caller.isAlive());
+			}
+			assertEquals(CLIENTS, answered.get());
+		} finally {
+			responder.interrupt();
+			responder.join();
+		}
+
+		for (DBGpSession session : daemon.sessions) {
+			session.endSession();
+			assertFalse(session.isActive());
+		}
+	}
+
+	/*
+	 * Answers every command sent to the fake engines.
+	 */
+	private void respond() {
+		try (Selector selector = Selector.open()) {
+			for (SocketChannel client : clients) {
+				client.configureBlocking(false);
+				client.register(selector, SelectionKey.OP_READ, new ByteArrayOutputStream());
+			}
+			ByteBuffer buffer = ByteBuffer.allocate(1024);
+			while (!Thread.currentThread().isInterrupted()) {
+				selector.select(100);
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					SocketChannel client = (SocketChannel) key.channel();
+					ByteArrayOutputStream command = (ByteArrayOutputStream) key.attachment();
+					buffer.clear();
+					if (client.read(buffer) < 0) {
+						key.cancel();
+						continue;
+					}
+					buffer.flip();
+					while (buffer.hasRemaining()) {
+						byte b = buffer.get();
+						if (b != 0) {
+							command.write(b);
+							continue;
+						}
+						String line = new String(command.toByteArray(), StandardCharsets.ISO_8859_1);
+						command.reset();
+						String[] args = line.split(" "); //$NON-NLS-1$
+						String id = args[Arrays.asList(args).indexOf("-i") + 1]; //$NON-NLS-1$
+						write(client, "<response xmlns=\"urn:debugger_protocol_v1\" command=\"" + args[0] //$NON-NLS-1$
+								+ "\" transaction_id=\"" + id + "\" status=\"starting\" reason=\"ok\"/>"); //$NON-NLS-1$ //$NON-NLS-2$
+					}
+				}
+			}
+		} catch (ClosedByInterruptException e) {
+			// done
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void write(SocketChannel client, String message) throws IOException {
+		byte[] data = message.getBytes(StandardCharsets.ISO_8859_1);
+		ByteBuffer frame = ByteBuffer.allocate(data.length + 16);
+		frame.put(String.valueOf(data.length).getBytes(StandardCharsets.ISO_8859_1)).put((byte) 0);
+		frame.put(data).put((byte) 0);
+		frame.flip();
+		while (frame.hasRemaining()) {
+			client.write(frame);
+		}
+	}
+}
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.pathmapper;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.eclipse.php.internal.debug.core.pathmapper.PathEntry;
+import org.eclipse.php.internal.debug.core.pathmapper.PathEntry.Type;
+import org.eclipse.php.internal.debug.core.pathmapper.PathMapper;
+import org.eclipse.php.internal.debug.core.pathmapper.PathMapper.Mapping;
+import org.eclipse.php.internal.debug.core.pathmapper.PathMapper.Mapping.MappingSource;
+import org.eclipse.php.internal.debug.core.pathmapper.VirtualPath;
+import org.junit.Test;
+
+public class PathMapperTest {
+
+	private static final int MAPPINGS = 10000;
+
+	@Test
+	public void longestPrefix() {
+		PathMapper mapper = new PathMapper();
+		mapper.addMapping(mapping("/home/user/project", "/var/www")); //$NON-NLS-1$ //$NON-NLS-2$
+		mapper.addMapping(mapping("/home/user/vendor", "/var/www/vendor")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertEquals("/var/www/index.php", mapper.getRemoteFile("/home/user/project/index.php")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("/var/www/vendor/lib/a.php", mapper.getRemoteFile("/home/user/vendor/lib/a.php")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("/var/www", mapper.getRemoteFile("/home/user/project")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(mapper.getRemoteFile("/home/user/other/index.php")); //$NON-NLS-1$
+		assertNull(mapper.getRemoteFile("C:\\home\\user\\project\\index.php")); //$NON-NLS-1$
+
+		assertEquals(new VirtualPath("/home/user/vendor"), //$NON-NLS-1$
+				mapper.getLocalPathMapping(new VirtualPath("/var/www/vendor"))); //$NON-NLS-1$
+		assertNull(mapper.getLocalPathMapping(new VirtualPath("/var/www/vendor/lib"))); //$NON-NLS-1$
+	}
+
+	@Test
+	public void entries() {
+		PathMapper mapper = new PathMapper();
+		mapper.addEntry("/var/www/app/src/a.php", new PathEntry("C:\\work\\app\\src\\a.php", Type.EXTERNAL, null), //$NON-NLS-1$ //$NON-NLS-2$
+				MappingSource.USER);
+		assertEquals("/var/www/app/src/b.php", mapper.getRemoteFile("C:\\work\\app\\src\\b.php")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		mapper.addServerEntry("/srv/app/x.php", new PathEntry("/srv/app", Type.SERVER, null), //$NON-NLS-1$ //$NON-NLS-2$
+				MappingSource.USER);
+		assertEquals(new VirtualPath("/srv/app"), mapper.getServerFile("/srv/app/lib/x.php").getAbstractPath()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(mapper.getServerFile("/var/www/app/src/a.php")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void modifications() {
+		PathMapper mapper = new PathMapper();
+		Mapping project = mapping("/home/user/project", "/var/www"); //$NON-NLS-1$ //$NON-NLS-2$
+		Mapping vendor = mapping("/home/user/vendor", "/var/www/vendor"); //$NON-NLS-1$ //$NON-NLS-2$
+		mapper.setMapping(new Mapping[] { project, vendor });
+		assertEquals(2, mapper.getMapping().length);
+
+		mapper.removeMapping(vendor);
+		assertEquals(1, mapper.getMapping().length);
+		assertEquals(project, mapper.getMapping()[0]);
+		assertNull(mapper.getLocalPathMapping(new VirtualPath("/var/www/vendor"))); //$NON-NLS-1$
+		assertEquals("/var/www/vendor/a.php", mapper.getRemoteFile("/home/user/project/vendor/a.php")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(mapper.getRemoteFile("/home/user/vendor/a.php")); //$NON-NLS-1$
+
+		mapper.setMapping(new Mapping[0]);
+		assertEquals(0, mapper.getMapping().length);
+		assertNull(mapper.getRemoteFile("/home/user/project/index.php")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void manyMappings() {
+		Mapping[] mappings = new Mapping[MAPPINGS];
+		for (int i = 0; i < MAPPINGS; i++) {
+			mappings[i] = mapping("/home/user/project/vendor/package" + i, "/app/vendor/package" + i); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		PathMapper mapper = new PathMapper();
+		mapper.setMapping(mappings);
+		for (int i = 0; i < MAPPINGS; i++) {
+			assertEquals("/app/vendor/package" + i + "/src/Class.php", //$NON-NLS-1$ //$NON-NLS-2$
+					mapper.getRemoteFile("/home/user/project/vendor/package" + i + "/src/Class.php")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		assertNull(mapper.getRemoteFile("/home/user/project/vendor/package" + MAPPINGS + "/a.php")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static Mapping mapping(String local, String remote) {
+		return new Mapping(new VirtualPath(local), new VirtualPath(remote), Type.EXTERNAL, MappingSource.USER);
+	}
+}
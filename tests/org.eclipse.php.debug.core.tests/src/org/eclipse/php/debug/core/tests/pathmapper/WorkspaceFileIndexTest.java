@@ -0,0 +1,87 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.pathmapper;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Path;
+import org.eclipse.php.internal.debug.core.pathmapper.WorkspaceFileIndex;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class WorkspaceFileIndexTest {
+
+	private IProject project;
+	private IFile first;
+	private IFile second;
+
+	@Before
+	public void setUp() throws CoreException {
+		project = ResourcesPlugin.getWorkspace().getRoot().getProject("WorkspaceFileIndexTest"); //$NON-NLS-1$
+		project.create(null);
+		project.open(null);
+		first = createFile("first/index.php"); //$NON-NLS-1$
+		// Make sure the index is built before the next changes
+		WorkspaceFileIndex.INSTANCE.getFiles(project, "index.php"); //$NON-NLS-1$
+		second = createFile("second/index.php"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws CoreException {
+		project.delete(true, null);
+	}
+
+	@Test
+	public void changes() throws CoreException {
+		assertEquals(Arrays.asList(first, second), WorkspaceFileIndex.INSTANCE.getFiles(project, "index.php")); //$NON-NLS-1$
+		assertEquals(Arrays.asList(second),
+				WorkspaceFileIndex.INSTANCE.getFiles(project.getFolder("second"), "index.php")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Collections.emptyList(), WorkspaceFileIndex.INSTANCE.getFiles(project, "Index.php")); //$NON-NLS-1$
+
+		first.move(new Path("main.php"), true, null); //$NON-NLS-1$
+		assertEquals(Arrays.asList(second), WorkspaceFileIndex.INSTANCE.getFiles(project, "index.php")); //$NON-NLS-1$
+		assertEquals(Arrays.asList(project.getFile("first/main.php")), //$NON-NLS-1$
+				WorkspaceFileIndex.INSTANCE.getFiles(project, "main.php")); //$NON-NLS-1$
+
+		project.getFolder("second").delete(true, null); //$NON-NLS-1$
+		assertEquals(Collections.emptyList(), WorkspaceFileIndex.INSTANCE.getFiles(project, "index.php")); //$NON-NLS-1$
+	}
+
+	@Test
+	public void closedProject() throws CoreException {
+		project.close(null);
+		assertEquals(Collections.emptyList(), WorkspaceFileIndex.INSTANCE.getFiles(project, "index.php")); //$NON-NLS-1$
+		project.open(null);
+		assertEquals(Arrays.asList(first, second), WorkspaceFileIndex.INSTANCE.getFiles(project, "index.php")); //$NON-NLS-1$
+	}
+
+	private IFile createFile(String path) throws CoreException {
+		IFolder folder = project.getFolder(new Path(path).segment(0));
+		if (!folder.exists()) {
+			folder.create(true, true, null);
+		}
+		IFile file = project.getFile(path);
+		file.create(new ByteArrayInputStream(new byte[0]), true, null);
+		return file;
+	}
+}
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.xdebug;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.session.DBGpFrameDecoder;
+import org.junit.Test;
+
+public class DBGpFrameDecoderTest {
+
+	private static ByteBuffer data(String data) {
+		return ByteBuffer.wrap(data.getBytes(StandardCharsets.ISO_8859_1));
+	}
+
+	@Test
+	public void splitMessages() {
+		DBGpFrameDecoder decoder = new DBGpFrameDecoder();
+		List<byte[]> messages = new ArrayList<>();
+		assertTrue(decoder.decode(data("5\0hel"), messages));
+		assertTrue(messages.isEmpty());
+		assertTrue(decoder.decode(data("lo\0" + "2\0ok\0" + "1"), messages));
+		assertEquals(2, messages.size());
+		assertEquals("hello", new String(messages.get(0), StandardCharsets.ISO_8859_1));
+		assertEquals("ok", new String(messages.get(1), StandardCharsets.ISO_8859_1));
+	}
+
+	@Test
+	public void maxLength() {
+		List<byte[]> messages = new ArrayList<>();
+		assertTrue(new DBGpFrameDecoder(10).decode(data("10\0abcdefghij\0"), messages));
+		assertEquals(1, messages.size());
+	}
+
+	@Test
+	public void tooLong() {
+		List<byte[]> messages = new ArrayList<>();
+		assertFalse(new DBGpFrameDecoder(10).decode(data("11\0abcdefghijk\0"), messages));
+		assertFalse(new DBGpFrameDecoder().decode(data("2147483647\0"), messages));
+		assertTrue(messages.isEmpty());
+	}
+
+	@Test
+	public void invalidLength() {
+		assertFalse(new DBGpFrameDecoder().decode(data("1a\0"), new ArrayList<byte[]>()));
+	}
+}
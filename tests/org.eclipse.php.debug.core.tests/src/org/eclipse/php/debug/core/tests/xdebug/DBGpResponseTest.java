@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.xdebug;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol.DBGpResponse;
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol.EngineTypes;
+import org.junit.Test;
+import org.w3c.dom.Node;
+
+public class DBGpResponseTest {
+
+	private static DBGpResponse parse(String xml) {
+		DBGpResponse response = new DBGpResponse();
+		response.parseResponse(xml.getBytes(StandardCharsets.ISO_8859_1));
+		return response;
+	}
+
+	@Test
+	public void init() {
+		DBGpResponse response = parse("<?xml version=\"1.0\" encoding=\"iso-8859-1\"?>\n" //$NON-NLS-1$
+				+ "<init xmlns=\"urn:debugger_protocol_v1\" fileuri=\"file:///test.php\" language=\"PHP\" " //$NON-NLS-1$
+				+ "protocol_version=\"1.0\" appid=\"2116\" idekey=\"ECLIPSE_DBGP\"><engine version=\"3.1.0\">" //$NON-NLS-1$
+				+ "<![CDATA[Xdebug]]></engine><author><![CDATA[Derick Rethans]]></author></init>"); //$NON-NLS-1$
+		assertEquals(DBGpResponse.INIT, response.getType());
+		assertEquals(DBGpResponse.ERROR_OK, response.getErrorCode());
+		assertEquals("ECLIPSE_DBGP", response.getIdekey()); //$NON-NLS-1$
+		assertEquals("file:///test.php", response.getFileUri()); //$NON-NLS-1$
+		assertNull(response.getSession());
+		assertEquals("3.1.0", response.getEngineVersion()); //$NON-NLS-1$
+		assertEquals(EngineTypes.Xdebug, response.getEngineType());
+	}
+
+	@Test
+	public void response() {
+		DBGpResponse response = parse("<response xmlns=\"urn:debugger_protocol_v1\" command=\"breakpoint_set\" " //$NON-NLS-1$
+				+ "transaction_id=\"1\" id=\"49240001\"></response>"); //$NON-NLS-1$
+		assertEquals(DBGpResponse.RESPONSE, response.getType());
+		assertEquals(DBGpResponse.ERROR_OK, response.getErrorCode());
+		assertEquals("1", response.getId()); //$NON-NLS-1$
+		assertEquals("breakpoint_set", response.getCommand()); //$NON-NLS-1$
+		assertEquals("49240001", response.getTopAttribute("id")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("", response.getTopAttribute("success")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void error() {
+		DBGpResponse response = parse("<response command=\"property_get\" transaction_id=\"95\" status=\"break\" " //$NON-NLS-1$
+				+ "reason=\"ok\"><error code=\"300\"><message><![CDATA[can not get property]]></message></error></response>"); //$NON-NLS-1$
+		assertEquals(DBGpResponse.RESPONSE, response.getType());
+		assertEquals(DBGpResponse.ERROR_CANT_GET_PROPERTY, response.getErrorCode());
+		assertEquals("can not get property", response.getErrorMessage()); //$NON-NLS-1$
+		assertEquals(DBGpResponse.STATUS_BREAK, response.getStatus());
+		assertEquals(DBGpResponse.REASON_OK, response.getReason());
+		// Still in the tree
+		assertEquals("error", response.getParentNode().getFirstChild().getNodeName()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void stream() {
+		DBGpResponse response = parse("<stream type=\"stdout\" encoding=\"base64\"><![CDATA[PGh0bWw+]]></stream>"); //$NON-NLS-1$
+		assertEquals(DBGpResponse.STREAM, response.getType());
+		assertEquals("stdout", response.getStreamType()); //$NON-NLS-1$
+		assertEquals("PGh0bWw+", response.getStreamData()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void document() {
+		DBGpResponse response = parse("<response command=\"context_get\" transaction_id=\"3\" context=\"0\">" //$NON-NLS-1$
+				+ "<property name=\"$a\" fullname=\"$a\" type=\"string\" size=\"1\" encoding=\"base64\">" //$NON-NLS-1$
+				+ "<![CDATA[YQ==]]></property></response>"); //$NON-NLS-1$
+		Node parent = response.getParentNode();
+		assertEquals("response", parent.getNodeName()); //$NON-NLS-1$
+		assertEquals("0", DBGpResponse.getAttribute(parent, "context")); //$NON-NLS-1$ //$NON-NLS-2$
+		Node property = parent.getFirstChild();
+		assertEquals("$a", DBGpResponse.getAttribute(property, "name")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("YQ==", property.getFirstChild().getNodeValue()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void singlePass() {
+		byte[] xml = ("<response command=\"property_get\" transaction_id=\"4\"><property name=\"$a\" " //$NON-NLS-1$
+				+ "type=\"array\" children=\"1\" numchildren=\"2\"><property name=\"0\" type=\"int\">" //$NON-NLS-1$
+				+ "<![CDATA[1]]></property><!-- skipped --><property name=\"1\" type=\"string\" encoding=\"base64\">" //$NON-NLS-1$
+				+ "<![CDATA[YQ==]]></property></property></response>").getBytes(StandardCharsets.ISO_8859_1); //$NON-NLS-1$
+		DBGpResponse response = new DBGpResponse();
+		response.parseResponse(xml);
+		// The tree was read along with the header, the packet isn't parsed again
+		Arrays.fill(xml, (byte) 0);
+		Node property = response.getParentNode().getFirstChild();
+		assertEquals("array", DBGpResponse.getAttribute(property, "type")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(2, property.getChildNodes().getLength());
+		assertEquals("1", property.getFirstChild().getFirstChild().getNodeValue()); //$NON-NLS-1$
+		assertEquals("YQ==", property.getLastChild().getFirstChild().getNodeValue()); //$NON-NLS-1$
+		assertNull(property.getNextSibling());
+	}
+
+	@Test
+	public void emptyResponseNode() {
+		DBGpResponse response = parse("<response command=\"breakpoint_set\" transaction_id=\"1\" id=\"7\"/>"); //$NON-NLS-1$
+		Node parent = response.getParentNode();
+		assertEquals("response", parent.getNodeName()); //$NON-NLS-1$
+		assertEquals("7", DBGpResponse.getAttribute(parent, "id")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(parent.getFirstChild());
+	}
+
+	@Test
+	public void breakNode() {
+		DBGpResponse response = parse("<response xmlns:xdebug=\"https://xdebug.org/dbgp/xdebug\" command=\"run\" " //$NON-NLS-1$
+				+ "transaction_id=\"5\" status=\"break\" reason=\"ok\"><xdebug:message filename=\"file:///a.php\" " //$NON-NLS-1$
+				+ "lineno=\"3\" exception=\"Exception\"><![CDATA[failed]]></xdebug:message></response>"); //$NON-NLS-1$
+		assertEquals(DBGpResponse.ERROR_OK, response.getErrorCode());
+		Node message = response.getParentNode().getFirstChild();
+		assertEquals("xdebug:message", message.getNodeName()); //$NON-NLS-1$
+		assertEquals("Exception", DBGpResponse.getAttribute(message, "exception")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("failed", message.getFirstChild().getNodeValue()); //$NON-NLS-1$
+	}
+
+	@Test
+	public void parseFailure() {
+		DBGpResponse response = parse("<response"); //$NON-NLS-1$
+		assertEquals(DBGpResponse.PARSE_FAILURE, response.getType());
+		assertEquals(DBGpResponse.ERROR_PARSE_FAILURE, response.getErrorCode());
+	}
+}
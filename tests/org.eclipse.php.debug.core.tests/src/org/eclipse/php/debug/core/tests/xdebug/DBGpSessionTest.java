@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.xdebug;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol.DBGpCommand;
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.protocol.DBGpResponse;
+import org.eclipse.php.internal.debug.core.xdebug.dbgp.session.DBGpSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the DBGp transactions against a fake engine answering on a local
+ * connection.
+ */
+public class DBGpSessionTest {
+
+	private static final long TIMEOUT = 10;
+
+	private SocketChannel engine;
+	private DBGpSession session;
+
+	@Before
+	public void setUp() throws IOException {
+		try (ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+			engine = SocketChannel.open(server.getLocalAddress());
+			write("<init xmlns=\"urn:debugger_protocol_v1\" fileuri=\"file:///test/script.php\" language=\"PHP\" " //$NON-NLS-1$
+					+ "protocol_version=\"1.0\" appid=\"1\" idekey=\"test\"><engine version=\"3.0.0\">" //$NON-NLS-1$
+					+ "<![CDATA[Xdebug]]></engine></init>"); //$NON-NLS-1$
+			session = new DBGpSession(server.accept());
+		}
+		assertTrue(session.isActive());
+		session.startSession();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		session.endSession();
+		engine.close();
+	}
+
+	@Test
+	public void pipelinedCommands() throws Exception {
+		List<CompletableFuture<DBGpResponse>> responses = new ArrayList<>();
+		responses.add(session.sendCmd(DBGpCommand.stackGet, null));
+		responses.add(session.sendCmd(DBGpCommand.contextGet, "-c 1")); //$NON-NLS-1$
+		responses.add(session.sendCmd(DBGpCommand.contextGet, "-d 0")); //$NON-NLS-1$
+		// The engine receives all the commands before answering any of them
+		List<String[]> commands = new ArrayList<>();
+		for (int i = 0; i < responses.size(); i++) {
+			commands.add(read().split(" ")); //$NON-NLS-1$
+		}
+		assertFalse(responses.get(0).isDone());
+		for (String[] command : commands) {
+			answer(command);
+		}
+		for (int i = 0; i < responses.size(); i++) {
+			DBGpResponse response = responses.get(i).get(TIMEOUT, TimeUnit.SECONDS);
+			assertEquals(commands.get(i)[0], response.getCommand());
+			assertEquals(commands.get(i)[2], response.getId());
+		}
+	}
+
+	@Test
+	public void syncCommandLatency() throws Exception {
+		final int count = 200;
+		Thread responder = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (int i = 0; i < count; i++) {
+						answer(read().split(" ")); //$NON-NLS-1$
+					}
+				} catch (IOException e) {
+					// reported by the missing responses
+				}
+			}
+		}, "Fake DBGp engine"); //$NON-NLS-1$
+		responder.start();
+		long start = System.nanoTime();
+		for (int i = 0; i < count; i++) {
+			DBGpResponse response = session.sendSyncCmd(DBGpCommand.status);
+			assertNotNull(response);
+			assertEquals(DBGpResponse.STATUS_BREAK, response.getStatus());
+		}
+		long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		responder.join();
+		// Each round trip used to cost at least one reader poll interval
+		assertTrue("Round trips took " + elapsed + "ms", elapsed < count * 10); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@Test
+	public void endSessionCompletesPending() throws Exception {
+		CompletableFuture<DBGpResponse> response = session.sendCmd(DBGpCommand.stackGet, null);
+		read();
+		session.endSession();
+		DBGpResponse parsed = response.get(TIMEOUT, TimeUnit.SECONDS);
+		assertEquals(DBGpResponse.PARSE_FAILURE, parsed.getType());
+		assertNull(session.sendCmd(DBGpCommand.status, null).get(TIMEOUT, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void connectionClosedCompletesPending() throws Exception {
+		CompletableFuture<DBGpResponse> response = session.sendCmd(DBGpCommand.stackGet, null);
+		read();
+		engine.close();
+		DBGpResponse parsed = response.get(TIMEOUT, TimeUnit.SECONDS);
+		assertEquals(DBGpResponse.PARSE_FAILURE, parsed.getType());
+	}
+
+	private String read() throws IOException {
+		ByteArrayOutputStream command = new ByteArrayOutputStream();
+		ByteBuffer buffer = ByteBuffer.allocate(1);
+		while (true) {
+			buffer.clear();
+			if (engine.read(buffer) < 0) {
+				throw new IOException("Connection closed"); //$NON-NLS-1$
+			}
+			byte b = buffer.get(0);
+			if (b == 0) {
+				return new String(command.toByteArray(), StandardCharsets.ISO_8859_1);
+			}
+			command.write(b);
+		}
+	}
+
+	private void answer(String[] command) throws IOException {
+		write("<response xmlns=\"urn:debugger_protocol_v1\" command=\"" + command[0] + "\" transaction_id=\"" //$NON-NLS-1$ //$NON-NLS-2$
+				+ command[2] + "\" status=\"break\" reason=\"ok\"/>"); //$NON-NLS-1$
+	}
+
+	private void write(String message) throws IOException {
+		byte[] data = message.getBytes(StandardCharsets.ISO_8859_1);
+		ByteBuffer frame = ByteBuffer.allocate(data.length + 16);
+		frame.put(String.valueOf(data.length).getBytes(StandardCharsets.ISO_8859_1)).put((byte) 0);
+		frame.put(data).put((byte) 0);
+		frame.flip();
+		while (frame.hasRemaining()) {
+			engine.write(frame);
+		}
+	}
+}
@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.debug.core.tests.zend;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.php.internal.debug.core.zend.communication.DebugMessageCodec;
+import org.eclipse.php.internal.debug.core.zend.debugger.messages.OutputNotification;
+import org.junit.After;
+import org.junit.Test;
+
+public class DebugMessageCodecTest {
+
+	private static final String ENCODING = "UTF-8"; //$NON-NLS-1$
+	private static final int SENDERS = 8;
+	private static final int MESSAGES = 500;
+
+	private final List<Socket> sockets = new ArrayList<>();
+
+	@After
+	public void tearDown() throws IOException {
+		for (Socket socket : sockets) {
+			socket.close();
+		}
+	}
+
+	@Test
+	public void channelRoundTrip() throws Exception {
+		Socket[] pair = channelPair();
+		roundTrip(new DebugMessageCodec(pair[0]), new DebugMessageCodec(pair[1]));
+	}
+
+	@Test
+	public void streamRoundTrip() throws Exception {
+		Socket[] pair = streamPair();
+		roundTrip(new DebugMessageCodec(pair[0]), new DebugMessageCodec(pair[1]));
+	}
+
+	@Test
+	public void channelConcurrentSenders() throws Exception {
+		Socket[] pair = channelPair();
+		concurrentSenders(new DebugMessageCodec(pair[0]), new DebugMessageCodec(pair[1]));
+	}
+
+	@Test
+	public void streamConcurrentSenders() throws Exception {
+		Socket[] pair = streamPair();
+		concurrentSenders(new DebugMessageCodec(pair[0]), new DebugMessageCodec(pair[1]));
+	}
+
+	@Test
+	public void invalidLength() throws Exception {
+		Socket[] pair = streamPair();
+		new DataOutputStream(pair[0].getOutputStream()).writeInt(-1);
+		assertNull(new DebugMessageCodec(pair[1]).receive());
+	}
+
+	@Test
+	public void tooLong() throws Exception {
+		Socket[] pair = channelPair();
+		new DataOutputStream(pair[0].getOutputStream()).writeInt(DebugMessageCodec.MAX_MESSAGE_SIZE + 1);
+		try {
+			new DebugMessageCodec(pair[1]).receive();
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void channelFailedWrite() throws Exception {
+		failedWrite(channelPair()[0]);
+	}
+
+	@Test
+	public void streamFailedWrite() throws Exception {
+		failedWrite(streamPair()[0]);
+	}
+
+	private void failedWrite(Socket socket) throws Exception {
+		DebugMessageCodec codec = new DebugMessageCodec(socket);
+		socket.shutdownOutput();
+		try {
+			codec.send(message("lost")); //$NON-NLS-1$
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+		// The connection is closed, and later messages aren't queued
+		assertTrue(socket.isClosed());
+		try {
+			codec.send(message("later")); //$NON-NLS-1$
+			fail();
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	private void roundTrip(final DebugMessageCodec sender, DebugMessageCodec receiver) throws Exception {
+		// Larger than the socket buffers, so sending and receiving overlap
+		char[] large = new char[8 * 1024 * 1024];
+		Arrays.fill(large, 'x');
+		final String[] outputs = { "", "small", new String(large), "after" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					for (String output : outputs) {
+						sender.send(message(output));
+					}
+				} catch (IOException e) {
+					// reported by the receiver
+				}
+			}
+		});
+		thread.start();
+		for (String output : outputs) {
+			assertEquals(output, receive(receiver));
+		}
+		thread.join();
+	}
+
+	private void concurrentSenders(final DebugMessageCodec sender, DebugMessageCodec receiver) throws Exception {
+		Thread[] threads = new Thread[SENDERS];
+		for (int i = 0; i < SENDERS; i++) {
+			final int id = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						for (int j = 0; j < MESSAGES; j++) {
+							sender.send(message(id + ":" + j)); //$NON-NLS-1$
+						}
+					} catch (IOException e) {
+						// reported by the receiver
+					}
+				}
+			});
+			threads[i].start();
+		}
+		// Messages of each sender arrive in order and intact
+		int[] next = new int[SENDERS];
+		for (int i = 0; i < SENDERS * MESSAGES; i++) {
+			String[] output = receive(receiver).split(":"); //$NON-NLS-1$
+			int id = Integer.parseInt(output[0]);
+			assertEquals(next[id]++, Integer.parseInt(output[1]));
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	private static OutputNotification message(String output) {
+		OutputNotification message = new OutputNotification();
+		message.setTransferEncoding(ENCODING);
+		message.setOutput(output);
+		return message;
+	}
+
+	private static String receive(DebugMessageCodec receiver) throws IOException {
+		DataInputStream in = receiver.receive();
+		OutputNotification message = new OutputNotification();
+		assertEquals(message.getType(), in.readShort());
+		message.setTransferEncoding(ENCODING);
+		message.deserialize(in);
+		assertEquals(0, in.available());
+		return message.getOutput();
+	}
+
+	private Socket[] channelPair() throws IOException {
+		try (ServerSocketChannel server = ServerSocketChannel.open()) {
+			server.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+			SocketChannel client = SocketChannel.open(server.getLocalAddress());
+			return register(client.socket(), server.accept().socket());
+		}
+	}
+
+	private Socket[] streamPair() throws IOException {
+		try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			Socket client = new Socket(InetAddress.getLoopbackAddress(), server.getLocalPort());
+			return register(client, server.accept());
+		}
+	}
+
+	private Socket[] register(Socket... pair) {
+		sockets.addAll(Arrays.asList(pair));
+		return pair;
+	}
+}
@@ -14,13 +14,17 @@ package org.eclipse.php.profile.core.test;
 
 import org.eclipse.php.core.tests.TestAllSuiteWatcher;
 import org.eclipse.php.profile.core.test.cachegrind.CacheGrindParserTest;
+import org.eclipse.php.profile.core.test.data.ProfilerCallTraceTest;
+import org.eclipse.php.profile.core.test.engine.CacheGrindImporterTest;
+import org.eclipse.php.profile.core.test.engine.ProfilerDataStorageTest;
 import org.junit.ClassRule;
 import org.junit.rules.TestWatcher;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({ CacheGrindParserTest.class })
+@Suite.SuiteClasses({ CacheGrindParserTest.class, CacheGrindImporterTest.class, ProfilerCallTraceTest.class,
+		ProfilerDataStorageTest.class })
 public class AllTests {
 
 	@ClassRule
@@ -15,8 +15,10 @@ package org.eclipse.php.profile.core.test.cachegrind;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -329,4 +331,37 @@ public class CacheGrindParserTest {
 		file.close();
 
 	}
+
+	@Test
+	public void testLongLines() throws IOException {
+		StringBuilder name = new StringBuilder();
+		while (name.length() < 200000) {
+			name.append("/very/long/path");
+		}
+		StringBuilder content = new StringBuilder();
+		content.append("events: Time Memory\n");
+		content.append("fl=(1) ").append(name).append("\r\n");
+		for (int i = 0; i < 10000; i++) {
+			content.append("fn=(").append(i).append(") Foo->bar\n");
+			content.append(i).append(" 1 -2\n");
+		}
+		content.append("cfl=(1)");
+
+		CacheGrindParser parser = new CacheGrindParser(
+				new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)));
+		Listener listener = new Listener();
+		parser.parse(listener);
+
+		assertArrayEquals(new String[] { "Time", "Memory" }, listener.events);
+		assertEquals(1, listener.files.size());
+		assertEquals(new Name(1, name.toString()), listener.files.get(0));
+		assertEquals(10000, listener.functions.size());
+		assertEquals(new Name(0, "Foo->bar"), listener.functions.get(0));
+		assertEquals(new Name(9999, "Foo->bar"), listener.functions.get(9999));
+		assertEquals(10000, listener.costs.size());
+		assertEquals(new Nums(9999, new int[] { 1, -2 }), listener.costs.get(9999));
+		assertEquals(1, listener.nextFiles.size());
+		assertEquals(new Name(1, null), listener.nextFiles.get(0));
+		assertEquals(0, listener.unknown.size());
+	}
 }
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.profile.core.test.data;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.php.profile.core.data.ProfilerCallTrace;
+import org.eclipse.php.profile.core.data.ProfilerCallTraceLayer;
+import org.junit.Test;
+
+public class ProfilerCallTraceTest {
+
+	/**
+	 * Creates a trace whose layer <code>i</code> has line <code>i</code>
+	 */
+	private static ProfilerCallTrace createTrace(int size) {
+		ProfilerCallTrace callTrace = new ProfilerCallTrace();
+		for (int i = 0; i < size; i++) {
+			callTrace.addLayer(i % 2 + 1, i, i + 100, i, i * 10, 0, i * 5);
+		}
+		callTrace.setLayersCount(size);
+		return callTrace;
+	}
+
+	private static void assertLines(ProfilerCallTrace callTrace, int first, int last) {
+		assertEquals(last - first + 1, callTrace.size());
+		for (int i = 0; i < callTrace.size(); i++) {
+			assertEquals(first + i, callTrace.getLineNumber(i));
+		}
+	}
+
+	@Test
+	public void addLayers() {
+		// Past the initial capacity
+		ProfilerCallTrace callTrace = createTrace(200);
+		assertLines(callTrace, 0, 199);
+		assertEquals(2, callTrace.getType(199));
+		assertEquals(299, callTrace.getCalledID(199));
+		assertEquals(199, callTrace.getTimestampSeconds(199));
+		assertEquals(1990, callTrace.getTimestampMicroseconds(199));
+		assertEquals(0, callTrace.getDurationSeconds(199));
+		assertEquals(995, callTrace.getDurationMicroseconds(199));
+	}
+
+	@Test
+	public void removeFirstLayer() {
+		ProfilerCallTrace callTrace = createTrace(3);
+		callTrace.removeFirstLayer();
+		assertLines(callTrace, 1, 2);
+		assertEquals(2, callTrace.getLayersCount());
+
+		// Growing after the start moved
+		for (int i = 3; i < 150; i++) {
+			callTrace.addLayer(1, i, 0, 0, 0, 0, 0);
+		}
+		assertLines(callTrace, 1, 149);
+	}
+
+	@Test
+	public void removeWrappedLayers() {
+		ProfilerCallTrace callTrace = createTrace(4);
+		callTrace.removeWrappedLayers();
+		assertLines(callTrace, 1, 2);
+		assertEquals(2, callTrace.getLayersCount());
+		callTrace.removeWrappedLayers();
+		assertEquals(0, callTrace.size());
+		assertEquals(0, callTrace.getLayersCount());
+	}
+
+	@Test
+	public void removeFromEmpty() {
+		ProfilerCallTrace callTrace = new ProfilerCallTrace();
+		callTrace.removeWrappedLayers();
+		callTrace.removeFirstLayer();
+		assertEquals(0, callTrace.size());
+		assertEquals(0, callTrace.getLayersCount());
+		assertEquals(0, callTrace.getLayers().length);
+
+		callTrace.addLayer(1, 7, 0, 0, 0, 0, 0);
+		assertLines(callTrace, 7, 7);
+	}
+
+	@Test
+	public void removeWrappedFromSingle() {
+		ProfilerCallTrace callTrace = createTrace(1);
+		callTrace.removeWrappedLayers();
+		assertEquals(0, callTrace.size());
+		assertEquals(0, callTrace.getLayersCount());
+	}
+
+	@Test
+	public void layers() {
+		List<ProfilerCallTraceLayer> layers = new ArrayList<>();
+		layers.add(new ProfilerCallTraceLayer(1, 3, 10, 1, 500, 0, 0));
+		layers.add(new ProfilerCallTraceLayer(2, 4, 10, 1, 900, 0, 0));
+		ProfilerCallTrace callTrace = new ProfilerCallTrace(layers);
+		assertEquals(2, callTrace.size());
+
+		ProfilerCallTraceLayer[] copies = callTrace.getLayers();
+		assertEquals(2, copies.length);
+		assertEquals(3, copies[0].getLineNumber());
+		assertEquals(900, copies[1].getTimestampMicroseconds());
+
+		// The copies don't write through
+		copies[0].setLine(8);
+		assertEquals(3, callTrace.getLineNumber(0));
+	}
+
+	@Test
+	public void setDuration() {
+		ProfilerCallTrace callTrace = new ProfilerCallTrace(new int[] { 1, 2 }, new int[] { 3, 4 },
+				new int[] { 10, 10 }, new int[] { 1, 2 }, new int[] { 500, 100 }, new int[2], new int[2]);
+		callTrace.removeFirstLayer();
+		callTrace.setDuration(0, 3, 300);
+		assertEquals(1, callTrace.getDurationSeconds(0));
+		assertEquals(200, callTrace.getDurationMicroseconds(0));
+	}
+}
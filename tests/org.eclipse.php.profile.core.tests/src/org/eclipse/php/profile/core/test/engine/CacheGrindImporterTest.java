@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.profile.core.test.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.php.profile.core.data.ProfilerFileData;
+import org.eclipse.php.profile.core.data.ProfilerFunctionData;
+import org.eclipse.php.profile.core.data.ProfilerGlobalData;
+import org.eclipse.php.profile.core.engine.CacheGrindImporter;
+import org.eclipse.php.profile.core.engine.ProfilerDB;
+import org.eclipse.php.profile.core.test.Activator;
+import org.junit.Test;
+
+public class CacheGrindImporterTest {
+
+	private static final String INDEX = "/var/www/index.php"; //$NON-NLS-1$
+
+	private File getFile(String path) throws IOException {
+		return new File(FileLocator.toFileURL(Activator.getDefault().getBundle().getEntry(path)).getPath());
+	}
+
+	private static ProfilerFunctionData getFunction(ProfilerFileData file, String name) {
+		for (ProfilerFunctionData function : file.getFunctions()) {
+			if (name.equals(function.getFunctionName())) {
+				return function;
+			}
+		}
+		return null;
+	}
+
+	private File[] getSamples() throws IOException {
+		return new File[] { getFile("/resources/cachegrind/cachegrind.out.1"), //$NON-NLS-1$
+				getFile("/resources/cachegrind/cachegrind.out.2") }; //$NON-NLS-1$
+	}
+
+	@Test
+	public void importFile() throws IOException {
+		CacheGrindImporter importer = new CacheGrindImporter(
+				new File[] { getFile("/resources/cachegrind/cachegrind.out.1") }); //$NON-NLS-1$
+		assertTrue(importer.run(new NullProgressMonitor()).isOK());
+
+		ProfilerDB[] sessions = importer.getSessions();
+		assertEquals(1, sessions.length);
+		ProfilerGlobalData globalData = sessions[0].getGlobalData();
+		assertEquals(INDEX, globalData.getPath());
+		assertEquals(2000, globalData.getTimeMicroSeconds());
+		assertArrayEquals(new String[] { "PHP", INDEX }, globalData.getFileNames()); //$NON-NLS-1$
+
+		ProfilerFileData file = sessions[0].getFileData(INDEX);
+		assertNotNull(file);
+		ProfilerFunctionData foo = getFunction(file, "foo"); //$NON-NLS-1$
+		assertEquals("A", foo.getClassName()); //$NON-NLS-1$
+		assertEquals(3, foo.getLineNumber());
+		assertEquals(500, foo.getOwnTimeMicroseconds());
+		assertEquals(700, foo.getTotalTimeMicroseconds());
+		assertEquals(1, foo.getCallsCount());
+		assertEquals(-1, getFunction(file, "{main}").getID()); //$NON-NLS-1$
+		assertEquals(1, getFunction(sessions[0].getFileData("PHP"), "strlen").getCallsCount()); //$NON-NLS-1$ //$NON-NLS-2$
+		// Enter and exit of {main}, foo and strlen
+		assertEquals(6, sessions[0].getCallTrace().size());
+	}
+
+	@Test
+	public void importFiles() throws IOException {
+		File[] samples = getSamples();
+		File missing = new File(samples[0].getParentFile(), "missing"); //$NON-NLS-1$
+		CacheGrindImporter importer = new CacheGrindImporter(new File[] { samples[1], missing, samples[0] }, 2);
+		IStatus status = importer.run(new NullProgressMonitor());
+		assertEquals(IStatus.ERROR, status.getSeverity());
+
+		// Sessions come in the order of the files
+		ProfilerDB[] sessions = importer.getSessions();
+		assertEquals(2, sessions.length);
+		assertEquals(1000, sessions[0].getGlobalData().getTimeMicroSeconds());
+		assertEquals(2000, sessions[1].getGlobalData().getTimeMicroSeconds());
+	}
+
+	@Test
+	public void merge() throws IOException {
+		CacheGrindImporter importer = new CacheGrindImporter(getSamples());
+		assertTrue(importer.run(new NullProgressMonitor()).isOK());
+
+		ProfilerDB merged = CacheGrindImporter.merge(importer.getSessions());
+		ProfilerGlobalData globalData = merged.getGlobalData();
+		assertEquals(INDEX, globalData.getPath());
+		assertEquals(3000, globalData.getTimeMicroSeconds());
+		assertEquals(2, merged.getFiles().length);
+
+		ProfilerFileData file = merged.getFileData(INDEX);
+		ProfilerFunctionData foo = getFunction(file, "foo"); //$NON-NLS-1$
+		assertEquals("A", foo.getClassName()); //$NON-NLS-1$
+		assertEquals(900, foo.getOwnTimeMicroseconds());
+		assertEquals(1100, foo.getTotalTimeMicroseconds());
+		assertEquals(2, foo.getCallsCount());
+		ProfilerFunctionData main = getFunction(file, "{main}"); //$NON-NLS-1$
+		assertEquals(-1, main.getID());
+		assertEquals(1900, main.getOwnTimeMicroseconds());
+		assertNull(getFunction(file, "strlen")); //$NON-NLS-1$
+		assertEquals(0, merged.getCallTrace().size());
+	}
+}
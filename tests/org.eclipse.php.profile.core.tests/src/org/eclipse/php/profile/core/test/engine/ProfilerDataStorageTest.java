@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.profile.core.test.engine;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import org.eclipse.php.profile.core.data.*;
+import org.eclipse.php.profile.core.engine.DefaultProfilerDB;
+import org.eclipse.php.profile.core.engine.ProfilerDB;
+import org.eclipse.php.profile.core.engine.ProfilerDBManager;
+import org.eclipse.php.profile.core.engine.ProfilerDataStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProfilerDataStorageTest {
+
+	private static final Date DATE = new Date(1700000000000L);
+
+	private File file;
+
+	@Before
+	public void setUp() throws Exception {
+		file = File.createTempFile("session", "." + ProfilerDataStorage.FILE_EXTENSION); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	private static ProfilerFileData createFile(String name, ProfilerFunctionData... functions) {
+		double ownTime = 0;
+		for (ProfilerFunctionData function : functions) {
+			ownTime += function.getOwnTime();
+		}
+		return new ProfilerFileData(name, name + ".local", functions.length, ownTime, //$NON-NLS-1$
+				new ArrayList<>(Arrays.asList(functions)));
+	}
+
+	private static ProfilerDB createSession() {
+		ArrayList<String> fileNames = new ArrayList<>(Arrays.asList("/test/a.php", "/test/b.php")); //$NON-NLS-1$ //$NON-NLS-2$
+		ProfilerGlobalData globalData = new ProfilerGlobalData("http://localhost/a.php", //$NON-NLS-1$
+				"http://localhost/a.php?x=1", "x=1", "options", "/test", 1, 250, 2048, 2, fileNames); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+		List<ProfilerFileData> files = new ArrayList<>();
+		files.add(createFile("/test/a.php", //$NON-NLS-1$
+				new ProfilerFunctionData("/test/a.php", "A::foo", 3, 1, 0, 100, 0, 300, 2), //$NON-NLS-1$ //$NON-NLS-2$
+				new ProfilerFunctionData("/test/a.php", "main", 1, 2, 0, 50, 1, 0, 1))); //$NON-NLS-1$ //$NON-NLS-2$
+		files.add(createFile("/test/b.php", //$NON-NLS-1$
+				new ProfilerFunctionData("/test/b.php", "B\\C::bar::baz", 7, 3, 2, 10, 2, 20, 5), //$NON-NLS-1$ //$NON-NLS-2$
+				new ProfilerFunctionData("/test/b.php", "/test/b.php(8) : eval()'d code", 8, 4, 0, 1, 0, 1, 1))); //$NON-NLS-1$ //$NON-NLS-2$
+		ProfilerCallTrace callTrace = new ProfilerCallTrace();
+		callTrace.addLayer(1, 1, 2, 0, 0, 1, 0);
+		callTrace.addLayer(1, 10, 1, 0, 10, 0, 300);
+		callTrace.addLayer(2, 10, 1, 0, 310, 0, 0);
+		callTrace.setLayersCount(3);
+		return new DefaultProfilerDB(new ProfilerData(globalData, files, callTrace), DATE);
+	}
+
+	private static void assertFunctionEquals(ProfilerFunctionData expected, ProfilerFunctionData actual) {
+		assertNotNull(actual);
+		assertEquals(expected.getClassName(), actual.getClassName());
+		assertEquals(expected.getFunctionName(), actual.getFunctionName());
+		assertEquals(expected.getAbsoluteFileName(), actual.getAbsoluteFileName());
+		assertEquals(expected.getLocalFileName(), actual.getLocalFileName());
+		assertEquals(expected.getLineNumber(), actual.getLineNumber());
+		assertEquals(expected.getID(), actual.getID());
+		assertEquals(expected.getOwnTimeSeconds(), actual.getOwnTimeSeconds());
+		assertEquals(expected.getOwnTimeMicroseconds(), actual.getOwnTimeMicroseconds());
+		assertEquals(expected.getTotalTimeSeconds(), actual.getTotalTimeSeconds());
+		assertEquals(expected.getTotalTimeMicroseconds(), actual.getTotalTimeMicroseconds());
+		assertEquals(expected.getCallsCount(), actual.getCallsCount());
+	}
+
+	private static void assertSessionEquals(ProfilerDB expected, ProfilerDB actual) {
+		assertEquals(expected.getProfileDate(), actual.getProfileDate());
+		ProfilerGlobalData expectedGlobal = expected.getGlobalData();
+		ProfilerGlobalData actualGlobal = actual.getGlobalData();
+		assertEquals(expectedGlobal.getURI(), actualGlobal.getURI());
+		assertEquals(expectedGlobal.getOriginalURL(), actualGlobal.getOriginalURL());
+		assertEquals(expectedGlobal.getQuery(), actualGlobal.getQuery());
+		assertEquals(expectedGlobal.getOptions(), actualGlobal.getOptions());
+		assertEquals(expectedGlobal.getPath(), actualGlobal.getPath());
+		assertEquals(expectedGlobal.getTimeSeconds(), actualGlobal.getTimeSeconds());
+		assertEquals(expectedGlobal.getTimeMicroSeconds(), actualGlobal.getTimeMicroSeconds());
+		assertEquals(expectedGlobal.getDataSize(), actualGlobal.getDataSize());
+		assertArrayEquals(expectedGlobal.getFileNames(), actualGlobal.getFileNames());
+
+		ProfilerFileData[] expectedFiles = expected.getFiles();
+		ProfilerFileData[] actualFiles = actual.getFiles();
+		assertEquals(expectedFiles.length, actualFiles.length);
+		for (int i = 0; i < expectedFiles.length; i++) {
+			assertEquals(expectedFiles[i].getName(), actualFiles[i].getName());
+			assertEquals(expectedFiles[i].getLocalName(), actualFiles[i].getLocalName());
+			assertEquals(expectedFiles[i].getTotalOwnTime(), actualFiles[i].getTotalOwnTime(), 0);
+			ProfilerFunctionData[] expectedFunctions = expectedFiles[i].getFunctions();
+			ProfilerFunctionData[] actualFunctions = actualFiles[i].getFunctions();
+			assertEquals(expectedFunctions.length, actualFunctions.length);
+			for (int j = 0; j < expectedFunctions.length; j++) {
+				assertFunctionEquals(expectedFunctions[j], actualFunctions[j]);
+			}
+		}
+
+		ProfilerCallTrace expectedTrace = expected.getCallTrace();
+		ProfilerCallTrace actualTrace = actual.getCallTrace();
+		assertEquals(expectedTrace.getLayersCount(), actualTrace.getLayersCount());
+		assertEquals(expectedTrace.size(), actualTrace.size());
+		for (int i = 0; i < expectedTrace.size(); i++) {
+			assertEquals(expectedTrace.getType(i), actualTrace.getType(i));
+			assertEquals(expectedTrace.getLineNumber(i), actualTrace.getLineNumber(i));
+			assertEquals(expectedTrace.getCalledID(i), actualTrace.getCalledID(i));
+			assertEquals(expectedTrace.getTimestampSeconds(i), actualTrace.getTimestampSeconds(i));
+			assertEquals(expectedTrace.getTimestampMicroseconds(i), actualTrace.getTimestampMicroseconds(i));
+			assertEquals(expectedTrace.getDurationSeconds(i), actualTrace.getDurationSeconds(i));
+			assertEquals(expectedTrace.getDurationMicroseconds(i), actualTrace.getDurationMicroseconds(i));
+		}
+	}
+
+	@Test
+	public void roundTrip() throws Exception {
+		ProfilerDB session = createSession();
+		ProfilerDataStorage.write(new ProfilerDB[] { session, createSession() }, file);
+		assertTrue(ProfilerDataStorage.isStorageFile(file));
+
+		ProfilerDB[] read = ProfilerDataStorage.read(file);
+		assertEquals(2, read.length);
+		for (ProfilerDB db : read) {
+			assertSessionEquals(session, db);
+		}
+	}
+
+	@Test
+	public void lookups() throws Exception {
+		ProfilerDB session = createSession();
+		ProfilerDataStorage.write(new ProfilerDB[] { session }, file);
+		ProfilerDB read = ProfilerDataStorage.read(file)[0];
+
+		// Read on demand
+		assertFunctionEquals(session.getFunctionData(3), read.getFunctionData(3));
+		assertEquals("B\\C", read.getFunctionData(3).getClassName()); //$NON-NLS-1$
+		assertEquals("bar::baz", read.getFunctionData(3).getFunctionName()); //$NON-NLS-1$
+		assertEquals("eval()", read.getFunctionData(4).getFunctionName()); //$NON-NLS-1$
+		assertNull(read.getFunctionData(5));
+		assertEquals("/test/b.php", read.getFileData("/test/b.php").getName()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(read.getFileData("/test/c.php")); //$NON-NLS-1$
+		assertEquals("/test/a.php", read.getFileData(0).getName()); //$NON-NLS-1$
+		assertNull(read.getFileData(2));
+
+		// Reloaded after being released
+		read.clearAll();
+		assertFunctionEquals(session.getFunctionData(1), read.getFunctionData(1));
+		assertEquals(3, read.getCallTrace().size());
+	}
+
+	@Test
+	public void setProfilerData() throws Exception {
+		ProfilerDataStorage.write(new ProfilerDB[] { createSession() }, file);
+		ProfilerDB read = ProfilerDataStorage.read(file)[0];
+
+		List<ProfilerFileData> files = new ArrayList<>();
+		files.add(createFile("/test/c.php", //$NON-NLS-1$
+				new ProfilerFunctionData("/test/c.php", "qux", 1, 10, 0, 1, 0, 1, 1))); //$NON-NLS-1$ //$NON-NLS-2$
+		ProfilerCallTrace callTrace = new ProfilerCallTrace();
+		ProfilerData data = new ProfilerData(read.getGlobalData(), files, callTrace);
+		read.setProfilerData(data);
+
+		assertSame(data, read.getProfilerData());
+		assertEquals("qux", read.getFunctionData(10).getFunctionName()); //$NON-NLS-1$
+		assertNull(read.getFunctionData(1));
+		assertSame(files.get(0), read.getFileData("/test/c.php")); //$NON-NLS-1$
+		assertNull(read.getFileData("/test/a.php")); //$NON-NLS-1$
+		assertSame(files.get(0), read.getFileData(0));
+		assertEquals(1, read.getFiles().length);
+		assertSame(callTrace, read.getCallTrace());
+	}
+
+	@Test
+	public void missingFile() throws Exception {
+		ProfilerDataStorage.write(new ProfilerDB[] { createSession() }, file);
+		ProfilerDB read = ProfilerDataStorage.read(file)[0];
+		assertTrue(file.delete());
+
+		// Logged, the session is answered as empty
+		assertNull(read.getFileData(0));
+		assertNull(read.getFileData("/test/a.php")); //$NON-NLS-1$
+		assertNull(read.getFunctionData(1));
+		assertEquals(0, read.getFiles().length);
+		assertEquals(0, read.getCallTrace().size());
+	}
+
+	@Test
+	public void managerFormats() throws Exception {
+		ProfilerDB session = createSession();
+		ProfilerDBManager.save(new ProfilerDB[] { session }, file);
+		assertTrue(ProfilerDataStorage.isStorageFile(file));
+		ProfilerDB[] read = ProfilerDBManager.load(file);
+		assertEquals(1, read.length);
+		assertSessionEquals(session, read[0]);
+
+		File xml = File.createTempFile("session", ".xml"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			ProfilerDBManager.save(new ProfilerDB[] { session }, xml);
+			assertFalse(ProfilerDataStorage.isStorageFile(xml));
+			read = ProfilerDBManager.load(xml);
+			assertEquals(1, read.length);
+			assertEquals(session.getFiles().length, read[0].getFiles().length);
+			assertEquals(session.getCallTrace().size(), read[0].getCallTrace().size());
+		} finally {
+			xml.delete();
+		}
+	}
+}
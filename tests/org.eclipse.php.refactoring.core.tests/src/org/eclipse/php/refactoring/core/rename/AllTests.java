@@ -30,7 +30,7 @@ import org.junit.runners.Suite;
 		RenameLocalVarTest2.class, RenameClassMemberProcessorTest1.class, RenameClassMemberProcessorTest2.class,
 		RenameClassMemberProcessorTest3.class, RenameClassMemberProcessorTest0027555.class,
 		RenameFileTestCase0029095.class, RenameFileWithClass.class, RenameProcessorTestCase0029408.class,
-		RenameProcessorTestCaseZSTD_1006.class })
+		RenameProcessorTestCaseZSTD_1006.class, RenameClassReferencesTest.class })
 public class AllTests {
 
 	@ClassRule
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.refactoring.core.rename;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.ltk.core.refactoring.RefactoringStatus;
+import org.eclipse.php.core.ast.nodes.ASTNode;
+import org.eclipse.php.core.ast.nodes.Program;
+import org.eclipse.php.core.tests.TestUtils;
+import org.eclipse.php.refactoring.core.test.AbstractRefactoringTest;
+import org.eclipse.php.refactoring.core.test.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Renames elements referenced by many files, which are visited by several
+ * jobs.
+ */
+public class RenameClassReferencesTest extends AbstractRefactoringTest {
+
+	private static final int REFERENCES = 200;
+
+	private IProject project1;
+	private IFile file;
+	private IFile[] references;
+
+	@Before
+	public void setUp() throws Exception {
+		project1 = TestUtils.createProject("project1");
+		IFolder folder = TestUtils.createFolder(project1, "src");
+		file = TestUtils.createFile(folder, "MyClass.php", getContents("MyClass", "myMethod", "myFunc"));
+		references = new IFile[REFERENCES];
+		for (int i = 0; i < REFERENCES; i++) {
+			references[i] = TestUtils.createFile(folder, "ref" + i + ".php",
+					getReferenceContents(i, "MyClass", "myMethod", "myFunc"));
+		}
+		TestUtils.waitForIndexer();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		project1.delete(IResource.FORCE, new NullProgressMonitor());
+	}
+
+	private static String getContents(String className, String methodName, String functionName) {
+		return "<?php class " + className + "{function " + methodName + "(){}} function " + functionName + "(){}?>";
+	}
+
+	private static String getReferenceContents(int i, String className, String methodName, String functionName) {
+		return "<?php function foo" + i + "(){$a = new " + className + "(); $a->" + methodName + "(); "
+				+ functionName + "(); return $a;}?>";
+	}
+
+	private void assertContents(String className, String methodName, String functionName) throws Exception {
+		assertEquals(getContents(className, methodName, functionName), FileUtils.getContents(file));
+		for (int i = 0; i < REFERENCES; i++) {
+			assertEquals(getReferenceContents(i, className, methodName, functionName),
+					FileUtils.getContents(references[i]));
+		}
+	}
+
+	private ASTNode locateNode(int offset) throws Exception {
+		Program program = createProgram(file);
+		assertNotNull(program);
+
+		ASTNode selectedNode = locateNode(program, offset, 0);
+		assertNotNull(selectedNode);
+		return selectedNode;
+	}
+
+	private RenameClassProcessor createClassProcessor() throws Exception {
+		RenameClassProcessor processor = new RenameClassProcessor(file, locateNode(13));
+		processor.setNewElementName("MyClass1");
+		processor.setUpdateTextualMatches(false);
+		return processor;
+	}
+
+	private void rename(AbstractRenameProcessor<IFile> processor) throws Exception {
+		// the files are visited concurrently
+		assertTrue(processor.isConcurrent());
+
+		checkInitCondition(processor);
+		checkFinalCondition(processor);
+		performChange(processor);
+	}
+
+	@Test
+	public void testRenameClass() throws Exception {
+		rename(createClassProcessor());
+		assertContents("MyClass1", "myMethod", "myFunc");
+	}
+
+	@Test
+	public void testRenameMethod() throws Exception {
+		RenameClassMemberProcessor processor = new RenameClassMemberProcessor(file, locateNode(30));
+		processor.setNewElementName("myMethod1");
+		processor.setUpdateTextualMatches(false);
+
+		rename(processor);
+		assertContents("MyClass", "myMethod1", "myFunc");
+	}
+
+	@Test
+	public void testRenameFunction() throws Exception {
+		RenameFunctionProcessor processor = new RenameFunctionProcessor(file, locateNode(53));
+		processor.setNewElementName("myFunc1");
+		processor.setUpdateTextualMatches(false);
+
+		rename(processor);
+		assertContents("MyClass", "myMethod", "myFunc1");
+	}
+
+	@Test
+	public void testMissingParticipant() throws Exception {
+		RenameClassProcessor processor = createClassProcessor();
+
+		checkInitCondition(processor);
+		// the file can't be parsed anymore, the rename would miss it
+		references[0].delete(true, new NullProgressMonitor());
+
+		RefactoringStatus status = processor.checkFinalConditions(new NullProgressMonitor(), null);
+		assertTrue(status.hasError());
+	}
+}
@@ -20,6 +20,7 @@ import org.eclipse.php.ui.tests.contentassist.ContentAssistTests;
 import org.eclipse.php.ui.tests.formatter.autoedit.FormatterAutoEditTests;
 import org.eclipse.php.ui.tests.generation.AddGetterSetterTests;
 import org.eclipse.php.ui.tests.generation.UnimplementMethodsTests;
+import org.eclipse.php.ui.tests.semantic_highlighter.CompositeSemanticApplyTests;
 import org.eclipse.php.ui.tests.semantic_highlighter.SemanticHighlightingTests;
 import org.junit.ClassRule;
 import org.junit.rules.TestWatcher;
@@ -29,7 +30,8 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ ContentAssistTests.class, FormatterAutoEditTests.class, SemanticHighlightingTests.class,
-		OrganizeUseStatementsActionTests.class, AddGetterSetterTests.class, UnimplementMethodsTests.class })
+		CompositeSemanticApplyTests.class, OrganizeUseStatementsActionTests.class, AddGetterSetterTests.class,
+		UnimplementMethodsTests.class })
 public class AllTests {
 
 	@ClassRule
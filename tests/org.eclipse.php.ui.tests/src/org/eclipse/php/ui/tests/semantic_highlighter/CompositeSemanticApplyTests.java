@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 PDT Extension Group and others.
+ *
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     PDT Extension Group - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.php.ui.tests.semantic_highlighter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.php.core.PHPVersion;
+import org.eclipse.php.core.ast.nodes.*;
+import org.eclipse.php.core.ast.visitor.ApplyAll;
+import org.eclipse.php.internal.ui.editor.highlighter.CompositeSemanticApply;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompositeSemanticApplyTests {
+
+	private static final String SOURCE = "<?php\n" //
+			+ "use A\\{B, C,};\n" //
+			+ "#[Attr()]\n" //
+			+ "function foo($a) {\n" //
+			+ "\tif ($a) {\n" //
+			+ "\t\treturn bar($a + 1);\n" //
+			+ "\t}\n" //
+			+ "\treturn null;\n" //
+			+ "}\n" //
+			+ "class D {\n" //
+			+ "\tfunction baz() {\n" //
+			+ "\t\treturn $this->qux;\n" //
+			+ "\t}\n" //
+			+ "}\n" //
+			+ "foo(new D());\n"; //
+
+	/**
+	 * Records the visits, and optionally skips the children of the nodes of a
+	 * given type or fails on them.
+	 */
+	private static class Recorder extends ApplyAll {
+
+		private final List<String> log = new ArrayList<>();
+		private final Class<? extends ASTNode> skipped;
+		private final Class<? extends ASTNode> failing;
+
+		Recorder(Class<? extends ASTNode> skipped, Class<? extends ASTNode> failing) {
+			this.skipped = skipped;
+			this.failing = failing;
+		}
+
+		Recorder() {
+			this(null, null);
+		}
+
+		@Override
+		protected boolean apply(ASTNode node) {
+			if (node.getClass() == failing) {
+				throw new IllegalStateException("Expected failure"); //$NON-NLS-1$
+			}
+			log.add("visit " + node.getClass().getSimpleName() + " " + node.getStart()); //$NON-NLS-1$ //$NON-NLS-2$
+			return node.getClass() != skipped;
+		}
+
+		@Override
+		public void endVisitNode(ASTNode node) {
+			log.add("end " + node.getClass().getSimpleName() + " " + node.getStart()); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	private Program program;
+
+	@Before
+	public void setUp() throws Exception {
+		ASTParser parser = ASTParser.newParser(PHPVersion.getLatestVersion(), false, true);
+		parser.setSource(SOURCE.toCharArray());
+		program = parser.createAST(new NullProgressMonitor());
+	}
+
+	/**
+	 * Returns the visits of the given recorder, accepted alone by the program.
+	 */
+	private List<String> alone(Recorder recorder) {
+		program.accept(recorder);
+		return recorder.log;
+	}
+
+	@Test
+	public void sameSequence() {
+		List<String> expected = alone(new Recorder());
+		assertTrue(expected.contains("visit EmptyExpression " + SOURCE.indexOf("Attr(") + 5)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		Recorder first = new Recorder();
+		Recorder second = new Recorder();
+		program.accept(new CompositeSemanticApply(Arrays.asList(first, second)));
+		assertEquals(expected, first.log);
+		assertEquals(expected, second.log);
+	}
+
+	@Test
+	public void skippedChildren() {
+		List<String> expectedSkipping = alone(new Recorder(FunctionDeclaration.class, null));
+		List<String> expected = alone(new Recorder());
+
+		Recorder skipping = new Recorder(FunctionDeclaration.class, null);
+		Recorder other = new Recorder();
+		program.accept(new CompositeSemanticApply(Arrays.asList(skipping, other)));
+		// The skipped function bodies are seen by the other apply only
+		assertEquals(expectedSkipping, skipping.log);
+		assertEquals(expected, other.log);
+	}
+
+	@Test
+	public void failure() {
+		List<String> expected = alone(new Recorder());
+
+		Recorder failing = new Recorder(null, ReturnStatement.class);
+		Recorder other = new Recorder();
+		program.accept(new CompositeSemanticApply(Arrays.asList(failing, other)));
+		// The failing apply is left out from its failure on
+		int failure = expected.indexOf("visit ReturnStatement " + SOURCE.indexOf("return")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(expected.subList(0, failure), failing.log);
+		assertEquals(expected, other.log);
+	}
+}